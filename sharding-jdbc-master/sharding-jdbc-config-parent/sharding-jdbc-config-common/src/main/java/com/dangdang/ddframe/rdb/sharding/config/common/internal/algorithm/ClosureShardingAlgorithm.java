@@ -20,6 +20,7 @@ package com.dangdang.ddframe.rdb.sharding.config.common.internal.algorithm;
 import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
 import com.dangdang.ddframe.rdb.sharding.routing.strategy.MultipleKeysShardingAlgorithm;
 import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.Sets;
@@ -27,6 +28,7 @@ import groovy.lang.Binding;
 import groovy.lang.Closure;
 import groovy.lang.GroovyShell;
 import groovy.util.Expando;
+import lombok.extern.slf4j.Slf4j;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
@@ -37,18 +39,30 @@ import java.util.Set;
 /**
  * 基于闭包的数据源划分算法.
  * 
+ * <p>
+ * 简单的行表达式预编译后直接求值, 求值结果与Groovy闭包一致.
+ * 无法编译的表达式, 以及引用了当前分片值中不存在的分片列的表达式, 使用Groovy闭包求值.
+ * </p>
+ * 
  * @author gaohongtao
  */
+@Slf4j
 public class ClosureShardingAlgorithm implements MultipleKeysShardingAlgorithm {
     
     private final Closure<?> closureTemplate;
     
+    private final Optional<CompiledInlineExpression> compiledExpression;
+    
     public ClosureShardingAlgorithm(final String expression, final String logRoot) {
         Preconditions.checkArgument(!Strings.isNullOrEmpty(expression));
         Preconditions.checkArgument(!Strings.isNullOrEmpty(logRoot));
         Binding binding = new Binding();
         binding.setVariable("log", LoggerFactory.getLogger(Joiner.on(".").join("com.dangdang.ddframe.rdb.sharding.configFile", logRoot.trim())));
         closureTemplate = (Closure) new GroovyShell(binding).evaluate(Joiner.on("").join("{it -> \"", expression.trim(), "\"}"));
+        compiledExpression = CompiledInlineExpression.compile(expression.trim());
+        if (!compiledExpression.isPresent()) {
+            log.debug("Inline expression '{}' can not be compiled, use groovy closure instead.", expression);
+        }
     }
     
     @Override
@@ -71,6 +85,21 @@ public class ClosureShardingAlgorithm implements MultipleKeysShardingAlgorithm {
             }
         }
         Set<List<Comparable>> cartesianValues = Sets.cartesianProduct(valuesDim);
+        if (compiledExpression.isPresent() && compiledExpression.get().isApplicable(columnNames)) {
+            return evaluateCompiledExpression(columnNames, cartesianValues);
+        }
+        return evaluateClosure(columnNames, cartesianValues);
+    }
+    
+    private List<String> evaluateCompiledExpression(final List<String> columnNames, final Set<List<Comparable>> cartesianValues) {
+        List<String> result = new ArrayList<>(cartesianValues.size());
+        for (List<Comparable> each : cartesianValues) {
+            result.add(compiledExpression.get().evaluate(columnNames, wrapValues(each)));
+        }
+        return result;
+    }
+    
+    private List<String> evaluateClosure(final List<String> columnNames, final Set<List<Comparable>> cartesianValues) {
         List<String> result = new ArrayList<>(cartesianValues.size());
         for (List<Comparable> each : cartesianValues) {
             result.add(cloneClosure(columnNames, each).call().toString());
@@ -78,6 +107,14 @@ public class ClosureShardingAlgorithm implements MultipleKeysShardingAlgorithm {
         return result;
     }
     
+    private List<ShardingValueWrapper> wrapValues(final List<Comparable> values) {
+        List<ShardingValueWrapper> result = new ArrayList<>(values.size());
+        for (Comparable each : values) {
+            result.add(new ShardingValueWrapper(each));
+        }
+        return result;
+    }
+    
     private Closure<?> cloneClosure(final List<String> columnNames, final List<Comparable> values) {
         Closure<?> result = closureTemplate.rehydrate(new Expando(), null, null);
         result.setResolveStrategy(Closure.DELEGATE_ONLY);
@@ -0,0 +1,447 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.config.common.internal.algorithm;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 预编译的行表达式.
+ * 
+ * <p>
+ * 将简单的行表达式编译为由常量和整数运算组成的求值树, 求值时无需Groovy的闭包复制和动态调用.
+ * 支持的内嵌表达式为单独使用的分片列, 或由整数常量, {@code 分片列.longValue()}, 括号以及{@code + - * %}组成的运算, 如{@code t_order_${order_id.longValue() % 16}}.
+ * 编译的表达式与Groovy闭包的求值结果一致, 可能不一致的表达式均无法编译, 由Groovy闭包求值,
+ * 如分片列直接参与运算(Groovy中{@link ShardingValueWrapper}不支持运算符), 仅由int常量组成的运算(Groovy按int溢出)以及以0开头的八进制常量.
+ * </p>
+ * 
+ * @author gaohongtao
+ */
+final class CompiledInlineExpression {
+    
+    private static final CharMatcher UNSUPPORTED_LITERAL_CHARS = CharMatcher.anyOf("\\\"$");
+    
+    private final List<Segment> segments;
+    
+    private final Set<String> columnNames;
+    
+    private CompiledInlineExpression(final List<Segment> segments, final Set<String> columnNames) {
+        this.segments = segments;
+        this.columnNames = columnNames;
+    }
+    
+    /**
+     * 编译行表达式.
+     * 
+     * @param expression 行表达式
+     * @return 预编译的行表达式, 无法编译时返回空
+     */
+    static Optional<CompiledInlineExpression> compile(final String expression) {
+        List<Segment> segments = new ArrayList<>();
+        Set<String> columnNames = new HashSet<>();
+        int position = 0;
+        while (position < expression.length()) {
+            int begin = expression.indexOf("${", position);
+            String literal = expression.substring(position, -1 == begin ? expression.length() : begin);
+            if (UNSUPPORTED_LITERAL_CHARS.matchesAnyOf(literal)) {
+                return Optional.absent();
+            }
+            if (!literal.isEmpty()) {
+                segments.add(new LiteralSegment(literal));
+            }
+            if (-1 == begin) {
+                break;
+            }
+            int end = expression.indexOf('}', begin);
+            if (-1 == end) {
+                return Optional.absent();
+            }
+            Optional<Segment> segment = new ExpressionParser(expression.substring(begin + 2, end), columnNames).parse();
+            if (!segment.isPresent()) {
+                return Optional.absent();
+            }
+            segments.add(segment.get());
+            position = end + 1;
+        }
+        return Optional.of(new CompiledInlineExpression(segments, columnNames));
+    }
+    
+    /**
+     * 判断分片列是否包含表达式引用的全部分片列.
+     * 
+     * <p>
+     * 闭包中不存在的分片列取值为{@code null}, 此时由闭包求值以保持一致.
+     * </p>
+     * 
+     * @param shardingColumnNames 分片列名称集合
+     * @return 是否包含表达式引用的全部分片列
+     */
+    boolean isApplicable(final Collection<String> shardingColumnNames) {
+        return shardingColumnNames.containsAll(columnNames);
+    }
+    
+    /**
+     * 求值.
+     * 
+     * @param shardingColumnNames 分片列名称
+     * @param values 与分片列名称对应的分片值
+     * @return 求值结果
+     */
+    String evaluate(final List<String> shardingColumnNames, final List<ShardingValueWrapper> values) {
+        StringBuilder result = new StringBuilder();
+        for (Segment each : segments) {
+            each.appendTo(result, shardingColumnNames, values);
+        }
+        return result.toString();
+    }
+    
+    private interface Segment {
+        
+        void appendTo(StringBuilder result, List<String> shardingColumnNames, List<ShardingValueWrapper> values);
+    }
+    
+    private interface LongExpression {
+        
+        long evaluate(List<String> shardingColumnNames, List<ShardingValueWrapper> values);
+        
+        boolean isLongType();
+    }
+    
+    private static final class LiteralSegment implements Segment {
+        
+        private final String literal;
+        
+        LiteralSegment(final String literal) {
+            this.literal = literal;
+        }
+        
+        @Override
+        public void appendTo(final StringBuilder result, final List<String> shardingColumnNames, final List<ShardingValueWrapper> values) {
+            result.append(literal);
+        }
+    }
+    
+    private static final class ColumnSegment implements Segment {
+        
+        private final String columnName;
+        
+        ColumnSegment(final String columnName) {
+            this.columnName = columnName;
+        }
+        
+        @Override
+        public void appendTo(final StringBuilder result, final List<String> shardingColumnNames, final List<ShardingValueWrapper> values) {
+            result.append(values.get(shardingColumnNames.indexOf(columnName)).toString());
+        }
+    }
+    
+    private static final class LongSegment implements Segment {
+        
+        private final LongExpression expression;
+        
+        LongSegment(final LongExpression expression) {
+            this.expression = expression;
+        }
+        
+        @Override
+        public void appendTo(final StringBuilder result, final List<String> shardingColumnNames, final List<ShardingValueWrapper> values) {
+            result.append(expression.evaluate(shardingColumnNames, values));
+        }
+    }
+    
+    private static final class ConstantExpression implements LongExpression {
+        
+        private final long value;
+        
+        ConstantExpression(final long value) {
+            this.value = value;
+        }
+        
+        @Override
+        public long evaluate(final List<String> shardingColumnNames, final List<ShardingValueWrapper> values) {
+            return value;
+        }
+        
+        @Override
+        public boolean isLongType() {
+            return value > Integer.MAX_VALUE;
+        }
+    }
+    
+    private static final class ColumnExpression implements LongExpression {
+        
+        private final String columnName;
+        
+        ColumnExpression(final String columnName) {
+            this.columnName = columnName;
+        }
+        
+        @Override
+        public long evaluate(final List<String> shardingColumnNames, final List<ShardingValueWrapper> values) {
+            return values.get(shardingColumnNames.indexOf(columnName)).longValue();
+        }
+        
+        @Override
+        public boolean isLongType() {
+            return true;
+        }
+    }
+    
+    private static final class BinaryExpression implements LongExpression {
+        
+        private final Operator operator;
+        
+        private final LongExpression left;
+        
+        private final LongExpression right;
+        
+        BinaryExpression(final Operator operator, final LongExpression left, final LongExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public long evaluate(final List<String> shardingColumnNames, final List<ShardingValueWrapper> values) {
+            return operator.apply(left.evaluate(shardingColumnNames, values), right.evaluate(shardingColumnNames, values));
+        }
+        
+        @Override
+        public boolean isLongType() {
+            return true;
+        }
+    }
+    
+    /**
+     * 支持的运算符.
+     */
+    private enum Operator {
+        
+        ADD('+', false) {
+            
+            @Override
+            long apply(final long left, final long right) {
+                return left + right;
+            }
+        },
+        
+        SUBTRACT('-', false) {
+            
+            @Override
+            long apply(final long left, final long right) {
+                return left - right;
+            }
+        },
+        
+        MULTIPLY('*', true) {
+            
+            @Override
+            long apply(final long left, final long right) {
+                return left * right;
+            }
+        },
+        
+        MOD('%', true) {
+            
+            @Override
+            long apply(final long left, final long right) {
+                return left % right;
+            }
+        };
+        
+        private final char symbol;
+        
+        private final boolean multiplicative;
+        
+        Operator(final char symbol, final boolean multiplicative) {
+            this.symbol = symbol;
+            this.multiplicative = multiplicative;
+        }
+        
+        abstract long apply(long left, long right);
+        
+        /**
+         * 查找运算符.
+         * 
+         * @param symbol 运算符号
+         * @param multiplicative 是否乘法优先级
+         * @return 运算符, 不存在时返回空
+         */
+        static Optional<Operator> find(final char symbol, final boolean multiplicative) {
+            for (Operator each : values()) {
+                if (each.symbol == symbol && each.multiplicative == multiplicative) {
+                    return Optional.of(each);
+                }
+            }
+            return Optional.absent();
+        }
+    }
+    
+    /**
+     * 内嵌表达式的递归下降解析器.
+     */
+    private static final class ExpressionParser {
+        
+        private static final String LONG_VALUE_METHOD = "longValue";
+        
+        private static final Set<String> RESERVED_IDENTIFIERS = ImmutableSet.of("log", "it", "this", "null", "true", "false");
+        
+        private final String expression;
+        
+        private final Set<String> columnNames;
+        
+        private int position;
+        
+        ExpressionParser(final String expression, final Set<String> columnNames) {
+            this.expression = expression;
+            this.columnNames = columnNames;
+        }
+        
+        Optional<Segment> parse() {
+            skipWhitespace();
+            int begin = position;
+            String identifier = readIdentifier();
+            skipWhitespace();
+            if (RESERVED_IDENTIFIERS.contains(identifier)) {
+                return Optional.absent();
+            }
+            if (!identifier.isEmpty() && position == expression.length()) {
+                columnNames.add(identifier);
+                return Optional.<Segment>of(new ColumnSegment(identifier));
+            }
+            position = begin;
+            LongExpression result = parseAdditive();
+            skipWhitespace();
+            if (null == result || position != expression.length()) {
+                return Optional.absent();
+            }
+            return Optional.<Segment>of(new LongSegment(result));
+        }
+        
+        private LongExpression parseAdditive() {
+            LongExpression result = parseMultiplicative();
+            while (null != result) {
+                Optional<Operator> operator = Operator.find(peek(), false);
+                if (!operator.isPresent()) {
+                    return result;
+                }
+                position++;
+                result = createBinaryExpression(operator.get(), result, parseMultiplicative());
+            }
+            return null;
+        }
+        
+        private LongExpression parseMultiplicative() {
+            LongExpression result = parsePrimary();
+            while (null != result) {
+                Optional<Operator> operator = Operator.find(peek(), true);
+                if (!operator.isPresent()) {
+                    return result;
+                }
+                position++;
+                result = createBinaryExpression(operator.get(), result, parsePrimary());
+            }
+            return null;
+        }
+        
+        private LongExpression createBinaryExpression(final Operator operator, final LongExpression left, final LongExpression right) {
+            // Groovy中int之间的运算按int溢出, 仅编译至少一侧为long的运算
+            if (null == right || !left.isLongType() && !right.isLongType()) {
+                return null;
+            }
+            return new BinaryExpression(operator, left, right);
+        }
+        
+        private LongExpression parsePrimary() {
+            char current = peek();
+            if ('(' == current) {
+                position++;
+                LongExpression result = parseAdditive();
+                if (')' != peek()) {
+                    return null;
+                }
+                position++;
+                return result;
+            }
+            if (Character.isDigit(current)) {
+                int begin = position;
+                while (position < expression.length() && Character.isDigit(expression.charAt(position))) {
+                    position++;
+                }
+                // 以0开头的常量在Groovy中为八进制
+                if (position < expression.length() && Character.isLetter(expression.charAt(position)) || '0' == current && position - begin > 1) {
+                    return null;
+                }
+                try {
+                    return new ConstantExpression(Long.parseLong(expression.substring(begin, position)));
+                } catch (final NumberFormatException ex) {
+                    return null;
+                }
+            }
+            String identifier = readIdentifier();
+            if (identifier.isEmpty() || RESERVED_IDENTIFIERS.contains(identifier)) {
+                return null;
+            }
+            // Groovy中ShardingValueWrapper不支持运算符, 分片列需调用longValue()后参与运算
+            if ('.' != peek()) {
+                return null;
+            }
+            position++;
+            skipWhitespace();
+            if (!LONG_VALUE_METHOD.equals(readIdentifier()) || '(' != peek()) {
+                return null;
+            }
+            position++;
+            if (')' != peek()) {
+                return null;
+            }
+            position++;
+            columnNames.add(identifier);
+            return new ColumnExpression(identifier);
+        }
+        
+        private String readIdentifier() {
+            int begin = position;
+            if (position < expression.length() && Character.isJavaIdentifierStart(expression.charAt(position)) && '$' != expression.charAt(position)) {
+                position++;
+                while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position)) && '$' != expression.charAt(position)) {
+                    position++;
+                }
+            }
+            return expression.substring(begin, position);
+        }
+        
+        private char peek() {
+            skipWhitespace();
+            return position < expression.length() ? expression.charAt(position) : 0;
+        }
+        
+        private void skipWhitespace() {
+            while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
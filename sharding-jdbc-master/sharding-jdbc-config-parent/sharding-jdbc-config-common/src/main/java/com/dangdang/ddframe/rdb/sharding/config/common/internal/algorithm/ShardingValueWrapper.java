@@ -36,7 +36,7 @@ public class ShardingValueWrapper {
     
     public ShardingValueWrapper(final Comparable<?> value) {
         Preconditions.checkArgument(value instanceof Number || value instanceof Date || value instanceof String, 
-                String.format("Value must be type of Number, Data or String, your value type is '%s'", value.getClass().getName()));
+                "Value must be type of Number, Data or String, your value type is '%s'", value.getClass().getName());
         this.value = value;
     }
     
@@ -20,6 +20,7 @@ package com.dangdang.ddframe.rdb.sharding.config.common;
 import com.dangdang.ddframe.rdb.sharding.config.common.api.ShardingRuleBuilderTest;
 import com.dangdang.ddframe.rdb.sharding.config.common.internal.algorithm.ClosureDatabaseShardingAlgorithmTest;
 import com.dangdang.ddframe.rdb.sharding.config.common.internal.algorithm.ClosureTableShardingAlgorithmTest;
+import com.dangdang.ddframe.rdb.sharding.config.common.internal.algorithm.CompiledInlineExpressionTest;
 import com.dangdang.ddframe.rdb.sharding.config.common.internal.algorithm.ShardingValueWrapperTest;
 import com.dangdang.ddframe.rdb.sharding.config.common.internal.parser.InlineParserTest;
 import org.junit.runner.RunWith;
@@ -30,6 +31,7 @@ import org.junit.runners.Suite;
         ShardingRuleBuilderTest.class, 
         ClosureDatabaseShardingAlgorithmTest.class, 
         ClosureTableShardingAlgorithmTest.class, 
+        CompiledInlineExpressionTest.class, 
         ShardingValueWrapperTest.class, 
         InlineParserTest.class
     })
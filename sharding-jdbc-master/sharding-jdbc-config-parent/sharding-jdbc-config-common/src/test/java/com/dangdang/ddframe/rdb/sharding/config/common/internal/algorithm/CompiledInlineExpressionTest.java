@@ -0,0 +1,129 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.config.common.internal.algorithm;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import groovy.lang.Closure;
+import groovy.lang.GroovyShell;
+import groovy.util.Expando;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsCollectionContaining.hasItems;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class CompiledInlineExpressionTest {
+    
+    private static final List<String> COLUMN_NAMES = Arrays.asList("order_id", "user_id");
+    
+    private static final List<ShardingValueWrapper> VALUES = Arrays.asList(new ShardingValueWrapper(10L), new ShardingValueWrapper("7"));
+    
+    @Test
+    public void assertEvaluateLiteral() {
+        assertThat(CompiledInlineExpression.compile("table_test").get().evaluate(COLUMN_NAMES, VALUES), is("table_test"));
+    }
+    
+    @Test
+    public void assertEvaluateModulo() {
+        assertThat(CompiledInlineExpression.compile("t_order_${order_id.longValue() % 4}").get().evaluate(COLUMN_NAMES, VALUES), is("t_order_2"));
+    }
+    
+    @Test
+    public void assertEvaluateArithmetic() {
+        assertThat(CompiledInlineExpression.compile("t_${ (user_id.longValue() + 3) * 2 - order_id.longValue() % 3 }").get().evaluate(COLUMN_NAMES, VALUES), is("t_19"));
+    }
+    
+    @Test
+    public void assertEvaluateColumnValue() {
+        assertThat(CompiledInlineExpression.compile("t_${user_id}_${order_id}").get().evaluate(COLUMN_NAMES, VALUES), is("t_7_10"));
+    }
+    
+    @Test
+    public void assertCompileFailure() {
+        assertFalse(CompiledInlineExpression.compile("target_${log.info(id.toString()); id.longValue() % 2}").isPresent());
+        assertFalse(CompiledInlineExpression.compile("t_${order_id.doubleValue()}").isPresent());
+        assertFalse(CompiledInlineExpression.compile("t_${order_id / 2}").isPresent());
+        assertFalse(CompiledInlineExpression.compile("t_$order_id").isPresent());
+        assertFalse(CompiledInlineExpression.compile("t_${order_id % 2").isPresent());
+    }
+    
+    @Test
+    public void assertCompileFailureForDifferentSemantics() {
+        assertFalse(CompiledInlineExpression.compile("t_${order_id % 4}").isPresent());
+        assertFalse(CompiledInlineExpression.compile("t_${order_id + 1}").isPresent());
+        assertFalse(CompiledInlineExpression.compile("t_${2147483647 + 1}").isPresent());
+        assertFalse(CompiledInlineExpression.compile("t_${(1 + 2) * order_id.longValue()}").isPresent());
+        assertFalse(CompiledInlineExpression.compile("t_${010 + order_id.longValue()}").isPresent());
+    }
+    
+    @Test
+    public void assertIsApplicable() {
+        CompiledInlineExpression expression = CompiledInlineExpression.compile("t_${order_id.longValue() % 2}_${user_id}").get();
+        assertTrue(expression.isApplicable(COLUMN_NAMES));
+        assertFalse(expression.isApplicable(Collections.singletonList("order_id")));
+    }
+    
+    @Test
+    public void assertSameResultWithClosure() {
+        List<String> expressions = Arrays.asList("t_${order_id}_${user_id}", "t_${order_id.longValue() % 4}", "t_${(user_id.longValue() + 3) * 2 - order_id.longValue() % 3}", 
+                "t_${3000000000 + order_id.longValue()}", "t_${2147483647 * user_id.longValue()}", "t_${0 + order_id.longValue()}");
+        List<List<Comparable<?>>> valueSets = Arrays.<List<Comparable<?>>>asList(
+                Arrays.<Comparable<?>>asList(10L, "7"), Arrays.<Comparable<?>>asList(-7, 3), Arrays.<Comparable<?>>asList(new BigDecimal("10.5"), new Date(5L)), Arrays.<Comparable<?>>asList(Long.MAX_VALUE, 2));
+        for (String each : expressions) {
+            CompiledInlineExpression compiledExpression = CompiledInlineExpression.compile(each).get();
+            for (List<Comparable<?>> values : valueSets) {
+                assertThat(each, compiledExpression.evaluate(COLUMN_NAMES, wrapValues(values)), is(evaluateWithClosure(each, values)));
+            }
+        }
+    }
+    
+    @Test
+    public void assertDoShardingWithCompiledExpression() {
+        Collection<ShardingValue<?>> shardingValues = Collections.<ShardingValue<?>>singletonList(new ShardingValue<>("t_order", "order_id", Arrays.asList(1, 2L, 3, 4L, 6)));
+        Collection<String> actual = new ClosureTableShardingAlgorithm("t_order_${order_id.longValue() % 4}", "default").doSharding(Collections.<String>emptyList(), shardingValues);
+        assertThat(actual.size(), is(5));
+        assertThat(actual, hasItems("t_order_0", "t_order_1", "t_order_2", "t_order_3"));
+    }
+    
+    private List<ShardingValueWrapper> wrapValues(final List<Comparable<?>> values) {
+        List<ShardingValueWrapper> result = new ArrayList<>(values.size());
+        for (Comparable<?> each : values) {
+            result.add(new ShardingValueWrapper(each));
+        }
+        return result;
+    }
+    
+    private String evaluateWithClosure(final String expression, final List<Comparable<?>> values) {
+        Closure<?> result = ((Closure<?>) new GroovyShell().evaluate("{it -> \"" + expression + "\"}")).rehydrate(new Expando(), null, null);
+        result.setResolveStrategy(Closure.DELEGATE_ONLY);
+        for (int i = 0; i < values.size(); i++) {
+            result.setProperty(COLUMN_NAMES.get(i), new ShardingValueWrapper(values.get(i)));
+        }
+        return result.call().toString();
+    }
+}
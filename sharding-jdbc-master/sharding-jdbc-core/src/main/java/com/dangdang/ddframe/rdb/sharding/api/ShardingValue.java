@@ -22,6 +22,7 @@ import java.util.Collections;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 
@@ -39,6 +40,7 @@ import com.google.common.collect.Range;
  */
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Getter
+@EqualsAndHashCode
 @ToString
 public final class ShardingValue<T extends Comparable<?>> {
     
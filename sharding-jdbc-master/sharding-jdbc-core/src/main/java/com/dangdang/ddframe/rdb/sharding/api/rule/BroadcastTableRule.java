@@ -0,0 +1,48 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.rule;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 广播表规则配置对象.
+ * 
+ * <p>
+ * 广播表在每个数据源中都存在完整的副本, 真实表名称与逻辑表名称相同.
+ * 查询仅路由至一个数据源, 与分片表关联查询时路由至分片表所在的数据源; 修改则路由至全部数据源.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+public final class BroadcastTableRule {
+    
+    private final String logicTable;
+    
+    /**
+     * 判断此广播表规则是否为该逻辑表的规则.
+     * 
+     * @param logicTableName 逻辑表名称
+     * @return 是否为该逻辑表的规则
+     */
+    public boolean hasLogicTable(final String logicTableName) {
+        return logicTable.equalsIgnoreCase(logicTableName);
+    }
+}
@@ -59,6 +59,10 @@ public final class ShardingRule {
      * 绑定表配置规则
      */
     private final Collection<BindingTableRule> bindingTableRules;
+    /**
+     * 广播表配置规则
+     */
+    private final Collection<BroadcastTableRule> broadcastTableRules;
     /**
      * 默认分库策略
      */
@@ -97,10 +101,20 @@ public final class ShardingRule {
     public ShardingRule(
             final DataSourceRule dataSourceRule, final Collection<TableRule> tableRules, final Collection<BindingTableRule> bindingTableRules,
             final DatabaseShardingStrategy databaseShardingStrategy, final TableShardingStrategy tableShardingStrategy, final KeyGenerator keyGenerator) {
+        this(dataSourceRule, tableRules, bindingTableRules, Collections.<BroadcastTableRule>emptyList(), databaseShardingStrategy, tableShardingStrategy, keyGenerator);
+    }
+    
+    private ShardingRule(
+            final DataSourceRule dataSourceRule, final Collection<TableRule> tableRules, final Collection<BindingTableRule> bindingTableRules, final Collection<BroadcastTableRule> broadcastTableRules,
+            final DatabaseShardingStrategy databaseShardingStrategy, final TableShardingStrategy tableShardingStrategy, final KeyGenerator keyGenerator) {
         Preconditions.checkNotNull(dataSourceRule);
         this.dataSourceRule = dataSourceRule;
         this.tableRules = null == tableRules ? Collections.<TableRule>emptyList() : tableRules;
         this.bindingTableRules = null == bindingTableRules ? Collections.<BindingTableRule>emptyList() : bindingTableRules;
+        this.broadcastTableRules = null == broadcastTableRules ? Collections.<BroadcastTableRule>emptyList() : broadcastTableRules;
+        for (BroadcastTableRule each : this.broadcastTableRules) {
+            Preconditions.checkArgument(!tryFindTableRule(each.getLogicTable()).isPresent(), "Broadcast table '%s' cannot be configured as sharding table.", each.getLogicTable());
+        }
         this.databaseShardingStrategy = null == databaseShardingStrategy ? new DatabaseShardingStrategy(
                 Collections.<String>emptyList(), new NoneDatabaseShardingAlgorithm()) : databaseShardingStrategy;
         this.tableShardingStrategy = null == tableShardingStrategy ? new TableShardingStrategy(
@@ -249,6 +263,40 @@ public final class ShardingRule {
         return Optional.absent();
     }
 
+    /**
+     * 判断逻辑表是否为广播表.
+     *
+     * @param logicTableName 逻辑表名称
+     * @return 是否为广播表
+     */
+    public boolean isBroadcastTable(final String logicTableName) {
+        for (BroadcastTableRule each : broadcastTableRules) {
+            if (each.hasLogicTable(logicTableName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 过滤掉广播表名称.
+     *
+     * @param logicTables 逻辑表名称集合
+     * @return 非广播表的逻辑表名称集合
+     */
+    public Collection<String> filterNonBroadcastTables(final Collection<String> logicTables) {
+        if (broadcastTableRules.isEmpty()) {
+            return logicTables;
+        }
+        Collection<String> result = new ArrayList<>(logicTables.size());
+        for (String each : logicTables) {
+            if (!isBroadcastTable(each)) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
     /**
      * 判断是否为分片列.
      *
@@ -326,6 +374,10 @@ public final class ShardingRule {
          * 绑定表配置规则
          */
         private Collection<BindingTableRule> bindingTableRules;
+        /**
+         * 广播表配置规则
+         */
+        private Collection<BroadcastTableRule> broadcastTableRules;
         /**
          * 默认分库策略
          */
@@ -372,6 +424,17 @@ public final class ShardingRule {
             return this;
         }
 
+        /**
+         * 构建广播表配置规则.
+         *
+         * @param broadcastTableRules 广播表配置规则
+         * @return 分片规则配置对象构建器
+         */
+        public ShardingRuleBuilder broadcastTableRules(final Collection<BroadcastTableRule> broadcastTableRules) {
+            this.broadcastTableRules = broadcastTableRules;
+            return this;
+        }
+        
         /**
          * 构建默认分库策略.
          *
@@ -415,7 +478,7 @@ public final class ShardingRule {
             if (null != keyGeneratorClass) {
                 keyGenerator = KeyGeneratorFactory.createKeyGenerator(keyGeneratorClass);
             }
-            return new ShardingRule(dataSourceRule, tableRules, bindingTableRules, databaseShardingStrategy, tableShardingStrategy, keyGenerator);
+            return new ShardingRule(dataSourceRule, tableRules, bindingTableRules, broadcastTableRules, databaseShardingStrategy, tableShardingStrategy, keyGenerator);
         }
     }
 }
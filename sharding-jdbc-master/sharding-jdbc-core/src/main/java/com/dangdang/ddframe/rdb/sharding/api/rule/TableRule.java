@@ -22,6 +22,7 @@ import com.dangdang.ddframe.rdb.sharding.api.strategy.table.TableShardingStrateg
 import com.dangdang.ddframe.rdb.sharding.keygen.KeyGenerator;
 import com.dangdang.ddframe.rdb.sharding.keygen.KeyGeneratorFactory;
 import com.google.common.base.Preconditions;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
@@ -29,8 +30,13 @@ import lombok.ToString;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 /**
  * 表规则配置对象.
@@ -38,7 +44,7 @@ import java.util.List;
  * @author zhangliang
  */
 @Getter
-@ToString
+@ToString(exclude = {"actualDatasourceNames", "actualTableNamesMap", "dataNodesMap", "actualTableIndexMap"})
 public final class TableRule {
 
     /**
@@ -71,6 +77,25 @@ public final class TableRule {
      * 主键生成器
      */
     private final KeyGenerator keyGenerator;
+    /**
+     * 真实数据源名称集合
+     */
+    private final Collection<String> actualDatasourceNames;
+    /**
+     * 数据源名称与真实表名称集合的映射
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Collection<String>> actualTableNamesMap;
+    /**
+     * 数据源名称与数据分片节点的映射
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, List<DataNode>> dataNodesMap;
+    /**
+     * 忽略大小写的数据源名称与真实表名称在数据分片节点中位置的映射
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Map<String, Integer>> actualTableIndexMap;
     
     /**
      * 全属性构造器.
@@ -110,6 +135,10 @@ public final class TableRule {
         }
         this.generateKeyColumn = generateKeyColumn;
         this.keyGenerator = keyGenerator;
+        dataNodesMap = createDataNodesMap(this.actualTables);
+        actualDatasourceNames = Collections.unmodifiableSet(new LinkedHashSet<>(dataNodesMap.keySet()));
+        actualTableNamesMap = createActualTableNamesMap(dataNodesMap);
+        actualTableIndexMap = createActualTableIndexMap(this.actualTables);
     }
     
     /**
@@ -197,9 +226,13 @@ public final class TableRule {
     }
     
     private Collection<DataNode> getStaticDataNodes(final String targetDataSource, final Collection<String> targetTables) {
-        Collection<DataNode> result = new LinkedHashSet<>(actualTables.size());
-        for (DataNode each : actualTables) {
-            if (targetDataSource.equals(each.getDataSourceName()) && targetTables.contains(each.getTableName())) {
+        List<DataNode> dataNodes = dataNodesMap.get(targetDataSource);
+        if (null == dataNodes) {
+            return Collections.emptySet();
+        }
+        Collection<DataNode> result = new LinkedHashSet<>(dataNodes.size());
+        for (DataNode each : dataNodes) {
+            if (targetTables.contains(each.getTableName())) {
                 result.add(each);
             }
         }
@@ -207,43 +240,67 @@ public final class TableRule {
     }
     
     /**
-     * 获取真实数据源.
+     * 根据数据源名称过滤获取真实表名称.
+     * 
+     * <p>
+     * 返回构建表规则时生成的只读集合, 不可修改.
+     * </p>
      *
+     * @param targetDataSource 数据源名称
      * @return 真实表名称
      */
-    public Collection<String> getActualDatasourceNames() {
-        Collection<String> result = new LinkedHashSet<>(actualTables.size());
+    public Collection<String> getActualTableNames(final String targetDataSource) {
+        Collection<String> result = actualTableNamesMap.get(targetDataSource);
+        return null == result ? Collections.<String>emptySet() : result;
+    }
+    
+    int findActualTableIndex(final String dataSourceName, final String actualTableName) {
+        Map<String, Integer> tableIndexMap = actualTableIndexMap.get(dataSourceName.toLowerCase());
+        if (null == tableIndexMap) {
+            return -1;
+        }
+        Integer result = tableIndexMap.get(actualTableName.toLowerCase());
+        return null == result ? -1 : result;
+    }
+    
+    private static Map<String, List<DataNode>> createDataNodesMap(final List<DataNode> actualTables) {
+        Map<String, List<DataNode>> result = new LinkedHashMap<>();
         for (DataNode each : actualTables) {
-            result.add(each.getDataSourceName());
+            if (!result.containsKey(each.getDataSourceName())) {
+                result.put(each.getDataSourceName(), new ArrayList<DataNode>());
+            }
+            result.get(each.getDataSourceName()).add(each);
         }
         return result;
     }
     
-    /**
-     * 根据数据源名称过滤获取真实表名称.
-     *
-     * @param targetDataSource 数据源名称
-     * @return 真实表名称
-     */
-    public Collection<String> getActualTableNames(final String targetDataSource) {
-        Collection<String> result = new LinkedHashSet<>(actualTables.size());
-        for (DataNode each : actualTables) {
-            if (targetDataSource.equals(each.getDataSourceName())) {
-                result.add(each.getTableName());
+    private static Map<String, Collection<String>> createActualTableNamesMap(final Map<String, List<DataNode>> dataNodesMap) {
+        Map<String, Collection<String>> result = new HashMap<>(dataNodesMap.size(), 1);
+        for (Entry<String, List<DataNode>> entry : dataNodesMap.entrySet()) {
+            Set<String> actualTableNames = new LinkedHashSet<>(entry.getValue().size());
+            for (DataNode each : entry.getValue()) {
+                actualTableNames.add(each.getTableName());
             }
+            result.put(entry.getKey(), Collections.unmodifiableSet(actualTableNames));
         }
         return result;
     }
     
-    int findActualTableIndex(final String dataSourceName, final String actualTableName) {
-        int result = 0;
+    private static Map<String, Map<String, Integer>> createActualTableIndexMap(final List<DataNode> actualTables) {
+        Map<String, Map<String, Integer>> result = new HashMap<>();
+        int index = 0;
         for (DataNode each : actualTables) {
-            if (each.getDataSourceName().equalsIgnoreCase(dataSourceName) && each.getTableName().equalsIgnoreCase(actualTableName)) {
-                return result;
+            String dataSourceName = each.getDataSourceName().toLowerCase();
+            if (!result.containsKey(dataSourceName)) {
+                result.put(dataSourceName, new HashMap<String, Integer>());
+            }
+            String tableName = each.getTableName().toLowerCase();
+            if (!result.get(dataSourceName).containsKey(tableName)) {
+                result.get(dataSourceName).put(tableName, index);
             }
-            result++;
+            index++;
         }
-        return -1;
+        return result;
     }
     
     /**
@@ -0,0 +1,175 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.hash;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.database.SingleKeyDatabaseShardingAlgorithm;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.table.SingleKeyTableShardingAlgorithm;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 基于目标下标的分片算法.
+ * 
+ * <p>
+ * 构建时生成有序的目标名称数组, 分片时将分片值映射为数组下标, 无需遍历和拼接目标名称.
+ * 可用目标名称为空时(如动态表), 不校验计算出的目标名称.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public abstract class AbstractIndexedShardingAlgorithm implements SingleKeyDatabaseShardingAlgorithm<Comparable<?>>, SingleKeyTableShardingAlgorithm<Comparable<?>> {
+    
+    private final String[] targetNames;
+    
+    protected AbstractIndexedShardingAlgorithm(final String targetPrefix, final int count) {
+        this(generateTargetNames(targetPrefix, count));
+    }
+    
+    protected AbstractIndexedShardingAlgorithm(final List<String> targetNames) {
+        Preconditions.checkArgument(!targetNames.isEmpty(), "Target names cannot be empty.");
+        Preconditions.checkArgument(new LinkedHashSet<>(targetNames).size() == targetNames.size(), "Target names cannot be duplicated.");
+        this.targetNames = targetNames.toArray(new String[targetNames.size()]);
+    }
+    
+    private static List<String> generateTargetNames(final String targetPrefix, final int count) {
+        Preconditions.checkArgument(count > 0, "Count must be positive.");
+        List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(targetPrefix + i);
+        }
+        return result;
+    }
+    
+    /**
+     * 获取目标名称.
+     * 
+     * @return 目标名称
+     */
+    public final List<String> getTargetNames() {
+        return Arrays.asList(targetNames.clone());
+    }
+    
+    /**
+     * 获取目标数量.
+     * 
+     * @return 目标数量
+     */
+    protected final int getTargetSize() {
+        return targetNames.length;
+    }
+    
+    /**
+     * 根据分片值计算目标下标.
+     * 
+     * @param shardingValue 分片值
+     * @return 目标下标
+     */
+    protected abstract int getTargetIndex(Comparable<?> shardingValue);
+    
+    @Override
+    public final String doEqualSharding(final Collection<String> availableTargetNames, final ShardingValue<Comparable<?>> shardingValue) {
+        String result = targetNames[getTargetIndex(shardingValue.getValue())];
+        if (!isAvailable(availableTargetNames, result)) {
+            throw new ShardingJdbcException("Target '%s' for sharding value '%s' of column '%s' is not available.", result, shardingValue.getValue(), shardingValue.getColumnName());
+        }
+        return result;
+    }
+    
+    @Override
+    public final Collection<String> doInSharding(final Collection<String> availableTargetNames, final ShardingValue<Comparable<?>> shardingValue) {
+        Collection<String> result = new LinkedHashSet<>(shardingValue.getValues().size());
+        for (Comparable<?> each : shardingValue.getValues()) {
+            String target = targetNames[getTargetIndex(each)];
+            if (isAvailable(availableTargetNames, target)) {
+                result.add(target);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 根据分片值和SQL的BETWEEN运算符计算分片结果名称集合.
+     * 
+     * <p>
+     * 哈希类算法无法根据区间裁剪目标, 默认返回全部可用的目标名称.
+     * </p>
+     * 
+     * @param availableTargetNames 所有的可用目标名称集合
+     * @param shardingValue 分片值
+     * @return 分片后指向的目标名称集合
+     */
+    @Override
+    public Collection<String> doBetweenSharding(final Collection<String> availableTargetNames, final ShardingValue<Comparable<?>> shardingValue) {
+        Collection<String> result = new LinkedHashSet<>(targetNames.length);
+        for (String each : targetNames) {
+            if (isAvailable(availableTargetNames, each)) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 根据目标下标获取目标名称.
+     * 
+     * @param index 目标下标
+     * @return 目标名称
+     */
+    protected final String getTargetName(final int index) {
+        return targetNames[index];
+    }
+    
+    /**
+     * 判断目标是否可用.
+     * 
+     * @param availableTargetNames 所有的可用目标名称集合
+     * @param targetName 目标名称
+     * @return 目标是否可用
+     */
+    protected final boolean isAvailable(final Collection<String> availableTargetNames, final String targetName) {
+        return availableTargetNames.isEmpty() || availableTargetNames.contains(targetName);
+    }
+    
+    /**
+     * 计算分片值的64位哈希值.
+     * 
+     * <p>
+     * 数值类型的分片值按整数值计算, 不同的数值类型结果一致; 其余类型使用其{@code hashCode}.
+     * 结果经过位混合, 分布均匀且计算过程不分配对象.
+     * </p>
+     * 
+     * @param shardingValue 分片值
+     * @return 64位哈希值
+     */
+    protected static long hash(final Comparable<?> shardingValue) {
+        long result = shardingValue instanceof Number ? ((Number) shardingValue).longValue() : shardingValue.hashCode();
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+}
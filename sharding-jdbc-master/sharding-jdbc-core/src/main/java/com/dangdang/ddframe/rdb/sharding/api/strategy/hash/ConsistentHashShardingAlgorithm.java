@@ -0,0 +1,105 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.hash;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 一致性哈希分片算法.
+ * 
+ * <p>
+ * 每个目标在哈希环上生成若干虚拟节点, 节点位置仅由目标名称决定, 分片值路由至哈希环上顺时针方向的第一个虚拟节点.
+ * 增加目标时只有新目标的虚拟节点附近的分片值会迁移, 其余分片值的目标不变.
+ * 哈希环为有序的{@code long}数组, 查找的时间复杂度为O(log n).
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class ConsistentHashShardingAlgorithm extends AbstractIndexedShardingAlgorithm {
+    
+    /**
+     * 每个目标默认的虚拟节点数量
+     */
+    public static final int DEFAULT_VIRTUAL_NODE_SIZE = 160;
+    
+    private final long[] ring;
+    
+    private final int[] ringTargetIndexes;
+    
+    public ConsistentHashShardingAlgorithm(final String targetPrefix, final int count) {
+        this(targetPrefix, count, DEFAULT_VIRTUAL_NODE_SIZE);
+    }
+    
+    public ConsistentHashShardingAlgorithm(final String targetPrefix, final int count, final int virtualNodeSize) {
+        super(targetPrefix, count);
+        Preconditions.checkArgument(virtualNodeSize > 0, "Virtual node size must be positive.");
+        ring = new long[count * virtualNodeSize];
+        ringTargetIndexes = new int[ring.length];
+        initRing(virtualNodeSize);
+    }
+    
+    public ConsistentHashShardingAlgorithm(final List<String> targetNames) {
+        this(targetNames, DEFAULT_VIRTUAL_NODE_SIZE);
+    }
+    
+    public ConsistentHashShardingAlgorithm(final List<String> targetNames, final int virtualNodeSize) {
+        super(targetNames);
+        Preconditions.checkArgument(virtualNodeSize > 0, "Virtual node size must be positive.");
+        ring = new long[targetNames.size() * virtualNodeSize];
+        ringTargetIndexes = new int[ring.length];
+        initRing(virtualNodeSize);
+    }
+    
+    private void initRing(final int virtualNodeSize) {
+        HashFunction hashFunction = Hashing.murmur3_128();
+        long[][] nodes = new long[ring.length][];
+        int count = 0;
+        for (int i = 0; i < getTargetSize(); i++) {
+            for (int j = 0; j < virtualNodeSize; j++) {
+                nodes[count++] = new long[] {hashFunction.hashString(getTargetName(i) + "#" + j, Charsets.UTF_8).asLong(), i};
+            }
+        }
+        Arrays.sort(nodes, new Comparator<long[]>() {
+            
+            @Override
+            public int compare(final long[] o1, final long[] o2) {
+                return o1[0] < o2[0] ? -1 : (o1[0] == o2[0] ? Long.compare(o1[1], o2[1]) : 1);
+            }
+        });
+        for (int i = 0; i < nodes.length; i++) {
+            ring[i] = nodes[i][0];
+            ringTargetIndexes[i] = (int) nodes[i][1];
+        }
+    }
+    
+    @Override
+    protected int getTargetIndex(final Comparable<?> shardingValue) {
+        int position = Arrays.binarySearch(ring, hash(shardingValue));
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return ringTargetIndexes[position == ring.length ? 0 : position];
+    }
+}
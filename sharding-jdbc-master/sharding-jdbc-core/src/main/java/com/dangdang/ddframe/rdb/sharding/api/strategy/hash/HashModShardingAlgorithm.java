@@ -0,0 +1,45 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.hash;
+
+import java.util.List;
+
+/**
+ * 哈希取模分片算法.
+ * 
+ * <p>
+ * 目标下标为分片值的哈希值对目标数量取模, 适用于字符串等非连续的分片值.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class HashModShardingAlgorithm extends AbstractIndexedShardingAlgorithm {
+    
+    public HashModShardingAlgorithm(final String targetPrefix, final int count) {
+        super(targetPrefix, count);
+    }
+    
+    public HashModShardingAlgorithm(final List<String> targetNames) {
+        super(targetNames);
+    }
+    
+    @Override
+    protected int getTargetIndex(final Comparable<?> shardingValue) {
+        return (int) ((hash(shardingValue) >>> 1) % getTargetSize());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.hash;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.google.common.collect.Range;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 取模分片算法.
+ * 
+ * <p>
+ * 分片值为整数或整数字符串, 目标下标为分片值对目标数量取模, 负数取模结果为非负数.
+ * BETWEEN区间小于目标数量时, 仅返回区间内的值对应的目标.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class ModuloShardingAlgorithm extends AbstractIndexedShardingAlgorithm {
+    
+    public ModuloShardingAlgorithm(final String targetPrefix, final int count) {
+        super(targetPrefix, count);
+    }
+    
+    public ModuloShardingAlgorithm(final List<String> targetNames) {
+        super(targetNames);
+    }
+    
+    @Override
+    protected int getTargetIndex(final Comparable<?> shardingValue) {
+        return mod(toLong(shardingValue));
+    }
+    
+    @Override
+    public Collection<String> doBetweenSharding(final Collection<String> availableTargetNames, final ShardingValue<Comparable<?>> shardingValue) {
+        Range<Comparable<?>> valueRange = shardingValue.getValueRange();
+        if (!valueRange.hasLowerBound() || !valueRange.hasUpperBound()) {
+            return super.doBetweenSharding(availableTargetNames, shardingValue);
+        }
+        long lower = toLong(valueRange.lowerEndpoint());
+        long upper = toLong(valueRange.upperEndpoint());
+        long span = upper - lower;
+        if (lower > upper || span < 0 || span >= getTargetSize() - 1) {
+            return super.doBetweenSharding(availableTargetNames, shardingValue);
+        }
+        Collection<String> result = new LinkedHashSet<>(getTargetSize());
+        for (long offset = 0; offset <= span; offset++) {
+            String target = getTargetName(mod(lower + offset));
+            if (isAvailable(availableTargetNames, target)) {
+                result.add(target);
+            }
+        }
+        return result;
+    }
+    
+    private int mod(final long value) {
+        long result = value % getTargetSize();
+        return (int) (result < 0 ? result + getTargetSize() : result);
+    }
+    
+    private long toLong(final Comparable<?> shardingValue) {
+        if (shardingValue instanceof Number) {
+            return ((Number) shardingValue).longValue();
+        }
+        if (shardingValue instanceof String) {
+            try {
+                return Long.parseLong(((String) shardingValue).trim());
+            } catch (final NumberFormatException ex) {
+                throw new ShardingJdbcException("Sharding value '%s' is not an integer.", shardingValue);
+            }
+        }
+        throw new ShardingJdbcException("Sharding value '%s' is not an integer.", shardingValue);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.range;
+
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 基于时间区间的分片算法.
+ * 
+ * <p>
+ * 分片值可以是{@code java.util.Date}及其子类, 毫秒数或格式为{@code yyyy-MM-dd}和{@code yyyy-MM-dd HH:mm:ss}的字符串.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class DateRangeShardingAlgorithm extends RangeShardingAlgorithm<Date> {
+    
+    private static final String DATE_PATTERN = "yyyy-MM-dd";
+    
+    private static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    
+    private static final String MONTH_SUFFIX_PATTERN = "yyyyMM";
+    
+    public DateRangeShardingAlgorithm(final Map<String, Range<Date>> targetRanges) {
+        super(targetRanges);
+    }
+    
+    /**
+     * 创建按月分片的分片算法.
+     * 
+     * <p>
+     * 目标名称为{@code targetPrefix}加{@code yyyyMM}格式的月份, 如{@code t_order_201701}, 对应区间为该月第一天零点至下月第一天零点.
+     * </p>
+     * 
+     * @param targetPrefix 目标名称前缀
+     * @param startDate 起始日期, 从其所在月份开始
+     * @param months 月份数量
+     * @return 基于时间区间的分片算法
+     */
+    public static DateRangeShardingAlgorithm monthly(final String targetPrefix, final Date startDate, final int months) {
+        Preconditions.checkArgument(months > 0, "Months must be positive.");
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(startDate);
+        calendar.set(Calendar.DAY_OF_MONTH, 1);
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        SimpleDateFormat suffixFormat = new SimpleDateFormat(MONTH_SUFFIX_PATTERN);
+        Map<String, Range<Date>> targetRanges = new LinkedHashMap<>(months, 1);
+        for (int i = 0; i < months; i++) {
+            Date lower = calendar.getTime();
+            calendar.add(Calendar.MONTH, 1);
+            targetRanges.put(targetPrefix + suffixFormat.format(lower), Range.closedOpen(lower, calendar.getTime()));
+        }
+        return new DateRangeShardingAlgorithm(targetRanges);
+    }
+    
+    @Override
+    protected Date convert(final Comparable<?> shardingValue) {
+        if (shardingValue instanceof Date) {
+            return new Date(((Date) shardingValue).getTime());
+        }
+        if (shardingValue instanceof Number) {
+            return new Date(((Number) shardingValue).longValue());
+        }
+        if (shardingValue instanceof String) {
+            String value = ((String) shardingValue).trim();
+            try {
+                return new SimpleDateFormat(value.length() > DATE_PATTERN.length() ? DATE_TIME_PATTERN : DATE_PATTERN).parse(value);
+            } catch (final ParseException ex) {
+                throw new ShardingJdbcException("Sharding value '%s' is not a date.", shardingValue);
+            }
+        }
+        throw new ShardingJdbcException("Sharding value '%s' is not a date.", shardingValue);
+    }
+}
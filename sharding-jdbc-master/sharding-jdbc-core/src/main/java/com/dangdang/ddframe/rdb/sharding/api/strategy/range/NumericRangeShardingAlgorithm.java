@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.range;
+
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 基于数值区间的分片算法.
+ * 
+ * <p>
+ * 分片值可以是数值或数值字符串, 小数部分将被舍弃.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class NumericRangeShardingAlgorithm extends RangeShardingAlgorithm<Long> {
+    
+    public NumericRangeShardingAlgorithm(final Map<String, Range<Long>> targetRanges) {
+        super(targetRanges);
+    }
+    
+    /**
+     * 创建等长区间的分片算法.
+     * 
+     * <p>
+     * 第i个目标名称为{@code targetPrefix + i}, 对应区间为{@code [startValue + i * interval, startValue + (i + 1) * interval)}.
+     * </p>
+     * 
+     * @param targetPrefix 目标名称前缀
+     * @param startValue 起始值
+     * @param interval 区间长度
+     * @param count 区间数量
+     * @return 基于数值区间的分片算法
+     */
+    public static NumericRangeShardingAlgorithm fixedInterval(final String targetPrefix, final long startValue, final long interval, final int count) {
+        Preconditions.checkArgument(interval > 0L, "Interval must be positive.");
+        Preconditions.checkArgument(count > 0, "Count must be positive.");
+        Map<String, Range<Long>> targetRanges = new LinkedHashMap<>(count, 1);
+        for (int i = 0; i < count; i++) {
+            targetRanges.put(targetPrefix + i, Range.closedOpen(startValue + i * interval, startValue + (i + 1) * interval));
+        }
+        return new NumericRangeShardingAlgorithm(targetRanges);
+    }
+    
+    @Override
+    protected Long convert(final Comparable<?> shardingValue) {
+        if (shardingValue instanceof Number) {
+            return ((Number) shardingValue).longValue();
+        }
+        if (shardingValue instanceof String) {
+            try {
+                return Long.parseLong(((String) shardingValue).trim());
+            } catch (final NumberFormatException ex) {
+                throw new ShardingJdbcException("Sharding value '%s' is not a number.", shardingValue);
+            }
+        }
+        throw new ShardingJdbcException("Sharding value '%s' is not a number.", shardingValue);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.range;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.database.SingleKeyDatabaseShardingAlgorithm;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.table.SingleKeyTableShardingAlgorithm;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeMap;
+import com.google.common.collect.TreeRangeMap;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * 基于区间的分片算法.
+ * 
+ * <p>
+ * 每个目标名称对应一个分片值区间, 区间之间不能重叠.
+ * 区间按分片值有序索引, 精确查找的时间复杂度为O(log n), 范围查找的时间复杂度为O(log n + k), k为命中的目标数量.
+ * 可用目标名称为空时(如动态表), 不过滤计算出的目标名称.
+ * </p>
+ * 
+ * @author zhangliang
+ * 
+ * @param <T> 区间值类型
+ */
+public abstract class RangeShardingAlgorithm<T extends Comparable<?>> implements SingleKeyDatabaseShardingAlgorithm<Comparable<?>>, SingleKeyTableShardingAlgorithm<Comparable<?>> {
+    
+    private final RangeMap<T, String> targetRanges = TreeRangeMap.create();
+    
+    protected RangeShardingAlgorithm(final Map<String, Range<T>> targetRanges) {
+        for (Entry<String, Range<T>> entry : targetRanges.entrySet()) {
+            Preconditions.checkArgument(!entry.getValue().isEmpty(), "Range of target '%s' is empty.", entry.getKey());
+            Preconditions.checkArgument(this.targetRanges.subRangeMap(entry.getValue()).asMapOfRanges().isEmpty(), "Range of target '%s' overlaps with other targets.", entry.getKey());
+            this.targetRanges.put(entry.getValue(), entry.getKey());
+        }
+    }
+    
+    /**
+     * 将分片值转换为区间值.
+     * 
+     * @param shardingValue 分片值
+     * @return 区间值
+     */
+    protected abstract T convert(Comparable<?> shardingValue);
+    
+    @Override
+    public final String doEqualSharding(final Collection<String> availableTargetNames, final ShardingValue<Comparable<?>> shardingValue) {
+        String result = targetRanges.get(convert(shardingValue.getValue()));
+        if (null == result || !isAvailable(availableTargetNames, result)) {
+            throw new ShardingJdbcException("Cannot find target for sharding value '%s' of column '%s'.", shardingValue.getValue(), shardingValue.getColumnName());
+        }
+        return result;
+    }
+    
+    @Override
+    public final Collection<String> doInSharding(final Collection<String> availableTargetNames, final ShardingValue<Comparable<?>> shardingValue) {
+        Collection<String> result = new LinkedHashSet<>(shardingValue.getValues().size());
+        for (Comparable<?> each : shardingValue.getValues()) {
+            String target = targetRanges.get(convert(each));
+            if (null != target && isAvailable(availableTargetNames, target)) {
+                result.add(target);
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public final Collection<String> doBetweenSharding(final Collection<String> availableTargetNames, final ShardingValue<Comparable<?>> shardingValue) {
+        Range<Comparable<?>> valueRange = shardingValue.getValueRange();
+        Collection<String> result = new LinkedHashSet<>();
+        for (String each : targetRanges.subRangeMap(convert(valueRange)).asMapOfRanges().values()) {
+            if (isAvailable(availableTargetNames, each)) {
+                result.add(each);
+            }
+        }
+        return result;
+    }
+    
+    private Range<T> convert(final Range<Comparable<?>> valueRange) {
+        if (valueRange.hasLowerBound() && valueRange.hasUpperBound()) {
+            return Range.range(convert(valueRange.lowerEndpoint()), valueRange.lowerBoundType(), convert(valueRange.upperEndpoint()), valueRange.upperBoundType());
+        }
+        if (valueRange.hasLowerBound()) {
+            return Range.downTo(convert(valueRange.lowerEndpoint()), valueRange.lowerBoundType());
+        }
+        if (valueRange.hasUpperBound()) {
+            return Range.upTo(convert(valueRange.upperEndpoint()), valueRange.upperBoundType());
+        }
+        return Range.all();
+    }
+    
+    private boolean isAvailable(final Collection<String> availableTargetNames, final String targetName) {
+        return availableTargetNames.isEmpty() || availableTargetNames.contains(targetName);
+    }
+}
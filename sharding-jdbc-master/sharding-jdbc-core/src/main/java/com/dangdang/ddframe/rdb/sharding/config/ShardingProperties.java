@@ -17,10 +17,12 @@
 
 package com.dangdang.ddframe.rdb.sharding.config;
 
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
 import com.dangdang.ddframe.rdb.sharding.util.StringUtil;
 import com.google.common.base.Joiner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Properties;
 import java.util.Set;
@@ -92,4 +94,27 @@ public final class ShardingProperties {
         }
         return (T) result;
     }
+    
+    /**
+     * 获取枚举类型的配置项属性值.
+     * 
+     * <p>
+     * 属性值忽略大小写和首尾空白.
+     * </p>
+     * 
+     * @param shardingPropertiesConstant 配置项常量
+     * @param enumType 枚举类型
+     * @param <E> 枚举类型
+     * @return 配置项属性值
+     * @throws ShardingJdbcException 属性值不是枚举名称时抛出
+     */
+    public <E extends Enum<E>> E getEnumValue(final ShardingPropertiesConstant shardingPropertiesConstant, final Class<E> enumType) {
+        String value = getValue(shardingPropertiesConstant);
+        for (E each : enumType.getEnumConstants()) {
+            if (each.name().equalsIgnoreCase(value.trim())) {
+                return each;
+            }
+        }
+        throw new ShardingJdbcException("Value '%s' of '%s' is invalid, allowed values are %s.", value, shardingPropertiesConstant.getKey(), Arrays.toString(enumType.getEnumConstants()));
+    }
 }
@@ -17,6 +17,9 @@
 
 package com.dangdang.ddframe.rdb.sharding.config;
 
+import com.dangdang.ddframe.rdb.sharding.constant.ExecutorRejectionPolicy;
+import com.dangdang.ddframe.rdb.sharding.constant.ExecutorType;
+import com.dangdang.ddframe.rdb.sharding.constant.FanOutPolicy;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -65,7 +68,165 @@ public enum ShardingPropertiesConstant {
      * 默认值: CPU核数
      * </p>
      */
-    EXECUTOR_SIZE("executor.size", String.valueOf(Runtime.getRuntime().availableProcessors()), int.class);
+    EXECUTOR_SIZE("executor.size", String.valueOf(Runtime.getRuntime().availableProcessors()), int.class),
+
+    /**
+     * 工作线程池类型.
+     *
+     * <p>
+     * 可选值: FIXED, CACHED, VIRTUAL, 或实现{@code ExecutorBackend}接口的全限定类名.
+     * 任务队列容量和拒绝策略仅对FIXED生效.
+     * VIRTUAL不支持设置任务队列容量和ABORT拒绝策略, 设置时启动失败.
+     * 默认值: FIXED
+     * </p>
+     */
+    EXECUTOR_TYPE("executor.type", ExecutorType.FIXED.name(), String.class),
+    
+    /**
+     * 每次查询在每个数据源上最多占用的连接数量.
+     * 
+     * <p>
+     * 同一数据源的执行单元数量不超过该值时, 每个执行单元使用独立的连接并行执行, 流式归并结果集;
+     * 超过时共用一个连接串行执行, 查询结果集读取至内存后再执行下一个执行单元.
+     * 非自动提交的事务中总是使用一个连接.
+     * 为0时不区分连接模式, 每个数据源使用一个连接, 流式归并结果集.
+     * 默认值: 0
+     * </p>
+     */
+    MAX_CONNECTIONS_SIZE_PER_QUERY("max.connections.size.per.query", "0", int.class),
+    
+    /**
+     * 工作线程任务队列容量.
+     * 
+     * <p>
+     * 队列已满时按拒绝策略处理新提交的任务, 为0时不限制队列容量.
+     * 默认值: 0
+     * </p>
+     */
+    EXECUTOR_QUEUE_SIZE("executor.queue.size", "0", int.class),
+    
+    /**
+     * 工作线程任务队列已满时的拒绝策略.
+     * 
+     * <p>
+     * 可选值: CALLER_RUNS, ABORT.
+     * 默认值: CALLER_RUNS
+     * </p>
+     */
+    EXECUTOR_REJECTION_POLICY("executor.rejection.policy", ExecutorRejectionPolicy.CALLER_RUNS.name(), String.class),
+    
+    /**
+     * 每次执行等待全部分片返回的超时时间.
+     * 
+     * <p>
+     * 语句对象设置了查询超时时间时以语句对象的设置为准, 超时后取消尚未完成的分片执行.
+     * 单位: 毫秒, 为0时不限制.
+     * 默认值: 0
+     * </p>
+     */
+    EXECUTOR_TIMEOUT_MILLISECONDS("executor.timeout.millisecond", "0", long.class),
+    
+    /**
+     * 是否开启数据源隔离舱.
+     * 
+     * <p>
+     * 开启后每个数据源最多占用的工作线程数量为其连接池的最大连接数量, 且不超过工作线程数量.
+     * 无法获取连接池最大连接数量时, 按数据源数量平分工作线程.
+     * 默认值: 关闭
+     * </p>
+     */
+    EXECUTOR_BULKHEAD_ENABLE("executor.bulkhead.enable", Boolean.FALSE.toString(), boolean.class),
+    
+    /**
+     * SQL解析结果缓存容量.
+     * 
+     * <p>
+     * 超出容量时淘汰最近最少使用的解析结果, 为0时不缓存.
+     * 默认值: 1024
+     * </p>
+     */
+    PARSING_CACHE_SIZE("parsing.cache.size", "1024", long.class),
+    
+    /**
+     * 是否开启SQL形态归一化.
+     * 
+     * <p>
+     * 开启后, Statement执行的SQL中条件和值列表的字面量将被替换为占位符, 仅字面量不同的SQL共享同一个解析结果.
+     * 默认值: 关闭
+     * </p>
+     */
+    PARSING_SHAPE_ENABLE("parsing.shape.enable", Boolean.FALSE.toString(), boolean.class),
+    
+    /**
+     * 路由结果缓存容量.
+     * 
+     * <p>
+     * 以逻辑表名和分片值为键缓存简单路由的结果, 超出容量时淘汰最近最少使用的路由结果, 为0时不缓存.
+     * 默认值: 0
+     * </p>
+     */
+    ROUTING_CACHE_SIZE("routing.cache.size", "0", long.class),
+    
+    /**
+     * 笛卡尔积路由组合数量上限.
+     * 
+     * <p>
+     * 非Binding表关联查询的笛卡尔积组合数量超出上限时抛出异常, 为0时不限制.
+     * 默认值: 0
+     * </p>
+     */
+    ROUTING_CARTESIAN_MAX_SIZE("routing.cartesian.max.size", "0", int.class),
+    
+    /**
+     * 是否开启路由统计.
+     * 
+     * <p>
+     * 开启后按逻辑表统计路由扇出数量的直方图, 用于发现全路由的SQL.
+     * 默认值: 关闭
+     * </p>
+     */
+    ROUTING_STATISTICS_ENABLE("routing.statistics.enable", Boolean.FALSE.toString(), boolean.class),
+    
+    /**
+     * 单条SQL路由的数据源数量上限.
+     * 
+     * <p>
+     * 超出上限时按{@code routing.fan.out.policy}处理, 为0时不限制.
+     * 默认值: 0
+     * </p>
+     */
+    ROUTING_MAX_DATA_SOURCES("routing.max.data.sources", "0", int.class),
+    
+    /**
+     * 单条SQL路由的表单元数量上限.
+     * 
+     * <p>
+     * 超出上限时按{@code routing.fan.out.policy}处理, 为0时不限制.
+     * 默认值: 0
+     * </p>
+     */
+    ROUTING_MAX_TABLE_UNITS("routing.max.table.units", "0", int.class),
+    
+    /**
+     * 路由扇出超限策略.
+     * 
+     * <p>
+     * 可选值: REJECT, WARN, ALLOW.
+     * 默认值: REJECT
+     * </p>
+     */
+    ROUTING_FAN_OUT_POLICY("routing.fan.out.policy", FanOutPolicy.REJECT.name(), String.class),
+    
+    /**
+     * 是否开启UNION ALL改写.
+     * 
+     * <p>
+     * 开启后, 查询路由至同一数据源的多个表单元时合并为一条UNION ALL语句, 每个数据源只执行一条SQL.
+     * 仅支持MySQL, H2和PostgreSQL.
+     * 默认值: 关闭
+     * </p>
+     */
+    REWRITE_UNION_ALL_ENABLE("rewrite.union.all.enable", Boolean.FALSE.toString(), boolean.class);
     
     private final String key;
     
@@ -0,0 +1,33 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.constant;
+
+/**
+ * 连接模式.
+ * 
+ * <p>
+ * MEMORY_STRICTLY: 内存限制模式, 结果集以流式方式归并, 连接数量允许时每个执行单元使用独立的连接并行执行.
+ * CONNECTION_STRICTLY: 连接限制模式, 同一数据源的执行单元共用一个连接串行执行, 查询结果集读取至内存后释放连接.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public enum ConnectionMode {
+    
+    MEMORY_STRICTLY, CONNECTION_STRICTLY
+}
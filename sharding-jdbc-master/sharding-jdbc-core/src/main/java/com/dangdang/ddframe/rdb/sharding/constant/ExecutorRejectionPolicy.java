@@ -0,0 +1,33 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.constant;
+
+/**
+ * 执行线程池队列已满时的拒绝策略.
+ * 
+ * <p>
+ * CALLER_RUNS: 由提交任务的线程执行, 减缓提交速度.
+ * ABORT: 立即失败, 抛出异常.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public enum ExecutorRejectionPolicy {
+    
+    CALLER_RUNS, ABORT
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.constant;
+
+/**
+ * 执行引擎的线程池类型.
+ * 
+ * <p>
+ * FIXED: 固定大小的线程池, 任务超出线程数量时排队.
+ * CACHED: 弹性线程池, 任务超出常驻线程数量时创建新线程.
+ * VIRTUAL: 每个任务使用一个虚拟线程, 运行时不支持虚拟线程时使用弹性线程池.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public enum ExecutorType {
+    
+    FIXED, CACHED, VIRTUAL
+}
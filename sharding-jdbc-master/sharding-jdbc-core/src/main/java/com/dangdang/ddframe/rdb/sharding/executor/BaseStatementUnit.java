@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.rdb.sharding.executor;
 
+import com.dangdang.ddframe.rdb.sharding.constant.ConnectionMode;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
 
 import java.sql.Statement;
@@ -42,4 +43,11 @@ public interface BaseStatementUnit {
      */
     Statement getStatement();
     
+    /**
+     * 获得连接模式.
+     *
+     * @return 连接模式
+     */
+    ConnectionMode getConnectionMode();
+    
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor;
+
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 数据源隔离舱.
+ * 
+ * <p>
+ * 为每个数据源分配工作线程的使用上限, 避免单个数据源响应变慢时占满全部工作线程, 影响其他数据源的执行.
+ * 未配置上限的数据源不受限制.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class DataSourceBulkhead {
+    
+    /**
+     * 不限制任何数据源的隔离舱
+     */
+    public static final DataSourceBulkhead NONE = new DataSourceBulkhead(Collections.<String, Integer>emptyMap());
+    
+    /**
+     * 以数据源名称为键的工作线程使用上限
+     */
+    @Getter
+    private final Map<String, Integer> maxPermits;
+    
+    private final Map<String, Semaphore> semaphores = new LinkedHashMap<>();
+    
+    private final Map<String, AtomicLong> saturatedCounts = new LinkedHashMap<>();
+    
+    public DataSourceBulkhead(final Map<String, Integer> maxPermits) {
+        this.maxPermits = Collections.unmodifiableMap(new LinkedHashMap<>(maxPermits));
+        for (Entry<String, Integer> entry : maxPermits.entrySet()) {
+            Preconditions.checkArgument(entry.getValue() > 0, "Bulkhead size of %s must be positive.", entry.getKey());
+            semaphores.put(entry.getKey(), new Semaphore(entry.getValue()));
+            saturatedCounts.put(entry.getKey(), new AtomicLong());
+        }
+    }
+    
+    /**
+     * 尝试占用数据源的工作线程.
+     * 
+     * @param dataSource 数据源名称
+     * @return 是否占用成功, 数据源的工作线程已用尽时返回false
+     */
+    public boolean tryAcquire(final String dataSource) {
+        Semaphore semaphore = semaphores.get(dataSource);
+        if (null == semaphore || semaphore.tryAcquire()) {
+            return true;
+        }
+        saturatedCounts.get(dataSource).incrementAndGet();
+        return false;
+    }
+    
+    /**
+     * 释放数据源的工作线程.
+     * 
+     * @param dataSource 数据源名称
+     */
+    public void release(final String dataSource) {
+        Semaphore semaphore = semaphores.get(dataSource);
+        if (null != semaphore) {
+            semaphore.release();
+        }
+    }
+    
+    /**
+     * 获取各数据源可用的工作线程数量.
+     * 
+     * @return 以数据源名称为键的可用工作线程数量
+     */
+    public Map<String, Integer> getAvailablePermits() {
+        Map<String, Integer> result = new LinkedHashMap<>(semaphores.size(), 1);
+        for (Entry<String, Semaphore> entry : semaphores.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().availablePermits());
+        }
+        return result;
+    }
+    
+    /**
+     * 获取各数据源工作线程用尽的次数.
+     * 
+     * @return 以数据源名称为键的工作线程用尽次数
+     */
+    public Map<String, Long> getSaturatedCounts() {
+        Map<String, Long> result = new LinkedHashMap<>(saturatedCounts.size(), 1);
+        for (Entry<String, AtomicLong> entry : saturatedCounts.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result;
+    }
+}
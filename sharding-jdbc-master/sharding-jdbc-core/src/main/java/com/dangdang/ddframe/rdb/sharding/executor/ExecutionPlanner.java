@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor;
+
+import com.dangdang.ddframe.rdb.sharding.constant.ConnectionMode;
+import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * SQL执行计划器.
+ * 
+ * <p>
+ * 按数据源对SQL执行单元分组, 根据每次查询在每个数据源上最多占用的连接数量选择连接模式.
+ * 最大连接数量为0时不区分连接模式, 每个数据源使用一个连接, 流式归并结果集.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class ExecutionPlanner {
+    
+    @Getter
+    private final int maxConnectionsSizePerQuery;
+    
+    public ExecutionPlanner(final int maxConnectionsSizePerQuery) {
+        Preconditions.checkArgument(maxConnectionsSizePerQuery >= 0, "Max connections size per query can not be negative.");
+        this.maxConnectionsSizePerQuery = maxConnectionsSizePerQuery;
+    }
+    
+    /**
+     * 生成执行分组.
+     * 
+     * @param sqlExecutionUnits SQL执行单元集合
+     * @param multipleConnectionsAllowed 是否允许同一数据源使用多个连接, 非自动提交的事务中需保证只使用一个连接
+     * @return 按数据源分组的执行分组集合
+     */
+    public List<ExecutionGroup> plan(final Collection<SQLExecutionUnit> sqlExecutionUnits, final boolean multipleConnectionsAllowed) {
+        Map<String, List<SQLExecutionUnit>> dataSourceUnitsMap = new LinkedHashMap<>();
+        for (SQLExecutionUnit each : sqlExecutionUnits) {
+            if (!dataSourceUnitsMap.containsKey(each.getDataSource())) {
+                dataSourceUnitsMap.put(each.getDataSource(), new LinkedList<SQLExecutionUnit>());
+            }
+            dataSourceUnitsMap.get(each.getDataSource()).add(each);
+        }
+        int maxConnectionsSize = multipleConnectionsAllowed ? maxConnectionsSizePerQuery : Math.min(maxConnectionsSizePerQuery, 1);
+        List<ExecutionGroup> result = new ArrayList<>(dataSourceUnitsMap.size());
+        for (Entry<String, List<SQLExecutionUnit>> entry : dataSourceUnitsMap.entrySet()) {
+            result.add(createExecutionGroup(entry.getKey(), entry.getValue(), maxConnectionsSize));
+        }
+        return result;
+    }
+    
+    private ExecutionGroup createExecutionGroup(final String dataSource, final List<SQLExecutionUnit> sqlExecutionUnits, final int maxConnectionsSize) {
+        if (0 == maxConnectionsSize) {
+            return new ExecutionGroup(dataSource, ConnectionMode.MEMORY_STRICTLY, 1, sqlExecutionUnits);
+        }
+        if (sqlExecutionUnits.size() <= maxConnectionsSize) {
+            return new ExecutionGroup(dataSource, ConnectionMode.MEMORY_STRICTLY, sqlExecutionUnits.size(), sqlExecutionUnits);
+        }
+        return new ExecutionGroup(dataSource, ConnectionMode.CONNECTION_STRICTLY, 1, sqlExecutionUnits);
+    }
+}
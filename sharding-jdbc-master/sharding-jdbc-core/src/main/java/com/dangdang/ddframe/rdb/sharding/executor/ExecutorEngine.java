@@ -17,8 +17,12 @@
 
 package com.dangdang.ddframe.rdb.sharding.executor;
 
+import com.dangdang.ddframe.rdb.sharding.constant.ExecutorRejectionPolicy;
 import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
 import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.dangdang.ddframe.rdb.sharding.executor.backend.ExecutorBackend;
+import com.dangdang.ddframe.rdb.sharding.executor.backend.FixedExecutorBackend;
+import com.dangdang.ddframe.rdb.sharding.executor.backend.VirtualThreadExecutorBackend;
 import com.dangdang.ddframe.rdb.sharding.executor.event.AbstractExecutionEvent;
 import com.dangdang.ddframe.rdb.sharding.executor.event.DMLExecutionEvent;
 import com.dangdang.ddframe.rdb.sharding.executor.event.DQLExecutionEvent;
@@ -26,46 +30,110 @@ import com.dangdang.ddframe.rdb.sharding.executor.event.EventExecutionType;
 import com.dangdang.ddframe.rdb.sharding.executor.threadlocal.ExecutorDataMap;
 import com.dangdang.ddframe.rdb.sharding.executor.threadlocal.ExecutorExceptionHandler;
 import com.dangdang.ddframe.rdb.sharding.executor.type.batch.BatchPreparedStatementUnit;
+import com.dangdang.ddframe.rdb.sharding.executor.type.batch.BatchStatementUnit;
 import com.dangdang.ddframe.rdb.sharding.executor.type.prepared.PreparedStatementUnit;
 import com.dangdang.ddframe.rdb.sharding.executor.type.statement.StatementUnit;
 import com.dangdang.ddframe.rdb.sharding.util.EventBusInstance;
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * SQL执行引擎.
  * 
+ * <p>
+ * 使用同一连接的语句对象执行单元在同一任务中串行执行, 使用不同连接的执行单元并行执行.
+ * 任务队列可以限制容量, 队列已满时按拒绝策略由调用线程执行或立即失败.
+ * 等待分片执行超时时取消尚未完成的任务和语句对象, 调用线程执行的分片也在超时时取消语句对象.
+ * 开启数据源隔离舱时, 数据源占用的工作线程达到上限后, 该数据源的任务由调用线程执行.
+ * 工作线程池由{@link ExecutorBackend}创建, 可以选择固定大小线程池, 弹性线程池或虚拟线程.
+ * 虚拟线程不排队也不拒绝任务, 与任务队列容量或{@link ExecutorRejectionPolicy#ABORT}同时配置时创建失败.
+ * </p>
+ * 
  * @author gaohongtao
  * @author zhangliang
  */
 @Slf4j
 public final class ExecutorEngine implements AutoCloseable {
     
+    private final ExecutorService rawExecutorService;
+    
     private final ListeningExecutorService executorService;
     
+    @Getter
+    private final ExecutionPlanner executionPlanner;
+    
+    private final long timeoutMilliseconds;
+    
+    private final DataSourceBulkhead bulkhead;
+    
+    private final ScheduledThreadPoolExecutor timeoutScheduler;
+    
+    private final AtomicLong rejectedCount = new AtomicLong();
+    
+    private final AtomicLong timeoutCount = new AtomicLong();
+    
     public ExecutorEngine(final int executorSize) {
-        executorService = MoreExecutors.listeningDecorator(new ThreadPoolExecutor(
-                executorSize, executorSize, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(),
-                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingJDBC-%d").build()));
+        this(executorSize, 0);
+    }
+    
+    public ExecutorEngine(final int executorSize, final int maxConnectionsSizePerQuery) {
+        this(executorSize, maxConnectionsSizePerQuery, 0, ExecutorRejectionPolicy.CALLER_RUNS, 0L);
+    }
+    
+    public ExecutorEngine(final int executorSize, final int maxConnectionsSizePerQuery, final int queueSize, final ExecutorRejectionPolicy rejectionPolicy, final long timeoutMilliseconds) {
+        this(executorSize, maxConnectionsSizePerQuery, queueSize, rejectionPolicy, timeoutMilliseconds, DataSourceBulkhead.NONE);
+    }
+    
+    public ExecutorEngine(final int executorSize, final int maxConnectionsSizePerQuery, final int queueSize, final ExecutorRejectionPolicy rejectionPolicy, final long timeoutMilliseconds, 
+                          final DataSourceBulkhead bulkhead) {
+        this(executorSize, maxConnectionsSizePerQuery, queueSize, rejectionPolicy, timeoutMilliseconds, bulkhead, new FixedExecutorBackend());
+    }
+    
+    public ExecutorEngine(final int executorSize, final int maxConnectionsSizePerQuery, final int queueSize, final ExecutorRejectionPolicy rejectionPolicy, final long timeoutMilliseconds, 
+                          final DataSourceBulkhead bulkhead, final ExecutorBackend backend) {
+        Preconditions.checkArgument(queueSize >= 0, "Executor queue size can not be negative.");
+        Preconditions.checkArgument(timeoutMilliseconds >= 0L, "Executor timeout can not be negative.");
+        Preconditions.checkArgument(!(backend instanceof VirtualThreadExecutorBackend) || 0 == queueSize && ExecutorRejectionPolicy.CALLER_RUNS == rejectionPolicy, 
+                "Virtual thread executor does not queue or reject tasks, executor queue size and rejection policy can not be set.");
+        executionPlanner = new ExecutionPlanner(maxConnectionsSizePerQuery);
+        this.timeoutMilliseconds = timeoutMilliseconds;
+        this.bulkhead = bulkhead;
+        rawExecutorService = backend.createExecutorService(executorSize, queueSize, new CountingRejectedExecutionHandler(rejectionPolicy));
+        executorService = MoreExecutors.listeningDecorator(rawExecutorService);
+        timeoutScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingJDBC-timeout-%d").build());
+        timeoutScheduler.setRemoveOnCancelPolicy(true);
         MoreExecutors.addDelayedShutdownHook(executorService, 60, TimeUnit.SECONDS); // TODO 疑问：会执行到么？数据
     }
     
@@ -111,6 +179,18 @@ public final class ExecutorEngine implements AutoCloseable {
         return execute(sqlType, batchPreparedStatementUnits, parameterSets, executeCallback);
     }
 
+    /**
+     * 执行批量静态语句.
+     *
+     * @param sqlType SQL类型
+     * @param batchStatementUnits 批量静态语句对象执行单元集合
+     * @param executeCallback 执行回调函数
+     * @return 执行结果
+     */
+    public List<int[]> executeBatch(final SQLType sqlType, final Collection<BatchStatementUnit> batchStatementUnits, final ExecuteCallback<int[]> executeCallback) {
+        return execute(sqlType, batchStatementUnits, Collections.<List<Object>>emptyList(), executeCallback);
+    }
+
     /**
      * 执行
      *
@@ -126,94 +206,255 @@ public final class ExecutorEngine implements AutoCloseable {
         if (baseStatementUnits.isEmpty()) {
             return Collections.emptyList();
         }
-        Iterator<? extends BaseStatementUnit> iterator = baseStatementUnits.iterator();
-        BaseStatementUnit firstInput = iterator.next();
-        // 第二个任务开始所有 SQL任务 提交线程池【异步】执行任务
-        ListenableFuture<List<T>> restFutures = asyncExecute(sqlType, Lists.newArrayList(iterator), parameterSets, executeCallback);
-        T firstOutput;
-        List<T> restOutputs;
+        long timeout = getTimeoutMilliseconds(baseStatementUnits);
+        long startTime = System.currentTimeMillis();
+        // 调用线程执行的分片不受等待超时限制, 到期时取消全部语句对象
+        Optional<ScheduledFuture<?>> timeoutCanceller = scheduleCancelStatements(baseStatementUnits, timeout);
         try {
-            // 第一个任务【同步】执行任务
-            firstOutput = syncExecute(sqlType, firstInput, parameterSets, executeCallback);
-            // 等待第二个任务开始所有 SQL任务完成
-            restOutputs = restFutures.get();
+            return executeGroups(sqlType, baseStatementUnits, parameterSets, executeCallback, timeout, startTime);
+        } finally {
+            if (timeoutCanceller.isPresent()) {
+                timeoutCanceller.get().cancel(false);
+            }
+        }
+    }
+    
+    private <T> List<T> executeGroups(final SQLType sqlType, final Collection<? extends BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, 
+                                      final ExecuteCallback<T> executeCallback, final long timeout, final long startTime) {
+        Iterator<List<BaseStatementUnit>> iterator = groupByConnection(baseStatementUnits).iterator();
+        List<BaseStatementUnit> firstInputs = iterator.next();
+        ListenableFuture<List<List<T>>> restFutures;
+        Collection<ListenableFutureTask<List<T>>> callerRunsTasks = new LinkedList<>();
+        try {
+            // 第二组开始所有 SQL任务 提交线程池【异步】执行任务
+            restFutures = asyncExecute(sqlType, Lists.newArrayList(iterator), parameterSets, executeCallback, callerRunsTasks);
+        } catch (final RejectedExecutionException ex) {
+            ExecutorExceptionHandler.handleException(ex);
+            return null;
+        }
+        List<T> firstOutputs;
+        List<List<T>> restOutputs;
+        try {
+            // 第一组任务【同步】执行任务
+            firstOutputs = syncExecute(sqlType, firstInputs, parameterSets, executeCallback);
+            // 数据源隔离舱已满的任务由调用线程执行
+            for (ListenableFutureTask<List<T>> each : callerRunsTasks) {
+                each.run();
+            }
+            if (isTimeout(timeout, startTime)) {
+                throw new TimeoutException(String.format("Execution timeout of %d milliseconds exceeded.", timeout));
+            }
+            // 等待第二组开始所有 SQL任务完成
+            restOutputs = 0L == timeout ? restFutures.get() : restFutures.get(Math.max(startTime + timeout - System.currentTimeMillis(), 0L), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException ex) {
+            handleTimeout(baseStatementUnits, restFutures, ex);
+            return null;
             //CHECKSTYLE:OFF
         } catch (final Exception ex) {
             //CHECKSTYLE:ON
+            // 调用线程执行的分片因超时被取消时, 按超时处理
+            if (isTimeout(timeout, startTime)) {
+                handleTimeout(baseStatementUnits, restFutures, new TimeoutException(String.format("Execution timeout of %d milliseconds exceeded.", timeout)));
+                return null;
+            }
             ExecutorExceptionHandler.handleException(ex);
             return null;
         }
         // 返回结果
-        List<T> result = Lists.newLinkedList(restOutputs);
-        result.add(0, firstOutput);
+        List<T> result = Lists.newLinkedList(firstOutputs);
+        for (List<T> each : restOutputs) {
+            result.addAll(each);
+        }
         return result;
     }
 
-    private <T> ListenableFuture<List<T>> asyncExecute(
-            final SQLType sqlType, final Collection<BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) {
-        List<ListenableFuture<T>> result = new ArrayList<>(baseStatementUnits.size());
+    /**
+     * 获取等待分片执行的超时时间.
+     * 
+     * <p>
+     * 语句对象设置了查询超时时间时以语句对象的设置为准.
+     * </p>
+     * 
+     * @param baseStatementUnits 语句对象执行单元集合
+     * @return 超时时间, 单位毫秒, 为0时不限制
+     */
+    private long getTimeoutMilliseconds(final Collection<? extends BaseStatementUnit> baseStatementUnits) {
+        int queryTimeout;
+        try {
+            queryTimeout = baseStatementUnits.iterator().next().getStatement().getQueryTimeout();
+        } catch (final SQLException ex) {
+            throw new ShardingJdbcException(ex);
+        }
+        return queryTimeout > 0 ? TimeUnit.SECONDS.toMillis(queryTimeout) : timeoutMilliseconds;
+    }
+    
+    private Optional<ScheduledFuture<?>> scheduleCancelStatements(final Collection<? extends BaseStatementUnit> baseStatementUnits, final long timeout) {
+        if (0L == timeout) {
+            return Optional.absent();
+        }
+        return Optional.<ScheduledFuture<?>>of(timeoutScheduler.schedule(new Runnable() {
+            
+            @Override
+            public void run() {
+                cancelStatements(baseStatementUnits);
+            }
+        }, timeout, TimeUnit.MILLISECONDS));
+    }
+    
+    private boolean isTimeout(final long timeout, final long startTime) {
+        return 0L != timeout && System.currentTimeMillis() - startTime >= timeout;
+    }
+    
+    private void handleTimeout(final Collection<? extends BaseStatementUnit> baseStatementUnits, final ListenableFuture<?> restFutures, final TimeoutException ex) {
+        timeoutCount.incrementAndGet();
+        restFutures.cancel(true);
+        cancelStatements(baseStatementUnits);
+        ExecutorExceptionHandler.handleException(ex);
+    }
+    
+    private void cancelStatements(final Collection<? extends BaseStatementUnit> baseStatementUnits) {
+        for (BaseStatementUnit each : baseStatementUnits) {
+            Statement statement = each.getStatement();
+            try {
+                statement.cancel();
+            } catch (final SQLException ex) {
+                log.warn("Cancel statement failure, SQL: {}, cause: {}", each.getSqlExecutionUnit().getSql(), ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 按连接对语句对象执行单元分组.
+     * 
+     * <p>
+     * 同一连接不能并发执行多个语句, 使用同一连接的执行单元需在同一任务中串行执行.
+     * </p>
+     * 
+     * @param baseStatementUnits 语句对象执行单元集合
+     * @return 按连接分组的语句对象执行单元
+     */
+    private Collection<List<BaseStatementUnit>> groupByConnection(final Collection<? extends BaseStatementUnit> baseStatementUnits) {
+        Map<Connection, List<BaseStatementUnit>> connectionGroups = new IdentityHashMap<>(baseStatementUnits.size());
+        List<List<BaseStatementUnit>> result = new ArrayList<>(baseStatementUnits.size());
+        for (BaseStatementUnit each : baseStatementUnits) {
+            Connection connection;
+            try {
+                connection = each.getStatement().getConnection();
+            } catch (final SQLException ex) {
+                throw new ShardingJdbcException(ex);
+            }
+            if (!connectionGroups.containsKey(connection)) {
+                List<BaseStatementUnit> group = new LinkedList<>();
+                connectionGroups.put(connection, group);
+                result.add(group);
+            }
+            connectionGroups.get(connection).add(each);
+        }
+        return result;
+    }
+
+    private <T> ListenableFuture<List<List<T>>> asyncExecute(final SQLType sqlType, final Collection<List<BaseStatementUnit>> baseStatementUnitGroups, 
+                                                             final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback, final Collection<ListenableFutureTask<List<T>>> callerRunsTasks) {
+        List<ListenableFuture<List<T>>> result = new ArrayList<>(baseStatementUnitGroups.size());
         final boolean isExceptionThrown = ExecutorExceptionHandler.isExceptionThrown();
         final Map<String, Object> dataMap = ExecutorDataMap.getDataMap();
-        for (final BaseStatementUnit each : baseStatementUnits) {
-            // 提交线程池【异步】执行任务
-            result.add(executorService.submit(new Callable<T>() {
+        try {
+            for (final List<BaseStatementUnit> each : baseStatementUnitGroups) {
+                Callable<List<T>> task = new Callable<List<T>>() {
 
-                @Override
-                public T call() throws Exception {
-                    return executeInternal(sqlType, each, parameterSets, executeCallback, isExceptionThrown, dataMap);
+                    @Override
+                    public List<T> call() throws Exception {
+                        return executeGroup(sqlType, each, parameterSets, executeCallback, isExceptionThrown, dataMap);
+                    }
+                };
+                final String dataSource = each.get(0).getSqlExecutionUnit().getDataSource();
+                if (!bulkhead.tryAcquire(dataSource)) {
+                    ListenableFutureTask<List<T>> callerRunsTask = ListenableFutureTask.create(task);
+                    callerRunsTasks.add(callerRunsTask);
+                    result.add(callerRunsTask);
+                    continue;
+                }
+                ListenableFuture<List<T>> future;
+                try {
+                    // 提交线程池【异步】执行任务
+                    future = executorService.submit(task);
+                } catch (final RejectedExecutionException ex) {
+                    bulkhead.release(dataSource);
+                    throw ex;
                 }
-            }));
+                // 任务完成或被取消时释放数据源隔离舱
+                future.addListener(new Runnable() {
+                    
+                    @Override
+                    public void run() {
+                        bulkhead.release(dataSource);
+                    }
+                }, MoreExecutors.directExecutor());
+                result.add(future);
+            }
+        } catch (final RejectedExecutionException ex) {
+            // 队列已满立即失败时, 取消已提交的任务
+            for (ListenableFuture<List<T>> each : result) {
+                each.cancel(true);
+            }
+            throw ex;
         }
         // 返回 ListenableFuture
         return Futures.allAsList(result);
     }
 
-    private <T> T syncExecute(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) throws Exception {
+    private <T> List<T> syncExecute(
+            final SQLType sqlType, final List<BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback) throws Exception {
         // 【同步】执行任务
-        return executeInternal(sqlType, baseStatementUnit, parameterSets, executeCallback, ExecutorExceptionHandler.isExceptionThrown(), ExecutorDataMap.getDataMap());
+        return executeGroup(sqlType, baseStatementUnits, parameterSets, executeCallback, ExecutorExceptionHandler.isExceptionThrown(), ExecutorDataMap.getDataMap());
+    }
+    
+    private <T> List<T> executeGroup(final SQLType sqlType, final List<BaseStatementUnit> baseStatementUnits, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback, 
+                                     final boolean isExceptionThrown, final Map<String, Object> dataMap) throws Exception {
+        List<T> result = new ArrayList<>(baseStatementUnits.size());
+        for (BaseStatementUnit each : baseStatementUnits) {
+            result.add(executeInternal(sqlType, each, parameterSets, executeCallback, isExceptionThrown, dataMap));
+        }
+        return result;
     }
     
     private <T> T executeInternal(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<List<Object>> parameterSets, final ExecuteCallback<T> executeCallback, 
                           final boolean isExceptionThrown, final Map<String, Object> dataMap) throws Exception {
-        synchronized (baseStatementUnit.getStatement().getConnection()) { // 可能拿到相同的 Connection，同步避免冲突
-//            System.out.println(baseStatementUnit.getStatement().getConnection() + "\t" + baseStatementUnit.getSqlExecutionUnit().getSql());
-
-            T result;
-            ExecutorExceptionHandler.setExceptionThrown(isExceptionThrown);
-            ExecutorDataMap.setDataMap(dataMap);
-            List<AbstractExecutionEvent> events = new LinkedList<>();
-            // 生成 Event
-            if (parameterSets.isEmpty()) {
-                events.add(getExecutionEvent(sqlType, baseStatementUnit, Collections.emptyList()));
-            } else {
-                for (List<Object> each : parameterSets) {
-                    events.add(getExecutionEvent(sqlType, baseStatementUnit, each));
-                }
-            }
-            // EventBus 发布 EventExecutionType.BEFORE_EXECUTE
-            for (AbstractExecutionEvent event : events) {
-                EventBusInstance.getInstance().post(event);
-            }
-            try {
-                // 执行回调函数
-                result = executeCallback.execute(baseStatementUnit);
-            } catch (final SQLException ex) {
-                // EventBus 发布 EventExecutionType.EXECUTE_FAILURE
-                for (AbstractExecutionEvent each : events) {
-                    each.setEventExecutionType(EventExecutionType.EXECUTE_FAILURE);
-                    each.setException(Optional.of(ex));
-                    EventBusInstance.getInstance().post(each);
-                    ExecutorExceptionHandler.handleException(ex); // TODO 疑问：如果多个任务，只发一个执行异常么？
-                }
-                return null;
+        T result;
+        ExecutorExceptionHandler.setExceptionThrown(isExceptionThrown);
+        ExecutorDataMap.setDataMap(dataMap);
+        List<AbstractExecutionEvent> events = new LinkedList<>();
+        // 生成 Event
+        if (parameterSets.isEmpty()) {
+            events.add(getExecutionEvent(sqlType, baseStatementUnit, Collections.emptyList()));
+        } else {
+            for (List<Object> each : parameterSets) {
+                events.add(getExecutionEvent(sqlType, baseStatementUnit, each));
             }
-            // EventBus 发布 EventExecutionType.EXECUTE_SUCCESS
+        }
+        // EventBus 发布 EventExecutionType.BEFORE_EXECUTE
+        for (AbstractExecutionEvent event : events) {
+            EventBusInstance.getInstance().post(event);
+        }
+        try {
+            // 执行回调函数
+            result = executeCallback.execute(baseStatementUnit);
+        } catch (final SQLException ex) {
+            // EventBus 发布 EventExecutionType.EXECUTE_FAILURE
             for (AbstractExecutionEvent each : events) {
-                each.setEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
+                each.setEventExecutionType(EventExecutionType.EXECUTE_FAILURE);
+                each.setException(Optional.of(ex));
                 EventBusInstance.getInstance().post(each);
+                ExecutorExceptionHandler.handleException(ex); // TODO 疑问：如果多个任务，只发一个执行异常么？
             }
-            return result;
+            return null;
         }
+        // EventBus 发布 EventExecutionType.EXECUTE_SUCCESS
+        for (AbstractExecutionEvent each : events) {
+            each.setEventExecutionType(EventExecutionType.EXECUTE_SUCCESS);
+            EventBusInstance.getInstance().post(each);
+        }
+        return result;
     }
     
     private AbstractExecutionEvent getExecutionEvent(final SQLType sqlType, final BaseStatementUnit baseStatementUnit, final List<Object> parameters) {
@@ -226,8 +467,24 @@ public final class ExecutorEngine implements AutoCloseable {
         return result;
     }
     
+    /**
+     * 获取执行引擎统计.
+     * 
+     * @return 执行引擎统计
+     */
+    public ExecutorStatistics getStatistics() {
+        int activeCount = 0;
+        int queueDepth = 0;
+        if (rawExecutorService instanceof ThreadPoolExecutor) {
+            activeCount = ((ThreadPoolExecutor) rawExecutorService).getActiveCount();
+            queueDepth = ((ThreadPoolExecutor) rawExecutorService).getQueue().size();
+        }
+        return new ExecutorStatistics(activeCount, queueDepth, rejectedCount.get(), timeoutCount.get(), bulkhead.getAvailablePermits(), bulkhead.getSaturatedCounts());
+    }
+    
     @Override
     public void close() {
+        timeoutScheduler.shutdownNow();
         executorService.shutdownNow();
         try {
             executorService.awaitTermination(5, TimeUnit.SECONDS);
@@ -237,4 +494,20 @@ public final class ExecutorEngine implements AutoCloseable {
             throw new ShardingJdbcException("ExecutorEngine can not been terminated");
         }
     }
+    
+    @RequiredArgsConstructor
+    private final class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+        
+        private final ExecutorRejectionPolicy rejectionPolicy;
+        
+        @Override
+        public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+            rejectedCount.incrementAndGet();
+            if (ExecutorRejectionPolicy.CALLER_RUNS == rejectionPolicy && !executor.isShutdown()) {
+                runnable.run();
+                return;
+            }
+            throw new RejectedExecutionException(String.format("Executor queue is full, queue size: %d", executor.getQueue().size()));
+        }
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * 执行引擎统计.
+ * 
+ * <p>
+ * 获取时的快照, 不随执行引擎的状态更新.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class ExecutorStatistics {
+    
+    /**
+     * 正在执行任务的线程数量
+     */
+    private final int activeCount;
+    /**
+     * 队列中等待执行的任务数量
+     */
+    private final int queueDepth;
+    /**
+     * 队列已满被拒绝的任务数量
+     */
+    private final long rejectedCount;
+    /**
+     * 执行超时的次数
+     */
+    private final long timeoutCount;
+    /**
+     * 各数据源隔离舱可用的工作线程数量
+     */
+    private final Map<String, Integer> bulkheadAvailablePermits;
+    /**
+     * 各数据源隔离舱工作线程用尽的次数
+     */
+    private final Map<String, Long> bulkheadSaturatedCounts;
+}
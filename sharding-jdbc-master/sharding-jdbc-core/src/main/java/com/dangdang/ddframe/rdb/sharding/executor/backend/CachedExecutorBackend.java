@@ -0,0 +1,47 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor.backend;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 弹性线程池后端.
+ * 
+ * <p>
+ * 保留{@code executorSize}个常驻线程, 任务没有空闲线程可用时创建新线程, 新线程空闲60秒后回收.
+ * 任务不排队, 适合分片数量远多于CPU核数的阻塞式JDBC调用.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class CachedExecutorBackend implements ExecutorBackend {
+    
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+    
+    @Override
+    public ExecutorService createExecutorService(final int executorSize, final int queueSize, final RejectedExecutionHandler rejectedExecutionHandler) {
+        return new ThreadPoolExecutor(executorSize, Integer.MAX_VALUE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), 
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingJDBC-%d").build(), rejectedExecutionHandler);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor.backend;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+
+/**
+ * 执行引擎的线程池后端.
+ * 
+ * <p>
+ * 实现类需提供无参构造函数, 可以通过{@code executor.type}配置实现类的全限定名使用自定义后端.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public interface ExecutorBackend {
+    
+    /**
+     * 创建线程池.
+     * 
+     * @param executorSize 工作线程数量
+     * @param queueSize 任务队列容量, 为0时不限制
+     * @param rejectedExecutionHandler 任务被拒绝时的处理器
+     * @return 线程池
+     */
+    ExecutorService createExecutorService(int executorSize, int queueSize, RejectedExecutionHandler rejectedExecutionHandler);
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor.backend;
+
+import com.dangdang.ddframe.rdb.sharding.constant.ExecutorType;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+/**
+ * 线程池后端工厂.
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ExecutorBackendFactory {
+    
+    /**
+     * 创建线程池后端.
+     * 
+     * @param type 后端类型名称, 可以是{@link ExecutorType}的名称或自定义后端的全限定类名
+     * @return 线程池后端
+     */
+    public static ExecutorBackend newInstance(final String type) {
+        String trimmedType = type.trim();
+        for (ExecutorType each : ExecutorType.values()) {
+            if (each.name().equalsIgnoreCase(trimmedType)) {
+                return newInstance(each);
+            }
+        }
+        try {
+            Class<?> backendClass = Class.forName(trimmedType);
+            if (!ExecutorBackend.class.isAssignableFrom(backendClass)) {
+                throw new ShardingJdbcException("Class '%s' is not an executor backend.", trimmedType);
+            }
+            return (ExecutorBackend) backendClass.newInstance();
+        } catch (final ClassNotFoundException ex) {
+            throw new ShardingJdbcException("Executor type '%s' is invalid, allowed values are %s or class name of executor backend.", trimmedType, Arrays.toString(ExecutorType.values()));
+        } catch (final ReflectiveOperationException ex) {
+            throw new ShardingJdbcException(ex);
+        }
+    }
+    
+    /**
+     * 创建线程池后端.
+     * 
+     * @param type 后端类型
+     * @return 线程池后端
+     */
+    public static ExecutorBackend newInstance(final ExecutorType type) {
+        switch (type) {
+            case CACHED:
+                return new CachedExecutorBackend();
+            case VIRTUAL:
+                return new VirtualThreadExecutorBackend();
+            default:
+                return new FixedExecutorBackend();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor.backend;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 固定大小的线程池后端.
+ *
+ * @author zhangliang
+ */
+public final class FixedExecutorBackend implements ExecutorBackend {
+    
+    @Override
+    public ExecutorService createExecutorService(final int executorSize, final int queueSize, final RejectedExecutionHandler rejectedExecutionHandler) {
+        BlockingQueue<Runnable> workQueue = 0 == queueSize ? new LinkedBlockingQueue<Runnable>() : new ArrayBlockingQueue<Runnable>(queueSize);
+        return new ThreadPoolExecutor(executorSize, executorSize, 0, TimeUnit.MILLISECONDS, workQueue, 
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ShardingJDBC-%d").build(), rejectedExecutionHandler);
+    }
+}
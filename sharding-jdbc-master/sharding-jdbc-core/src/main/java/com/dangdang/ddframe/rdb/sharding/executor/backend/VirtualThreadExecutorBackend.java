@@ -0,0 +1,67 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor.backend;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+
+/**
+ * 虚拟线程后端.
+ * 
+ * <p>
+ * 每个任务使用一个虚拟线程执行, 不需要按分片数量调整工作线程数量.
+ * 任务不排队, 也不会被拒绝, 因此不支持任务队列容量和拒绝策略, 由{@code ExecutorEngine}在创建时校验.
+ * 通过反射调用{@code Executors.newVirtualThreadPerTaskExecutor()}, 运行时不支持虚拟线程时使用弹性线程池后端.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@Slf4j
+public final class VirtualThreadExecutorBackend implements ExecutorBackend {
+    
+    private static final String FACTORY_METHOD_NAME = "newVirtualThreadPerTaskExecutor";
+    
+    @Override
+    public ExecutorService createExecutorService(final int executorSize, final int queueSize, final RejectedExecutionHandler rejectedExecutionHandler) {
+        try {
+            Method factoryMethod = Executors.class.getMethod(FACTORY_METHOD_NAME);
+            return (ExecutorService) factoryMethod.invoke(null);
+        } catch (final ReflectiveOperationException ex) {
+            log.warn("Virtual threads are not supported by current JVM, use cached executor instead, cause: {}", ex.toString());
+            return new CachedExecutorBackend().createExecutorService(executorSize, queueSize, rejectedExecutionHandler);
+        }
+    }
+    
+    /**
+     * 判断当前运行时是否支持虚拟线程.
+     * 
+     * @return 是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod(FACTORY_METHOD_NAME);
+            return true;
+        } catch (final NoSuchMethodException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor.type;
+
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 更新数量累加器.
+ * 
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class UpdateCountAccumulator {
+    
+    /**
+     * 计算总的更新数量.
+     * 
+     * <p>
+     * 广播表的每个数据源均为同一份数据的副本, 返回任一副本的更新数量, 各副本更新数量不一致时抛出异常.
+     * </p>
+     * 
+     * @param results 每个执行单元的更新数量
+     * @param broadcast 是否为广播表的更新
+     * @return 更新数量
+     */
+    public static int accumulate(final List<Integer> results, final boolean broadcast) {
+        return broadcast ? accumulateBroadcast(results) : accumulate(results);
+    }
+    
+    private static int accumulate(final List<Integer> results) {
+        int result = 0;
+        for (Integer each : results) {
+            result += null == each ? 0 : each;
+        }
+        return result;
+    }
+    
+    private static int accumulateBroadcast(final List<Integer> results) {
+        Integer result = null;
+        for (Integer each : results) {
+            if (null == each) {
+                continue;
+            }
+            if (null == result) {
+                result = each;
+            } else if (!result.equals(each)) {
+                throw new ShardingJdbcException("Update counts of broadcast table replicas are inconsistent: %s.", results);
+            }
+        }
+        return null == result ? 0 : result;
+    }
+}
@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.rdb.sharding.executor.type.batch;
 
+import com.dangdang.ddframe.rdb.sharding.constant.ConnectionMode;
 import com.dangdang.ddframe.rdb.sharding.executor.BaseStatementUnit;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
 import lombok.AccessLevel;
@@ -53,4 +54,9 @@ public final class BatchPreparedStatementUnit implements BaseStatementUnit {
     public void mapAddBatchCount(final int jdbcAddBatchTimes) {
         jdbcAndActualAddBatchCallTimesMap.put(jdbcAddBatchTimes, actualCallAddBatchTimes++);
     } // TODO 疑问：等调试 jdbc 专门在调试一次
+    
+    @Override
+    public ConnectionMode getConnectionMode() {
+        return ConnectionMode.CONNECTION_STRICTLY;
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor.type.batch;
+
+import com.codahale.metrics.Timer.Context;
+import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
+import com.dangdang.ddframe.rdb.sharding.executor.BaseStatementUnit;
+import com.dangdang.ddframe.rdb.sharding.executor.ExecuteCallback;
+import com.dangdang.ddframe.rdb.sharding.executor.ExecutorEngine;
+import com.dangdang.ddframe.rdb.sharding.metrics.MetricsContext;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * 多线程执行批量静态语句对象请求的执行器.
+ * 
+ * <p>
+ * 每个数据源的SQL在同一个语句对象中按顺序批量执行, 不同数据源之间并行执行.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class BatchStatementExecutor {
+    
+    private final ExecutorEngine executorEngine;
+    
+    private final Collection<BatchStatementUnit> batchStatementUnits;
+    
+    /**
+     * 执行批量SQL.
+     * 
+     * @return 更新数量
+     */
+    public int executeBatch() {
+        Context context = MetricsContext.start("ShardingStatement-executeBatch");
+        try {
+            return accumulate(executorEngine.executeBatch(SQLType.DML, batchStatementUnits, new ExecuteCallback<int[]>() {
+                
+                @Override
+                public int[] execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                    return baseStatementUnit.getStatement().executeBatch();
+                }
+            }));
+        } finally {
+            MetricsContext.stop(context);
+        }
+    }
+    
+    private int accumulate(final Collection<int[]> results) {
+        int result = 0;
+        for (int[] each : results) {
+            if (null == each) {
+                continue;
+            }
+            for (int updateCount : each) {
+                // 驱动无法获取更新数量时返回 Statement.SUCCESS_NO_INFO
+                result += updateCount > 0 ? updateCount : 0;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor.type.batch;
+
+import com.dangdang.ddframe.rdb.sharding.constant.ConnectionMode;
+import com.dangdang.ddframe.rdb.sharding.executor.BaseStatementUnit;
+import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
+import com.google.common.base.Joiner;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * 批量静态语句对象执行单元.
+ * 
+ * <p>
+ * 同一数据源的多条SQL通过同一个语句对象批量发送.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class BatchStatementUnit implements BaseStatementUnit {
+    
+    @Getter
+    private final String dataSource;
+    
+    @Getter
+    private final Statement statement;
+    
+    private final List<String> sqlList = new LinkedList<>();
+    
+    /**
+     * 添加批量执行的SQL.
+     * 
+     * @param sql SQL
+     * @throws SQLException SQL异常
+     */
+    public void addBatch(final String sql) throws SQLException {
+        statement.addBatch(sql);
+        sqlList.add(sql);
+    }
+    
+    /**
+     * 获取批量SQL的数量.
+     * 
+     * @return 批量SQL的数量
+     */
+    public int getBatchSize() {
+        return sqlList.size();
+    }
+    
+    @Override
+    public SQLExecutionUnit getSqlExecutionUnit() {
+        return new SQLExecutionUnit(dataSource, Joiner.on(";\n").join(sqlList), null);
+    }
+    
+    @Override
+    public ConnectionMode getConnectionMode() {
+        return ConnectionMode.CONNECTION_STRICTLY;
+    }
+}
@@ -18,16 +18,21 @@
 package com.dangdang.ddframe.rdb.sharding.executor.type.prepared;
 
 import com.codahale.metrics.Timer.Context;
+import com.dangdang.ddframe.rdb.sharding.constant.ConnectionMode;
 import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
 import com.dangdang.ddframe.rdb.sharding.executor.BaseStatementUnit;
 import com.dangdang.ddframe.rdb.sharding.executor.ExecuteCallback;
 import com.dangdang.ddframe.rdb.sharding.executor.ExecutorEngine;
+import com.dangdang.ddframe.rdb.sharding.executor.type.UpdateCountAccumulator;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.resultset.ShardingResultSet;
+import com.dangdang.ddframe.rdb.sharding.merger.iterator.IteratorMemoryResultSetMerger;
 import com.dangdang.ddframe.rdb.sharding.metrics.MetricsContext;
 import lombok.RequiredArgsConstructor;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -47,6 +52,8 @@ public final class PreparedStatementExecutor {
     
     private final List<Object> parameters;
     
+    private final boolean broadcast;
+    
     /**
      * 执行SQL查询.
      * 
@@ -60,7 +67,13 @@ public final class PreparedStatementExecutor {
                 
                 @Override
                 public ResultSet execute(final BaseStatementUnit baseStatementUnit) throws Exception {
-                    return ((PreparedStatement) baseStatementUnit.getStatement()).executeQuery();
+                    ResultSet resultSet = ((PreparedStatement) baseStatementUnit.getStatement()).executeQuery();
+                    if (ConnectionMode.MEMORY_STRICTLY == baseStatementUnit.getConnectionMode()) {
+                        return resultSet;
+                    }
+                    // 连接限制模式下读取结果集至内存, 以便同一连接执行下一个执行单元
+                    List<ResultSet> resultSets = Collections.singletonList(resultSet);
+                    return new ShardingResultSet(resultSets, new IteratorMemoryResultSetMerger(resultSets));
                 }
             });
         } finally {
@@ -84,20 +97,12 @@ public final class PreparedStatementExecutor {
                     return ((PreparedStatement) baseStatementUnit.getStatement()).executeUpdate();
                 }
             });
-            return accumulate(results);
+            return UpdateCountAccumulator.accumulate(results, broadcast);
         } finally {
             MetricsContext.stop(context);
         }
     }
     
-    private int accumulate(final List<Integer> results) {
-        int result = 0;
-        for (Integer each : results) {
-            result += null == each ? 0 : each;
-        }
-        return result;
-    }
-    
     /**
      * 执行SQL请求.
      * 
@@ -17,8 +17,10 @@
 
 package com.dangdang.ddframe.rdb.sharding.executor.type.prepared;
 
+import com.dangdang.ddframe.rdb.sharding.constant.ConnectionMode;
 import com.dangdang.ddframe.rdb.sharding.executor.BaseStatementUnit;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -30,6 +32,7 @@ import java.sql.PreparedStatement;
  * @author zhangliang
  */
 @RequiredArgsConstructor
+@AllArgsConstructor
 @Getter
 public final class PreparedStatementUnit implements BaseStatementUnit {
 
@@ -41,4 +44,8 @@ public final class PreparedStatementUnit implements BaseStatementUnit {
      * 预编译语句对象
      */
     private final PreparedStatement statement;
+    /**
+     * 连接模式
+     */
+    private ConnectionMode connectionMode = ConnectionMode.MEMORY_STRICTLY;
 }
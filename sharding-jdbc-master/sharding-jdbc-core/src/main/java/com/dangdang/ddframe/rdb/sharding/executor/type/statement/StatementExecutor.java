@@ -18,10 +18,14 @@
 package com.dangdang.ddframe.rdb.sharding.executor.type.statement;
 
 import com.codahale.metrics.Timer.Context;
+import com.dangdang.ddframe.rdb.sharding.constant.ConnectionMode;
 import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
 import com.dangdang.ddframe.rdb.sharding.executor.BaseStatementUnit;
 import com.dangdang.ddframe.rdb.sharding.executor.ExecuteCallback;
 import com.dangdang.ddframe.rdb.sharding.executor.ExecutorEngine;
+import com.dangdang.ddframe.rdb.sharding.executor.type.UpdateCountAccumulator;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.resultset.ShardingResultSet;
+import com.dangdang.ddframe.rdb.sharding.merger.iterator.IteratorMemoryResultSetMerger;
 import com.dangdang.ddframe.rdb.sharding.metrics.MetricsContext;
 import lombok.RequiredArgsConstructor;
 
@@ -29,6 +33,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -47,6 +52,8 @@ import java.util.List;
     
     private final Collection<StatementUnit> statementUnits;
     
+    private final boolean broadcast;
+    
     /**
      * 执行SQL查询.
      * 
@@ -60,7 +67,13 @@ import java.util.List;
                 
                 @Override
                 public ResultSet execute(final BaseStatementUnit baseStatementUnit) throws Exception {
-                    return baseStatementUnit.getStatement().executeQuery(baseStatementUnit.getSqlExecutionUnit().getSql());
+                    ResultSet resultSet = baseStatementUnit.getStatement().executeQuery(baseStatementUnit.getSqlExecutionUnit().getSql());
+                    if (ConnectionMode.MEMORY_STRICTLY == baseStatementUnit.getConnectionMode()) {
+                        return resultSet;
+                    }
+                    // 连接限制模式下读取结果集至内存, 以便同一连接执行下一个执行单元
+                    List<ResultSet> resultSets = Collections.singletonList(resultSet);
+                    return new ShardingResultSet(resultSets, new IteratorMemoryResultSetMerger(resultSets));
                 }
             });
         } finally {
@@ -124,25 +137,11 @@ import java.util.List;
                     return updater.executeUpdate(baseStatementUnit.getStatement(), baseStatementUnit.getSqlExecutionUnit().getSql());
                 }
             });
-            return accumulate(results);
+            return UpdateCountAccumulator.accumulate(results, broadcast);
         } finally {
             MetricsContext.stop(context);
         }
     }
-
-    /**
-     * 计算总的更新数量
-     *
-     * @param results 更新数量数组
-     * @return 更新数量
-     */
-    private int accumulate(final List<Integer> results) {
-        int result = 0;
-        for (Integer each : results) {
-            result += null == each ? 0 : each;
-        }
-        return result;
-    }
     
     /**
      * 执行SQL请求.
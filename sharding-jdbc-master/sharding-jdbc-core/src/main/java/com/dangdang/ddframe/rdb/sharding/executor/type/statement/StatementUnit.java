@@ -17,8 +17,10 @@
 
 package com.dangdang.ddframe.rdb.sharding.executor.type.statement;
 
+import com.dangdang.ddframe.rdb.sharding.constant.ConnectionMode;
 import com.dangdang.ddframe.rdb.sharding.executor.BaseStatementUnit;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -30,10 +32,13 @@ import java.sql.Statement;
  * @author zhangliang
  */
 @RequiredArgsConstructor
+@AllArgsConstructor
 @Getter
 public final class StatementUnit implements BaseStatementUnit {
     
     private final SQLExecutionUnit sqlExecutionUnit;
     
     private final Statement statement;
+    
+    private ConnectionMode connectionMode = ConnectionMode.MEMORY_STRICTLY;
 }
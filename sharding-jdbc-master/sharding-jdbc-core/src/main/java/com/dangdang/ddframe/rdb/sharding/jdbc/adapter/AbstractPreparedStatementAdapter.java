@@ -21,6 +21,8 @@ import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
 import com.dangdang.ddframe.rdb.sharding.jdbc.adapter.invocation.SetParameterMethodInvocation;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.connection.ShardingConnection;
 import com.dangdang.ddframe.rdb.sharding.jdbc.unsupported.AbstractUnsupportedOperationPreparedStatement;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import lombok.Getter;
 
 import java.io.InputStream;
@@ -353,6 +355,36 @@ public abstract class AbstractPreparedStatementAdapter extends AbstractUnsupport
         }
     }
 
+    /**
+     * 按参数索引回放记录的设置参数方法调用
+     * 参数索引为 null 时回放全部参数, 否则第 i 个占位符使用第 parameterIndexes[i] 个参数
+     * 同一参数可以对应多个占位符, 例如合并为 UNION ALL 语句后每个分支重复使用全部参数
+     *
+     * @param preparedStatement 预编译语句对象
+     * @param parameterIndexes 参数索引
+     */
+    protected void replaySetParameter(final PreparedStatement preparedStatement, final List<Integer> parameterIndexes) {
+        if (null == parameterIndexes) {
+            replaySetParameter(preparedStatement);
+            return;
+        }
+        addParameters();
+        ListMultimap<Integer, Integer> placeholderIndexes = ArrayListMultimap.create(parameters.size(), 1);
+        int count = 0;
+        for (int each : parameterIndexes) {
+            placeholderIndexes.put(each, ++count);
+        }
+        for (SetParameterMethodInvocation each : setParameterMethodInvocations) {
+            List<Integer> placeholderIndexesOfParameter = placeholderIndexes.get(each.getIndex() - 1);
+            if (!placeholderIndexesOfParameter.isEmpty()) {
+                updateParameterValues(each, parameters.get(each.getIndex() - 1));
+            }
+            for (int placeholderIndex : placeholderIndexesOfParameter) {
+                each.invoke(preparedStatement, placeholderIndex);
+            }
+        }
+    }
+    
     /**
      * 当使用分布式主键时，生成后会添加到 parameters，此时 parameters 数量多于 setParameterMethodInvocations，需要生成该分布式主键的 SetParameterMethodInvocation
      */
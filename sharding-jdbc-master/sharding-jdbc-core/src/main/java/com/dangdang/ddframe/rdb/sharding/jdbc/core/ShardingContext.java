@@ -18,17 +18,26 @@
 package com.dangdang.ddframe.rdb.sharding.jdbc.core;
 
 import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
 import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.constant.FanOutPolicy;
 import com.dangdang.ddframe.rdb.sharding.executor.ExecutorEngine;
+import com.dangdang.ddframe.rdb.sharding.parsing.ParsedStatementCache;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingFanOutGuard;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingResultCache;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingStatistics;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 /**
  * 数据源运行期上下文.
  * 
+ * <p>
+ * 解析和路由相关的配置项及其缓存, 统计等组件均由分片配置属性创建.
+ * </p>
+ * 
  * @author gaohongtao
  */
-@RequiredArgsConstructor
 @Getter
 public final class ShardingContext {
     
@@ -39,4 +48,42 @@ public final class ShardingContext {
     private final ExecutorEngine executorEngine;
     
     private final boolean showSQL;
+    
+    private final ParsedStatementCache parsedStatementCache;
+    
+    private final boolean parsingShapeEnabled;
+    
+    private final RoutingResultCache routingResultCache;
+    
+    private final int maxCartesianSize;
+    
+    private final RoutingStatistics routingStatistics;
+    
+    private final RoutingFanOutGuard routingFanOutGuard;
+    
+    private final boolean unionAllRewriteEnabled;
+    
+    public ShardingContext(final ShardingRule shardingRule, final DatabaseType databaseType, final ExecutorEngine executorEngine, final ShardingProperties shardingProperties) {
+        this.shardingRule = shardingRule;
+        this.databaseType = databaseType;
+        this.executorEngine = executorEngine;
+        showSQL = shardingProperties.getValue(ShardingPropertiesConstant.SQL_SHOW);
+        long parsingCacheSize = shardingProperties.getValue(ShardingPropertiesConstant.PARSING_CACHE_SIZE);
+        parsedStatementCache = new ParsedStatementCache(parsingCacheSize);
+        parsingShapeEnabled = shardingProperties.getValue(ShardingPropertiesConstant.PARSING_SHAPE_ENABLE);
+        long routingCacheSize = shardingProperties.getValue(ShardingPropertiesConstant.ROUTING_CACHE_SIZE);
+        routingResultCache = new RoutingResultCache(routingCacheSize);
+        maxCartesianSize = shardingProperties.getValue(ShardingPropertiesConstant.ROUTING_CARTESIAN_MAX_SIZE);
+        boolean routingStatisticsEnabled = shardingProperties.getValue(ShardingPropertiesConstant.ROUTING_STATISTICS_ENABLE);
+        routingStatistics = new RoutingStatistics(routingStatisticsEnabled);
+        routingFanOutGuard = createRoutingFanOutGuard(shardingProperties);
+        unionAllRewriteEnabled = shardingProperties.getValue(ShardingPropertiesConstant.REWRITE_UNION_ALL_ENABLE);
+    }
+    
+    private RoutingFanOutGuard createRoutingFanOutGuard(final ShardingProperties shardingProperties) {
+        int maxDataSources = shardingProperties.getValue(ShardingPropertiesConstant.ROUTING_MAX_DATA_SOURCES);
+        int maxTableUnits = shardingProperties.getValue(ShardingPropertiesConstant.ROUTING_MAX_TABLE_UNITS);
+        FanOutPolicy policy = shardingProperties.getEnumValue(ShardingPropertiesConstant.ROUTING_FAN_OUT_POLICY, FanOutPolicy.class);
+        return new RoutingFanOutGuard(maxDataSources, maxTableUnits, policy);
+    }
 }
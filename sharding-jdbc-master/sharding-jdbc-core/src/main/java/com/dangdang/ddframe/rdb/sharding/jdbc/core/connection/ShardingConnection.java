@@ -29,6 +29,8 @@ import com.dangdang.ddframe.rdb.sharding.metrics.MetricsContext;
 import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
@@ -38,9 +40,11 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -57,6 +61,8 @@ public final class ShardingConnection extends AbstractConnectionAdapter {
     
     private final Map<String, Connection> connectionMap = new HashMap<>();
     
+    private final ListMultimap<String, Connection> additionalConnectionMap = LinkedListMultimap.create();
+    
     /**
      * 根据数据源名称获取全部数据库连接.
      *
@@ -100,25 +106,59 @@ public final class ShardingConnection extends AbstractConnectionAdapter {
             return connection.get();
         }
         Context metricsContext = MetricsContext.start(Joiner.on("-").join("ShardingConnection-getConnection", dataSourceName));
-        //
-        DataSource dataSource = shardingContext.getShardingRule().getDataSourceRule().getDataSource(dataSourceName);
-        Preconditions.checkState(null != dataSource, "Missing the rule of %s in DataSourceRule", dataSourceName);
-        String realDataSourceName;
-        if (dataSource instanceof MasterSlaveDataSource) {
-            dataSource = ((MasterSlaveDataSource) dataSource).getDataSource(sqlType);
-            realDataSourceName = MasterSlaveDataSource.getDataSourceName(dataSourceName, sqlType);
-        } else {
-            realDataSourceName = dataSourceName;
-        }
-        Connection result = dataSource.getConnection();
+        Connection result = getActualDataSource(dataSourceName, sqlType).getConnection();
         MetricsContext.stop(metricsContext);
         // 添加到连接缓存
-        connectionMap.put(realDataSourceName, result);
+        connectionMap.put(getActualDataSourceName(dataSourceName, sqlType), result);
         // 回放 Connection 方法
         replayMethodsInvocation(result);
         return result;
     }
     
+    /**
+     * 根据数据源名称获取相应的多个数据库连接.
+     * 
+     * <p>
+     * 第一个连接与{@link #getConnection(String, SQLType)}获取的连接相同, 其余连接同样被缓存, 随分片连接一起提交, 回滚和关闭.
+     * </p>
+     * 
+     * @param dataSourceName 数据源名称
+     * @param sqlType SQL语句类型
+     * @param size 连接数量
+     * @return 数据库连接列表
+     * @throws SQLException SQL异常
+     */
+    public List<Connection> getConnections(final String dataSourceName, final SQLType sqlType, final int size) throws SQLException {
+        List<Connection> result = new ArrayList<>(size);
+        result.add(getConnection(dataSourceName, sqlType));
+        if (size <= 1) {
+            return result;
+        }
+        String actualDataSourceName = getActualDataSourceName(dataSourceName, sqlType);
+        List<Connection> additionalConnections = additionalConnectionMap.get(actualDataSourceName);
+        while (additionalConnections.size() < size - 1) {
+            Connection connection = getActualDataSource(dataSourceName, sqlType).getConnection();
+            replayMethodsInvocation(connection);
+            additionalConnections.add(connection);
+        }
+        result.addAll(additionalConnections.subList(0, size - 1));
+        return result;
+    }
+    
+    private DataSource getActualDataSource(final String dataSourceName, final SQLType sqlType) {
+        DataSource result = shardingContext.getShardingRule().getDataSourceRule().getDataSource(dataSourceName);
+        Preconditions.checkState(null != result, "Missing the rule of %s in DataSourceRule", dataSourceName);
+        return result instanceof MasterSlaveDataSource ? ((MasterSlaveDataSource) result).getDataSource(sqlType) : result;
+    }
+    
+    private String getActualDataSourceName(final String dataSourceName, final SQLType sqlType) {
+        if (connectionMap.containsKey(dataSourceName)) {
+            return dataSourceName;
+        }
+        DataSource dataSource = shardingContext.getShardingRule().getDataSourceRule().getDataSource(dataSourceName);
+        return dataSource instanceof MasterSlaveDataSource ? MasterSlaveDataSource.getDataSourceName(dataSourceName, sqlType) : dataSourceName;
+    }
+    
     private Optional<Connection> getCachedConnection(final String dataSourceName, final SQLType sqlType) {
         String key = connectionMap.containsKey(dataSourceName) ? dataSourceName : MasterSlaveDataSource.getDataSourceName(dataSourceName, sqlType);
         return Optional.fromNullable(connectionMap.get(key));
@@ -131,6 +171,7 @@ public final class ShardingConnection extends AbstractConnectionAdapter {
      */
     public void release(final Connection connection) {
         connectionMap.values().remove(connection);
+        additionalConnectionMap.values().remove(connection);
         try {
             connection.close();
         } catch (final SQLException ignored) {
@@ -189,7 +230,9 @@ public final class ShardingConnection extends AbstractConnectionAdapter {
     
     @Override
     public Collection<Connection> getConnections() {
-        return connectionMap.values();
+        Collection<Connection> result = new LinkedList<>(connectionMap.values());
+        result.addAll(additionalConnectionMap.values());
+        return result;
     }
     
     @Override
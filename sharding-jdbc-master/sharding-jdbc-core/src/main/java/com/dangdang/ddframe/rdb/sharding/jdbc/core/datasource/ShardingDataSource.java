@@ -17,21 +17,45 @@
 
 package com.dangdang.ddframe.rdb.sharding.jdbc.core.datasource;
 
+import com.dangdang.ddframe.rdb.sharding.api.rule.DataSourceRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
 import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
 import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
 import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.constant.ExecutorRejectionPolicy;
 import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.dangdang.ddframe.rdb.sharding.executor.DataSourceBulkhead;
 import com.dangdang.ddframe.rdb.sharding.executor.ExecutorEngine;
+import com.dangdang.ddframe.rdb.sharding.executor.ExecutorStatistics;
+import com.dangdang.ddframe.rdb.sharding.executor.backend.ExecutorBackendFactory;
 import com.dangdang.ddframe.rdb.sharding.jdbc.adapter.AbstractDataSourceAdapter;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.connection.ShardingConnection;
 import com.dangdang.ddframe.rdb.sharding.metrics.MetricsContext;
+import com.dangdang.ddframe.rdb.sharding.parsing.ParsingWarmUpResult;
+import com.dangdang.ddframe.rdb.sharding.parsing.SQLShape;
+import com.dangdang.ddframe.rdb.sharding.parsing.SQLShapeEngine;
+import com.dangdang.ddframe.rdb.sharding.parsing.SQLStatementSplitter;
+import com.dangdang.ddframe.rdb.sharding.routing.PreparedStatementRoutingEngine;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingResultCache;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingStatistics;
+import com.dangdang.ddframe.rdb.sharding.routing.SQLRouteResult;
+import com.dangdang.ddframe.rdb.sharding.routing.StatementRoutingEngine;
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
 
 import javax.sql.DataSource;
+import java.io.Reader;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -41,6 +65,8 @@ import java.util.Properties;
  */
 public class ShardingDataSource extends AbstractDataSourceAdapter implements AutoCloseable {
     
+    private static final String[] MAX_CONNECTIONS_METHOD_NAMES = {"getMaxTotal", "getMaxActive", "getMaximumPoolSize", "getMaxPoolSize"};
+    
     private final ShardingProperties shardingProperties;
     
     private final ExecutorEngine executorEngine;
@@ -56,15 +82,64 @@ public class ShardingDataSource extends AbstractDataSourceAdapter implements Aut
         Preconditions.checkNotNull(props);
         shardingProperties = new ShardingProperties(props);
         int executorSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_SIZE);
-        executorEngine = new ExecutorEngine(executorSize);
-        boolean showSQL = shardingProperties.getValue(ShardingPropertiesConstant.SQL_SHOW);
+        executorEngine = createExecutorEngine(shardingRule, executorSize);
         try {
-            shardingContext = new ShardingContext(shardingRule, DatabaseType.valueFrom(getDatabaseProductName(shardingRule)), executorEngine, showSQL);
+            shardingContext = new ShardingContext(shardingRule, DatabaseType.valueFrom(getDatabaseProductName(shardingRule)), executorEngine, shardingProperties);
         } catch (final SQLException ex) {
             throw new ShardingJdbcException(ex);
         }
     }
     
+    private ExecutorEngine createExecutorEngine(final ShardingRule shardingRule, final int executorSize) {
+        int maxConnectionsSizePerQuery = shardingProperties.getValue(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY);
+        int queueSize = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_QUEUE_SIZE);
+        ExecutorRejectionPolicy rejectionPolicy = shardingProperties.getEnumValue(ShardingPropertiesConstant.EXECUTOR_REJECTION_POLICY, ExecutorRejectionPolicy.class);
+        long timeoutMilliseconds = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_TIMEOUT_MILLISECONDS);
+        boolean bulkheadEnabled = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_BULKHEAD_ENABLE);
+        DataSourceBulkhead bulkhead = bulkheadEnabled ? createDataSourceBulkhead(shardingRule.getDataSourceRule(), executorSize) : DataSourceBulkhead.NONE;
+        String executorType = shardingProperties.getValue(ShardingPropertiesConstant.EXECUTOR_TYPE);
+        return new ExecutorEngine(executorSize, maxConnectionsSizePerQuery, queueSize, rejectionPolicy, timeoutMilliseconds, bulkhead, 
+                ExecutorBackendFactory.newInstance(executorType));
+    }
+    
+    private DataSourceBulkhead createDataSourceBulkhead(final DataSourceRule dataSourceRule, final int executorSize) {
+        Collection<String> dataSourceNames = dataSourceRule.getDataSourceNames();
+        int defaultPermits = Math.max(executorSize / dataSourceNames.size(), 1);
+        Map<String, Integer> maxPermits = new LinkedHashMap<>(dataSourceNames.size(), 1);
+        for (String each : dataSourceNames) {
+            DataSource dataSource = dataSourceRule.getDataSource(each);
+            if (dataSource instanceof MasterSlaveDataSource) {
+                dataSource = ((MasterSlaveDataSource) dataSource).getMasterDataSource();
+            }
+            Optional<Integer> maxConnections = getMaxConnections(dataSource);
+            maxPermits.put(each, maxConnections.isPresent() ? Math.min(maxConnections.get(), executorSize) : defaultPermits);
+        }
+        return new DataSourceBulkhead(maxPermits);
+    }
+    
+    /**
+     * 获取连接池的最大连接数量.
+     * 
+     * <p>
+     * 依次尝试DBCP, Druid, HikariCP和C3P0等常用连接池获取最大连接数量的方法.
+     * </p>
+     * 
+     * @param dataSource 数据源
+     * @return 最大连接数量
+     */
+    private Optional<Integer> getMaxConnections(final DataSource dataSource) {
+        for (String each : MAX_CONNECTIONS_METHOD_NAMES) {
+            try {
+                Object result = dataSource.getClass().getMethod(each).invoke(dataSource);
+                if (result instanceof Integer && (Integer) result > 0) {
+                    return Optional.of((Integer) result);
+                }
+            } catch (final ReflectiveOperationException ignored) {
+            }
+        }
+        return Optional.absent();
+    }
+    
     private String getDatabaseProductName(final ShardingRule shardingRule) throws SQLException {
         String result = null;
         for (DataSource each : shardingRule.getDataSourceRule().getDataSources()) {
@@ -88,6 +163,125 @@ public class ShardingDataSource extends AbstractDataSourceAdapter implements Aut
         return new ShardingConnection(shardingContext);
     }
     
+    /**
+     * 预解析SQL.
+     * 
+     * @param logicSQLs 逻辑SQL集合
+     * @return 预热结果
+     * @see #warmUp(Collection, int)
+     */
+    public ParsingWarmUpResult warmUp(final Collection<String> logicSQLs) {
+        return warmUp(logicSQLs, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * 预解析SQL.
+     * 
+     * <p>
+     * 启动时在接收流量前并行解析已知的SQL并放入解析结果缓存.
+     * 开启SQL形态归一化时, 不含占位符的SQL按归一化后的SQL形态预解析, 与执行时的缓存键保持一致.
+     * </p>
+     * 
+     * @param logicSQLs 逻辑SQL集合
+     * @param parallelism 并行度
+     * @return 预热结果
+     */
+    public ParsingWarmUpResult warmUp(final Collection<String> logicSQLs, final int parallelism) {
+        List<String> sqlList = new ArrayList<>(logicSQLs);
+        if (shardingContext.isParsingShapeEnabled()) {
+            sqlList = Lists.transform(sqlList, new Function<String, String>() {
+                
+                @Override
+                public String apply(final String input) {
+                    Optional<SQLShape> sqlShape = new SQLShapeEngine(shardingContext.getDatabaseType(), input).normalize();
+                    return sqlShape.isPresent() ? sqlShape.get().getSql() : input;
+                }
+            });
+        }
+        return shardingContext.getParsedStatementCache().warmUp(shardingContext.getDatabaseType(), sqlList, shardingContext.getShardingRule(), parallelism);
+    }
+    
+    /**
+     * 预解析SQL脚本中的SQL.
+     * 
+     * @param reader SQL脚本字符流, 多条SQL以分号分隔
+     * @return 预热结果
+     * @see #warmUp(Collection, int)
+     */
+    public ParsingWarmUpResult warmUp(final Reader reader) {
+        return warmUp(Lists.newArrayList(new SQLStatementSplitter(shardingContext.getDatabaseType(), reader)));
+    }
+    
+    /**
+     * 获取路由结果缓存.
+     * 
+     * <p>
+     * 用于获取命中率, 淘汰次数等统计信息, 或手动清空缓存.
+     * </p>
+     * 
+     * @return 路由结果缓存
+     */
+    public RoutingResultCache getRoutingResultCache() {
+        return shardingContext.getRoutingResultCache();
+    }
+    
+    /**
+     * 获取路由统计.
+     * 
+     * <p>
+     * 用于获取各逻辑表的路由扇出数量直方图, 需开启{@code routing.statistics.enable}.
+     * </p>
+     * 
+     * @return 路由统计
+     */
+    public RoutingStatistics getRoutingStatistics() {
+        return shardingContext.getRoutingStatistics();
+    }
+    
+    /**
+     * 获取执行引擎统计.
+     * 
+     * <p>
+     * 包括工作线程任务队列中等待的任务数量, 队列已满被拒绝的任务数量和执行超时的次数.
+     * </p>
+     * 
+     * @return 执行引擎统计
+     */
+    public ExecutorStatistics getExecutorStatistics() {
+        return executorEngine.getStatistics();
+    }
+    
+    /**
+     * 解释SQL路由.
+     * 
+     * @param logicSQL 逻辑SQL
+     * @return 路由结果
+     * @see #explain(String, List)
+     */
+    public SQLRouteResult explain(final String logicSQL) {
+        return explain(logicSQL, Collections.emptyList());
+    }
+    
+    /**
+     * 解释SQL路由.
+     * 
+     * <p>
+     * 仅解析和路由, 不执行SQL, 不记录路由统计, 也不受路由扇出数量上限限制.
+     * 路由结果包含解析后的SQL语句对象及其条件, 使用的路由引擎类型和SQL最小执行单元.
+     * 需要生成主键的插入SQL仍会生成主键, 因为路由依赖主键值.
+     * </p>
+     * 
+     * @param logicSQL 逻辑SQL
+     * @param parameters 占位符参数, 为空时按Statement执行的SQL路由
+     * @return 路由结果
+     */
+    public SQLRouteResult explain(final String logicSQL, final List<Object> parameters) {
+        if (parameters.isEmpty()) {
+            return new StatementRoutingEngine(shardingContext, true).route(logicSQL);
+        }
+        return new PreparedStatementRoutingEngine(logicSQL, shardingContext, true).route(new ArrayList<>(parameters));
+    }
+    
     @Override
     public void close() {
         executorEngine.close();
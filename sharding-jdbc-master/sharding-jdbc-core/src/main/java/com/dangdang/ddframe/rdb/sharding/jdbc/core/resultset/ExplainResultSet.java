@@ -0,0 +1,258 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.jdbc.core.resultset;
+
+import com.dangdang.ddframe.rdb.sharding.jdbc.unsupported.AbstractUnsupportedGeneratedKeysResultSet;
+import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
+import com.dangdang.ddframe.rdb.sharding.routing.SQLRouteResult;
+import com.google.common.base.Preconditions;
+
+import java.math.BigDecimal;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 路由解释结果集.
+ * 
+ * <p>
+ * 每行对应一个SQL最小执行单元, 包含数据源名称, 执行SQL, 路由引擎和解析出的条件.
+ * 所有列均为字符串.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+public final class ExplainResultSet extends AbstractUnsupportedGeneratedKeysResultSet {
+    
+    static final List<String> COLUMN_LABELS = Arrays.asList("data_source", "sql", "routing_engine", "conditions");
+    
+    private final Iterator<SQLExecutionUnit> executionUnits;
+    
+    private final String routingEngine;
+    
+    private final String conditions;
+    
+    private final Statement statement;
+    
+    private boolean closed;
+    
+    private SQLExecutionUnit currentExecutionUnit;
+    
+    public ExplainResultSet(final SQLRouteResult sqlRouteResult, final Statement statement) {
+        executionUnits = sqlRouteResult.getExecutionUnits().iterator();
+        routingEngine = null == sqlRouteResult.getRoutingEngineType() ? "" : sqlRouteResult.getRoutingEngineType().getSimpleName();
+        conditions = sqlRouteResult.getSqlStatement().getConditions().toString();
+        this.statement = statement;
+    }
+    
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed;
+    }
+    
+    @Override
+    public boolean next() throws SQLException {
+        if (closed || !executionUnits.hasNext()) {
+            currentExecutionUnit = null;
+            return false;
+        }
+        currentExecutionUnit = executionUnits.next();
+        return true;
+    }
+    
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+    }
+    
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        checkState();
+        return new ExplainResultSetMetaData();
+    }
+    
+    @Override
+    public boolean wasNull() throws SQLException {
+        checkState();
+        return false;
+    }
+    
+    @Override
+    public String getString(final int columnIndex) throws SQLException {
+        checkStateForGetData();
+        switch (columnIndex) {
+            case 1:
+                return currentExecutionUnit.getDataSource();
+            case 2:
+                return currentExecutionUnit.getSql();
+            case 3:
+                return routingEngine;
+            case 4:
+                return conditions;
+            default:
+                throw new SQLException(String.format("Column index '%d' out of range.", columnIndex));
+        }
+    }
+    
+    @Override
+    public String getString(final String columnLabel) throws SQLException {
+        return getString(findColumn(columnLabel));
+    }
+    
+    @Override
+    public byte getByte(final int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getByte");
+    }
+    
+    @Override
+    public byte getByte(final String columnLabel) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getByte");
+    }
+    
+    @Override
+    public short getShort(final int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getShort");
+    }
+    
+    @Override
+    public short getShort(final String columnLabel) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getShort");
+    }
+    
+    @Override
+    public int getInt(final int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getInt");
+    }
+    
+    @Override
+    public int getInt(final String columnLabel) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getInt");
+    }
+    
+    @Override
+    public long getLong(final int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getLong");
+    }
+    
+    @Override
+    public long getLong(final String columnLabel) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getLong");
+    }
+    
+    @Override
+    public float getFloat(final int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getFloat");
+    }
+    
+    @Override
+    public float getFloat(final String columnLabel) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getFloat");
+    }
+    
+    @Override
+    public double getDouble(final int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getDouble");
+    }
+    
+    @Override
+    public double getDouble(final String columnLabel) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getDouble");
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex, final int scale) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getBigDecimal");
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel, final int scale) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getBigDecimal");
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final int columnIndex) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getBigDecimal");
+    }
+    
+    @Override
+    public BigDecimal getBigDecimal(final String columnLabel) throws SQLException {
+        throw new SQLFeatureNotSupportedException("getBigDecimal");
+    }
+    
+    @Override
+    public byte[] getBytes(final int columnIndex) throws SQLException {
+        return getString(columnIndex).getBytes();
+    }
+    
+    @Override
+    public byte[] getBytes(final String columnLabel) throws SQLException {
+        return getBytes(findColumn(columnLabel));
+    }
+    
+    @Override
+    public Object getObject(final int columnIndex) throws SQLException {
+        return getString(columnIndex);
+    }
+    
+    @Override
+    public Object getObject(final String columnLabel) throws SQLException {
+        return getString(columnLabel);
+    }
+    
+    @Override
+    public int findColumn(final String columnLabel) throws SQLException {
+        checkState();
+        for (int i = 0; i < COLUMN_LABELS.size(); i++) {
+            if (COLUMN_LABELS.get(i).equalsIgnoreCase(columnLabel)) {
+                return i + 1;
+            }
+        }
+        throw new SQLException(String.format("Column label '%s' not found.", columnLabel));
+    }
+    
+    @Override
+    public int getType() throws SQLException {
+        checkState();
+        return TYPE_FORWARD_ONLY;
+    }
+    
+    @Override
+    public int getConcurrency() throws SQLException {
+        checkState();
+        return CONCUR_READ_ONLY;
+    }
+    
+    @Override
+    public Statement getStatement() throws SQLException {
+        checkState();
+        return statement;
+    }
+    
+    private void checkState() {
+        Preconditions.checkState(!closed, "ResultSet has closed.");
+    }
+    
+    private void checkStateForGetData() {
+        checkState();
+        Preconditions.checkNotNull(currentExecutionUnit, "ResultSet should call next or has no more data.");
+    }
+}
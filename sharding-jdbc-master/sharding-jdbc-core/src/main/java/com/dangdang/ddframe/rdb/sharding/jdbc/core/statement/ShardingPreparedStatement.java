@@ -18,6 +18,8 @@
 package com.dangdang.ddframe.rdb.sharding.jdbc.core.statement;
 
 import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
+import com.dangdang.ddframe.rdb.sharding.executor.ExecutionGroup;
+import com.dangdang.ddframe.rdb.sharding.executor.ExecutorEngine;
 import com.dangdang.ddframe.rdb.sharding.executor.type.batch.BatchPreparedStatementExecutor;
 import com.dangdang.ddframe.rdb.sharding.executor.type.batch.BatchPreparedStatementUnit;
 import com.dangdang.ddframe.rdb.sharding.executor.type.prepared.PreparedStatementExecutor;
@@ -30,6 +32,7 @@ import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.GeneratedKey;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
 import com.dangdang.ddframe.rdb.sharding.routing.PreparedStatementRoutingEngine;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
+import com.dangdang.ddframe.rdb.sharding.routing.ShardingExplainSQL;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.collect.Iterators;
@@ -40,7 +43,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -55,6 +57,8 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
     
     private final PreparedStatementRoutingEngine routingEngine;
     
+    private final boolean explain;
+    
     private final List<BatchPreparedStatementUnit> batchStatementUnits = new LinkedList<>();
     
     private final List<List<Object>> parameterSets = new LinkedList<>();
@@ -76,18 +80,23 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
     
     public ShardingPreparedStatement(final ShardingConnection shardingConnection, final String sql, final int resultSetType, final int resultSetConcurrency, final int resultSetHoldability) {
         super(shardingConnection, resultSetType, resultSetConcurrency, resultSetHoldability);
-        routingEngine = new PreparedStatementRoutingEngine(sql, shardingConnection.getShardingContext());
+        Optional<String> explainedSQL = ShardingExplainSQL.getLogicSQL(sql);
+        explain = explainedSQL.isPresent();
+        routingEngine = new PreparedStatementRoutingEngine(explain ? explainedSQL.get() : sql, shardingConnection.getShardingContext(), explain);
     }
     
     @Override
     public ResultSet executeQuery() throws SQLException {
+        if (explain) {
+            return generateExplainResultSet(routingEngine.route(getParameters()));
+        }
         ResultSet result;
         try {
             // 路由
             Collection<PreparedStatementUnit> preparedStatementUnits = route();
             // 执行
             List<ResultSet> resultSets = new PreparedStatementExecutor(
-                    getShardingConnection().getShardingContext().getExecutorEngine(), getRouteResult().getSqlStatement().getType(), preparedStatementUnits, getParameters()).executeQuery();
+                    getShardingConnection().getShardingContext().getExecutorEngine(), getRouteResult().getSqlStatement().getType(), preparedStatementUnits, getParameters(), getRouteResult().isBroadcast()).executeQuery();
             // 结果归并
             result = new ShardingResultSet(resultSets, new MergeEngine(
                     getShardingConnection().getShardingContext().getDatabaseType(), resultSets, (SelectStatement) getRouteResult().getSqlStatement()).merge());
@@ -101,10 +110,13 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
     
     @Override
     public int executeUpdate() throws SQLException {
+        if (explain) {
+            throw createExplainNotSupportedException("executeUpdate");
+        }
         try {
             Collection<PreparedStatementUnit> preparedStatementUnits = route();
             return new PreparedStatementExecutor(
-                    getShardingConnection().getShardingContext().getExecutorEngine(), getRouteResult().getSqlStatement().getType(), preparedStatementUnits, getParameters()).executeUpdate();
+                    getShardingConnection().getShardingContext().getExecutorEngine(), getRouteResult().getSqlStatement().getType(), preparedStatementUnits, getParameters(), getRouteResult().isBroadcast()).executeUpdate();
         } finally {
             clearBatch();
         }
@@ -112,12 +124,16 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
     
     @Override
     public boolean execute() throws SQLException {
+        if (explain) {
+            executeQuery();
+            return true;
+        }
         try {
             // 路由
             Collection<PreparedStatementUnit> preparedStatementUnits = route();
             // 执行
             return new PreparedStatementExecutor(
-                    getShardingConnection().getShardingContext().getExecutorEngine(), getRouteResult().getSqlStatement().getType(), preparedStatementUnits, getParameters()).execute();
+                    getShardingConnection().getShardingContext().getExecutorEngine(), getRouteResult().getSqlStatement().getType(), preparedStatementUnits, getParameters(), getRouteResult().isBroadcast()).execute();
         } finally {
             clearBatch();
         }
@@ -133,23 +149,30 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
         Collection<PreparedStatementUnit> result = new LinkedList<>();
         // 路由
         setRouteResult(routingEngine.route(getParameters()));
-        // 遍历 SQL 执行单元
-        for (SQLExecutionUnit each : getRouteResult().getExecutionUnits()) {
-            SQLType sqlType = getRouteResult().getSqlStatement().getType();
-            Collection<PreparedStatement> preparedStatements;
-            // 创建实际的 PreparedStatement
-            if (SQLType.DDL == sqlType) {
-                preparedStatements = generatePreparedStatementForDDL(each);
-            } else {
-                preparedStatements = Collections.singletonList(generatePreparedStatement(each));
+        SQLType sqlType = getRouteResult().getSqlStatement().getType();
+        // 创建实际的 PreparedStatement
+        if (SQLType.DDL == sqlType) {
+            for (SQLExecutionUnit each : getRouteResult().getExecutionUnits()) {
+                for (PreparedStatement preparedStatement : generatePreparedStatementForDDL(each)) {
+                    result.add(new PreparedStatementUnit(each, preparedStatement));
+                }
             }
-            getRoutedStatements().addAll(preparedStatements);
-            // 回放设置占位符参数到 PreparedStatement
-            for (PreparedStatement preparedStatement : preparedStatements) {
-                replaySetParameter(preparedStatement);
-                result.add(new PreparedStatementUnit(each, preparedStatement));
+        } else {
+            // 按数据源分组, 根据连接模式为 SQL 执行单元分配连接
+            ExecutorEngine executorEngine = getShardingConnection().getShardingContext().getExecutorEngine();
+            for (ExecutionGroup group : executorEngine.getExecutionPlanner().plan(getRouteResult().getExecutionUnits(), getShardingConnection().getAutoCommit())) {
+                List<Connection> connections = getShardingConnection().getConnections(group.getDataSource(), sqlType, group.getConnectionsSize());
+                int i = 0;
+                for (SQLExecutionUnit each : group.getSqlExecutionUnits()) {
+                    result.add(new PreparedStatementUnit(each, generatePreparedStatement(each, connections.get(i++ % connections.size())), group.getConnectionMode()));
+                }
             }
         }
+        // 回放设置占位符参数到 PreparedStatement
+        for (PreparedStatementUnit each : result) {
+            getRoutedStatements().add(each.getStatement());
+            replaySetParameter(each.getStatement(), each.getSqlExecutionUnit().getParameterIndexes());
+        }
         return result;
     }
     
@@ -166,13 +189,12 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
      * 创建 PreparedStatement
      *
      * @param sqlExecutionUnit SQL 执行单元
+     * @param connection 数据库连接
      * @return PreparedStatement
      * @throws SQLException 当 JDBC 操作发生异常时
      */
-    private PreparedStatement generatePreparedStatement(final SQLExecutionUnit sqlExecutionUnit) throws SQLException {
+    private PreparedStatement generatePreparedStatement(final SQLExecutionUnit sqlExecutionUnit, final Connection connection) throws SQLException {
         Optional<GeneratedKey> generatedKey = getGeneratedKey();
-        // 获得连接
-        Connection connection = getShardingConnection().getConnection(sqlExecutionUnit.getDataSource(), getRouteResult().getSqlStatement().getType());
         // 声明返回主键
         if (isReturnGeneratedKeys() || isReturnGeneratedKeys() && generatedKey.isPresent()) {
             return connection.prepareStatement(sqlExecutionUnit.getSql(), RETURN_GENERATED_KEYS);
@@ -194,6 +216,9 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
     
     @Override
     public void addBatch() throws SQLException {
+        if (explain) {
+            throw createExplainNotSupportedException("addBatch");
+        }
         try {
             for (BatchPreparedStatementUnit each : routeBatch()) {
                 each.getStatement().addBatch();
@@ -208,6 +233,9 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
     
     @Override
     public int[] executeBatch() throws SQLException {
+        if (explain) {
+            throw createExplainNotSupportedException("executeBatch");
+        }
         try {
             return new BatchPreparedStatementExecutor(
                     getShardingConnection().getShardingContext().getExecutorEngine(), getRouteResult().getSqlStatement().getType(), batchStatementUnits, parameterSets).executeBatch();
@@ -221,7 +249,7 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
         setRouteResult(routingEngine.route(getParameters()));
         for (SQLExecutionUnit each : getRouteResult().getExecutionUnits()) {
             BatchPreparedStatementUnit batchStatementUnit = getPreparedBatchStatement(each);
-            replaySetParameter(batchStatementUnit.getStatement());
+            replaySetParameter(batchStatementUnit.getStatement(), each.getParameterIndexes());
             result.add(batchStatementUnit);
         }
         return result;
@@ -238,7 +266,8 @@ public final class ShardingPreparedStatement extends AbstractPreparedStatementAd
         if (preparedBatchStatement.isPresent()) {
             return preparedBatchStatement.get();
         }
-        BatchPreparedStatementUnit result = new BatchPreparedStatementUnit(sqlExecutionUnit, generatePreparedStatement(sqlExecutionUnit));
+        BatchPreparedStatementUnit result = new BatchPreparedStatementUnit(sqlExecutionUnit, 
+                generatePreparedStatement(sqlExecutionUnit, getShardingConnection().getConnection(sqlExecutionUnit.getDataSource(), getRouteResult().getSqlStatement().getType())));
         batchStatementUnits.add(result);
         return result;
     }
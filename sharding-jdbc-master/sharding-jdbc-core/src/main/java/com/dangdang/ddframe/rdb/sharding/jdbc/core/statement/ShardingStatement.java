@@ -18,33 +18,44 @@
 package com.dangdang.ddframe.rdb.sharding.jdbc.core.statement;
 
 import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
+import com.dangdang.ddframe.rdb.sharding.executor.ExecutionGroup;
+import com.dangdang.ddframe.rdb.sharding.executor.ExecutorEngine;
+import com.dangdang.ddframe.rdb.sharding.executor.type.batch.BatchStatementExecutor;
+import com.dangdang.ddframe.rdb.sharding.executor.type.batch.BatchStatementUnit;
 import com.dangdang.ddframe.rdb.sharding.executor.type.statement.StatementExecutor;
 import com.dangdang.ddframe.rdb.sharding.executor.type.statement.StatementUnit;
 import com.dangdang.ddframe.rdb.sharding.jdbc.adapter.AbstractStatementAdapter;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.connection.ShardingConnection;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.resultset.ExplainResultSet;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.resultset.GeneratedKeysResultSet;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.resultset.ShardingResultSet;
 import com.dangdang.ddframe.rdb.sharding.merger.MergeEngine;
+import com.dangdang.ddframe.rdb.sharding.parsing.SQLStatementSplitter;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.GeneratedKey;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.insert.InsertStatement;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLRouteResult;
+import com.dangdang.ddframe.rdb.sharding.routing.ShardingExplainSQL;
 import com.dangdang.ddframe.rdb.sharding.routing.StatementRoutingEngine;
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Reader;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 支持分片的静态语句对象.
@@ -55,6 +66,8 @@ import java.util.List;
  */
 public class ShardingStatement extends AbstractStatementAdapter {
     
+    private static final int DEFAULT_SCRIPT_BATCH_SIZE = 1000;
+    
     @Getter(AccessLevel.PROTECTED)
     private final ShardingConnection shardingConnection;
     
@@ -103,6 +116,10 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public ResultSet executeQuery(final String sql) throws SQLException {
+        Optional<String> explainedSQL = ShardingExplainSQL.getLogicSQL(sql);
+        if (explainedSQL.isPresent()) {
+            return generateExplainResultSet(new StatementRoutingEngine(shardingConnection.getShardingContext(), true).route(explainedSQL.get()));
+        }
         ResultSet result;
         try {
             List<ResultSet> resultSets = generateExecutor(sql).executeQuery();
@@ -117,6 +134,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public int executeUpdate(final String sql) throws SQLException {
+        checkNotExplain(sql, "executeUpdate");
         try {
             return generateExecutor(sql).executeUpdate();
         } finally {
@@ -126,6 +144,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public int executeUpdate(final String sql, final int autoGeneratedKeys) throws SQLException {
+        checkNotExplain(sql, "executeUpdate");
         if (RETURN_GENERATED_KEYS == autoGeneratedKeys) {
             markReturnGeneratedKeys();
         }
@@ -138,6 +157,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public int executeUpdate(final String sql, final int[] columnIndexes) throws SQLException {
+        checkNotExplain(sql, "executeUpdate");
         markReturnGeneratedKeys();
         try {
             return generateExecutor(sql).executeUpdate(columnIndexes);
@@ -148,6 +168,7 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public int executeUpdate(final String sql, final String[] columnNames) throws SQLException {
+        checkNotExplain(sql, "executeUpdate");
         markReturnGeneratedKeys();
         try {
             return generateExecutor(sql).executeUpdate(columnNames);
@@ -158,6 +179,10 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public boolean execute(final String sql) throws SQLException {
+        if (isExplain(sql)) {
+            executeQuery(sql);
+            return true;
+        }
         try {
             return generateExecutor(sql).execute();
         } finally {
@@ -167,6 +192,10 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public boolean execute(final String sql, final int autoGeneratedKeys) throws SQLException {
+        if (isExplain(sql)) {
+            executeQuery(sql);
+            return true;
+        }
         if (RETURN_GENERATED_KEYS == autoGeneratedKeys) {
             markReturnGeneratedKeys();
         }
@@ -179,6 +208,10 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public boolean execute(final String sql, final int[] columnIndexes) throws SQLException {
+        if (isExplain(sql)) {
+            executeQuery(sql);
+            return true;
+        }
         markReturnGeneratedKeys();
         try {
             return generateExecutor(sql).execute(columnIndexes);
@@ -189,6 +222,10 @@ public class ShardingStatement extends AbstractStatementAdapter {
     
     @Override
     public boolean execute(final String sql, final String[] columnNames) throws SQLException {
+        if (isExplain(sql)) {
+            executeQuery(sql);
+            return true;
+        }
         markReturnGeneratedKeys();
         try {
             return generateExecutor(sql).execute(columnNames);
@@ -197,30 +234,178 @@ public class ShardingStatement extends AbstractStatementAdapter {
         }
     }
     
+    private boolean isExplain(final String sql) {
+        return ShardingExplainSQL.getLogicSQL(sql).isPresent();
+    }
+    
+    private void checkNotExplain(final String sql, final String methodName) throws SQLException {
+        if (isExplain(sql)) {
+            throw createExplainNotSupportedException(methodName);
+        }
+    }
+    
+    /**
+     * 创建路由解释伪语句不支持的异常.
+     * 
+     * <p>
+     * 路由解释伪语句仅能通过executeQuery或execute执行, 其他执行方法抛出异常而不执行SQL.
+     * </p>
+     * 
+     * @param methodName 执行方法名称
+     * @return 路由解释伪语句不支持的异常
+     */
+    protected static SQLException createExplainNotSupportedException(final String methodName) {
+        return new SQLFeatureNotSupportedException(String.format("EXPLAIN SHARDING is not supported by %s, use executeQuery or execute instead.", methodName));
+    }
+    
+    /**
+     * 生成路由解释结果集.
+     * 
+     * @param sqlRouteResult 路由结果
+     * @return 路由解释结果集
+     * @throws SQLException SQL异常
+     */
+    protected final ResultSet generateExplainResultSet(final SQLRouteResult sqlRouteResult) throws SQLException {
+        clearPrevious();
+        ResultSet result = new ExplainResultSet(sqlRouteResult, this);
+        setCurrentResultSet(result);
+        return result;
+    }
+    
     protected final void markReturnGeneratedKeys() {
         returnGeneratedKeys = true;
     }
     
+    /**
+     * 执行SQL脚本.
+     * 
+     * @param reader SQL脚本字符流
+     * @return 更新数量
+     * @throws SQLException SQL异常
+     * @see #executeScript(Reader, int)
+     */
+    public int executeScript(final Reader reader) throws SQLException {
+        return executeScript(reader, DEFAULT_SCRIPT_BATCH_SIZE);
+    }
+    
+    /**
+     * 执行SQL脚本.
+     * 
+     * <p>
+     * 逐条拆分, 路由并执行脚本中的SQL, 不会将整个脚本读入内存.
+     * 路由至单一执行单元的DML语句按数据源累积为批量, 同一数据源的语句按顺序批量发送, 不同数据源的批量并行执行.
+     * 其他语句执行前先执行已累积的批量, 以保证同一数据源上的执行顺序.
+     * </p>
+     * 
+     * @param reader SQL脚本字符流
+     * @param batchSize 累积多少条语句后执行一次批量
+     * @return 更新数量
+     * @throws SQLException SQL异常
+     */
+    public int executeScript(final Reader reader, final int batchSize) throws SQLException {
+        Preconditions.checkArgument(batchSize > 0, "Batch size must be positive.");
+        clearPrevious();
+        SQLStatementSplitter splitter = new SQLStatementSplitter(shardingConnection.getShardingContext().getDatabaseType(), reader);
+        Map<String, BatchStatementUnit> batchStatementUnits = new LinkedHashMap<>();
+        int result = 0;
+        int pendingSize = 0;
+        try {
+            while (splitter.hasNext()) {
+                String sql = splitter.next();
+                checkNotExplain(sql, "executeScript");
+                SQLRouteResult sqlRouteResult = new StatementRoutingEngine(shardingConnection.getShardingContext()).route(sql);
+                boolean batchable = SQLType.DML == sqlRouteResult.getSqlStatement().getType() && 1 == sqlRouteResult.getExecutionUnits().size();
+                if (batchable) {
+                    addBatch(batchStatementUnits, sqlRouteResult.getExecutionUnits().iterator().next());
+                    if (++pendingSize < batchSize) {
+                        continue;
+                    }
+                }
+                result += executeBatch(batchStatementUnits);
+                pendingSize = 0;
+                if (!batchable) {
+                    result += executeRouted(sqlRouteResult);
+                }
+            }
+            result += executeBatch(batchStatementUnits);
+        } finally {
+            for (BatchStatementUnit each : batchStatementUnits.values()) {
+                each.getStatement().close();
+            }
+            setCurrentResultSet(null);
+        }
+        return result;
+    }
+    
+    private void addBatch(final Map<String, BatchStatementUnit> batchStatementUnits, final SQLExecutionUnit sqlExecutionUnit) throws SQLException {
+        BatchStatementUnit batchStatementUnit = batchStatementUnits.get(sqlExecutionUnit.getDataSource());
+        if (null == batchStatementUnit) {
+            Statement statement = shardingConnection.getConnection(sqlExecutionUnit.getDataSource(), SQLType.DML).createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+            replayMethodsInvocation(statement);
+            batchStatementUnit = new BatchStatementUnit(sqlExecutionUnit.getDataSource(), statement);
+            batchStatementUnits.put(sqlExecutionUnit.getDataSource(), batchStatementUnit);
+        }
+        batchStatementUnit.addBatch(sqlExecutionUnit.getSql());
+    }
+    
+    private int executeBatch(final Map<String, BatchStatementUnit> batchStatementUnits) throws SQLException {
+        if (batchStatementUnits.isEmpty()) {
+            return 0;
+        }
+        try {
+            return new BatchStatementExecutor(shardingConnection.getShardingContext().getExecutorEngine(), batchStatementUnits.values()).executeBatch();
+        } finally {
+            for (BatchStatementUnit each : batchStatementUnits.values()) {
+                each.getStatement().close();
+            }
+            batchStatementUnits.clear();
+        }
+    }
+    
+    private int executeRouted(final SQLRouteResult sqlRouteResult) throws SQLException {
+        clearPrevious();
+        routeResult = sqlRouteResult;
+        StatementExecutor executor = generateExecutor();
+        if (SQLType.DML == sqlRouteResult.getSqlStatement().getType()) {
+            return executor.executeUpdate();
+        }
+        executor.execute();
+        return 0;
+    }
+    
     private StatementExecutor generateExecutor(final String sql) throws SQLException {
         clearPrevious();
         routeResult = new StatementRoutingEngine(shardingConnection.getShardingContext()).route(sql);
+        return generateExecutor();
+    }
+    
+    private StatementExecutor generateExecutor() throws SQLException {
         Collection<StatementUnit> statementUnits = new LinkedList<>();
-        for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
-            Collection<Connection> connections;
-            SQLType sqlType = routeResult.getSqlStatement().getType();
-            if (SQLType.DDL == sqlType) {
-                connections = shardingConnection.getConnectionForDDL(each.getDataSource());
-            } else {
-                connections = Collections.singletonList(shardingConnection.getConnection(each.getDataSource(), routeResult.getSqlStatement().getType()));
+        SQLType sqlType = routeResult.getSqlStatement().getType();
+        if (SQLType.DDL == sqlType) {
+            for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
+                for (Connection connection : shardingConnection.getConnectionForDDL(each.getDataSource())) {
+                    statementUnits.add(new StatementUnit(each, generateStatement(connection)));
+                }
             }
-            for (Connection connection : connections) {
-                Statement statement = connection.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
-                replayMethodsInvocation(statement);
-                statementUnits.add(new StatementUnit(each, statement));
-                routedStatements.add(statement);
+        } else {
+            ExecutorEngine executorEngine = shardingConnection.getShardingContext().getExecutorEngine();
+            for (ExecutionGroup group : executorEngine.getExecutionPlanner().plan(routeResult.getExecutionUnits(), shardingConnection.getAutoCommit())) {
+                List<Connection> connections = shardingConnection.getConnections(group.getDataSource(), sqlType, group.getConnectionsSize());
+                int i = 0;
+                for (SQLExecutionUnit each : group.getSqlExecutionUnits()) {
+                    statementUnits.add(new StatementUnit(each, generateStatement(connections.get(i++ % connections.size())), group.getConnectionMode()));
+                }
             }
         }
-        return new StatementExecutor(shardingConnection.getShardingContext().getExecutorEngine(), routeResult.getSqlStatement().getType(), statementUnits);
+        return new StatementExecutor(shardingConnection.getShardingContext().getExecutorEngine(), sqlType, statementUnits, routeResult.isBroadcast());
+    }
+    
+    private Statement generateStatement(final Connection connection) throws SQLException {
+        Statement result = connection.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+        replayMethodsInvocation(result);
+        routedStatements.add(result);
+        return result;
     }
     
     private void clearPrevious() throws SQLException {
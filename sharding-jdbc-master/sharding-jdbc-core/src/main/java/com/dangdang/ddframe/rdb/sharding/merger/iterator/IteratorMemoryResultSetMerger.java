@@ -0,0 +1,78 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.merger.iterator;
+
+import com.dangdang.ddframe.rdb.sharding.merger.common.AbstractMemoryResultSetMerger;
+import com.dangdang.ddframe.rdb.sharding.merger.common.MemoryResultSetRow;
+import com.dangdang.ddframe.rdb.sharding.util.SQLUtil;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 内存迭代归并结果集.
+ * 
+ * <p>
+ * 创建时即读取全部结果集至内存, 之后可以释放数据库连接供其他语句使用.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class IteratorMemoryResultSetMerger extends AbstractMemoryResultSetMerger {
+    
+    private final Iterator<MemoryResultSetRow> memoryResultSetRows;
+    
+    public IteratorMemoryResultSetMerger(final List<ResultSet> resultSets) throws SQLException {
+        super(getColumnLabelIndexMap(resultSets.get(0)));
+        memoryResultSetRows = init(resultSets);
+    }
+    
+    private static Map<String, Integer> getColumnLabelIndexMap(final ResultSet resultSet) throws SQLException {
+        ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+        Map<String, Integer> result = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
+            result.put(SQLUtil.getExactlyValue(resultSetMetaData.getColumnLabel(i)), i);
+        }
+        return result;
+    }
+    
+    private Iterator<MemoryResultSetRow> init(final List<ResultSet> resultSets) throws SQLException {
+        List<MemoryResultSetRow> result = new LinkedList<>();
+        for (ResultSet each : resultSets) {
+            while (each.next()) {
+                result.add(new MemoryResultSetRow(each));
+            }
+        }
+        return result.iterator();
+    }
+    
+    @Override
+    public boolean next() throws SQLException {
+        if (memoryResultSetRows.hasNext()) {
+            setCurrentResultSetRow(memoryResultSetRows.next());
+            return true;
+        }
+        return false;
+    }
+}
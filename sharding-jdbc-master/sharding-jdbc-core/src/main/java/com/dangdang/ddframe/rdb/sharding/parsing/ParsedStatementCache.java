@@ -0,0 +1,237 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing;
+
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.SQLStatement;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SQL解析结果缓存.
+ *
+ * <p>
+ * 以逻辑SQL和数据库类型为键, 缓存解析后的SQL语句对象作为模板.
+ * 模板不会被修改, 每次获取时返回模板的副本.
+ * 单表简单查询优先仅解析路由信息, 需要时再完整解析并替换缓存的模板.
+ * 缓存容量有上限, 超出时淘汰最近最少使用的解析结果.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@Slf4j
+public final class ParsedStatementCache {
+    
+    private final Cache<CacheKey, SQLStatement> cache;
+    
+    public ParsedStatementCache(final long maximumSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+    
+    /**
+     * 解析SQL.
+     *
+     * <p>
+     * 缓存命中时复制缓存的解析结果, 否则解析SQL并放入缓存.
+     * 单表简单查询仅解析路由信息, 返回的SQL语句对象可能只包含表和条件.
+     * </p>
+     *
+     * @param databaseType 数据库类型
+     * @param logicSQL 逻辑SQL
+     * @param shardingRule 分片规则
+     * @return SQL语句对象副本
+     */
+    public SQLStatement parse(final DatabaseType databaseType, final String logicSQL, final ShardingRule shardingRule) {
+        CacheKey key = new CacheKey(databaseType, logicSQL);
+        SQLStatement result = cache.getIfPresent(key);
+        if (null == result) {
+            SQLParsingEngine parsingEngine = new SQLParsingEngine(databaseType, logicSQL, shardingRule);
+            Optional<SelectStatement> routingOnlyStatement = parsingEngine.parseRoutingOnly();
+            result = routingOnlyStatement.isPresent() ? routingOnlyStatement.get() : parsingEngine.parse();
+            cache.put(key, result);
+        }
+        return result.copy();
+    }
+    
+    /**
+     * 完整解析SQL.
+     *
+     * <p>
+     * 缓存的解析结果仅包含路由信息时, 完整解析SQL并替换缓存.
+     * </p>
+     *
+     * @param databaseType 数据库类型
+     * @param logicSQL 逻辑SQL
+     * @param shardingRule 分片规则
+     * @return 完整的SQL语句对象副本
+     */
+    public SQLStatement parseCompletely(final DatabaseType databaseType, final String logicSQL, final ShardingRule shardingRule) {
+        CacheKey key = new CacheKey(databaseType, logicSQL);
+        SQLStatement result = cache.getIfPresent(key);
+        if (null == result || isRoutingOnly(result)) {
+            result = new SQLParsingEngine(databaseType, logicSQL, shardingRule).parse();
+            cache.put(key, result);
+        }
+        return result.copy();
+    }
+    
+    /**
+     * 并行预解析SQL.
+     *
+     * <p>
+     * 使用指定并行度的{@code ForkJoinPool}解析SQL并放入缓存, 用于启动时预热, 避免流量到来后首次解析的开销.
+     * 解析失败的SQL只计数并记录日志, 不影响其他SQL.
+     * </p>
+     *
+     * @param databaseType 数据库类型
+     * @param logicSQLs 逻辑SQL集合
+     * @param shardingRule 分片规则
+     * @param parallelism 并行度
+     * @return 预热结果
+     */
+    public ParsingWarmUpResult warmUp(final DatabaseType databaseType, final Collection<String> logicSQLs, final ShardingRule shardingRule, final int parallelism) {
+        Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive.");
+        long startTime = System.nanoTime();
+        List<String> sqlList = logicSQLs instanceof List ? (List<String>) logicSQLs : new ArrayList<>(logicSQLs);
+        AtomicInteger parsedCount = new AtomicInteger();
+        AtomicInteger failedCount = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new WarmUpTask(databaseType, sqlList, shardingRule, parsedCount, failedCount));
+        } finally {
+            pool.shutdown();
+        }
+        return new ParsingWarmUpResult(parsedCount.get(), failedCount.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+    
+    /**
+     * 判断SQL语句对象是否仅包含路由信息.
+     * 
+     * @param sqlStatement SQL语句对象
+     * @return 是否仅包含路由信息
+     */
+    public static boolean isRoutingOnly(final SQLStatement sqlStatement) {
+        return sqlStatement instanceof SelectStatement && ((SelectStatement) sqlStatement).isRoutingOnly();
+    }
+    
+    /**
+     * 获取缓存命中次数.
+     *
+     * @return 缓存命中次数
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+    
+    /**
+     * 获取缓存未命中次数.
+     *
+     * @return 缓存未命中次数
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+    
+    /**
+     * 获取缓存淘汰次数.
+     *
+     * @return 缓存淘汰次数
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+    
+    /**
+     * 获取缓存的解析结果数量.
+     *
+     * @return 缓存的解析结果数量
+     */
+    public long size() {
+        return cache.size();
+    }
+    
+    /**
+     * 清空缓存.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+    
+    @RequiredArgsConstructor
+    private final class WarmUpTask extends RecursiveAction {
+        
+        private static final long serialVersionUID = -2340716427315963514L;
+        
+        private static final int THRESHOLD = 16;
+        
+        private final DatabaseType databaseType;
+        
+        private final List<String> logicSQLs;
+        
+        private final ShardingRule shardingRule;
+        
+        private final AtomicInteger parsedCount;
+        
+        private final AtomicInteger failedCount;
+        
+        @Override
+        protected void compute() {
+            if (logicSQLs.size() > THRESHOLD) {
+                int middle = logicSQLs.size() / 2;
+                invokeAll(new WarmUpTask(databaseType, logicSQLs.subList(0, middle), shardingRule, parsedCount, failedCount), 
+                        new WarmUpTask(databaseType, logicSQLs.subList(middle, logicSQLs.size()), shardingRule, parsedCount, failedCount));
+                return;
+            }
+            for (String each : logicSQLs) {
+                try {
+                    parse(databaseType, each, shardingRule);
+                    parsedCount.incrementAndGet();
+                    // CHECKSTYLE:OFF
+                } catch (final Exception ex) {
+                    // CHECKSTYLE:ON
+                    failedCount.incrementAndGet();
+                    log.warn("Warm up parsing failure, SQL: {}, cause: {}", each, ex.getMessage());
+                }
+            }
+        }
+    }
+    
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class CacheKey {
+        
+        private final DatabaseType databaseType;
+        
+        private final String logicSQL;
+    }
+}
@@ -21,6 +21,7 @@ import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
 import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.DefaultKeyword;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Symbol;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.FastPathSelectParser;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.SQLParser;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.dialect.mysql.MySQLParser;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.dialect.oracle.OracleParser;
@@ -34,8 +35,10 @@ import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.delete.Del
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.ddl.drop.DropParserFactory;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.insert.InsertParserFactory;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectParserFactory;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.ddl.truncate.TruncateParserFactory;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.update.UpdateParserFactory;
+import com.google.common.base.Optional;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -100,6 +103,21 @@ public final class SQLParsingEngine {
         throw new SQLParsingUnsupportedException(sqlParser.getLexer().getCurrentToken().getType());
     }
     
+    /**
+     * 仅解析路由所需的表和分片条件.
+     * 
+     * <p>
+     * 只支持单表的简单查询, 不支持时返回空, 需使用{@link #parse()}完整解析.
+     * </p>
+     * 
+     * @return 仅包含路由信息的Select SQL语句对象
+     */
+    public Optional<SelectStatement> parseRoutingOnly() {
+        SQLParser sqlParser = getSQLParser();
+        sqlParser.skipIfEqual(Symbol.SEMI);
+        return new FastPathSelectParser(sqlParser).parse();
+    }
+    
     private SQLParser getSQLParser() {
         switch (dbType) {
             case H2:
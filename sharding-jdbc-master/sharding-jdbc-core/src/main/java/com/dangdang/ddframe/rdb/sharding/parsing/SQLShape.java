@@ -0,0 +1,118 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing;
+
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL形态.
+ *
+ * <p>
+ * 将SQL中的字面量替换为占位符后的SQL, 以及按出现顺序提取的字面量值.
+ * 仅字面量不同的SQL具有相同的形态, 可以共享同一个解析结果.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class SQLShape {
+    
+    /**
+     * 以占位符替换字面量后的SQL
+     */
+    private final String sql;
+    
+    /**
+     * 按占位符顺序提取的字面量值
+     */
+    private final List<Object> values;
+    
+    /**
+     * 按占位符顺序记录的字面量原文
+     */
+    private final List<String> literals;
+    
+    /**
+     * 获取可作为占位符参数使用的字面量值.
+     * 
+     * @return 字面量值副本, 路由过程可以修改
+     */
+    public List<Object> getParameters() {
+        return new ArrayList<>(values);
+    }
+    
+    /**
+     * 将改写后SQL中的占位符还原为字面量.
+     * 
+     * <p>
+     * 未被路由过程修改的参数还原为原文, 被修改或新增的参数(如分页和自动生成键)按值生成字面量.
+     * </p>
+     * 
+     * @param shapeSQL 由形态SQL改写生成的SQL
+     * @param parameters 路由使用的参数
+     * @return 不含占位符的SQL
+     */
+    public String restore(final String shapeSQL, final List<Object> parameters) {
+        return restore(shapeSQL, parameters, null);
+    }
+    
+    /**
+     * 将改写后SQL中的占位符按参数索引还原为字面量.
+     * 
+     * @param shapeSQL 由形态SQL改写生成的SQL
+     * @param parameters 路由使用的参数
+     * @param parameterIndexes 各占位符对应的参数索引, 为null时按顺序使用全部参数
+     * @return 不含占位符的SQL
+     */
+    public String restore(final String shapeSQL, final List<Object> parameters, final List<Integer> parameterIndexes) {
+        int parametersCount = null == parameterIndexes ? parameters.size() : parameterIndexes.size();
+        StringBuilder result = new StringBuilder(shapeSQL.length() + 16 * parametersCount);
+        int index = 0;
+        for (int i = 0; i < shapeSQL.length(); i++) {
+            char each = shapeSQL.charAt(i);
+            if ('?' != each) {
+                result.append(each);
+                continue;
+            }
+            Preconditions.checkState(index < parametersCount, "Missing parameter for placeholder %s in SQL: %s", index, shapeSQL);
+            int parameterIndex = null == parameterIndexes ? index : parameterIndexes.get(index);
+            result.append(toLiterals(parameterIndex, parameters.get(parameterIndex)));
+            index++;
+        }
+        Preconditions.checkState(index == parametersCount, "Parameters size %s mismatch placeholders count %s in SQL: %s", parametersCount, index, shapeSQL);
+        return result.toString();
+    }
+    
+    private String toLiterals(final int index, final Object parameter) {
+        if (index < values.size() && values.get(index) == parameter) {
+            return literals.get(index);
+        }
+        if (parameter instanceof Number) {
+            return parameter.toString();
+        }
+        return "'" + String.valueOf(parameter).replace("'", "''") + "'";
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing;
+
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.Lexer;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.LexerFactory;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.dialect.mysql.MySQLKeyword;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.dialect.oracle.OracleKeyword;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.dialect.postgresql.PostgreSQLKeyword;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.dialect.sqlserver.SQLServerKeyword;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Assist;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.DefaultKeyword;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Literals;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Symbol;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Token;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.TokenType;
+import com.dangdang.ddframe.rdb.sharding.util.NumberUtil;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SQL形态归一化引擎.
+ *
+ * <p>
+ * 基于词法解析将条件和值列表中的字面量替换为占位符.
+ * 查询项, 分组, 排序和分页中的字面量会影响解析结果, 保持原样.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class SQLShapeEngine {
+    
+    /**
+     * 之后的字面量可以归一化的关键字
+     */
+    private static final Set<TokenType> NORMALIZE_BEGIN_KEYWORDS = ImmutableSet.<TokenType>of(DefaultKeyword.WHERE, DefaultKeyword.VALUES, DefaultKeyword.SET);
+    
+    /**
+     * 之后的字面量不能归一化的关键字
+     */
+    private static final Set<TokenType> NORMALIZE_END_KEYWORDS = ImmutableSet.<TokenType>builder().add(
+            DefaultKeyword.SELECT, DefaultKeyword.ON, DefaultKeyword.GROUP, DefaultKeyword.ORDER, DefaultKeyword.HAVING, DefaultKeyword.FETCH, 
+            MySQLKeyword.LIMIT, MySQLKeyword.OFFSET, OracleKeyword.LIMIT, PostgreSQLKeyword.LIMIT, PostgreSQLKeyword.OFFSET, SQLServerKeyword.TOP, SQLServerKeyword.OFFSET).build();
+    
+    /**
+     * 紧随其后的字面量可以归一化的词法标记
+     */
+    private static final Set<TokenType> VALUE_PRECEDING_TYPES = ImmutableSet.<TokenType>of(
+            Symbol.EQ, Symbol.LT, Symbol.GT, Symbol.LT_EQ, Symbol.GT_EQ, Symbol.LT_EQ_GT, Symbol.LT_GT, Symbol.BANG_EQ, Symbol.COMMA, Symbol.LEFT_PAREN, 
+            DefaultKeyword.BETWEEN, DefaultKeyword.AND);
+    
+    /**
+     * 数据库类型
+     */
+    private final DatabaseType dbType;
+    /**
+     * SQL
+     */
+    private final String sql;
+    
+    /**
+     * 归一化SQL形态.
+     * 
+     * <p>
+     * SQL已含有占位符, 无法识别的词法标记或没有可归一化的字面量时, 返回空.
+     * </p>
+     * 
+     * @return SQL形态
+     */
+    public Optional<SQLShape> normalize() {
+        if (-1 != sql.indexOf('?')) {
+            return Optional.absent();
+        }
+        Lexer lexer = LexerFactory.newInstance(dbType, sql);
+        StringBuilder shapeSQL = new StringBuilder(sql.length());
+        List<Object> values = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        boolean normalizable = false;
+        TokenType previousType = Assist.END;
+        int copiedPosition = 0;
+        lexer.nextToken();
+        while (Assist.END != lexer.getCurrentToken().getType()) {
+            Token token = lexer.getCurrentToken();
+            TokenType type = token.getType();
+            if (Assist.ERROR == type) {
+                return Optional.absent();
+            }
+            if (NORMALIZE_BEGIN_KEYWORDS.contains(type)) {
+                normalizable = true;
+            } else if (NORMALIZE_END_KEYWORDS.contains(type)) {
+                normalizable = false;
+            } else if (normalizable && VALUE_PRECEDING_TYPES.contains(previousType)) {
+                int beginPosition = getLiteralsBeginPosition(token);
+                if (-1 != beginPosition) {
+                    shapeSQL.append(sql, copiedPosition, beginPosition).append(Symbol.QUESTION.getLiterals());
+                    values.add(getValue(token));
+                    literals.add(sql.substring(beginPosition, token.getEndPosition()));
+                    copiedPosition = token.getEndPosition();
+                }
+            }
+            previousType = type;
+            lexer.nextToken();
+        }
+        if (values.isEmpty()) {
+            return Optional.absent();
+        }
+        shapeSQL.append(sql, copiedPosition, sql.length());
+        return Optional.of(new SQLShape(shapeSQL.toString(), Collections.unmodifiableList(values), Collections.unmodifiableList(literals)));
+    }
+    
+    /**
+     * 获取可归一化字面量的开始位置.
+     * 
+     * <p>
+     * 十六进制数, 负数, 双引号字符串(部分数据库中为标识符)及带前缀的字符串不归一化.
+     * </p>
+     * 
+     * @param token 词法标记
+     * @return 开始位置, 不可归一化时返回-1
+     */
+    private int getLiteralsBeginPosition(final Token token) {
+        if (Literals.INT == token.getType() || Literals.FLOAT == token.getType()) {
+            return '-' == token.getLiterals().charAt(0) ? -1 : token.getEndPosition() - token.getLiterals().length();
+        }
+        if (Literals.CHARS == token.getType()) {
+            int result = token.getEndPosition() - token.getLiterals().length() - 2;
+            return '\'' == sql.charAt(result) && (0 == result || !Character.isLetterOrDigit(sql.charAt(result - 1))) ? result : -1;
+        }
+        return -1;
+    }
+    
+    private Object getValue(final Token token) {
+        if (Literals.INT == token.getType()) {
+            return NumberUtil.getExactlyNumber(token.getLiterals(), 10);
+        }
+        if (Literals.FLOAT == token.getType()) {
+            return Double.parseDouble(token.getLiterals());
+        }
+        return token.getLiterals();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing;
+
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.Lexer;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.LexerFactory;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.analyzer.UnterminatedCharException;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Assist;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Symbol;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.exception.SQLParsingException;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+
+/**
+ * SQL语句拆分器.
+ *
+ * <p>
+ * 从字符流中逐段读取SQL脚本, 基于词法解析按分号拆分出单条SQL语句.
+ * 字符串, 注释和查询提示中的分号不会作为语句的结束.
+ * 只缓存尚未拆分完成的部分, 内存占用与脚本大小无关, 只与单条语句的长度有关.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class SQLStatementSplitter implements Iterator<String> {
+    
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    
+    /**
+     * 数据库类型
+     */
+    private final DatabaseType dbType;
+    /**
+     * SQL脚本字符流
+     */
+    private final Reader reader;
+    /**
+     * 每次读取的最小字符数
+     */
+    private final int bufferSize;
+    /**
+     * 尚未拆分完成的字符
+     */
+    private final StringBuilder buffer;
+    /**
+     * 已拆分但尚未获取的SQL语句
+     */
+    private final Queue<String> statements = new LinkedList<>();
+    /**
+     * 字符流是否已读取完毕
+     */
+    private boolean exhausted;
+    
+    public SQLStatementSplitter(final DatabaseType dbType, final Reader reader) {
+        this(dbType, reader, DEFAULT_BUFFER_SIZE);
+    }
+    
+    public SQLStatementSplitter(final DatabaseType dbType, final Reader reader, final int bufferSize) {
+        Preconditions.checkArgument(bufferSize > 0, "Buffer size must be positive.");
+        this.dbType = dbType;
+        this.reader = reader;
+        this.bufferSize = bufferSize;
+        buffer = new StringBuilder(bufferSize);
+    }
+    
+    @Override
+    public boolean hasNext() {
+        while (statements.isEmpty() && !exhausted) {
+            fill();
+            split();
+        }
+        return !statements.isEmpty();
+    }
+    
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return statements.poll();
+    }
+    
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+    
+    /**
+     * 读取字符至缓冲区.
+     *
+     * <p>
+     * 单条语句跨越多次读取时, 每次读取的字符数随缓冲区增长, 避免反复对同一语句进行词法解析.
+     * </p>
+     */
+    private void fill() {
+        char[] chars = new char[Math.max(bufferSize, buffer.length())];
+        int length;
+        try {
+            length = reader.read(chars);
+        } catch (final IOException ex) {
+            throw new ShardingJdbcException(ex);
+        }
+        if (-1 == length) {
+            exhausted = true;
+        } else {
+            buffer.append(chars, 0, length);
+        }
+    }
+    
+    /**
+     * 拆分缓冲区中已完整的SQL语句.
+     *
+     * <p>
+     * 缓冲区末尾的字符串或注释可能尚未读取完整, 字符流未读取完毕时保留最后一个分号之后的字符, 等待下次读取后重新解析.
+     * </p>
+     */
+    private void split() {
+        String input = buffer.toString();
+        Lexer lexer = LexerFactory.newInstance(dbType, input);
+        int beginPosition = 0;
+        boolean containsToken = false;
+        try {
+            lexer.nextToken();
+            while (Assist.END != lexer.getCurrentToken().getType()) {
+                if (Assist.ERROR == lexer.getCurrentToken().getType()) {
+                    throw new SQLParsingException(lexer);
+                }
+                if (Symbol.SEMI == lexer.getCurrentToken().getType()) {
+                    if (containsToken) {
+                        statements.offer(CharMatcher.WHITESPACE.trimFrom(input.substring(beginPosition, lexer.getCurrentToken().getEndPosition() - 1)));
+                    }
+                    beginPosition = lexer.getCurrentToken().getEndPosition();
+                    containsToken = false;
+                } else {
+                    containsToken = true;
+                }
+                lexer.nextToken();
+            }
+        } catch (final UnterminatedCharException ex) {
+            if (exhausted) {
+                throw ex;
+            }
+        }
+        if (!exhausted) {
+            buffer.delete(0, beginPosition);
+            return;
+        }
+        if (containsToken) {
+            statements.offer(CharMatcher.WHITESPACE.trimFrom(input.substring(beginPosition)));
+        }
+        buffer.setLength(0);
+    }
+}
@@ -21,40 +21,74 @@ import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.DefaultKeyword;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Keyword;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.TokenType;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Map.Entry;
 
 /**
  * 词法标记字典.
+ * 
+ * <p>
+ * 使用开放寻址的散列表存放关键词, 直接按输入的字符区间忽略大小写查找, 查找过程不创建新对象.
+ * 字典构建后只读, 同一方言的词法解析器共享同一个字典.
+ * </p>
  *
  * @author zhangliang
  */
 public final class Dictionary {
-
+    
+    private static final int CASE_OFFSET = 'a' - 'A';
+    
     /**
-     * 词法关键词Map
+     * 关键词字面量散列表, 字面量均为大写
      */
-    private final Map<String, Keyword> tokens = new HashMap<>(1024);
+    private final char[][] keys;
+    
+    /**
+     * 与 {@link #keys} 位置对应的关键词
+     */
+    private final Keyword[] values;
+    
+    private final int mask;
     
     public Dictionary(final Keyword... dialectKeywords) {
-        fill(dialectKeywords);
+        Map<String, Keyword> tokens = fill(dialectKeywords);
+        int capacity = Integer.highestOneBit(tokens.size() * 4 - 1) << 1;
+        keys = new char[capacity][];
+        values = new Keyword[capacity];
+        mask = capacity - 1;
+        for (Entry<String, Keyword> entry : tokens.entrySet()) {
+            put(entry.getKey().toUpperCase(), entry.getValue());
+        }
     }
-
+    
     /**
      * 装上默认词法关键词 + 方言词法关键词
      * 不同的数据库有相同的默认词法关键词，有有不同的方言关键词
      *
      * @param dialectKeywords 方言词法关键词
+     * @return 词法关键词Map
      */
-    private void fill(final Keyword... dialectKeywords) {
+    private Map<String, Keyword> fill(final Keyword... dialectKeywords) {
+        Map<String, Keyword> result = new LinkedHashMap<>(1024);
         for (DefaultKeyword each : DefaultKeyword.values()) {
-            tokens.put(each.name(), each);
+            result.put(each.name(), each);
         }
         for (Keyword each : dialectKeywords) {
-            tokens.put(each.toString(), each);
+            result.put(each.toString(), each);
         }
+        return result;
     }
-
+    
+    private void put(final String key, final Keyword value) {
+        int index = hash(key, 0, key.length()) & mask;
+        while (null != keys[index]) {
+            index = (index + 1) & mask;
+        }
+        keys[index] = key.toCharArray();
+        values[index] = value;
+    }
+    
     /**
      * 获得 词法字面量 对应的 词法字面量标记
      * 当不存在时，返回默认词法字面量标记
@@ -64,10 +98,33 @@ public final class Dictionary {
      * @return 词法字面量标记
      */
     TokenType findTokenType(final String literals, final TokenType defaultTokenType) {
-        String key = null == literals ? null : literals.toUpperCase();
-        return tokens.containsKey(key) ? tokens.get(key) : defaultTokenType; // TODO 直接get，然后判断是否为空
+        if (null == literals) {
+            return defaultTokenType;
+        }
+        return findTokenType(literals, 0, literals.length(), defaultTokenType);
     }
-
+    
+    /**
+     * 获得 输入字符区间 对应的 词法字面量标记
+     * 当不存在时，返回默认词法字面量标记
+     *
+     * @param input 输入字符串
+     * @param beginIndex 开始位置(包含)
+     * @param endIndex 结束位置(不包含)
+     * @param defaultTokenType 默认词法字面量标记
+     * @return 词法字面量标记
+     */
+    TokenType findTokenType(final CharSequence input, final int beginIndex, final int endIndex, final TokenType defaultTokenType) {
+        int index = hash(input, beginIndex, endIndex) & mask;
+        while (null != keys[index]) {
+            if (equalsIgnoreCase(keys[index], input, beginIndex, endIndex)) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultTokenType;
+    }
+    
     /**
      * 获得 词法字面量 对应的 词法字面量标记
      * 当不存在时，抛出 {@link IllegalArgumentException}
@@ -76,10 +133,34 @@ public final class Dictionary {
      * @return 词法字面量标记
      */
     TokenType findTokenType(final String literals) {
-        String key = null == literals ? null : literals.toUpperCase();
-        if (tokens.containsKey(key)) {
-            return tokens.get(key);
+        TokenType result = findTokenType(literals, null);
+        if (null == result) {
+            throw new IllegalArgumentException();
         }
-        throw new IllegalArgumentException();
+        return result;
+    }
+    
+    private static int hash(final CharSequence input, final int beginIndex, final int endIndex) {
+        int result = 0;
+        for (int i = beginIndex; i < endIndex; i++) {
+            result = 31 * result + toUpperCase(input.charAt(i));
+        }
+        return result ^ (result >>> 16);
+    }
+    
+    private static boolean equalsIgnoreCase(final char[] key, final CharSequence input, final int beginIndex, final int endIndex) {
+        if (key.length != endIndex - beginIndex) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (key[i] != toUpperCase(input.charAt(beginIndex + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static char toUpperCase(final char ch) {
+        return ch >= 'a' && ch <= 'z' ? (char) (ch - CASE_OFFSET) : ch;
     }
 }
@@ -22,14 +22,14 @@ import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Literals;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Symbol;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Token;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.TokenType;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
 
 /**
  * 词法标记器.
  *
  * @author zhangliang
  */
-@RequiredArgsConstructor
+@AllArgsConstructor
 public final class Tokenizer {
 
     private static final int MYSQL_SPECIAL_COMMENT_BEGIN_SYMBOL_LENGTH = 1;
@@ -53,7 +53,19 @@ public final class Tokenizer {
     /**
      * 输出字符串的开始分词位置
      */
-    private final int offset;
+    private int offset;
+    
+    /**
+     * 移动开始分词位置.
+     * 词法解析器复用同一个词法标记器时，每次分词前调用.
+     *
+     * @param offset 开始分词位置
+     * @return 词法标记器
+     */
+    public Tokenizer moveTo(final int offset) {
+        this.offset = offset;
+        return this;
+    }
 
     /**
      * 跳过空格.
@@ -173,7 +185,7 @@ public final class Tokenizer {
             return new Token(processAmbiguousIdentifier(offset + length, literals), literals, offset + length);
         }
         // 从 词法关键词 查找是否是 Keyword，如果是，则返回 Keyword，否则返回 Literals.IDENTIFIER
-        return new Token(dictionary.findTokenType(literals, Literals.IDENTIFIER), literals, offset + length);
+        return new Token(dictionary.findTokenType(input, offset, offset + length, Literals.IDENTIFIER), literals, offset + length);
     }
 
     /**
@@ -235,7 +247,7 @@ public final class Tokenizer {
         while (CharType.isWhitespace(charAt(offset + i))) {
             i++;
         }
-        if (DefaultKeyword.BY.name().equalsIgnoreCase(String.valueOf(new char[] {charAt(offset + i), charAt(offset + i + 1)}))) {
+        if (DefaultKeyword.BY.name().regionMatches(true, 0, input, offset + i, 2)) {
             return dictionary.findTokenType(literals);
         }
         return Literals.IDENTIFIER;
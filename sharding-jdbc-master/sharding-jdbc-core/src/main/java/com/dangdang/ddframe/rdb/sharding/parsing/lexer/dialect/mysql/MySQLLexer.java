@@ -30,10 +30,10 @@ public final class MySQLLexer extends Lexer {
     /**
      * 字典
      */
-    private static Dictionary dictionary = new Dictionary(MySQLKeyword.values());
+    private static final Dictionary DICTIONARY = new Dictionary(MySQLKeyword.values());
     
     public MySQLLexer(final String input) {
-        super(input, dictionary);
+        super(input, DICTIONARY);
     }
     
     @Override
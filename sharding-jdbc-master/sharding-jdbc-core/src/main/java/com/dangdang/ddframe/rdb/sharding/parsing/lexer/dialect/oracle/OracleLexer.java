@@ -27,10 +27,10 @@ import com.dangdang.ddframe.rdb.sharding.parsing.lexer.Lexer;
  */
 public final class OracleLexer extends Lexer {
     
-    private static Dictionary dictionary = new Dictionary(OracleKeyword.values());
+    private static final Dictionary DICTIONARY = new Dictionary(OracleKeyword.values());
     
     public OracleLexer(final String input) {
-        super(input, dictionary);
+        super(input, DICTIONARY);
     }
     
     @Override
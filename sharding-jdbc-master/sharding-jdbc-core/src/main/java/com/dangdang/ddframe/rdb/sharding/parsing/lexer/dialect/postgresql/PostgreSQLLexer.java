@@ -27,9 +27,9 @@ import com.dangdang.ddframe.rdb.sharding.parsing.lexer.Lexer;
  */
 public final class PostgreSQLLexer extends Lexer {
     
-    private static Dictionary dictionary = new Dictionary(PostgreSQLKeyword.values());
+    private static final Dictionary DICTIONARY = new Dictionary(PostgreSQLKeyword.values());
     
     public PostgreSQLLexer(final String input) {
-        super(input, dictionary);
+        super(input, DICTIONARY);
     }
 }
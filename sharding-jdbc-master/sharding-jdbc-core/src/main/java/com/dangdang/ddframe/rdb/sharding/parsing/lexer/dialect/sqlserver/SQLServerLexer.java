@@ -27,10 +27,10 @@ import com.dangdang.ddframe.rdb.sharding.parsing.lexer.Lexer;
  */
 public final class SQLServerLexer extends Lexer {
     
-    private static Dictionary dictionary = new Dictionary(SQLServerKeyword.values());
+    private static final Dictionary DICTIONARY = new Dictionary(SQLServerKeyword.values());
     
     public SQLServerLexer(final String input) {
-        super(input, dictionary);
+        super(input, DICTIONARY);
     }
     
     @Override
@@ -0,0 +1,109 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing.parser;
+
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Assist;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.DefaultKeyword;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Literals;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Symbol;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Token;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.table.Table;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.TableToken;
+import com.dangdang.ddframe.rdb.sharding.util.SQLUtil;
+import com.google.common.base.Optional;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 仅解析路由信息的Select解析器.
+ *
+ * <p>
+ * 只解析单表简单查询的表, 分片条件以及路由后改写表名需要的标记, 不构建查询项, 分组, 排序和分页.
+ * 遇到聚合, 去重, 子查询, 多表及 WHERE 之后的其他子句时放弃解析, 由完整的Select解析器处理.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class FastPathSelectParser {
+    
+    private final SQLParser sqlParser;
+    
+    /**
+     * 解析SQL.
+     * 
+     * @return 仅包含路由信息的Select SQL语句对象, 不支持快速解析时返回空
+     */
+    public Optional<SelectStatement> parse() {
+        if (!sqlParser.skipIfEqual(DefaultKeyword.SELECT)) {
+            return Optional.absent();
+        }
+        SelectStatement result = new SelectStatement();
+        result.setRoutingOnly(true);
+        if (!parseSelectList(result) || !parseTable(result)) {
+            return Optional.absent();
+        }
+        sqlParser.parseWhere(result);
+        if (!sqlParser.equalAny(Assist.END) || null != result.getLimit()) {
+            return Optional.absent();
+        }
+        return Optional.of(result);
+    }
+    
+    /**
+     * 跳过查询项, 记录其中 "表名." 形式的表标记.
+     * 
+     * @param selectStatement Select SQL语句对象
+     * @return 是否可以快速解析
+     */
+    private boolean parseSelectList(final SelectStatement selectStatement) {
+        while (!sqlParser.equalAny(DefaultKeyword.FROM)) {
+            Token token = sqlParser.getLexer().getCurrentToken();
+            if (!isSimpleSelectItemToken(token)) {
+                return false;
+            }
+            sqlParser.getLexer().nextToken();
+            if (sqlParser.equalAny(Symbol.DOT)) {
+                selectStatement.getSqlTokens().add(new TableToken(token.getEndPosition() - token.getLiterals().length(), token.getLiterals()));
+            }
+        }
+        sqlParser.getLexer().nextToken();
+        return true;
+    }
+    
+    private boolean isSimpleSelectItemToken(final Token token) {
+        if (token.getType() instanceof Literals || DefaultKeyword.AS == token.getType()) {
+            return Literals.VARIABLE != token.getType();
+        }
+        return token.getType() instanceof Symbol && Symbol.QUESTION != token.getType();
+    }
+    
+    private boolean parseTable(final SelectStatement selectStatement) {
+        if (!sqlParser.equalAny(Literals.IDENTIFIER)) {
+            return false;
+        }
+        Token token = sqlParser.getLexer().getCurrentToken();
+        sqlParser.getLexer().nextToken();
+        if (sqlParser.equalAny(Symbol.DOT)) {
+            return false;
+        }
+        selectStatement.getSqlTokens().add(new TableToken(token.getEndPosition() - token.getLiterals().length(), token.getLiterals()));
+        selectStatement.getTables().add(new Table(SQLUtil.getExactlyValue(token.getLiterals()), sqlParser.parseAlias()));
+        return true;
+    }
+}
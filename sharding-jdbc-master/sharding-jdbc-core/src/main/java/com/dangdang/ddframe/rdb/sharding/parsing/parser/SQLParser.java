@@ -24,11 +24,12 @@ import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Literals;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Symbol;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Column;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Condition;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Conditions;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.JoinCondition;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.limit.Limit;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.limit.LimitValue;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.table.Table;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.table.Tables;
-import com.dangdang.ddframe.rdb.sharding.parsing.parser.exception.SQLParsingUnsupportedException;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.expression.*;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.SQLStatement;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
@@ -40,6 +41,8 @@ import com.dangdang.ddframe.rdb.sharding.util.SQLUtil;
 import com.google.common.base.Optional;
 import lombok.Getter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -66,38 +69,11 @@ public class SQLParser extends AbstractParser {
      * @return 表达式
      */
     public final SQLExpression parseExpression(final SQLStatement sqlStatement) {
-        // 【调试代码】
-        StackTraceElement stack[] = (new Throwable()).getStackTrace();
-        System.out.println();
-        System.out.println(stack[1].getMethodName()); // 调用方法
-        System.out.println("begin：" + getLexer().getCurrentToken().getLiterals());
-
         int beginPosition = getLexer().getCurrentToken().getEndPosition();
         SQLExpression result = parseExpression();
         if (result instanceof SQLPropertyExpression) {
             setTableToken(sqlStatement, beginPosition, (SQLPropertyExpression) result);
         }
-
-        // 【调试代码】
-        System.out.print("end：");
-        if (result instanceof SQLIdentifierExpression) {
-            SQLIdentifierExpression exp = (SQLIdentifierExpression) result;
-            System.out.println(exp.getClass().getSimpleName() + "：" + exp.getName());
-        } else if (result instanceof SQLIgnoreExpression) {
-            SQLIgnoreExpression exp = (SQLIgnoreExpression) result;
-            System.out.println(exp.getClass().getSimpleName() + "：");
-        } else if (result instanceof SQLNumberExpression) {
-            SQLNumberExpression exp = (SQLNumberExpression) result;
-            System.out.println(exp.getClass().getSimpleName() + "：" + exp.getNumber());
-        } else if (result instanceof SQLPropertyExpression) {
-            SQLPropertyExpression exp = (SQLPropertyExpression) result;
-            System.out.println(exp.getClass().getSimpleName() + "：" + exp.getOwner().getName() + "\t" + exp.getName());
-        } else if (result instanceof SQLTextExpression) {
-            SQLTextExpression exp = (SQLTextExpression) result;
-            System.out.println(exp.getClass().getSimpleName() + "：" + exp.getText());
-        }
-        System.out.println();
-        System.out.println();
         return result;
     }
     
@@ -108,9 +84,6 @@ public class SQLParser extends AbstractParser {
      */
     // TODO 完善Expression解析的各种场景
     public final SQLExpression parseExpression() {
-        if (!(new Throwable()).getStackTrace()[1].getMethodName().equals("parseExpression")) {
-            System.out.println();
-        }
         // 解析表达式
         String literals = getLexer().getCurrentToken().getLiterals();
         final SQLExpression expression = getExpression(literals);
@@ -296,22 +269,51 @@ public class SQLParser extends AbstractParser {
     }
 
     /**
-     * 解析所有查询条件。
-     * 目前不支持 OR 条件。
+     * 解析所有查询条件.
+     * 
+     * <p>
+     * 将 AND, OR 及括号组成的条件归一化为多个 AND 条件组的并集.
+     * 只有一个条件组时直接作为查询条件, 否则作为 OR 条件组, 路由时取各组路由结果的并集.
+     * </p>
      *
      * @param sqlStatement SQL
      */
     private void parseConditions(final SQLStatement sqlStatement) {
-        // AND 查询
-        do {
-            parseComparisonCondition(sqlStatement);
-        } while (skipIfEqual(DefaultKeyword.AND));
-        // 目前不支持 OR 条件
-        if (equalAny(DefaultKeyword.OR)) {
-            throw new SQLParsingUnsupportedException(getLexer().getCurrentToken().getType());
+        List<Conditions> orGroups = parseOrConditions(sqlStatement);
+        if (1 == orGroups.size()) {
+            sqlStatement.getConditions().addAll(orGroups.get(0));
+        } else {
+            sqlStatement.getConditions().addOrGroups(orGroups);
         }
     }
     
+    private List<Conditions> parseOrConditions(final SQLStatement sqlStatement) {
+        List<Conditions> result = parseAndConditions(sqlStatement);
+        while (skipIfEqual(DefaultKeyword.OR)) {
+            result = Conditions.or(result, parseAndConditions(sqlStatement));
+        }
+        return result;
+    }
+    
+    private List<Conditions> parseAndConditions(final SQLStatement sqlStatement) {
+        List<Conditions> result = parsePrimaryConditions(sqlStatement);
+        while (skipIfEqual(DefaultKeyword.AND)) {
+            result = Conditions.and(result, parsePrimaryConditions(sqlStatement));
+        }
+        return result;
+    }
+    
+    private List<Conditions> parsePrimaryConditions(final SQLStatement sqlStatement) {
+        if (skipIfEqual(Symbol.LEFT_PAREN)) {
+            List<Conditions> result = parseOrConditions(sqlStatement);
+            skipIfEqual(Symbol.RIGHT_PAREN);
+            return result;
+        }
+        Conditions result = new Conditions();
+        parseComparisonCondition(sqlStatement, result);
+        return new ArrayList<>(Collections.singletonList(result));
+    }
+    
     // TODO 解析组合expr
     /**
      * 解析单个查询条件
@@ -320,20 +322,22 @@ public class SQLParser extends AbstractParser {
      */
     public final void parseComparisonCondition(final SQLStatement sqlStatement) {
         skipIfEqual(Symbol.LEFT_PAREN);
+        parseComparisonCondition(sqlStatement, sqlStatement.getConditions());
+        skipIfEqual(Symbol.RIGHT_PAREN);
+    }
+    
+    private void parseComparisonCondition(final SQLStatement sqlStatement, final Conditions conditions) {
         SQLExpression left = parseExpression(sqlStatement);
         if (equalAny(Symbol.EQ)) {
-            parseEqualCondition(sqlStatement, left);
-            skipIfEqual(Symbol.RIGHT_PAREN);
+            parseEqualCondition(sqlStatement, conditions, left);
             return;
         }
         if (equalAny(DefaultKeyword.IN)) {
-            parseInCondition(sqlStatement, left);
-            skipIfEqual(Symbol.RIGHT_PAREN);
+            parseInCondition(sqlStatement, conditions, left);
             return;
         }
         if (equalAny(DefaultKeyword.BETWEEN)) {
-            parseBetweenCondition(sqlStatement, left);
-            skipIfEqual(Symbol.RIGHT_PAREN);
+            parseBetweenCondition(sqlStatement, conditions, left);
             return;
         }
         if (equalAny(Symbol.LT, Symbol.GT, Symbol.LT_EQ, Symbol.GT_EQ)) {
@@ -349,16 +353,16 @@ public class SQLParser extends AbstractParser {
         } else if (equalAny(Symbol.LT_GT, DefaultKeyword.LIKE)) {
             parseOtherCondition(sqlStatement);
         }
-        skipIfEqual(Symbol.RIGHT_PAREN);
     }
 
     /**
      * 解析 = 条件
      *
      * @param sqlStatement SQL
+     * @param conditions 条件对象集合
      * @param left 左SQLExpression
      */
-    private void parseEqualCondition(final SQLStatement sqlStatement, final SQLExpression left) {
+    private void parseEqualCondition(final SQLStatement sqlStatement, final Conditions conditions, final SQLExpression left) {
         getLexer().nextToken();
         SQLExpression right = parseExpression(sqlStatement);
         // 添加列
@@ -368,8 +372,36 @@ public class SQLParser extends AbstractParser {
                 && (right instanceof SQLNumberExpression || right instanceof SQLTextExpression || right instanceof SQLPlaceholderExpression)) {
             Optional<Column> column = find(sqlStatement.getTables(), left);
             if (column.isPresent()) {
-                sqlStatement.getConditions().add(new Condition(column.get(), right), shardingRule);
+                conditions.add(new Condition(column.get(), right), shardingRule);
             }
+        } else if (left instanceof SQLPropertyExpression && right instanceof SQLPropertyExpression) {
+            addJoinCondition(sqlStatement, conditions, left, right);
+        }
+    }
+    
+    /**
+     * 添加等值关联条件.
+     * 
+     * <p>
+     * 两侧均为带表名或别名的列时才添加, 如: {@code o.order_id = i.order_id}.
+     * </p>
+     *
+     * @param sqlStatement SQL语句对象
+     * @param left 左SQLExpression
+     * @param right 右SQLExpression
+     */
+    public final void addJoinCondition(final SQLStatement sqlStatement, final SQLExpression left, final SQLExpression right) {
+        addJoinCondition(sqlStatement, sqlStatement.getConditions(), left, right);
+    }
+    
+    private void addJoinCondition(final SQLStatement sqlStatement, final Conditions conditions, final SQLExpression left, final SQLExpression right) {
+        if (!(left instanceof SQLPropertyExpression) || !(right instanceof SQLPropertyExpression)) {
+            return;
+        }
+        Optional<Column> leftColumn = find(sqlStatement.getTables(), left);
+        Optional<Column> rightColumn = find(sqlStatement.getTables(), right);
+        if (leftColumn.isPresent() && rightColumn.isPresent() && !leftColumn.get().getTableName().equalsIgnoreCase(rightColumn.get().getTableName())) {
+            conditions.addJoinCondition(new JoinCondition(leftColumn.get(), rightColumn.get()), shardingRule);
         }
     }
 
@@ -377,9 +409,10 @@ public class SQLParser extends AbstractParser {
      * 解析 IN 条件
      *
      * @param sqlStatement SQL
+     * @param conditions 条件对象集合
      * @param left 左SQLExpression
      */
-    private void parseInCondition(final SQLStatement sqlStatement, final SQLExpression left) {
+    private void parseInCondition(final SQLStatement sqlStatement, final Conditions conditions, final SQLExpression left) {
         // 解析 IN 条件
         getLexer().nextToken();
         accept(Symbol.LEFT_PAREN);
@@ -393,7 +426,7 @@ public class SQLParser extends AbstractParser {
         // 添加列
         Optional<Column> column = find(sqlStatement.getTables(), left);
         if (column.isPresent()) {
-            sqlStatement.getConditions().add(new Condition(column.get(), rights), shardingRule);
+            conditions.add(new Condition(column.get(), rights), shardingRule);
         }
         // 解析下一个 TOKEN
         getLexer().nextToken();
@@ -403,9 +436,10 @@ public class SQLParser extends AbstractParser {
      * 解析 BETWEEN 条件
      *
      * @param sqlStatement SQL
+     * @param conditions 条件对象集合
      * @param left 左SQLExpression
      */
-    private void parseBetweenCondition(final SQLStatement sqlStatement, final SQLExpression left) {
+    private void parseBetweenCondition(final SQLStatement sqlStatement, final Conditions conditions, final SQLExpression left) {
         // 解析 BETWEEN 条件
         getLexer().nextToken();
         List<SQLExpression> rights = new LinkedList<>();
@@ -415,7 +449,7 @@ public class SQLParser extends AbstractParser {
         // 添加查询条件
         Optional<Column> column = find(sqlStatement.getTables(), left);
         if (column.isPresent()) {
-            sqlStatement.getConditions().add(new Condition(column.get(), rights.get(0), rights.get(1)), shardingRule);
+            conditions.add(new Condition(column.get(), rights.get(0), rights.get(1)), shardingRule);
         }
     }
     
@@ -0,0 +1,77 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing.parser.context;
+
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Conditions;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 插入值.
+ * 
+ * <p>
+ * 对应 INSERT 语句 VALUES 中的一行, 多行插入时每行独立路由.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class InsertValue {
+    
+    /**
+     * 左括号开始位置
+     */
+    private final int beginPosition;
+    /**
+     * 右括号开始位置
+     */
+    private final int endPosition;
+    /**
+     * 本行的过滤条件
+     */
+    private final Conditions conditions = new Conditions();
+    /**
+     * 本行按出现顺序使用的占位符索引
+     */
+    private final List<Integer> parameterIndexes = new ArrayList<>();
+    /**
+     * 本行的自动生成键
+     */
+    @Setter
+    private GeneratedKey generatedKey;
+    
+    /**
+     * 复制插入值.
+     * 
+     * @return 插入值副本
+     */
+    public InsertValue copy() {
+        InsertValue result = new InsertValue(beginPosition, endPosition);
+        result.conditions.addAll(conditions);
+        result.parameterIndexes.addAll(parameterIndexes);
+        result.generatedKey = generatedKey;
+        return result;
+    }
+}
@@ -80,6 +80,23 @@ public final class OrderItem {
         alias = Optional.absent();
     }
     
+    private OrderItem(final OrderItem orderItem) {
+        owner = orderItem.owner;
+        name = orderItem.name;
+        type = orderItem.type;
+        index = orderItem.index;
+        alias = orderItem.alias;
+    }
+    
+    /**
+     * 复制排序项.
+     *
+     * @return 排序项副本
+     */
+    public OrderItem copy() {
+        return new OrderItem(this);
+    }
+    
     /**
      * 获取列标签.
      *
@@ -74,6 +74,23 @@ public final class Condition {
         }
     }
     
+    /**
+     * 生成作用于其他列的相同条件对象.
+     * 
+     * <p>
+     * 用于将条件通过等值关联传递至关联列.
+     * </p>
+     *
+     * @param column 列对象
+     * @return 作用于该列的条件对象
+     */
+    public Condition replaceColumn(final Column column) {
+        Condition result = new Condition(column, operator);
+        result.positionValueMap.putAll(positionValueMap);
+        result.positionIndexMap.putAll(positionIndexMap);
+        return result;
+    }
+    
     /**
      * 将条件对象转换为分片值.
      *
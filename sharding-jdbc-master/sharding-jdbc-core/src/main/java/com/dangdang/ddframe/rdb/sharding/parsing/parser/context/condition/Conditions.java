@@ -5,8 +5,17 @@ import com.google.common.base.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 
 /**
  * 条件对象集合.
@@ -17,8 +26,24 @@ import java.util.Map;
 @ToString
 public final class Conditions {
     
+    /**
+     * 条件组数量上限, 超出时放弃部分条件, 扩大路由范围以保证正确
+     */
+    public static final int MAX_OR_GROUPS_SIZE = 64;
+    
     private final Map<Column, Condition> conditions = new LinkedHashMap<>();
     
+    /**
+     * OR 条件归一化后的 AND 条件组, 各条件组之间为 OR 关系, 与 {@link #conditions} 之间为 AND 关系.
+     * 为空时表示不含 OR 条件.
+     */
+    private final List<Conditions> orGroups = new LinkedList<>();
+    
+    /**
+     * 分片列之间的等值关联条件, 与 {@link #conditions} 之间为 AND 关系.
+     */
+    private final Set<JoinCondition> joinConditions = new LinkedHashSet<>();
+    
     /**
      * 添加条件对象.
      *
@@ -38,22 +63,187 @@ public final class Conditions {
         conditions.put(condition.getColumn(), condition);
     }
     
+    /**
+     * 添加等值关联条件.
+     * 
+     * <p>
+     * 只添加两侧均为分片列的关联条件.
+     * </p>
+     *
+     * @param joinCondition 等值关联条件
+     * @param shardingRule 分库分表规则配置对象
+     */
+    public void addJoinCondition(final JoinCondition joinCondition, final ShardingRule shardingRule) {
+        if (shardingRule.isShardingColumn(joinCondition.getLeftColumn()) && shardingRule.isShardingColumn(joinCondition.getRightColumn())) {
+            joinConditions.add(joinCondition);
+        }
+    }
+    
+    /**
+     * 获取分片列之间的等值关联条件.
+     * 
+     * <p>
+     * 仅包含 OR 条件之外的关联条件, 以及全部 OR 条件组均包含的关联条件.
+     * </p>
+     * 
+     * @return 等值关联条件集合
+     */
+    public Collection<JoinCondition> getJoinConditions() {
+        return Collections.unmodifiableSet(joinConditions);
+    }
+    
+    /**
+     * 添加全部条件对象.
+     * 条件对象构造后不可变, 因此直接复用.
+     *
+     * @param conditions 条件对象集合
+     */
+    public void addAll(final Conditions conditions) {
+        this.conditions.putAll(conditions.conditions);
+        orGroups.addAll(conditions.orGroups);
+        joinConditions.addAll(conditions.joinConditions);
+    }
+    
+    /**
+     * 添加 OR 条件组.
+     * 
+     * <p>
+     * 已存在条件组时, 与已有条件组组合为 AND 关系, 组合后数量超出上限时忽略新的条件组.
+     * 全部条件组均包含的关联条件提升为 OR 条件之外的关联条件.
+     * </p>
+     * 
+     * @param orGroups 各组之间为 OR 关系的条件组
+     */
+    public void addOrGroups(final List<Conditions> orGroups) {
+        Set<JoinCondition> commonJoinConditions = new LinkedHashSet<>(orGroups.get(0).joinConditions);
+        for (Conditions each : orGroups) {
+            commonJoinConditions.retainAll(each.joinConditions);
+        }
+        joinConditions.addAll(commonJoinConditions);
+        if (this.orGroups.isEmpty()) {
+            this.orGroups.addAll(orGroups);
+            return;
+        }
+        List<Conditions> result = and(this.orGroups, orGroups);
+        this.orGroups.clear();
+        this.orGroups.addAll(result);
+    }
+    
+    /**
+     * 获取包含 OR 条件之外全部条件和关联条件的条件组.
+     * 
+     * @return 条件组, 不含 OR 条件时返回空集合
+     */
+    public List<Conditions> getOrGroups() {
+        List<Conditions> result = new ArrayList<>(orGroups.size());
+        for (Conditions each : orGroups) {
+            Conditions group = new Conditions();
+            group.conditions.putAll(conditions);
+            group.conditions.putAll(each.conditions);
+            group.joinConditions.addAll(joinConditions);
+            group.joinConditions.addAll(each.joinConditions);
+            result.add(group);
+        }
+        return result;
+    }
+    
     /**
      * 判断条件对象是否为空.
      * 
      * @return 条件对象是否为空
      */
     public boolean isEmpty() {
-        return conditions.isEmpty();
+        return conditions.isEmpty() && orGroups.isEmpty();
+    }
+    
+    /**
+     * 组合为 AND 关系的两组条件组.
+     * 
+     * <p>
+     * 组合后的数量超出上限时只保留左侧条件组, 结果范围大于实际范围, 不影响路由正确性.
+     * </p>
+     * 
+     * @param left 左侧条件组
+     * @param right 右侧条件组
+     * @return 组合后的条件组
+     */
+    public static List<Conditions> and(final List<Conditions> left, final List<Conditions> right) {
+        if (left.size() * right.size() > MAX_OR_GROUPS_SIZE) {
+            return left;
+        }
+        List<Conditions> result = new ArrayList<>(left.size() * right.size());
+        for (Conditions each : left) {
+            for (Conditions rightEach : right) {
+                Conditions group = new Conditions();
+                group.conditions.putAll(each.conditions);
+                group.conditions.putAll(rightEach.conditions);
+                group.joinConditions.addAll(each.joinConditions);
+                group.joinConditions.addAll(rightEach.joinConditions);
+                result.add(group);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 组合为 OR 关系的两组条件组.
+     * 
+     * <p>
+     * 存在无分片条件的条件组或数量超出上限时, 返回仅含一个空条件组的结果, 即全路由.
+     * </p>
+     * 
+     * @param left 左侧条件组
+     * @param right 右侧条件组
+     * @return 组合后的条件组
+     */
+    public static List<Conditions> or(final List<Conditions> left, final List<Conditions> right) {
+        List<Conditions> result = new ArrayList<>(left.size() + right.size());
+        result.addAll(left);
+        result.addAll(right);
+        if (result.size() > MAX_OR_GROUPS_SIZE) {
+            return new ArrayList<>(Collections.singletonList(new Conditions()));
+        }
+        for (Conditions each : result) {
+            if (each.isEmpty()) {
+                return new ArrayList<>(Collections.singletonList(each));
+            }
+        }
+        return result;
     }
     
     /**
      * 查找条件对象.
+     * 
+     * <p>
+     * 该列不存在条件时, 沿等值关联条件查找与其相等的列的条件, 如:
+     * {@code o.order_id = i.order_id AND o.order_id = 1} 可推导出 {@code i.order_id = 1}.
+     * </p>
      *
      * @param column 列对象
      * @return 条件对象
      */
     public Optional<Condition> find(final Column column) {
-        return Optional.fromNullable(conditions.get(column));
+        Condition result = conditions.get(column);
+        if (null != result || joinConditions.isEmpty()) {
+            return Optional.fromNullable(result);
+        }
+        Set<Column> visitedColumns = new HashSet<>();
+        Queue<Column> equalColumns = new LinkedList<>();
+        visitedColumns.add(column);
+        equalColumns.offer(column);
+        while (!equalColumns.isEmpty()) {
+            Column current = equalColumns.poll();
+            for (JoinCondition each : joinConditions) {
+                Optional<Column> joinedColumn = each.getJoinedColumn(current);
+                if (!joinedColumn.isPresent() || !visitedColumns.add(joinedColumn.get())) {
+                    continue;
+                }
+                if (conditions.containsKey(joinedColumn.get())) {
+                    return Optional.of(conditions.get(joinedColumn.get()).replaceColumn(column));
+                }
+                equalColumns.offer(joinedColumn.get());
+            }
+        }
+        return Optional.absent();
     }
 }
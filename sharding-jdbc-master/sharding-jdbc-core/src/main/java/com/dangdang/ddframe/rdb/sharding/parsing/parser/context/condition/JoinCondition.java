@@ -0,0 +1,103 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition;
+
+import com.google.common.base.Optional;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 列等值关联条件.
+ * 
+ * <p>
+ * 如: {@code o.order_id = i.order_id}, 左右两列可交换.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+public final class JoinCondition {
+    
+    /**
+     * 左侧列
+     */
+    private final Column leftColumn;
+    /**
+     * 右侧列
+     */
+    private final Column rightColumn;
+    
+    /**
+     * 判断是否关联指定的两个逻辑表.
+     * 
+     * @param logicTableName 逻辑表名
+     * @param otherLogicTableName 另一逻辑表名
+     * @return 是否关联指定的两个逻辑表
+     */
+    public boolean isJoined(final String logicTableName, final String otherLogicTableName) {
+        return leftColumn.getTableName().equalsIgnoreCase(logicTableName) && rightColumn.getTableName().equalsIgnoreCase(otherLogicTableName)
+                || leftColumn.getTableName().equalsIgnoreCase(otherLogicTableName) && rightColumn.getTableName().equalsIgnoreCase(logicTableName);
+    }
+    
+    /**
+     * 获取指定逻辑表的关联列.
+     * 
+     * @param logicTableName 逻辑表名
+     * @return 关联列
+     */
+    public Column getColumn(final String logicTableName) {
+        return leftColumn.getTableName().equalsIgnoreCase(logicTableName) ? leftColumn : rightColumn;
+    }
+    
+    /**
+     * 获取与指定列等值关联的列.
+     * 
+     * @param column 列对象
+     * @return 关联列, 指定列不属于该关联条件时为空
+     */
+    public Optional<Column> getJoinedColumn(final Column column) {
+        if (leftColumn.equals(column)) {
+            return Optional.of(rightColumn);
+        }
+        if (rightColumn.equals(column)) {
+            return Optional.of(leftColumn);
+        }
+        return Optional.absent();
+    }
+    
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+        JoinCondition joinCondition = (JoinCondition) obj;
+        return leftColumn.equals(joinCondition.leftColumn) && rightColumn.equals(joinCondition.rightColumn)
+                || leftColumn.equals(joinCondition.rightColumn) && rightColumn.equals(joinCondition.leftColumn);
+    }
+    
+    @Override
+    public int hashCode() {
+        return leftColumn.hashCode() + rightColumn.hashCode();
+    }
+}
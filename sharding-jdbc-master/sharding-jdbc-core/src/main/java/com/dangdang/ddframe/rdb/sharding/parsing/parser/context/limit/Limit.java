@@ -52,6 +52,19 @@ public final class Limit {
      */
     private LimitValue rowCount;
     
+    /**
+     * 复制分页对象.
+     * 填充分页参数时会修改分页值, 因此需要深度复制.
+     * 
+     * @return 分页对象副本
+     */
+    public Limit copy() {
+        Limit result = new Limit(rowCountRewriteFlag);
+        result.offset = null == offset ? null : offset.copy();
+        result.rowCount = null == rowCount ? null : rowCount.copy();
+        return result;
+    }
+    
     /**
      * 获取分页偏移量.
      * 
@@ -44,4 +44,13 @@ public final class LimitValue {
      * 第几个占位符
      */
     private int index;
+    
+    /**
+     * 复制分页值对象.
+     * 
+     * @return 分页值对象副本
+     */
+    public LimitValue copy() {
+        return new LimitValue(value, index);
+    }
 }
@@ -66,6 +66,21 @@ public final class AggregationSelectItem implements SelectItem {
         return SQLUtil.getExactlyValue(type.name() + innerExpression);
     }
     
+    /**
+     * 复制聚合选择项.
+     * 归并时会设置选择项索引, 因此推导字段也需要一并复制.
+     * 
+     * @return 聚合选择项副本
+     */
+    public AggregationSelectItem copy() {
+        AggregationSelectItem result = new AggregationSelectItem(type, innerExpression, alias);
+        result.index = index;
+        for (AggregationSelectItem each : derivedAggregationSelectItems) {
+            result.derivedAggregationSelectItems.add(each.copy());
+        }
+        return result;
+    }
+    
     /**
      * 获取列标签.
      * 
@@ -21,12 +21,14 @@ import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Conditions;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.table.Tables;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.SQLToken;
+import com.dangdang.ddframe.rdb.sharding.rewrite.SQLRewriteTemplate;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * SQL语句对象抽象类.
@@ -35,9 +37,9 @@ import java.util.List;
  */
 @RequiredArgsConstructor
 @Getter
-@ToString
+@ToString(exclude = "rewriteTemplate")
 public abstract class AbstractSQLStatement implements SQLStatement {
-
+    
     /**
      * SQL 类型
      */
@@ -55,9 +57,28 @@ public abstract class AbstractSQLStatement implements SQLStatement {
      * SQL标记对象
      */
     private final List<SQLToken> sqlTokens = new LinkedList<>();
+    /**
+     * SQL改写模板, 与SQL语句对象的副本共享
+     */
+    private AtomicReference<SQLRewriteTemplate> rewriteTemplate = new AtomicReference<>();
     
     @Override
     public final SQLType getType() {
         return type;
     }
+    
+    /**
+     * 复制表, 条件和SQL标记到目标SQL语句对象.
+     * 
+     * @param target 目标SQL语句对象
+     * @param <T> SQL语句对象类型
+     * @return 目标SQL语句对象
+     */
+    protected final <T extends AbstractSQLStatement> T copyTo(final T target) {
+        target.getTables().addAll(tables);
+        target.getConditions().addAll(conditions);
+        target.getSqlTokens().addAll(sqlTokens);
+        ((AbstractSQLStatement) target).rewriteTemplate = rewriteTemplate;
+        return target;
+    }
 }
@@ -21,8 +21,10 @@ import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Conditions;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.table.Tables;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.SQLToken;
+import com.dangdang.ddframe.rdb.sharding.rewrite.SQLRewriteTemplate;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * SQL语句对象.
@@ -58,4 +60,26 @@ public interface SQLStatement {
      * @return SQL标记集合
      */
     List<SQLToken> getSqlTokens();
+    
+    /**
+     * 获取SQL改写模板引用.
+     * 
+     * <p>
+     * 模板由SQL改写引擎首次改写时编译, 缓存的解析结果及其副本共享同一引用.
+     * </p>
+     * 
+     * @return SQL改写模板引用
+     */
+    AtomicReference<SQLRewriteTemplate> getRewriteTemplate();
+    
+    /**
+     * 复制SQL语句对象.
+     * 
+     * <p>
+     * 路由和归并过程会修改SQL语句对象, 缓存的解析结果需要复制后才能使用.
+     * </p>
+     * 
+     * @return SQL语句对象副本
+     */
+    SQLStatement copy();
 }
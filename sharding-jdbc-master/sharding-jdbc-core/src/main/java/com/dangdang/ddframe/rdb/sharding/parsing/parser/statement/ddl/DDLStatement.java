@@ -36,4 +36,9 @@ public class DDLStatement extends AbstractSQLStatement {
     public DDLStatement() {
         super(SQLType.DDL);
     }
+    
+    @Override
+    public DDLStatement copy() {
+        return copyTo(new DDLStatement());
+    }
 }
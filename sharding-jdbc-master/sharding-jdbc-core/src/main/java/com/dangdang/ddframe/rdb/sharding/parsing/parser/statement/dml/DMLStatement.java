@@ -36,4 +36,9 @@ public class DMLStatement extends AbstractSQLStatement {
     public DMLStatement() {
         super(SQLType.DML);
     }
+    
+    @Override
+    public DMLStatement copy() {
+        return copyTo(new DMLStatement());
+    }
 }
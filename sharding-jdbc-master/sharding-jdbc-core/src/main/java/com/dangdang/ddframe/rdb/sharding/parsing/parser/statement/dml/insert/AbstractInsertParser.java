@@ -25,6 +25,7 @@ import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.Symbol;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.token.TokenType;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.SQLParser;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.GeneratedKey;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.InsertValue;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Column;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Condition;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.exception.SQLParsingUnsupportedException;
@@ -116,6 +117,7 @@ public abstract class AbstractInsertParser implements SQLStatementParser {
         }
         if (getValuesKeywords().contains(sqlParser.getLexer().getCurrentToken().getType())) { // 第一种插入SQL情况
             parseValues();
+            parseAfterValues();
         } else if (getCustomizedInsertKeywords().contains(sqlParser.getLexer().getCurrentToken().getType())) { // 第二种插入SQL情况
             parseCustomizedInsert();
         }
@@ -194,36 +196,61 @@ public abstract class AbstractInsertParser implements SQLStatementParser {
 
     /**
      * 解析值字段
+     * 多行插入时每行的条件和自动生成键单独记录, 单行插入时同时作为SQL语句的条件和自动生成键
      */
     private void parseValues() {
-        boolean parsed = false;
         do {
-            if (parsed) { // 只允许INSERT INTO 一条
-                throw new UnsupportedOperationException("Cannot support multiple insert");
-            }
             sqlParser.getLexer().nextToken();
+            int beginPosition = sqlParser.getLexer().getCurrentToken().getEndPosition() - sqlParser.getLexer().getCurrentToken().getLiterals().length();
             sqlParser.accept(Symbol.LEFT_PAREN);
+            int beginParametersIndex = sqlParser.getParametersIndex();
             // 解析表达式
             List<SQLExpression> sqlExpressions = new LinkedList<>();
             do {
                 sqlExpressions.add(sqlParser.parseExpression());
             } while (sqlParser.skipIfEqual(Symbol.COMMA));
             //
-            insertStatement.setValuesListLastPosition(sqlParser.getLexer().getCurrentToken().getEndPosition() - sqlParser.getLexer().getCurrentToken().getLiterals().length());
+            int endPosition = sqlParser.getLexer().getCurrentToken().getEndPosition() - sqlParser.getLexer().getCurrentToken().getLiterals().length();
+            if (insertStatement.getInsertValues().isEmpty()) {
+                insertStatement.setValuesListLastPosition(endPosition);
+            }
+            InsertValue insertValue = new InsertValue(beginPosition, endPosition);
+            for (int i = beginParametersIndex; i < sqlParser.getParametersIndex(); i++) {
+                insertValue.getParameterIndexes().add(i);
+            }
             // 解析值字段
             int count = 0;
             for (Column each : insertStatement.getColumns()) {
                 SQLExpression sqlExpression = sqlExpressions.get(count);
-                insertStatement.getConditions().add(new Condition(each, sqlExpression), shardingRule);
+                insertValue.getConditions().add(new Condition(each, sqlExpression), shardingRule);
                 if (generateKeyColumnIndex == count) { // 自动生成键
-                    insertStatement.setGeneratedKey(createGeneratedKey(each, sqlExpression));
+                    insertValue.setGeneratedKey(createGeneratedKey(each, sqlExpression));
                 }
                 count++;
             }
+            insertStatement.getInsertValues().add(insertValue);
             sqlParser.accept(Symbol.RIGHT_PAREN);
-            parsed = true;
         }
         while (sqlParser.equalAny(Symbol.COMMA)); // 字段以 "," 分隔
+        InsertValue firstInsertValue = insertStatement.getInsertValues().get(0);
+        if (!insertStatement.isMultipleValues()) {
+            insertStatement.getConditions().addAll(firstInsertValue.getConditions());
+        }
+        insertStatement.setGeneratedKey(firstInsertValue.getGeneratedKey());
+    }
+
+    /**
+     * 记录值字段之后的占位符索引
+     * 例如 MySQL ：ON DUPLICATE KEY UPDATE name = ?
+     */
+    private void parseAfterValues() {
+        while (!sqlParser.equalAny(Assist.END)) {
+            if (sqlParser.equalAny(Symbol.QUESTION)) {
+                insertStatement.getAfterValuesParameterIndexes().add(sqlParser.getParametersIndex());
+                sqlParser.increaseParametersIndex();
+            }
+            sqlParser.getLexer().nextToken();
+        }
     }
 
     /**
@@ -267,6 +294,12 @@ public abstract class AbstractInsertParser implements SQLStatementParser {
         columnsToken.getItems().add(generateKeyColumn.get());
         insertStatement.getSqlTokens().add(columnsToken);
         // GeneratedKeyToken
-        insertStatement.getSqlTokens().add(new GeneratedKeyToken(insertStatement.getValuesListLastPosition()));
+        if (!insertStatement.isMultipleValues()) {
+            insertStatement.getSqlTokens().add(new GeneratedKeyToken(insertStatement.getValuesListLastPosition()));
+            return;
+        }
+        for (InsertValue each : insertStatement.getInsertValues()) {
+            insertStatement.getSqlTokens().add(new GeneratedKeyToken(each.getEndPosition()));
+        }
     }
 }
@@ -20,6 +20,7 @@ package com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.insert;
 import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.TableRule;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.GeneratedKey;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.InsertValue;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Column;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Condition;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.expression.SQLNumberExpression;
@@ -33,8 +34,11 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Insert SQL语句对象.
@@ -47,6 +51,14 @@ import java.util.LinkedList;
 public final class InsertStatement extends DMLStatement {
     
     private final Collection<Column> columns = new LinkedList<>();
+    /**
+     * 插入值, 多行插入时每行对应一个
+     */
+    private final List<InsertValue> insertValues = new ArrayList<>();
+    /**
+     * 值字段之后按出现顺序使用的占位符索引, 例如 MySQL 的 ON DUPLICATE KEY UPDATE 子句
+     */
+    private final List<Integer> afterValuesParameterIndexes = new ArrayList<>();
     /**
      * 自动生成键
      */
@@ -59,6 +71,29 @@ public final class InsertStatement extends DMLStatement {
      * 值字段 下一个Token 开始位置
      */
     private int valuesListLastPosition;
+    
+    @Override
+    public InsertStatement copy() {
+        InsertStatement result = copyTo(new InsertStatement());
+        result.columns.addAll(columns);
+        for (InsertValue each : insertValues) {
+            result.insertValues.add(each.copy());
+        }
+        result.afterValuesParameterIndexes.addAll(afterValuesParameterIndexes);
+        result.generatedKey = generatedKey;
+        result.columnsListLastPosition = columnsListLastPosition;
+        result.valuesListLastPosition = valuesListLastPosition;
+        return result;
+    }
+    
+    /**
+     * 判断是否多行插入.
+     * 
+     * @return 是否多行插入
+     */
+    public boolean isMultipleValues() {
+        return insertValues.size() > 1;
+    }
 
     /**
      * 追加自增主键标记对象.
@@ -81,6 +116,10 @@ public final class InsertStatement extends DMLStatement {
         if (!generatedKeysToken.isPresent()) {
             return;
         }
+        if (isMultipleValues()) {
+            appendGenerateKeyTokens(shardingRule, tableRule.get(), parametersSize);
+            return;
+        }
         // 处理 GenerateKeyToken
         ItemsToken valuesToken = new ItemsToken(generatedKeysToken.get().getBeginPosition());
         if (0 == parametersSize) {
@@ -94,6 +133,41 @@ public final class InsertStatement extends DMLStatement {
         getSqlTokens().add(valuesToken);
     }
     
+    /**
+     * 多行插入时为每行追加自增主键, 有占位符时新增的占位符依次追加在参数列表末尾.
+     * 
+     * @param shardingRule 分片规则
+     * @param tableRule 表规则
+     * @param parametersSize 参数个数
+     */
+    private void appendGenerateKeyTokens(final ShardingRule shardingRule, final TableRule tableRule, final int parametersSize) {
+        Column column = new Column(tableRule.getGenerateKeyColumn(), tableRule.getLogicTable());
+        int parameterIndex = parametersSize;
+        for (InsertValue each : insertValues) {
+            ItemsToken valuesToken = new ItemsToken(each.getEndPosition());
+            if (0 == parametersSize) {
+                Number generatedKey = shardingRule.generateKey(tableRule.getLogicTable());
+                valuesToken.getItems().add(generatedKey.toString());
+                each.getConditions().add(new Condition(column, new SQLNumberExpression(generatedKey)), shardingRule);
+                each.setGeneratedKey(new GeneratedKey(tableRule.getGenerateKeyColumn(), -1, generatedKey));
+            } else {
+                valuesToken.getItems().add("?");
+                each.getConditions().add(new Condition(column, new SQLPlaceholderExpression(parameterIndex)), shardingRule);
+                each.getParameterIndexes().add(parameterIndex);
+                each.setGeneratedKey(new GeneratedKey(tableRule.getGenerateKeyColumn(), parameterIndex, null));
+                parameterIndex++;
+            }
+            getSqlTokens().add(valuesToken);
+        }
+        Iterator<SQLToken> sqlTokens = getSqlTokens().iterator();
+        while (sqlTokens.hasNext()) {
+            if (sqlTokens.next() instanceof GeneratedKeyToken) {
+                sqlTokens.remove();
+            }
+        }
+        generatedKey = insertValues.get(0).getGeneratedKey();
+    }
+    
     private void appendGenerateKeyToken(final ShardingRule shardingRule, final TableRule tableRule, final ItemsToken valuesToken) {
         // 生成分布式主键
         Number generatedKey = shardingRule.generateKey(tableRule.getLogicTable());
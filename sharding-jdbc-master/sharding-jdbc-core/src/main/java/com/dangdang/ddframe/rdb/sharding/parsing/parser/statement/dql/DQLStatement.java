@@ -36,4 +36,9 @@ public class DQLStatement extends AbstractSQLStatement {
     public DQLStatement() {
         super(SQLType.DQL);
     }
+    
+    @Override
+    public DQLStatement copy() {
+        return copyTo(new DQLStatement());
+    }
 }
@@ -27,6 +27,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -54,6 +55,10 @@ public final class SelectStatement extends DQLStatement {
      * TODO 待研究
      */
     private boolean containSubQuery;
+    /**
+     * 是否包含无法解析为排序项的排序表达式, 例如 ORDER BY COUNT(*)
+     */
+    private boolean containUnresolvedOrderByItem;
     /**
      * 最后一个查询项下一个 Token 的开始位置
      *
@@ -80,6 +85,42 @@ public final class SelectStatement extends DQLStatement {
      * 分页
      */
     private Limit limit;
+    /**
+     * 是否仅解析了路由所需的表和条件
+     * 
+     * @see com.dangdang.ddframe.rdb.sharding.parsing.parser.FastPathSelectParser
+     */
+    private boolean routingOnly;
+    
+    @Override
+    public SelectStatement copy() {
+        SelectStatement result = copyTo(new SelectStatement());
+        result.distinct = distinct;
+        result.containStar = containStar;
+        result.containSubQuery = containSubQuery;
+        result.containUnresolvedOrderByItem = containUnresolvedOrderByItem;
+        result.selectListLastPosition = selectListLastPosition;
+        result.groupByLastPosition = groupByLastPosition;
+        for (SelectItem each : items) {
+            result.items.add(each instanceof AggregationSelectItem ? ((AggregationSelectItem) each).copy() : each);
+        }
+        // 分组项可能被直接作为排序项使用, 复制时需保持共享关系
+        Map<OrderItem, OrderItem> copiedOrderItems = new IdentityHashMap<>();
+        copyOrderItems(groupByItems, result.groupByItems, copiedOrderItems);
+        copyOrderItems(orderByItems, result.orderByItems, copiedOrderItems);
+        result.limit = null == limit ? null : limit.copy();
+        result.routingOnly = routingOnly;
+        return result;
+    }
+    
+    private void copyOrderItems(final List<OrderItem> source, final List<OrderItem> target, final Map<OrderItem, OrderItem> copiedOrderItems) {
+        for (OrderItem each : source) {
+            if (!copiedOrderItems.containsKey(each)) {
+                copiedOrderItems.put(each, each.copy());
+            }
+            target.add(copiedOrderItems.get(each));
+        }
+    }
 
     /**
      * 获取聚合选择项集合.
@@ -20,53 +20,69 @@ package com.dangdang.ddframe.rdb.sharding.rewrite;
 
 import com.dangdang.ddframe.rdb.sharding.api.rule.BindingTableRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.OrderItem;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.limit.Limit;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.selectitem.SelectItem;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.SQLStatement;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.ItemsToken;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.OffsetToken;
-import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.OrderByToken;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.RowCountToken;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.SQLToken;
-import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.TableToken;
 import com.dangdang.ddframe.rdb.sharding.routing.type.TableUnit;
 import com.dangdang.ddframe.rdb.sharding.routing.type.complex.CartesianTableReference;
 import com.google.common.base.Optional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * SQL重写引擎.
+ * 
+ * <p>
+ * SQL标记预编译为{@link SQLRewriteTemplate}并在SQL语句对象的副本间共享, 生成SQL时仅需填充表名和分页.
+ * </p>
  *
  * @author zhangliang
  */
 public final class SQLRewriteEngine {
     
+    private static final String UNION_ALL = " UNION ALL ";
+    
     private final ShardingRule shardingRule;
     /**
-     * 原始SQL
+     * SQL 语句解析结果对象
      */
-    private final String originalSQL;
+    private final SQLStatement sqlStatement;
     /**
-     * SQL标记对象
+     * SQL改写模板
      */
-    private final List<SQLToken> sqlTokens = new LinkedList<>();
+    private final SQLRewriteTemplate rewriteTemplate;
     /**
-     * SQL 语句解析结果对象
+     * 是否重写分页的字面量缓存, 下标0为不重写, 下标1为重写
      */
-    private final SQLStatement sqlStatement;
+    private final String[][] limitLiterals = new String[2][];
     
     public SQLRewriteEngine(final ShardingRule shardingRule, final String originalSQL, final SQLStatement sqlStatement) {
         this.shardingRule = shardingRule;
-        this.originalSQL = originalSQL;
         this.sqlStatement = sqlStatement;
-        sqlTokens.addAll(sqlStatement.getSqlTokens());
+        rewriteTemplate = getRewriteTemplate(originalSQL, sqlStatement);
+    }
+    
+    private static SQLRewriteTemplate getRewriteTemplate(final String originalSQL, final SQLStatement sqlStatement) {
+        AtomicReference<SQLRewriteTemplate> templateReference = sqlStatement.getRewriteTemplate();
+        SQLRewriteTemplate result = templateReference.get();
+        if (null == result || !result.isCompiledFrom(originalSQL, sqlStatement.getSqlTokens())) {
+            result = SQLRewriteTemplate.compile(originalSQL, sqlStatement);
+            templateReference.compareAndSet(null, result);
+        }
+        return result;
     }
     
     /**
@@ -76,222 +92,280 @@ public final class SQLRewriteEngine {
      * @return SQL构建器
      */
     public SQLBuilder rewrite(final boolean isRewriteLimit) {
-        SQLBuilder result = new SQLBuilder();
-        if (sqlTokens.isEmpty()) {
-            result.appendLiterals(originalSQL);
-            return result;
-        }
-        int count = 0;
-        // 排序SQLToken，按照 beginPosition 递增
-        sortByBeginPosition();
-        for (SQLToken each : sqlTokens) {
-            if (0 == count) { // 拼接第一个 SQLToken 前的字符串
-                result.appendLiterals(originalSQL.substring(0, each.getBeginPosition()));
-            }
-            // 拼接每个SQLToken
-            if (each instanceof TableToken) {
-                appendTableToken(result, (TableToken) each, count, sqlTokens);
-            } else if (each instanceof ItemsToken) {
-                appendItemsToken(result, (ItemsToken) each, count, sqlTokens);
-            } else if (each instanceof RowCountToken) {
-                appendLimitRowCount(result, (RowCountToken) each, count, sqlTokens, isRewriteLimit);
-            } else if (each instanceof OffsetToken) {
-                appendLimitOffsetToken(result, (OffsetToken) each, count, sqlTokens, isRewriteLimit);
-            } else if (each instanceof OrderByToken) {
-                appendOrderByToken(result);
-            }
-            count++;
-        }
-        return result;
+        return rewriteTemplate.toSQLBuilder(getLimitLiterals(isRewriteLimit));
     }
     
-    private void sortByBeginPosition() {
-        Collections.sort(sqlTokens, new Comparator<SQLToken>() {
-            
-            @Override
-            public int compare(final SQLToken o1, final SQLToken o2) {
-                return o1.getBeginPosition() - o2.getBeginPosition();
+    private String[] getLimitLiterals(final boolean isRewriteLimit) {
+        int index = isRewriteLimit ? 1 : 0;
+        if (null == limitLiterals[index]) {
+            List<SQLToken> limitTokens = rewriteTemplate.getLimitTokens();
+            String[] result = new String[limitTokens.size()];
+            for (int i = 0; i < result.length; i++) {
+                SQLToken each = limitTokens.get(i);
+                result[i] = each instanceof RowCountToken ? getLimitRowCount((RowCountToken) each, isRewriteLimit) : getLimitOffset((OffsetToken) each, isRewriteLimit);
             }
-        });
-    }
-
-    /**
-     * 拼接 TableToken
-     *
-     * @param sqlBuilder SQL构建器
-     * @param tableToken tableToken
-     * @param count tableToken 在 sqlTokens 的顺序
-     * @param sqlTokens sqlTokens
-     */
-    private void appendTableToken(final SQLBuilder sqlBuilder, final TableToken tableToken, final int count, final List<SQLToken> sqlTokens) {
-        // 拼接 TableToken
-        String tableName = sqlStatement.getTables().getTableNames().contains(tableToken.getTableName()) ? tableToken.getTableName() : tableToken.getOriginalLiterals();
-        sqlBuilder.appendTable(tableName);
-        // SQLToken 后面的字符串
-        int beginPosition = tableToken.getBeginPosition() + tableToken.getOriginalLiterals().length();
-        int endPosition = sqlTokens.size() - 1 == count ? originalSQL.length() : sqlTokens.get(count + 1).getBeginPosition();
-        sqlBuilder.appendLiterals(originalSQL.substring(beginPosition, endPosition));
-    }
-
-    /**
-     * 拼接 TableToken
-     *
-     * @param sqlBuilder SQL构建器
-     * @param itemsToken itemsToken
-     * @param count itemsToken 在 sqlTokens 的顺序
-     * @param sqlTokens sqlTokens
-     */
-    private void appendItemsToken(final SQLBuilder sqlBuilder, final ItemsToken itemsToken, final int count, final List<SQLToken> sqlTokens) {
-        // 拼接 ItemsToken
-        for (String item : itemsToken.getItems()) {
-            sqlBuilder.appendLiterals(", ");
-            sqlBuilder.appendLiterals(item);
+            limitLiterals[index] = result;
         }
-        // SQLToken 后面的字符串
-        int beginPosition = itemsToken.getBeginPosition();
-        int endPosition = sqlTokens.size() - 1 == count ? originalSQL.length() : sqlTokens.get(count + 1).getBeginPosition();
-        sqlBuilder.appendLiterals(originalSQL.substring(beginPosition, endPosition));
+        return limitLiterals[index];
     }
-
+    
     /**
-     * 拼接 RowCountToken
+     * 获取 RowCountToken 的字面量
      *
-     * @param sqlBuilder SQL构建器
      * @param rowCountToken rowCountToken
-     * @param count count 在 sqlTokens 的顺序
-     * @param sqlTokens sqlTokens
      * @param isRewrite 是否重写。当路由结果为单分片时无需重写
+     * @return 字面量
      */
-    private void appendLimitRowCount(final SQLBuilder sqlBuilder, final RowCountToken rowCountToken, final int count, final List<SQLToken> sqlTokens, final boolean isRewrite) {
+    private String getLimitRowCount(final RowCountToken rowCountToken, final boolean isRewrite) {
         SelectStatement selectStatement = (SelectStatement) sqlStatement;
         Limit limit = selectStatement.getLimit();
         if (!isRewrite) { // 路由结果为单分片
-            sqlBuilder.appendLiterals(String.valueOf(rowCountToken.getRowCount()));
-        } else if ((!selectStatement.getGroupByItems().isEmpty() || // [1.1] 跨分片分组需要在内存计算，可能需要全部加载
+            return String.valueOf(rowCountToken.getRowCount());
+        }
+        if ((!selectStatement.getGroupByItems().isEmpty() || // [1.1] 跨分片分组需要在内存计算，可能需要全部加载
                 !selectStatement.getAggregationSelectItems().isEmpty()) // [1.2] 跨分片聚合列需要在内存计算，可能需要全部加载
                 && !selectStatement.isSameGroupByAndOrderByItems()) { // [2] 如果排序一致，即各分片已经排序好结果，就不需要全部加载
-            sqlBuilder.appendLiterals(String.valueOf(Integer.MAX_VALUE));
-        } else { // 路由结果为多分片
-            sqlBuilder.appendLiterals(String.valueOf(limit.isRowCountRewriteFlag() ? rowCountToken.getRowCount() + limit.getOffsetValue() : rowCountToken.getRowCount()));
+            return String.valueOf(Integer.MAX_VALUE);
         }
-        // SQLToken 后面的字符串
-        int beginPosition = rowCountToken.getBeginPosition() + String.valueOf(rowCountToken.getRowCount()).length();
-        int endPosition = sqlTokens.size() - 1 == count ? originalSQL.length() : sqlTokens.get(count + 1).getBeginPosition();
-        sqlBuilder.appendLiterals(originalSQL.substring(beginPosition, endPosition));
+        // 路由结果为多分片
+        return String.valueOf(limit.isRowCountRewriteFlag() ? rowCountToken.getRowCount() + limit.getOffsetValue() : rowCountToken.getRowCount());
     }
-
+    
     /**
-     * 拼接 OffsetToken
+     * 获取 OffsetToken 的字面量
      *
-     * @param sqlBuilder SQL构建器
      * @param offsetToken offsetToken
-     * @param count offsetToken 在 sqlTokens 的顺序
-     * @param sqlTokens sqlTokens
      * @param isRewrite 是否重写。当路由结果为单分片时无需重写
+     * @return 字面量
      */
-    private void appendLimitOffsetToken(final SQLBuilder sqlBuilder, final OffsetToken offsetToken, final int count, final List<SQLToken> sqlTokens, final boolean isRewrite) {
-        // 拼接 OffsetToken
-        sqlBuilder.appendLiterals(isRewrite ? "0" : String.valueOf(offsetToken.getOffset()));
-        // SQLToken 后面的字符串
-        int beginPosition = offsetToken.getBeginPosition() + String.valueOf(offsetToken.getOffset()).length();
-        int endPosition = sqlTokens.size() - 1 == count ? originalSQL.length() : sqlTokens.get(count + 1).getBeginPosition();
-        sqlBuilder.appendLiterals(originalSQL.substring(beginPosition, endPosition));
+    private String getLimitOffset(final OffsetToken offsetToken, final boolean isRewrite) {
+        return isRewrite ? "0" : String.valueOf(offsetToken.getOffset());
     }
-
+    
+    /**
+     * 生成SQL语句.
+     * 
+     * @param tableUnit 路由表单元
+     * @param sqlBuilder SQL构建器
+     * @return SQL语句
+     */
+    public String generateSQL(final TableUnit tableUnit, final SQLBuilder sqlBuilder) {
+        return sqlBuilder.toSQL(getTableTokens(Collections.singletonList(tableUnit)));
+    }
+    
     /**
-     * 拼接 OrderByToken
+     * 生成SQL语句.
      *
+     * @param cartesianTableReference 笛卡尔积路由表单元
      * @param sqlBuilder SQL构建器
+     * @return SQL语句
      */
-    private void appendOrderByToken(final SQLBuilder sqlBuilder) {
-        SelectStatement selectStatement = (SelectStatement) sqlStatement;
-        // 拼接 OrderByToken
-        StringBuilder orderByLiterals = new StringBuilder(" ORDER BY ");
-        int i = 0;
-        for (OrderItem each : selectStatement.getOrderByItems()) {
-            if (0 == i) {
-                orderByLiterals.append(each.getColumnLabel()).append(" ").append(each.getType().name());
-            } else {
-                orderByLiterals.append(",").append(each.getColumnLabel()).append(" ").append(each.getType().name());
-            }
-            i++;
-        }
-        orderByLiterals.append(" ");
-        sqlBuilder.appendLiterals(orderByLiterals.toString());
+    public String generateSQL(final CartesianTableReference cartesianTableReference, final SQLBuilder sqlBuilder) {
+        return sqlBuilder.toSQL(getTableTokens(cartesianTableReference.getTableUnits()));
     }
     
     /**
      * 生成SQL语句.
      * 
      * @param tableUnit 路由表单元
-     * @param sqlBuilder SQL构建器
+     * @param isRewriteLimit 是否重写Limit
      * @return SQL语句
      */
-    public String generateSQL(final TableUnit tableUnit, final SQLBuilder sqlBuilder) {
-        return sqlBuilder.toSQL(getTableTokens(tableUnit));
+    public String generateSQL(final TableUnit tableUnit, final boolean isRewriteLimit) {
+        return rewriteTemplate.toSQL(getActualTableNames(Collections.singletonList(tableUnit)), getLimitLiterals(isRewriteLimit));
     }
     
     /**
      * 生成SQL语句.
      *
      * @param cartesianTableReference 笛卡尔积路由表单元
-     * @param sqlBuilder SQL构建器
+     * @param isRewriteLimit 是否重写Limit
      * @return SQL语句
      */
-    public String generateSQL(final CartesianTableReference cartesianTableReference, final SQLBuilder sqlBuilder) {
-        return sqlBuilder.toSQL(getTableTokens(cartesianTableReference));
+    public String generateSQL(final CartesianTableReference cartesianTableReference, final boolean isRewriteLimit) {
+        return rewriteTemplate.toSQL(getActualTableNames(cartesianTableReference.getTableUnits()), getLimitLiterals(isRewriteLimit));
     }
-
+    
+    /**
+     * 生成多行插入SQL语句, 仅保留指定的插入值.
+     * 
+     * @param tableUnit 路由表单元
+     * @param insertValueIndexes 路由至该表单元的插入值索引
+     * @return SQL语句
+     */
+    public String generateSQL(final TableUnit tableUnit, final Collection<Integer> insertValueIndexes) {
+        boolean[] includedInsertValues = new boolean[rewriteTemplate.getInsertValuesCount()];
+        for (int each : insertValueIndexes) {
+            includedInsertValues[each] = true;
+        }
+        return rewriteTemplate.toSQL(getActualTableNames(Collections.singletonList(tableUnit)), getLimitLiterals(false), includedInsertValues);
+    }
+    
+    /**
+     * 判断是否支持将同一数据源的多条SQL合并为UNION ALL语句.
+     * 
+     * <p>
+     * 仅支持查询语句. 合并后各分支以括号包围以保留分支内的排序和分页, Oracle和SQLServer的分页语法无法以此方式合并.
+     * 存在无法对应到查询项位置的排序项时不合并, 例如表达式排序项或查询所有字段时按字段名排序.
+     * </p>
+     * 
+     * @param databaseType 数据库类型
+     * @return 是否支持合并为UNION ALL语句
+     */
+    public boolean isUnionAllSupported(final DatabaseType databaseType) {
+        return sqlStatement instanceof SelectStatement && (DatabaseType.MySQL == databaseType || DatabaseType.H2 == databaseType || DatabaseType.PostgreSQL == databaseType)
+                && getOrderByPositions((SelectStatement) sqlStatement).isPresent();
+    }
+    
+    /**
+     * 将同一数据源的多条SQL合并为UNION ALL语句.
+     * 
+     * <p>
+     * 各分支保留各自的排序和分页, 存在排序项时追加整体排序, 保证合并后的结果集与分别执行时一样有序, 以便流式归并.
+     * </p>
+     * 
+     * @param sqls 同一数据源的SQL语句
+     * @return UNION ALL语句
+     */
+    public String generateUnionAllSQL(final List<String> sqls) {
+        int length = 0;
+        for (String each : sqls) {
+            length += each.length() + UNION_ALL.length() + 2;
+        }
+        StringBuilder result = new StringBuilder(length);
+        for (String each : sqls) {
+            if (0 != result.length()) {
+                result.append(UNION_ALL);
+            }
+            result.append("(").append(each).append(")");
+        }
+        SelectStatement selectStatement = (SelectStatement) sqlStatement;
+        List<Integer> orderByPositions = getOrderByPositions(selectStatement).get();
+        if (!orderByPositions.isEmpty()) {
+            result.append(" ORDER BY ");
+            int i = 0;
+            for (OrderItem each : selectStatement.getOrderByItems()) {
+                if (0 != i) {
+                    result.append(",");
+                }
+                // 整体排序按查询项位置引用, 避免列标签与分支的查询项不一致
+                result.append(orderByPositions.get(i)).append(" ").append(each.getType().name());
+                i++;
+            }
+        }
+        return result.toString();
+    }
+    
+    /**
+     * 获取各排序项在查询项中的位置
+     * 存在无法对应到查询项的排序项时返回空
+     *
+     * @param selectStatement Select SQL语句对象
+     * @return 从1开始的查询项位置
+     */
+    private Optional<List<Integer>> getOrderByPositions(final SelectStatement selectStatement) {
+        if (selectStatement.isContainUnresolvedOrderByItem()) {
+            return Optional.absent();
+        }
+        List<Integer> result = new ArrayList<>(selectStatement.getOrderByItems().size());
+        for (OrderItem each : selectStatement.getOrderByItems()) {
+            int position = -1 == each.getIndex() ? getSelectItemPosition(selectStatement, each) : each.getIndex();
+            if (position < 1) {
+                return Optional.absent();
+            }
+            result.add(position);
+        }
+        return Optional.of(result);
+    }
+    
+    /**
+     * 获取排序项在查询项中的位置, 推导字段位于原查询项之后
+     *
+     * @param selectStatement Select SQL语句对象
+     * @param orderItem 排序项
+     * @return 从1开始的查询项位置, 无法对应时返回-1
+     */
+    private int getSelectItemPosition(final SelectStatement selectStatement, final OrderItem orderItem) {
+        if (selectStatement.isContainStar()) {
+            return -1;
+        }
+        int result = 1;
+        for (SelectItem each : selectStatement.getItems()) {
+            if (each.getAlias().isPresent() ? each.getAlias().get().equalsIgnoreCase(orderItem.getAlias().orNull())
+                    : orderItem.getQualifiedName().isPresent() && each.getExpression().equalsIgnoreCase(orderItem.getQualifiedName().get())) {
+                return result;
+            }
+            result++;
+        }
+        if (!orderItem.getAlias().isPresent()) {
+            return -1;
+        }
+        for (String each : getDerivedColumns(selectStatement)) {
+            if (each.endsWith(" AS " + orderItem.getAlias().get() + " ")) {
+                return result;
+            }
+            result++;
+        }
+        return -1;
+    }
+    
+    private List<String> getDerivedColumns(final SelectStatement selectStatement) {
+        for (SQLToken each : selectStatement.getSqlTokens()) {
+            if (each instanceof ItemsToken && selectStatement.getSelectListLastPosition() == each.getBeginPosition()) {
+                return ((ItemsToken) each).getItems();
+            }
+        }
+        return Collections.emptyList();
+    }
+    
     /**
      * 获得（路由表单元逻辑表 和 与其互为BindingTable关系的逻辑表）对应的真实表映射（逻辑表需要在 SQL 中存在）
      *
-     * @param tableUnit 路由表单元
+     * @param tableUnits 路由表单元
      * @return 集合
      */
-    private Map<String, String> getTableTokens(final TableUnit tableUnit) {
-        Map<String, String> tableTokens = new HashMap<>();
-        tableTokens.put(tableUnit.getLogicTableName(), tableUnit.getActualTableName());
-        Optional<BindingTableRule> bindingTableRule = shardingRule.findBindingTableRule(tableUnit.getLogicTableName());
-        // 查找 BindingTableRule
-        if (bindingTableRule.isPresent()) {
-            tableTokens.putAll(getBindingTableTokens(tableUnit, bindingTableRule.get()));
+    private Map<String, String> getTableTokens(final List<TableUnit> tableUnits) {
+        List<String> logicTableNames = rewriteTemplate.getLogicTableNames();
+        String[] actualTableNames = getActualTableNames(tableUnits);
+        Map<String, String> result = new HashMap<>(actualTableNames.length);
+        for (int i = 0; i < actualTableNames.length; i++) {
+            result.put(logicTableNames.get(i), actualTableNames[i]);
         }
-        return tableTokens;
+        return result;
     }
-
+    
     /**
-     * 获得（笛卡尔积表路由组里的路由表单元逻辑表 和 与其互为BindingTable关系的逻辑表）对应的真实表映射（逻辑表需要在 SQL 中存在）
+     * 获得模板中各逻辑表对应的真实表名称, 与路由表单元无关的逻辑表保持不变（后出现的路由表单元优先）
      *
-     * @param cartesianTableReference 笛卡尔积表路由组
-     * @return 集合
+     * @param tableUnits 路由表单元
+     * @return 与模板逻辑表顺序一致的真实表名称
      */
-    private Map<String, String> getTableTokens(final CartesianTableReference cartesianTableReference) {
-        Map<String, String> tableTokens = new HashMap<>();
-        for (TableUnit each : cartesianTableReference.getTableUnits()) {
-            tableTokens.put(each.getLogicTableName(), each.getActualTableName());
-            // 查找 BindingTableRule
+    private String[] getActualTableNames(final List<TableUnit> tableUnits) {
+        List<String> logicTableNames = rewriteTemplate.getLogicTableNames();
+        String[] result = logicTableNames.toArray(new String[logicTableNames.size()]);
+        for (TableUnit each : tableUnits) {
             Optional<BindingTableRule> bindingTableRule = shardingRule.findBindingTableRule(each.getLogicTableName());
-            if (bindingTableRule.isPresent()) {
-                tableTokens.putAll(getBindingTableTokens(each, bindingTableRule.get()));
+            for (int i = 0; i < result.length; i++) {
+                String logicTableName = logicTableNames.get(i);
+                if (logicTableName.equals(each.getLogicTableName())) {
+                    result[i] = each.getActualTableName();
+                } else if (bindingTableRule.isPresent() && isBindingTable(each, bindingTableRule.get(), logicTableName)) {
+                    result[i] = bindingTableRule.get().getBindingActualTable(each.getDataSourceName(), logicTableName, each.getActualTableName());
+                }
             }
         }
-        return tableTokens;
+        return result;
     }
-
+    
     /**
-     * 获得 BindingTable 关系的逻辑表对应的真实表映射（逻辑表需要在 SQL 中存在）
+     * 判断是否与路由表单元互为 BindingTable 关系的逻辑表（逻辑表需要在 SQL 中存在）
      *
      * @param tableUnit 路由单元
      * @param bindingTableRule Binding表规则配置对象
-     * @return 映射
+     * @param logicTableName 逻辑表名称
+     * @return 是否互为 BindingTable 关系
      */
-    private Map<String, String> getBindingTableTokens(final TableUnit tableUnit, final BindingTableRule bindingTableRule) {
-        Map<String, String> result = new HashMap<>();
-        for (String eachTable : sqlStatement.getTables().getTableNames()) {
-            if (!eachTable.equalsIgnoreCase(tableUnit.getLogicTableName()) && bindingTableRule.hasLogicTable(eachTable)) {
-                result.put(eachTable, bindingTableRule.getBindingActualTable(tableUnit.getDataSourceName(), eachTable, tableUnit.getActualTableName()));
-            }
-        }
-        return result;
+    private boolean isBindingTable(final TableUnit tableUnit, final BindingTableRule bindingTableRule, final String logicTableName) {
+        return !logicTableName.equalsIgnoreCase(tableUnit.getLogicTableName()) && sqlStatement.getTables().getTableNames().contains(logicTableName) && bindingTableRule.hasLogicTable(logicTableName);
     }
 }
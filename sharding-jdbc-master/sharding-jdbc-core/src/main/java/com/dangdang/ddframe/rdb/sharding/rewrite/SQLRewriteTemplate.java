@@ -0,0 +1,337 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.rewrite;
+
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.InsertValue;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.OrderItem;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.SQLStatement;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.insert.InsertStatement;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.ItemsToken;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.OffsetToken;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.OrderByToken;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.RowCountToken;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.SQLToken;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.TableToken;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * SQL改写模板.
+ * 
+ * <p>
+ * 由SQL标记预编译而成, 包含字面量片段和表名, 分页, 插入值占位.
+ * 查询项, 推导列和排序等与路由结果无关的改写在编译时直接并入字面量片段.
+ * 多行插入的每行以插入值占位包围, 生成SQL时可仅保留路由至当前分片的行.
+ * 模板不可变, 可以在SQL语句对象的副本间共享.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SQLRewriteTemplate {
+    
+    private static final int ESTIMATED_SLOT_LENGTH = 16;
+    
+    private static final String INSERT_VALUES_SEPARATOR = ", ";
+    
+    /**
+     * 编译模板的原始SQL
+     */
+    private final String originalSQL;
+    /**
+     * 编译模板的SQL标记
+     */
+    private final SQLToken[] sourceTokens;
+    /**
+     * 字面量片段, 数量比占位多一个
+     */
+    private final char[][] literals;
+    /**
+     * 占位
+     */
+    private final Slot[] slots;
+    /**
+     * 插入值数量, 非多行插入时为0
+     */
+    @Getter
+    private final int insertValuesCount;
+    /**
+     * 表占位对应的表名称, 按首次出现顺序排列
+     */
+    @Getter
+    private final List<String> logicTableNames;
+    /**
+     * 分页占位对应的分页标记
+     */
+    @Getter
+    private final List<SQLToken> limitTokens;
+    /**
+     * 字面量片段总长度
+     */
+    private final int literalsLength;
+    
+    /**
+     * 编译SQL改写模板.
+     * 
+     * @param originalSQL 原始SQL
+     * @param sqlStatement SQL语句对象
+     * @return SQL改写模板
+     */
+    public static SQLRewriteTemplate compile(final String originalSQL, final SQLStatement sqlStatement) {
+        SQLToken[] sourceTokens = sqlStatement.getSqlTokens().toArray(new SQLToken[sqlStatement.getSqlTokens().size()]);
+        List<SQLToken> sqlTokens = new ArrayList<>(sqlStatement.getSqlTokens());
+        List<InsertValue> insertValues = sqlStatement instanceof InsertStatement && ((InsertStatement) sqlStatement).isMultipleValues()
+                ? ((InsertStatement) sqlStatement).getInsertValues() : Collections.<InsertValue>emptyList();
+        for (int i = 0; i < insertValues.size(); i++) {
+            sqlTokens.add(new InsertValueBoundary(insertValues.get(i).getBeginPosition(), i, true));
+            sqlTokens.add(new InsertValueBoundary(insertValues.get(i).getEndPosition() + 1, i, false));
+        }
+        // 排序SQLToken，按照 beginPosition 递增
+        Collections.sort(sqlTokens, new Comparator<SQLToken>() {
+            
+            @Override
+            public int compare(final SQLToken o1, final SQLToken o2) {
+                return o1.getBeginPosition() - o2.getBeginPosition();
+            }
+        });
+        List<char[]> literals = new ArrayList<>(sqlTokens.size() + 1);
+        List<Slot> slots = new ArrayList<>(sqlTokens.size());
+        List<String> logicTableNames = new ArrayList<>();
+        List<SQLToken> limitTokens = new ArrayList<>(2);
+        StringBuilder currentLiterals = new StringBuilder(sqlTokens.isEmpty() ? originalSQL : originalSQL.substring(0, sqlTokens.get(0).getBeginPosition()));
+        int count = 0;
+        for (SQLToken each : sqlTokens) {
+            int endPosition = sqlTokens.size() - 1 == count ? originalSQL.length() : sqlTokens.get(count + 1).getBeginPosition();
+            if (each instanceof TableToken) {
+                TableToken tableToken = (TableToken) each;
+                String tableName = sqlStatement.getTables().getTableNames().contains(tableToken.getTableName()) ? tableToken.getTableName() : tableToken.getOriginalLiterals();
+                if (!logicTableNames.contains(tableName)) {
+                    logicTableNames.add(tableName);
+                }
+                appendSlot(literals, slots, currentLiterals, new Slot(SlotType.TABLE, logicTableNames.indexOf(tableName)));
+                currentLiterals.append(originalSQL, tableToken.getBeginPosition() + tableToken.getOriginalLiterals().length(), endPosition);
+            } else if (each instanceof ItemsToken) {
+                for (String item : ((ItemsToken) each).getItems()) {
+                    currentLiterals.append(", ").append(item);
+                }
+                currentLiterals.append(originalSQL, each.getBeginPosition(), endPosition);
+            } else if (each instanceof RowCountToken) {
+                limitTokens.add(each);
+                appendSlot(literals, slots, currentLiterals, new Slot(SlotType.LIMIT, limitTokens.size() - 1));
+                currentLiterals.append(originalSQL, each.getBeginPosition() + String.valueOf(((RowCountToken) each).getRowCount()).length(), endPosition);
+            } else if (each instanceof OffsetToken) {
+                limitTokens.add(each);
+                appendSlot(literals, slots, currentLiterals, new Slot(SlotType.LIMIT, limitTokens.size() - 1));
+                currentLiterals.append(originalSQL, each.getBeginPosition() + String.valueOf(((OffsetToken) each).getOffset()).length(), endPosition);
+            } else if (each instanceof OrderByToken) {
+                appendOrderBy(currentLiterals, (SelectStatement) sqlStatement);
+            } else if (each instanceof InsertValueBoundary) {
+                InsertValueBoundary boundary = (InsertValueBoundary) each;
+                appendSlot(literals, slots, currentLiterals, new Slot(boundary.begin ? SlotType.INSERT_VALUE_BEGIN : SlotType.INSERT_VALUE_END, boundary.index));
+                // 行之间的分隔符在生成SQL时按保留的行重新拼接
+                if (boundary.begin || insertValues.size() - 1 == boundary.index) {
+                    currentLiterals.append(originalSQL, each.getBeginPosition(), endPosition);
+                }
+            }
+            count++;
+        }
+        literals.add(toCharArray(currentLiterals));
+        int literalsLength = 0;
+        for (char[] each : literals) {
+            literalsLength += each.length;
+        }
+        return new SQLRewriteTemplate(originalSQL, sourceTokens, literals.toArray(new char[literals.size()][]), slots.toArray(new Slot[slots.size()]), insertValues.size(), 
+                Collections.unmodifiableList(logicTableNames), Collections.unmodifiableList(limitTokens), literalsLength);
+    }
+    
+    private static void appendSlot(final List<char[]> literals, final List<Slot> slots, final StringBuilder currentLiterals, final Slot slot) {
+        literals.add(toCharArray(currentLiterals));
+        currentLiterals.setLength(0);
+        slots.add(slot);
+    }
+    
+    private static char[] toCharArray(final StringBuilder literals) {
+        char[] result = new char[literals.length()];
+        literals.getChars(0, literals.length(), result, 0);
+        return result;
+    }
+    
+    private static void appendOrderBy(final StringBuilder currentLiterals, final SelectStatement selectStatement) {
+        currentLiterals.append(" ORDER BY ");
+        int i = 0;
+        for (OrderItem each : selectStatement.getOrderByItems()) {
+            if (0 != i) {
+                currentLiterals.append(",");
+            }
+            currentLiterals.append(each.getColumnLabel()).append(" ").append(each.getType().name());
+            i++;
+        }
+        currentLiterals.append(" ");
+    }
+    
+    /**
+     * 判断模板是否由指定的原始SQL和SQL标记编译.
+     * 
+     * <p>
+     * SQL标记按对象标识比较, 解析后修改过SQL标记的SQL语句对象需要重新编译模板.
+     * 每次执行重新生成的补列标记按位置和补列内容比较, 内容相同的执行复用同一个模板.
+     * </p>
+     * 
+     * @param originalSQL 原始SQL
+     * @param sqlTokens SQL标记
+     * @return 是否由指定的原始SQL和SQL标记编译
+     */
+    public boolean isCompiledFrom(final String originalSQL, final List<SQLToken> sqlTokens) {
+        if (sourceTokens.length != sqlTokens.size() || !this.originalSQL.equals(originalSQL)) {
+            return false;
+        }
+        int i = 0;
+        for (SQLToken each : sqlTokens) {
+            if (!isSameToken(sourceTokens[i++], each)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isSameToken(final SQLToken sourceToken, final SQLToken sqlToken) {
+        if (sourceToken == sqlToken) {
+            return true;
+        }
+        return sourceToken instanceof ItemsToken && sqlToken instanceof ItemsToken && sourceToken.getBeginPosition() == sqlToken.getBeginPosition()
+                && ((ItemsToken) sourceToken).getItems().equals(((ItemsToken) sqlToken).getItems());
+    }
+    
+    /**
+     * 生成SQL语句.
+     * 
+     * @param actualTableNames 与{@link #getLogicTableNames()}顺序一致的真实表名称
+     * @param limitLiterals 与{@link #getLimitTokens()}顺序一致的分页字面量
+     * @return SQL语句
+     */
+    public String toSQL(final String[] actualTableNames, final String[] limitLiterals) {
+        return toSQL(actualTableNames, limitLiterals, null);
+    }
+    
+    /**
+     * 生成SQL语句.
+     * 
+     * @param actualTableNames 与{@link #getLogicTableNames()}顺序一致的真实表名称
+     * @param limitLiterals 与{@link #getLimitTokens()}顺序一致的分页字面量
+     * @param includedInsertValues 各插入值是否保留, 为null时保留全部插入值
+     * @return SQL语句
+     */
+    public String toSQL(final String[] actualTableNames, final String[] limitLiterals, final boolean[] includedInsertValues) {
+        StringBuilder result = new StringBuilder(literalsLength + ESTIMATED_SLOT_LENGTH * slots.length);
+        result.append(literals[0]);
+        boolean skipped = false;
+        boolean insertValueAppended = false;
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            switch (slot.type) {
+                case TABLE:
+                    if (!skipped) {
+                        result.append(actualTableNames[slot.index]);
+                    }
+                    break;
+                case LIMIT:
+                    if (!skipped) {
+                        result.append(limitLiterals[slot.index]);
+                    }
+                    break;
+                case INSERT_VALUE_BEGIN:
+                    skipped = null != includedInsertValues && !includedInsertValues[slot.index];
+                    if (!skipped && insertValueAppended) {
+                        result.append(INSERT_VALUES_SEPARATOR);
+                    }
+                    insertValueAppended = insertValueAppended || !skipped;
+                    break;
+                default:
+                    skipped = false;
+                    break;
+            }
+            if (!skipped) {
+                result.append(literals[i + 1]);
+            }
+        }
+        return result.toString();
+    }
+    
+    /**
+     * 生成SQL构建器.
+     * 
+     * @param limitLiterals 与{@link #getLimitTokens()}顺序一致的分页字面量
+     * @return SQL构建器
+     */
+    public SQLBuilder toSQLBuilder(final String[] limitLiterals) {
+        SQLBuilder result = new SQLBuilder();
+        result.appendLiterals(new String(literals[0]));
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            if (SlotType.TABLE == slot.type) {
+                result.appendTable(logicTableNames.get(slot.index));
+            } else if (SlotType.LIMIT == slot.type) {
+                result.appendLiterals(limitLiterals[slot.index]);
+            } else if (SlotType.INSERT_VALUE_BEGIN == slot.type && 0 != slot.index) {
+                result.appendLiterals(INSERT_VALUES_SEPARATOR);
+            }
+            result.appendLiterals(new String(literals[i + 1]));
+        }
+        return result;
+    }
+    
+    private enum SlotType {
+        
+        TABLE, LIMIT, INSERT_VALUE_BEGIN, INSERT_VALUE_END
+    }
+    
+    @RequiredArgsConstructor
+    private static final class Slot {
+        
+        /**
+         * 占位类型
+         */
+        private final SlotType type;
+        
+        /**
+         * 在表名称, 分页标记或插入值中的索引
+         */
+        private final int index;
+    }
+    
+    /**
+     * 插入值边界, 仅在编译模板时与SQL标记一同排序
+     */
+    @RequiredArgsConstructor
+    @Getter
+    private static final class InsertValueBoundary implements SQLToken {
+        
+        private final int beginPosition;
+        
+        private final int index;
+        
+        private final boolean begin;
+    }
+}
@@ -38,13 +38,18 @@ public final class PreparedStatementRoutingEngine {
     private SQLStatement sqlStatement;
     
     public PreparedStatementRoutingEngine(final String logicSQL, final ShardingContext shardingContext) {
+        this(logicSQL, shardingContext, false);
+    }
+    
+    public PreparedStatementRoutingEngine(final String logicSQL, final ShardingContext shardingContext, final boolean explain) {
         this.logicSQL = logicSQL;
-        sqlRouter = SQLRouterFactory.createSQLRouter(shardingContext);
+        sqlRouter = SQLRouterFactory.createSQLRouter(shardingContext, explain);
     }
     
     /**
      * SQL路由.
      * 当第一次路由时进行SQL解析,之后的路由复用第一次的解析结果.
+     * 仅解析了路由信息的SQL在路由时被完整解析后, 之后的路由复用完整的解析结果.
      * 
      * @param parameters SQL中的参数
      * @return 路由结果
@@ -53,6 +58,8 @@ public final class PreparedStatementRoutingEngine {
         if (null == sqlStatement) {
             sqlStatement = sqlRouter.parse(logicSQL, parameters.size());
         }
-        return sqlRouter.route(logicSQL, parameters, sqlStatement);
+        SQLRouteResult result = sqlRouter.route(logicSQL, parameters, sqlStatement);
+        sqlStatement = result.getSqlStatement();
+        return result;
     }
 }
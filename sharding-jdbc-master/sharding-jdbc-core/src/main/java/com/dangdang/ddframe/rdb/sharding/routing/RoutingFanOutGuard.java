@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.constant.FanOutPolicy;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+/**
+ * 路由扇出限制.
+ *
+ * <p>
+ * 在获取数据库连接之前检查路由结果涉及的数据源数量和表单元数量, 防止缺少分片条件的SQL同时占用全部分片的连接.
+ * 数量上限为0时不限制.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+@Slf4j
+public final class RoutingFanOutGuard {
+    
+    private final int maxDataSources;
+    
+    private final int maxTableUnits;
+    
+    private final FanOutPolicy policy;
+    
+    /**
+     * 判断是否开启扇出限制.
+     *
+     * @return 是否开启扇出限制
+     */
+    public boolean isEnabled() {
+        return FanOutPolicy.ALLOW != policy && (maxDataSources > 0 || maxTableUnits > 0);
+    }
+    
+    /**
+     * 检查路由扇出数量.
+     *
+     * @param logicSQL 逻辑SQL
+     * @param executionUnits SQL最小执行单元集合
+     * @throws ShardingJdbcException 策略为拒绝且扇出数量超出上限时抛出
+     */
+    public void check(final String logicSQL, final Collection<SQLExecutionUnit> executionUnits) {
+        if (!isEnabled()) {
+            return;
+        }
+        int tableUnitsCount = executionUnits.size();
+        int dataSourcesCount = maxDataSources > 0 ? countDataSources(executionUnits) : 0;
+        if ((maxTableUnits <= 0 || tableUnitsCount <= maxTableUnits) && (maxDataSources <= 0 || dataSourcesCount <= maxDataSources)) {
+            return;
+        }
+        if (FanOutPolicy.REJECT == policy) {
+            throw new ShardingJdbcException("SQL '%s' routes to %s data sources and %s table units, exceeds limit of %s data sources and %s table units.", 
+                    logicSQL, dataSourcesCount, tableUnitsCount, maxDataSources, maxTableUnits);
+        }
+        log.warn("SQL '{}' routes to {} data sources and {} table units, exceeds limit of {} data sources and {} table units.", logicSQL, dataSourcesCount, tableUnitsCount, maxDataSources, maxTableUnits);
+    }
+    
+    private int countDataSources(final Collection<SQLExecutionUnit> executionUnits) {
+        Collection<String> result = new HashSet<>();
+        for (SQLExecutionUnit each : executionUnits) {
+            result.add(each.getDataSource());
+        }
+        return result.size();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.routing.type.TableUnit;
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 路由结果缓存.
+ *
+ * <p>
+ * 以分片规则, 逻辑表名和解析后的分片值为键, 缓存简单路由的表单元集合.
+ * 分片算法需为确定性算法, 即相同的分片值总是路由至相同的表单元.
+ * 分片规则变更后缓存的路由结果失效.
+ * 缓存容量有上限, 超出时淘汰最近最少使用的路由结果, 容量为0时不缓存.
+ * </p>
+ *
+ * @author zhangliang
+ */
+public final class RoutingResultCache {
+    
+    private final long maximumSize;
+    
+    private final Cache<CacheKey, List<TableUnit>> cache;
+    
+    private volatile ShardingRule shardingRule;
+    
+    public RoutingResultCache(final long maximumSize) {
+        this.maximumSize = maximumSize;
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+    
+    /**
+     * 判断是否开启缓存.
+     *
+     * @return 是否开启缓存
+     */
+    public boolean isEnabled() {
+        return maximumSize > 0L;
+    }
+    
+    /**
+     * 获取缓存的路由结果.
+     *
+     * @param shardingRule 分片规则
+     * @param logicTableName 逻辑表名
+     * @param shardingValues 分片值
+     * @return 缓存的表单元集合
+     */
+    public Optional<List<TableUnit>> get(final ShardingRule shardingRule, final String logicTableName, final List<List<ShardingValue<?>>> shardingValues) {
+        checkShardingRule(shardingRule);
+        return Optional.fromNullable(cache.getIfPresent(new CacheKey(shardingRule, logicTableName, shardingValues)));
+    }
+    
+    /**
+     * 缓存路由结果.
+     *
+     * @param shardingRule 分片规则
+     * @param logicTableName 逻辑表名
+     * @param shardingValues 分片值
+     * @param tableUnits 表单元集合
+     */
+    public void put(final ShardingRule shardingRule, final String logicTableName, final List<List<ShardingValue<?>>> shardingValues, final Collection<TableUnit> tableUnits) {
+        checkShardingRule(shardingRule);
+        cache.put(new CacheKey(shardingRule, logicTableName, shardingValues), ImmutableList.copyOf(tableUnits));
+    }
+    
+    /**
+     * 分片规则变更时清空缓存.
+     * 
+     * <p>
+     * 缓存键中包含分片规则, 旧规则的路由结果不会被命中, 清空只是为了尽早释放.
+     * </p>
+     */
+    private void checkShardingRule(final ShardingRule shardingRule) {
+        if (shardingRule != this.shardingRule) {
+            synchronized (this) {
+                if (shardingRule != this.shardingRule) {
+                    cache.invalidateAll();
+                    this.shardingRule = shardingRule;
+                }
+            }
+        }
+    }
+    
+    /**
+     * 获取缓存命中次数.
+     *
+     * @return 缓存命中次数
+     */
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+    
+    /**
+     * 获取缓存未命中次数.
+     *
+     * @return 缓存未命中次数
+     */
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+    
+    /**
+     * 获取缓存命中率.
+     *
+     * @return 缓存命中率, 未访问过缓存时为1.0
+     */
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+    
+    /**
+     * 获取缓存淘汰次数.
+     *
+     * @return 缓存淘汰次数
+     */
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+    
+    /**
+     * 获取缓存的路由结果数量.
+     *
+     * @return 缓存的路由结果数量
+     */
+    public long size() {
+        return cache.size();
+    }
+    
+    /**
+     * 清空缓存.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+    
+    @RequiredArgsConstructor
+    @EqualsAndHashCode
+    private static final class CacheKey {
+        
+        private final ShardingRule shardingRule;
+        
+        private final String logicTableName;
+        
+        private final List<List<ShardingValue<?>>> shardingValues;
+    }
+}
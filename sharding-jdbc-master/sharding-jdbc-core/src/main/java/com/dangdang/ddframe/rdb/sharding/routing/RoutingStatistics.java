@@ -0,0 +1,89 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 路由统计.
+ *
+ * <p>
+ * 按逻辑表统计每次路由的扇出数量, 即SQL最小执行单元的数量.
+ * 扇出数量接近全部数据节点数量的逻辑表, 通常是缺少分片条件或分片列被函数包裹导致的全路由.
+ * 统计数据在数据源的生命周期内持续累积, 直方图偏向于最近的路由结果.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class RoutingStatistics {
+    
+    @Getter
+    private final boolean enabled;
+    
+    private final ConcurrentMap<String, Histogram> fanOutHistograms = new ConcurrentHashMap<>();
+    
+    /**
+     * 记录路由扇出数量.
+     *
+     * @param logicTables 逻辑表名称集合
+     * @param fanOut 扇出数量
+     */
+    public void record(final Collection<String> logicTables, final int fanOut) {
+        if (!enabled) {
+            return;
+        }
+        for (String each : logicTables) {
+            getFanOutHistogram(each.toLowerCase()).update(fanOut);
+        }
+    }
+    
+    private Histogram getFanOutHistogram(final String logicTable) {
+        Histogram result = fanOutHistograms.get(logicTable);
+        if (null != result) {
+            return result;
+        }
+        fanOutHistograms.putIfAbsent(logicTable, new Histogram(new ExponentiallyDecayingReservoir()));
+        return fanOutHistograms.get(logicTable);
+    }
+    
+    /**
+     * 获取各逻辑表的扇出数量直方图.
+     *
+     * @return 以小写逻辑表名称为键的扇出数量直方图
+     */
+    public Map<String, Histogram> getFanOutHistograms() {
+        return Collections.unmodifiableMap(fanOutHistograms);
+    }
+    
+    /**
+     * 清空统计数据.
+     */
+    public void clear() {
+        fanOutHistograms.clear();
+    }
+}
@@ -22,6 +22,8 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 
+import java.util.List;
+
 /**
  * SQL最小执行单元.
  * 
@@ -41,5 +43,9 @@ public final class SQLExecutionUnit {
      * 执行 SQL
      */
     private final String sql;
-
+    /**
+     * 执行 SQL 中各占位符对应的参数索引, 为 null 时按顺序使用全部参数
+     * 多行插入拆分至各分片后, 每个分片只使用其插入值对应的参数
+     */
+    private final List<Integer> parameterIndexes;
 }
@@ -18,8 +18,11 @@
 package com.dangdang.ddframe.rdb.sharding.routing;
 
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.SQLStatement;
+import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingEngine;
+import com.dangdang.ddframe.rdb.sharding.routing.type.broadcast.BroadcastRoutingEngine;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -48,4 +51,18 @@ public final class SQLRouteResult {
      * 生成主键编号
      */
     private final List<Number> generatedKeys = new LinkedList<>();
+    /**
+     * 路由引擎类型
+     */
+    @Setter
+    private Class<? extends RoutingEngine> routingEngineType;
+    
+    /**
+     * 判断是否为仅包含广播表的路由.
+     * 
+     * @return 是否为仅包含广播表的路由
+     */
+    public boolean isBroadcast() {
+        return BroadcastRoutingEngine.class == routingEngineType;
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.google.common.base.Optional;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 路由解释伪语句.
+ *
+ * <p>
+ * 格式为{@code EXPLAIN SHARDING 逻辑SQL}, 仅路由逻辑SQL而不执行, 返回SQL最小执行单元作为结果集.
+ * </p>
+ *
+ * @author zhangliang
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ShardingExplainSQL {
+    
+    private static final String EXPLAIN = "EXPLAIN";
+    
+    private static final Pattern PATTERN = Pattern.compile("\\s*EXPLAIN\\s+SHARDING\\s+(.+)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    
+    /**
+     * 获取路由解释伪语句中的逻辑SQL.
+     *
+     * @param sql SQL语句
+     * @return 逻辑SQL, 不是路由解释伪语句时为空
+     */
+    public static Optional<String> getLogicSQL(final String sql) {
+        int beginIndex = 0;
+        while (beginIndex < sql.length() && Character.isWhitespace(sql.charAt(beginIndex))) {
+            beginIndex++;
+        }
+        // 先比较首个单词, 避免普通SQL的正则匹配开销
+        if (!sql.regionMatches(true, beginIndex, EXPLAIN, 0, EXPLAIN.length())) {
+            return Optional.absent();
+        }
+        Matcher matcher = PATTERN.matcher(sql);
+        return matcher.matches() ? Optional.of(matcher.group(1).trim()) : Optional.<String>absent();
+    }
+}
@@ -17,12 +17,17 @@
 
 package com.dangdang.ddframe.rdb.sharding.routing;
 
+import com.dangdang.ddframe.rdb.sharding.hint.HintManagerHolder;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
+import com.dangdang.ddframe.rdb.sharding.parsing.SQLShape;
+import com.dangdang.ddframe.rdb.sharding.parsing.SQLShapeEngine;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.SQLStatement;
 import com.dangdang.ddframe.rdb.sharding.routing.router.SQLRouter;
 import com.dangdang.ddframe.rdb.sharding.routing.router.SQLRouterFactory;
+import com.google.common.base.Optional;
 
 import java.util.Collections;
+import java.util.List;
 
 /**
  * SQL路由器.
@@ -31,20 +36,50 @@ import java.util.Collections;
  */
 public final class StatementRoutingEngine {
     
+    private final ShardingContext shardingContext;
+    
     private final SQLRouter sqlRouter;
     
     public StatementRoutingEngine(final ShardingContext shardingContext) {
-        sqlRouter = SQLRouterFactory.createSQLRouter(shardingContext);
+        this(shardingContext, false);
+    }
+    
+    public StatementRoutingEngine(final ShardingContext shardingContext, final boolean explain) {
+        this.shardingContext = shardingContext;
+        sqlRouter = SQLRouterFactory.createSQLRouter(shardingContext, explain);
     }
     
     /**
      * SQL路由.
+     * 
+     * <p>
+     * 开启SQL形态归一化时, 以SQL形态解析并将提取的字面量作为占位符参数路由, 最后将执行SQL中的占位符还原为字面量.
+     * </p>
      *
      * @param logicSQL 逻辑SQL
      * @return 路由结果
      */
     public SQLRouteResult route(final String logicSQL) {
+        if (shardingContext.isParsingShapeEnabled() && !HintManagerHolder.isDatabaseShardingOnly()) {
+            Optional<SQLShape> sqlShape = new SQLShapeEngine(shardingContext.getDatabaseType(), logicSQL).normalize();
+            if (sqlShape.isPresent()) {
+                return route(sqlShape.get());
+            }
+        }
         SQLStatement sqlStatement = sqlRouter.parse(logicSQL, 0);
         return sqlRouter.route(logicSQL, Collections.emptyList(), sqlStatement);
     }
+    
+    private SQLRouteResult route(final SQLShape sqlShape) {
+        List<Object> parameters = sqlShape.getParameters();
+        SQLStatement sqlStatement = sqlRouter.parse(sqlShape.getSql(), parameters.size());
+        SQLRouteResult shapeRouteResult = sqlRouter.route(sqlShape.getSql(), parameters, sqlStatement);
+        SQLRouteResult result = new SQLRouteResult(shapeRouteResult.getSqlStatement());
+        for (SQLExecutionUnit each : shapeRouteResult.getExecutionUnits()) {
+            result.getExecutionUnits().add(new SQLExecutionUnit(each.getDataSource(), sqlShape.restore(each.getSql(), parameters, each.getParameterIndexes()), null));
+        }
+        result.getGeneratedKeys().addAll(shapeRouteResult.getGeneratedKeys());
+        result.setRoutingEngineType(shapeRouteResult.getRoutingEngineType());
+        return result;
+    }
 }
@@ -23,6 +23,7 @@ import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
 import com.dangdang.ddframe.rdb.sharding.metrics.MetricsContext;
 import com.dangdang.ddframe.rdb.sharding.parsing.SQLJudgeEngine;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.SQLStatement;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingFanOutGuard;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLRouteResult;
 import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingResult;
@@ -46,9 +47,15 @@ public final class DatabaseHintSQLRouter implements SQLRouter {
     
     private final boolean showSQL;
     
-    public DatabaseHintSQLRouter(final ShardingContext shardingContext) {
+    private final RoutingFanOutGuard routingFanOutGuard;
+    
+    private final boolean explain;
+    
+    public DatabaseHintSQLRouter(final ShardingContext shardingContext, final boolean explain) {
         shardingRule = shardingContext.getShardingRule();
         showSQL = shardingContext.isShowSQL();
+        routingFanOutGuard = shardingContext.getRoutingFanOutGuard();
+        this.explain = explain;
     }
     
     @Override
@@ -61,12 +68,16 @@ public final class DatabaseHintSQLRouter implements SQLRouter {
     public SQLRouteResult route(final String logicSQL, final List<Object> parameters, final SQLStatement sqlStatement) {
         Context context = MetricsContext.start("Route SQL");
         SQLRouteResult result = new SQLRouteResult(sqlStatement);
+        result.setRoutingEngineType(DatabaseHintRoutingEngine.class);
         // 路由
         RoutingResult routingResult = new DatabaseHintRoutingEngine(shardingRule.getDataSourceRule(), shardingRule.getDatabaseShardingStrategy())
                 .route();
         // SQL最小执行单元
         for (TableUnit each : routingResult.getTableUnits().getTableUnits()) {
-            result.getExecutionUnits().add(new SQLExecutionUnit(each.getDataSourceName(), logicSQL));
+            result.getExecutionUnits().add(new SQLExecutionUnit(each.getDataSourceName(), logicSQL, null));
+        }
+        if (!explain) {
+            routingFanOutGuard.check(logicSQL, result.getExecutionUnits());
         }
         MetricsContext.stop(context);
         if (showSQL) {
@@ -22,19 +22,22 @@ import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
 import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
 import com.dangdang.ddframe.rdb.sharding.metrics.MetricsContext;
-import com.dangdang.ddframe.rdb.sharding.parsing.SQLParsingEngine;
+import com.dangdang.ddframe.rdb.sharding.parsing.ParsedStatementCache;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.GeneratedKey;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.InsertValue;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.SQLStatement;
-import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.RowCountToken;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.insert.InsertStatement;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
-import com.dangdang.ddframe.rdb.sharding.rewrite.SQLBuilder;
 import com.dangdang.ddframe.rdb.sharding.rewrite.SQLRewriteEngine;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingFanOutGuard;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingResultCache;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingStatistics;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
 import com.dangdang.ddframe.rdb.sharding.routing.SQLRouteResult;
 import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingEngine;
 import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingResult;
 import com.dangdang.ddframe.rdb.sharding.routing.type.TableUnit;
+import com.dangdang.ddframe.rdb.sharding.routing.type.broadcast.BroadcastRoutingEngine;
 import com.dangdang.ddframe.rdb.sharding.routing.type.complex.CartesianDataSource;
 import com.dangdang.ddframe.rdb.sharding.routing.type.complex.CartesianRoutingResult;
 import com.dangdang.ddframe.rdb.sharding.routing.type.complex.CartesianTableReference;
@@ -42,9 +45,13 @@ import com.dangdang.ddframe.rdb.sharding.routing.type.complex.ComplexRoutingEngi
 import com.dangdang.ddframe.rdb.sharding.routing.type.simple.SimpleRoutingEngine;
 import com.dangdang.ddframe.rdb.sharding.util.SQLLogger;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 /**
  * 需要解析的SQL路由器.
@@ -59,20 +66,40 @@ public final class ParsingSQLRouter implements SQLRouter {
     
     private final boolean showSQL;
     
+    private final ParsedStatementCache parsedStatementCache;
+    
+    private final RoutingResultCache routingResultCache;
+    
+    private final int maxCartesianSize;
+    
+    private final RoutingStatistics routingStatistics;
+    
+    private final RoutingFanOutGuard routingFanOutGuard;
+    
+    private final boolean unionAllRewriteEnabled;
+    
+    private final boolean explain;
+    
     private final List<Number> generatedKeys;
     
-    public ParsingSQLRouter(final ShardingContext shardingContext) {
+    public ParsingSQLRouter(final ShardingContext shardingContext, final boolean explain) {
         shardingRule = shardingContext.getShardingRule();
         databaseType = shardingContext.getDatabaseType();
         showSQL = shardingContext.isShowSQL();
+        parsedStatementCache = shardingContext.getParsedStatementCache();
+        routingResultCache = shardingContext.getRoutingResultCache();
+        maxCartesianSize = shardingContext.getMaxCartesianSize();
+        routingStatistics = shardingContext.getRoutingStatistics();
+        routingFanOutGuard = shardingContext.getRoutingFanOutGuard();
+        unionAllRewriteEnabled = shardingContext.isUnionAllRewriteEnabled();
+        this.explain = explain;
         generatedKeys = new LinkedList<>();
     }
     
     @Override
     public SQLStatement parse(final String logicSQL, final int parametersSize) {
-        SQLParsingEngine parsingEngine = new SQLParsingEngine(databaseType, logicSQL, shardingRule);
         Context context = MetricsContext.start("Parse SQL");
-        SQLStatement result = parsingEngine.parse();
+        SQLStatement result = parsedStatementCache.parse(databaseType, logicSQL, shardingRule);
         if (result instanceof InsertStatement) { // 处理 GenerateKeyToken
             ((InsertStatement) result).appendGenerateKeyToken(shardingRule, parametersSize);
         }
@@ -88,8 +115,25 @@ public final class ParsingSQLRouter implements SQLRouter {
         if (sqlStatement instanceof InsertStatement && null != ((InsertStatement) sqlStatement).getGeneratedKey()) {
             processGeneratedKey(parameters, (InsertStatement) sqlStatement, result);
         }
+        // 多行插入按行路由
+        if (sqlStatement instanceof InsertStatement && ((InsertStatement) sqlStatement).isMultipleValues() && !shardingRule.isBroadcastTable(sqlStatement.getTables().getSingleTableName())) {
+            routeInsertValues(logicSQL, parameters, (InsertStatement) sqlStatement, result);
+            result.setRoutingEngineType(SimpleRoutingEngine.class);
+            recordAndCheckFanOut(logicSQL, sqlStatement, result);
+            MetricsContext.stop(context);
+            if (showSQL) {
+                SQLLogger.logSQL(logicSQL, sqlStatement, result.getExecutionUnits(), parameters);
+            }
+            return result;
+        }
         // 路由
-        RoutingResult routingResult = route(parameters, sqlStatement);
+        RoutingEngine routingEngine = createRoutingEngine(parameters, sqlStatement);
+        RoutingResult routingResult = routingEngine.route();
+        // 仅解析了路由信息的SQL路由至多分片时, 需完整解析后重新路由
+        if (!routingResult.isSingleRouting() && ParsedStatementCache.isRoutingOnly(sqlStatement)) {
+            MetricsContext.stop(context);
+            return route(logicSQL, parameters, parsedStatementCache.parseCompletely(databaseType, logicSQL, shardingRule));
+        }
         // SQL重写引擎
         SQLRewriteEngine rewriteEngine = new SQLRewriteEngine(shardingRule, logicSQL, sqlStatement);
         boolean isSingleRouting = routingResult.isSingleRouting();
@@ -97,20 +141,24 @@ public final class ParsingSQLRouter implements SQLRouter {
         if (sqlStatement instanceof SelectStatement && null != ((SelectStatement) sqlStatement).getLimit()) {
             processLimit(parameters, (SelectStatement) sqlStatement, isSingleRouting);
         }
-        // SQL 重写
-        SQLBuilder sqlBuilder = rewriteEngine.rewrite(!isSingleRouting);
-        // 生成 ExecutionUnit
+        // SQL 重写并生成 ExecutionUnit
         if (routingResult instanceof CartesianRoutingResult) {
             for (CartesianDataSource cartesianDataSource : ((CartesianRoutingResult) routingResult).getRoutingDataSources()) {
                 for (CartesianTableReference cartesianTableReference : cartesianDataSource.getRoutingTableReferences()) {
-                    result.getExecutionUnits().add(new SQLExecutionUnit(cartesianDataSource.getDataSource(), rewriteEngine.generateSQL(cartesianTableReference, sqlBuilder))); // 生成 SQL
+                    result.getExecutionUnits().add(new SQLExecutionUnit(cartesianDataSource.getDataSource(), rewriteEngine.generateSQL(cartesianTableReference, !isSingleRouting), null)); // 生成 SQL
                 }
             }
         } else {
             for (TableUnit each : routingResult.getTableUnits().getTableUnits()) {
-                result.getExecutionUnits().add(new SQLExecutionUnit(each.getDataSourceName(), rewriteEngine.generateSQL(each, sqlBuilder))); // 生成 SQL
+                result.getExecutionUnits().add(new SQLExecutionUnit(each.getDataSourceName(), rewriteEngine.generateSQL(each, !isSingleRouting), null)); // 生成 SQL
             }
         }
+        result.setRoutingEngineType(routingEngine.getClass());
+        recordAndCheckFanOut(logicSQL, sqlStatement, result);
+        // 同一数据源的表单元合并为 UNION ALL 语句
+        if (unionAllRewriteEnabled && !isSingleRouting && rewriteEngine.isUnionAllSupported(databaseType)) {
+            mergeExecutionUnits(parameters, rewriteEngine, result);
+        }
         MetricsContext.stop(context);
         // 打印 SQL
         if (showSQL) {
@@ -118,26 +166,115 @@ public final class ParsingSQLRouter implements SQLRouter {
         }
         return result;
     }
-
+    
+    /**
+     * 统计各逻辑表的路由扇出数量, 并在获取数据库连接前检查扇出数量
+     * 仅解释路由时不统计也不检查
+     *
+     * @param logicSQL 逻辑SQL
+     * @param sqlStatement SQL语句对象
+     * @param sqlRouteResult SQL路由结果
+     */
+    private void recordAndCheckFanOut(final String logicSQL, final SQLStatement sqlStatement, final SQLRouteResult sqlRouteResult) {
+        if (explain) {
+            return;
+        }
+        routingStatistics.record(sqlStatement.getTables().getTableNames(), sqlRouteResult.getExecutionUnits().size());
+        routingFanOutGuard.check(logicSQL, sqlRouteResult.getExecutionUnits());
+    }
+    
     /**
      * 根据表情况使用 SimpleRoutingEngine 或 CartesianRoutingEngine
+     * 广播表不参与路由, 全部为广播表时使用 BroadcastRoutingEngine
      *
      * @param parameters 占位参数
      * @param sqlStatement SQL语句对象
-     * @return 路由结果
+     * @return 路由引擎
      */
-    private RoutingResult route(final List<Object> parameters, final SQLStatement sqlStatement) {
-        Collection<String> tableNames = sqlStatement.getTables().getTableNames();
-        RoutingEngine routingEngine;
-        if (1 == tableNames.size() || shardingRule.isAllBindingTables(tableNames)) {
-            routingEngine = new SimpleRoutingEngine(shardingRule, parameters, tableNames.iterator().next(), sqlStatement);
+    private RoutingEngine createRoutingEngine(final List<Object> parameters, final SQLStatement sqlStatement) {
+        Collection<String> tableNames = shardingRule.filterNonBroadcastTables(sqlStatement.getTables().getTableNames());
+        RoutingEngine result;
+        if (tableNames.isEmpty() && !sqlStatement.getTables().isEmpty()) {
+            result = new BroadcastRoutingEngine(shardingRule, sqlStatement.getTables().getTableNames().iterator().next(), sqlStatement.getType());
+        } else if (1 == tableNames.size() || shardingRule.isAllBindingTables(tableNames)) {
+            result = new SimpleRoutingEngine(shardingRule, parameters, tableNames.iterator().next(), sqlStatement, routingResultCache);
         } else {
-            // TODO 可配置是否执行笛卡尔积
-            routingEngine = new ComplexRoutingEngine(shardingRule, parameters, tableNames, sqlStatement);
+            result = new ComplexRoutingEngine(shardingRule, parameters, tableNames, sqlStatement, maxCartesianSize);
         }
-        return routingEngine.route();
+        return result;
     }
-
+    
+    /**
+     * 多行插入按行路由, 路由至同一表单元的行合并为一条插入SQL
+     * 值字段之后的占位符由每条插入SQL共用
+     *
+     * @param logicSQL 逻辑SQL
+     * @param parameters 占位参数
+     * @param insertStatement Insert SQL语句对象
+     * @param sqlRouteResult SQL路由结果
+     */
+    private void routeInsertValues(final String logicSQL, final List<Object> parameters, final InsertStatement insertStatement, final SQLRouteResult sqlRouteResult) {
+        String logicTableName = insertStatement.getTables().getSingleTableName();
+        Map<TableUnit, List<Integer>> insertValueIndexesMap = new LinkedHashMap<>();
+        int count = 0;
+        for (InsertValue each : insertStatement.getInsertValues()) {
+            for (TableUnit tableUnit : new SimpleRoutingEngine(shardingRule, parameters, logicTableName, each.getConditions(), routingResultCache).route().getTableUnits().getTableUnits()) {
+                if (!insertValueIndexesMap.containsKey(tableUnit)) {
+                    insertValueIndexesMap.put(tableUnit, new LinkedList<Integer>());
+                }
+                insertValueIndexesMap.get(tableUnit).add(count);
+            }
+            count++;
+        }
+        SQLRewriteEngine rewriteEngine = new SQLRewriteEngine(shardingRule, logicSQL, insertStatement);
+        for (Entry<TableUnit, List<Integer>> entry : insertValueIndexesMap.entrySet()) {
+            List<Integer> parameterIndexes = new ArrayList<>();
+            for (int each : entry.getValue()) {
+                parameterIndexes.addAll(insertStatement.getInsertValues().get(each).getParameterIndexes());
+            }
+            parameterIndexes.addAll(insertStatement.getAfterValuesParameterIndexes());
+            sqlRouteResult.getExecutionUnits().add(new SQLExecutionUnit(entry.getKey().getDataSourceName(), rewriteEngine.generateSQL(entry.getKey(), entry.getValue()), parameterIndexes));
+        }
+    }
+    
+    /**
+     * 将同一数据源的SQL最小执行单元合并为一条 UNION ALL 语句, 每个数据源只需一次执行和一个数据库连接
+     * 每个分支的占位符重复使用全部参数
+     *
+     * @param parameters 占位符参数
+     * @param rewriteEngine SQL重写引擎
+     * @param sqlRouteResult SQL路由结果
+     */
+    private void mergeExecutionUnits(final List<Object> parameters, final SQLRewriteEngine rewriteEngine, final SQLRouteResult sqlRouteResult) {
+        Map<String, List<String>> sqlMap = new LinkedHashMap<>();
+        for (SQLExecutionUnit each : sqlRouteResult.getExecutionUnits()) {
+            if (!sqlMap.containsKey(each.getDataSource())) {
+                sqlMap.put(each.getDataSource(), new LinkedList<String>());
+            }
+            sqlMap.get(each.getDataSource()).add(each.getSql());
+        }
+        if (sqlMap.size() == sqlRouteResult.getExecutionUnits().size()) {
+            return;
+        }
+        sqlRouteResult.getExecutionUnits().clear();
+        for (Entry<String, List<String>> entry : sqlMap.entrySet()) {
+            if (1 == entry.getValue().size()) {
+                sqlRouteResult.getExecutionUnits().add(new SQLExecutionUnit(entry.getKey(), entry.getValue().get(0), null));
+                continue;
+            }
+            List<Integer> parameterIndexes = null;
+            if (!parameters.isEmpty()) {
+                parameterIndexes = new ArrayList<>(parameters.size() * entry.getValue().size());
+                for (int i = 0; i < entry.getValue().size(); i++) {
+                    for (int j = 0; j < parameters.size(); j++) {
+                        parameterIndexes.add(j);
+                    }
+                }
+            }
+            sqlRouteResult.getExecutionUnits().add(new SQLExecutionUnit(entry.getKey(), rewriteEngine.generateUnionAllSQL(entry.getValue()), parameterIndexes));
+        }
+    }
+    
     /**
      * 处理 插入SQL 主键字段
      * 当 主键编号 未生成时，{@link ShardingRule#generateKey(String)} 进行生成
@@ -147,7 +284,19 @@ public final class ParsingSQLRouter implements SQLRouter {
      * @param sqlRouteResult SQL路由结果
      */
     private void processGeneratedKey(final List<Object> parameters, final InsertStatement insertStatement, final SQLRouteResult sqlRouteResult) {
-        GeneratedKey generatedKey = insertStatement.getGeneratedKey();
+        if (!insertStatement.isMultipleValues()) {
+            processGeneratedKey(parameters, insertStatement, insertStatement.getGeneratedKey(), sqlRouteResult);
+            return;
+        }
+        // 多行插入按行处理, 生成的主键编号按行依次追加到参数末尾
+        for (InsertValue each : insertStatement.getInsertValues()) {
+            if (null != each.getGeneratedKey()) {
+                processGeneratedKey(parameters, insertStatement, each.getGeneratedKey(), sqlRouteResult);
+            }
+        }
+    }
+    
+    private void processGeneratedKey(final List<Object> parameters, final InsertStatement insertStatement, final GeneratedKey generatedKey, final SQLRouteResult sqlRouteResult) {
         if (parameters.isEmpty()) { // 已有主键，无占位符，INSERT INTO t_order(order_id, user_id) VALUES (1, 100);
             sqlRouteResult.getGeneratedKeys().add(generatedKey.getValue());
         } else if (parameters.size() == generatedKey.getIndex()) { // 主键字段不存在存在，INSERT INTO t_order(user_id) VALUES(?);
@@ -158,7 +307,7 @@ public final class ParsingSQLRouter implements SQLRouter {
             setGeneratedKeys(sqlRouteResult, (Number) parameters.get(generatedKey.getIndex()));
         }
     }
-
+    
     /**
      * 设置 主键编号 到 SQL路由结果
      *
@@ -170,11 +319,11 @@ public final class ParsingSQLRouter implements SQLRouter {
         sqlRouteResult.getGeneratedKeys().clear();
         sqlRouteResult.getGeneratedKeys().addAll(generatedKeys);
     }
-
+    
     /**
      * 处理分页条件
      *
-     * @see SQLRewriteEngine#appendLimitRowCount(SQLBuilder, RowCountToken, int, List, boolean)
+     * @see SQLRewriteEngine#generateSQL(TableUnit, boolean)
      * @param parameters 占位符对应参数列表
      * @param selectStatement Select SQL语句对象
      * @param isSingleRouting 是否单表路由
@@ -185,5 +334,5 @@ public final class ParsingSQLRouter implements SQLRouter {
                                 && !selectStatement.isSameGroupByAndOrderByItems(); // [2] 如果排序一致，即各分片已经排序好结果，就不需要全部加载
         selectStatement.getLimit().processParameters(parameters, !isSingleRouting, isNeedFetchAll);
     }
-
+    
 }
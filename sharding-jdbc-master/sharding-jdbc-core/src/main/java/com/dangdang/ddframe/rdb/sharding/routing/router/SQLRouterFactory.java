@@ -34,9 +34,10 @@ public final class SQLRouterFactory {
      * 创建SQL路由器.
      * 
      * @param shardingContext 数据源运行期上下文
+     * @param explain 是否仅用于解释路由, 解释路由时不记录路由统计且不检查扇出数量
      * @return SQL路由器
      */
-    public static SQLRouter createSQLRouter(final ShardingContext shardingContext) {
-        return HintManagerHolder.isDatabaseShardingOnly() ? new DatabaseHintSQLRouter(shardingContext) : new ParsingSQLRouter(shardingContext);
+    public static SQLRouter createSQLRouter(final ShardingContext shardingContext, final boolean explain) {
+        return HintManagerHolder.isDatabaseShardingOnly() ? new DatabaseHintSQLRouter(shardingContext, explain) : new ParsingSQLRouter(shardingContext, explain);
     }
 }
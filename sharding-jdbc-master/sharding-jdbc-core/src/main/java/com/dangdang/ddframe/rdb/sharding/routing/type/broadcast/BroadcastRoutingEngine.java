@@ -0,0 +1,63 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing.type.broadcast;
+
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
+import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingEngine;
+import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingResult;
+import com.dangdang.ddframe.rdb.sharding.routing.type.TableUnit;
+import com.google.common.collect.Iterables;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 广播表路由引擎.
+ * 
+ * <p>
+ * 仅包含广播表的查询随机路由至一个数据源, 修改路由至全部数据源.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+@RequiredArgsConstructor
+public final class BroadcastRoutingEngine implements RoutingEngine {
+    
+    private final ShardingRule shardingRule;
+    
+    private final String logicTableName;
+    
+    private final SQLType sqlType;
+    
+    @Override
+    public RoutingResult route() {
+        Collection<String> dataSourceNames = shardingRule.getDataSourceRule().getDataSourceNames();
+        RoutingResult result = new RoutingResult();
+        if (SQLType.DQL == sqlType) {
+            String dataSourceName = Iterables.get(dataSourceNames, ThreadLocalRandom.current().nextInt(dataSourceNames.size()));
+            result.getTableUnits().getTableUnits().add(new TableUnit(dataSourceName, logicTableName, logicTableName));
+            return result;
+        }
+        for (String each : dataSourceNames) {
+            result.getTableUnits().getTableUnits().add(new TableUnit(each, logicTableName, logicTableName));
+        }
+        return result;
+    }
+}
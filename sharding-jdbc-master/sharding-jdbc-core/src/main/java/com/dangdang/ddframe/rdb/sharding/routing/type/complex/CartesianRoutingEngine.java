@@ -17,20 +17,28 @@
 
 package com.dangdang.ddframe.rdb.sharding.routing.type.complex;
 
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.api.rule.TableRule;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.table.TableShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.dangdang.ddframe.rdb.sharding.hint.HintManagerHolder;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.JoinCondition;
 import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingEngine;
 import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingResult;
 import com.dangdang.ddframe.rdb.sharding.routing.type.TableUnit;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -39,23 +47,48 @@ import java.util.Set;
 /**
  * 笛卡尔积的库表路由.
  * 
+ * <p>
+ * 逐个生成笛卡尔积组合, 并根据分片列的等值关联条件跳过不可能存在关联数据的组合.
+ * 两个逻辑表使用同一表分片策略, 且以该策略唯一的分片列等值关联时, 只组合真实表后缀相同的路由表单元.
+ * 组合数量超出上限时立即抛出异常, 不生成后续组合.
+ * </p>
+ * 
  * @author zhangliang
  */
 @RequiredArgsConstructor
 @Slf4j
 public final class CartesianRoutingEngine implements RoutingEngine {
     
+    private final ShardingRule shardingRule;
+    
     private final Collection<RoutingResult> routingResults;
     
+    private final Collection<JoinCondition> joinConditions;
+    
+    /**
+     * 笛卡尔积组合数量上限, 为0时不限制
+     */
+    private final int maxCartesianSize;
+    
     @Override
     public CartesianRoutingResult route() {
         CartesianRoutingResult result = new CartesianRoutingResult();
+        int cartesianSize = 0;
         for (Entry<String, Set<String>> entry : getDataSourceLogicTablesMap().entrySet()) { // Entry<数据源（库）, Set<逻辑表>> entry
             // 获得当前数据源（库）的 路由表单元分组
             List<Set<String>> actualTableGroups = getActualTableGroups(entry.getKey(), entry.getValue()); // List<Set<真实表>>
-            List<Set<TableUnit>> tableUnitGroups = toTableUnitGroups(entry.getKey(), actualTableGroups);
+            List<List<TableUnit>> tableUnitGroups = toTableUnitGroups(entry.getKey(), actualTableGroups);
             // 笛卡尔积，并合并结果
-            result.merge(entry.getKey(), getCartesianTableReferences(Sets.cartesianProduct(tableUnitGroups)));
+            List<CartesianTableReference> cartesianTableReferences = new LinkedList<>();
+            Iterator<CartesianTableReference> iterator = new CartesianTableReferenceIterator(tableUnitGroups, getAlignedGroups(entry.getKey(), tableUnitGroups));
+            while (iterator.hasNext()) {
+                cartesianSize++;
+                if (maxCartesianSize > 0 && cartesianSize > maxCartesianSize) {
+                    throw new ShardingJdbcException("Cartesian routing size exceeds max size %s, logic tables: %s", maxCartesianSize, entry.getValue());
+                }
+                cartesianTableReferences.add(iterator.next());
+            }
+            result.merge(entry.getKey(), cartesianTableReferences);
         }
         log.trace("cartesian tables sharding result: {}", result);
         return result;
@@ -106,10 +139,10 @@ public final class CartesianRoutingEngine implements RoutingEngine {
         return result;
     }
     
-    private List<Set<TableUnit>> toTableUnitGroups(final String dataSource, final List<Set<String>> actualTableGroups) {
-        List<Set<TableUnit>> result = new ArrayList<>(actualTableGroups.size());
+    private List<List<TableUnit>> toTableUnitGroups(final String dataSource, final List<Set<String>> actualTableGroups) {
+        List<List<TableUnit>> result = new ArrayList<>(actualTableGroups.size());
         for (Set<String> each : actualTableGroups) {
-            result.add(new HashSet<>(Lists.transform(new ArrayList<>(each), new Function<String, TableUnit>() {
+            result.add(new ArrayList<>(Lists.transform(new ArrayList<>(each), new Function<String, TableUnit>() {
     
                 @Override
                 public TableUnit apply(final String input) {
@@ -130,10 +163,59 @@ public final class CartesianRoutingEngine implements RoutingEngine {
         throw new IllegalStateException(String.format("Cannot found routing table factor, data source: %s, actual table: %s", dataSource, actualTable));
     }
     
-    private List<CartesianTableReference> getCartesianTableReferences(final Set<List<TableUnit>> cartesianTableUnitGroups) {
-        List<CartesianTableReference> result = new ArrayList<>(cartesianTableUnitGroups.size());
-        for (List<TableUnit> each : cartesianTableUnitGroups) {
-            result.add(new CartesianTableReference(each));
+    /**
+     * 获取路由表单元组之间的对齐关系.
+     * 
+     * <p>
+     * 使用分片提示时, 各逻辑表的分片值与关联条件无关, 不进行对齐.
+     * </p>
+     * 
+     * @param dataSource 数据源名称
+     * @param tableUnitGroups 路由表单元组
+     * @return 路由表单元组之间是否对齐
+     */
+    private boolean[][] getAlignedGroups(final String dataSource, final List<List<TableUnit>> tableUnitGroups) {
+        boolean[][] result = new boolean[tableUnitGroups.size()][tableUnitGroups.size()];
+        if (joinConditions.isEmpty() || HintManagerHolder.isUseShardingHint()) {
+            return result;
+        }
+        for (int i = 0; i < tableUnitGroups.size(); i++) {
+            for (int j = i + 1; j < tableUnitGroups.size(); j++) {
+                result[i][j] = !tableUnitGroups.get(i).isEmpty() && !tableUnitGroups.get(j).isEmpty()
+                        && isAligned(dataSource, tableUnitGroups.get(i).get(0).getLogicTableName(), tableUnitGroups.get(j).get(0).getLogicTableName());
+            }
+        }
+        return result;
+    }
+    
+    private boolean isAligned(final String dataSource, final String logicTableName, final String otherLogicTableName) {
+        Optional<TableRule> tableRule = shardingRule.tryFindTableRule(logicTableName);
+        Optional<TableRule> otherTableRule = shardingRule.tryFindTableRule(otherLogicTableName);
+        if (!tableRule.isPresent() || !otherTableRule.isPresent()) {
+            return false;
+        }
+        TableShardingStrategy tableShardingStrategy = shardingRule.getTableShardingStrategy(tableRule.get());
+        if (tableShardingStrategy != shardingRule.getTableShardingStrategy(otherTableRule.get()) || 1 != tableShardingStrategy.getShardingColumns().size()) {
+            return false;
+        }
+        String shardingColumn = tableShardingStrategy.getShardingColumns().iterator().next();
+        for (JoinCondition each : joinConditions) {
+            if (each.isJoined(logicTableName, otherLogicTableName) && shardingColumn.equalsIgnoreCase(each.getColumn(logicTableName).getName())
+                    && shardingColumn.equalsIgnoreCase(each.getColumn(otherLogicTableName).getName())) {
+                Set<String> suffixes = getActualTableSuffixes(tableRule.get(), dataSource);
+                return !suffixes.isEmpty() && suffixes.equals(getActualTableSuffixes(otherTableRule.get(), dataSource));
+            }
+        }
+        return false;
+    }
+    
+    private Set<String> getActualTableSuffixes(final TableRule tableRule, final String dataSource) {
+        Set<String> result = new HashSet<>();
+        for (String each : tableRule.getActualTableNames(dataSource)) {
+            if (!each.toLowerCase().startsWith(tableRule.getLogicTable().toLowerCase())) {
+                return Collections.emptySet();
+            }
+            result.add(each.substring(tableRule.getLogicTable().length()).toLowerCase());
         }
         return result;
     }
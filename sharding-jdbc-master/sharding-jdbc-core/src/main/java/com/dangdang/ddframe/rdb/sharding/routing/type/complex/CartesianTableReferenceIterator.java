@@ -0,0 +1,138 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing.type.complex;
+
+import com.dangdang.ddframe.rdb.sharding.routing.type.TableUnit;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 笛卡尔积表路由组迭代器.
+ * 
+ * <p>
+ * 按需逐个生成笛卡尔积组合, 不预先生成全部组合.
+ * 互为对齐关系的两组路由表单元只组合真实表后缀相同的路由表单元, 不满足的组合连同其后续组合一并跳过.
+ * </p>
+ * 
+ * @author zhangliang
+ */
+final class CartesianTableReferenceIterator implements Iterator<CartesianTableReference> {
+    
+    private final List<List<TableUnit>> tableUnitGroups;
+    
+    /**
+     * 路由表单元组之间是否对齐, 仅使用 i < j 的部分
+     */
+    private final boolean[][] alignedGroups;
+    
+    private final int[] indexes;
+    
+    private boolean ready;
+    
+    private boolean exhausted;
+    
+    CartesianTableReferenceIterator(final List<List<TableUnit>> tableUnitGroups, final boolean[][] alignedGroups) {
+        this.tableUnitGroups = tableUnitGroups;
+        this.alignedGroups = alignedGroups;
+        indexes = new int[tableUnitGroups.size()];
+        exhausted = tableUnitGroups.isEmpty() || !seek(0);
+        ready = !exhausted;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (!ready && !exhausted) {
+            int last = indexes.length - 1;
+            indexes[last]++;
+            exhausted = !seek(last);
+            ready = !exhausted;
+        }
+        return ready;
+    }
+    
+    @Override
+    public CartesianTableReference next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        List<TableUnit> result = new ArrayList<>(indexes.length);
+        for (int i = 0; i < indexes.length; i++) {
+            result.add(tableUnitGroups.get(i).get(indexes[i]));
+        }
+        return new CartesianTableReference(result);
+    }
+    
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+    
+    /**
+     * 从指定组的当前位置开始查找下一个满足对齐关系的组合.
+     * 
+     * @param depth 开始查找的组
+     * @return 是否找到
+     */
+    private boolean seek(final int depth) {
+        int current = depth;
+        while (current >= 0) {
+            if (indexes[current] >= tableUnitGroups.get(current).size()) {
+                indexes[current] = 0;
+                current--;
+                if (current >= 0) {
+                    indexes[current]++;
+                }
+                continue;
+            }
+            if (!isAligned(current)) {
+                indexes[current]++;
+                continue;
+            }
+            if (current == indexes.length - 1) {
+                return true;
+            }
+            current++;
+            indexes[current] = 0;
+        }
+        return false;
+    }
+    
+    private boolean isAligned(final int current) {
+        TableUnit tableUnit = tableUnitGroups.get(current).get(indexes[current]);
+        for (int i = 0; i < current; i++) {
+            if (alignedGroups[i][current] && !getSuffix(tableUnitGroups.get(i).get(indexes[i])).equalsIgnoreCase(getSuffix(tableUnit))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 获取真实表名去掉逻辑表名前缀后的后缀.
+     * 
+     * @param tableUnit 路由表单元
+     * @return 真实表后缀
+     */
+    static String getSuffix(final TableUnit tableUnit) {
+        return tableUnit.getActualTableName().substring(tableUnit.getLogicTableName().length());
+    }
+}
@@ -54,6 +54,8 @@ public final class ComplexRoutingEngine implements RoutingEngine {
     
     private final SQLStatement sqlStatement;
     
+    private final int maxCartesianSize;
+    
     @Override
     public RoutingResult route() {
         Collection<RoutingResult> result = new ArrayList<>(logicTables.size());
@@ -87,7 +89,7 @@ public final class ComplexRoutingEngine implements RoutingEngine {
             return result.iterator().next();
         }
         // 交给 CartesianRoutingEngine 形成笛卡尔积结果
-        return new CartesianRoutingEngine(result).route();
+        return new CartesianRoutingEngine(shardingRule, result, sqlStatement.getConditions().getJoinConditions(), maxCartesianSize).route();
     }
 
 }
\ No newline at end of file
@@ -18,6 +18,7 @@
 package com.dangdang.ddframe.rdb.sharding.routing.type.simple;
 
 import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import com.dangdang.ddframe.rdb.sharding.api.rule.BindingTableRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.DataNode;
 import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.TableRule;
@@ -27,17 +28,22 @@ import com.dangdang.ddframe.rdb.sharding.hint.HintManagerHolder;
 import com.dangdang.ddframe.rdb.sharding.hint.ShardingKey;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Column;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Condition;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Conditions;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.SQLStatement;
+import com.dangdang.ddframe.rdb.sharding.routing.RoutingResultCache;
 import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingEngine;
 import com.dangdang.ddframe.rdb.sharding.routing.type.RoutingResult;
 import com.dangdang.ddframe.rdb.sharding.routing.type.TableUnit;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
-import lombok.RequiredArgsConstructor;
+import lombok.AllArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -47,7 +53,7 @@ import java.util.Map.Entry;
  * 
  * @author zhangliang
  */
-@RequiredArgsConstructor
+@AllArgsConstructor
 public final class SimpleRoutingEngine implements RoutingEngine {
     
     private final ShardingRule shardingRule;
@@ -56,32 +62,97 @@ public final class SimpleRoutingEngine implements RoutingEngine {
     
     private final String logicTableName;
     
-    private final SQLStatement sqlStatement;
+    private final Conditions conditions;
+    
+    private final RoutingResultCache routingResultCache;
+    
+    public SimpleRoutingEngine(final ShardingRule shardingRule, final List<Object> parameters, final String logicTableName, final Conditions conditions) {
+        this(shardingRule, parameters, logicTableName, conditions, null);
+    }
+    
+    public SimpleRoutingEngine(final ShardingRule shardingRule, final List<Object> parameters, final String logicTableName, final SQLStatement sqlStatement) {
+        this(shardingRule, parameters, logicTableName, sqlStatement.getConditions(), null);
+    }
+    
+    public SimpleRoutingEngine(final ShardingRule shardingRule, final List<Object> parameters, final String logicTableName, final SQLStatement sqlStatement, 
+                               final RoutingResultCache routingResultCache) {
+        this(shardingRule, parameters, logicTableName, sqlStatement.getConditions(), routingResultCache);
+    }
     
     @Override
     public RoutingResult route() {
         TableRule tableRule = shardingRule.getTableRule(logicTableName);
-        Collection<String> routedDataSources = routeDataSources(tableRule);
-        Map<String, Collection<String>> routedMap = new LinkedHashMap<>(routedDataSources.size());
+        DatabaseShardingStrategy databaseShardingStrategy = shardingRule.getDatabaseShardingStrategy(tableRule);
+        TableShardingStrategy tableShardingStrategy = shardingRule.getTableShardingStrategy(tableRule);
+        if (HintManagerHolder.isUseShardingHint()) {
+            return generateRoutingResult(tableRule, route(tableRule, 
+                    getDatabaseShardingValuesFromHint(databaseShardingStrategy.getShardingColumns()), getTableShardingValuesFromHint(tableShardingStrategy.getShardingColumns())));
+        }
+        List<Conditions> orGroups = conditions.getOrGroups();
+        if (orGroups.isEmpty()) {
+            orGroups = Collections.singletonList(conditions);
+        }
+        // 每个条件组依次包含分库和分表的分片值
+        List<List<ShardingValue<?>>> shardingValues = new ArrayList<>(orGroups.size() * 2);
+        for (Conditions each : orGroups) {
+            shardingValues.add(getShardingValues(databaseShardingStrategy.getShardingColumns(), each));
+            shardingValues.add(getShardingValues(tableShardingStrategy.getShardingColumns(), each));
+        }
+        if (null == routingResultCache || !routingResultCache.isEnabled()) {
+            return generateRoutingResult(tableRule, route(tableRule, shardingValues));
+        }
+        Optional<List<TableUnit>> cachedTableUnits = routingResultCache.get(shardingRule, logicTableName, shardingValues);
+        if (cachedTableUnits.isPresent()) {
+            RoutingResult result = new RoutingResult();
+            result.getTableUnits().getTableUnits().addAll(cachedTableUnits.get());
+            return result;
+        }
+        RoutingResult result = generateRoutingResult(tableRule, route(tableRule, shardingValues));
+        routingResultCache.put(shardingRule, logicTableName, shardingValues, result.getTableUnits().getTableUnits());
+        return result;
+    }
+    
+    private Map<String, Collection<String>> route(final TableRule tableRule, final List<List<ShardingValue<?>>> shardingValues) {
+        if (2 == shardingValues.size()) {
+            return route(tableRule, shardingValues.get(0), shardingValues.get(1));
+        }
+        // OR 条件按条件组分别路由, 取并集
+        Map<String, Collection<String>> routedMap = new HashMap<>();
+        for (int i = 0; i < shardingValues.size(); i += 2) {
+            for (Entry<String, Collection<String>> entry : route(tableRule, shardingValues.get(i), shardingValues.get(i + 1)).entrySet()) {
+                if (!routedMap.containsKey(entry.getKey())) {
+                    routedMap.put(entry.getKey(), new LinkedHashSet<String>());
+                }
+                routedMap.get(entry.getKey()).addAll(entry.getValue());
+            }
+        }
+        Map<String, Collection<String>> result = new LinkedHashMap<>(routedMap.size(), 1);
+        for (String each : tableRule.getActualDatasourceNames()) {
+            if (routedMap.containsKey(each)) {
+                result.put(each, routedMap.get(each));
+            }
+        }
+        return result;
+    }
+    
+    private Map<String, Collection<String>> route(final TableRule tableRule, final List<ShardingValue<?>> databaseShardingValues, final List<ShardingValue<?>> tableShardingValues) {
+        Collection<String> routedDataSources = routeDataSources(tableRule, databaseShardingValues);
+        Map<String, Collection<String>> result = new LinkedHashMap<>(routedDataSources.size());
         for (String each : routedDataSources) {
-            routedMap.put(each, routeTables(tableRule, each));
+            result.put(each, routeTables(tableRule, each, tableShardingValues));
         }
-        return generateRoutingResult(tableRule, routedMap);
+        return result;
     }
     
-    private Collection<String> routeDataSources(final TableRule tableRule) {
+    private Collection<String> routeDataSources(final TableRule tableRule, final List<ShardingValue<?>> shardingValues) {
         DatabaseShardingStrategy strategy = shardingRule.getDatabaseShardingStrategy(tableRule);
-        List<ShardingValue<?>> shardingValues = HintManagerHolder.isUseShardingHint() ? getDatabaseShardingValuesFromHint(strategy.getShardingColumns())
-                : getShardingValues(strategy.getShardingColumns());
         Collection<String> result = strategy.doStaticSharding(tableRule.getActualDatasourceNames(), shardingValues);
         Preconditions.checkState(!result.isEmpty(), "no database route info");
         return result;
     }
     
-    private Collection<String> routeTables(final TableRule tableRule, final String routedDataSource) {
+    private Collection<String> routeTables(final TableRule tableRule, final String routedDataSource, final List<ShardingValue<?>> shardingValues) {
         TableShardingStrategy strategy = shardingRule.getTableShardingStrategy(tableRule);
-        List<ShardingValue<?>> shardingValues = HintManagerHolder.isUseShardingHint() ? getTableShardingValuesFromHint(strategy.getShardingColumns())
-                : getShardingValues(strategy.getShardingColumns());
         Collection<String> result = tableRule.isDynamic() ? strategy.doDynamicSharding(shardingValues) : strategy.doStaticSharding(tableRule.getActualTableNames(routedDataSource), shardingValues);
         Preconditions.checkState(!result.isEmpty(), "no table route info");
         return result;
@@ -109,10 +180,13 @@ public final class SimpleRoutingEngine implements RoutingEngine {
         return result;
     }
     
-    private List<ShardingValue<?>> getShardingValues(final Collection<String> shardingColumns) {
+    private List<ShardingValue<?>> getShardingValues(final Collection<String> shardingColumns, final Conditions conditions) {
         List<ShardingValue<?>> result = new ArrayList<>(shardingColumns.size());
         for (String each : shardingColumns) {
-            Optional<Condition> condition = sqlStatement.getConditions().find(new Column(each, logicTableName));
+            Optional<Condition> condition = conditions.find(new Column(each, logicTableName));
+            if (!condition.isPresent()) {
+                condition = findBindingTableCondition(each, conditions);
+            }
             if (condition.isPresent()) {
                 result.add(condition.get().getShardingValue(parameters));
             }
@@ -120,6 +194,34 @@ public final class SimpleRoutingEngine implements RoutingEngine {
         return result;
     }
     
+    /**
+     * 查找Binding表同名分片列的条件.
+     * 
+     * <p>
+     * Binding表之间按相同的分片值对应, 其他Binding表分片列的条件同样适用于当前逻辑表.
+     * </p>
+     * 
+     * @param shardingColumn 分片列名称
+     * @param conditions 条件对象集合
+     * @return 作用于当前逻辑表的条件对象
+     */
+    private Optional<Condition> findBindingTableCondition(final String shardingColumn, final Conditions conditions) {
+        Optional<BindingTableRule> bindingTableRule = shardingRule.findBindingTableRule(logicTableName);
+        if (!bindingTableRule.isPresent()) {
+            return Optional.absent();
+        }
+        for (TableRule each : bindingTableRule.get().getTableRules()) {
+            if (each.getLogicTable().equalsIgnoreCase(logicTableName)) {
+                continue;
+            }
+            Optional<Condition> condition = conditions.find(new Column(shardingColumn, each.getLogicTable()));
+            if (condition.isPresent()) {
+                return Optional.of(condition.get().replaceColumn(new Column(shardingColumn, logicTableName)));
+            }
+        }
+        return Optional.absent();
+    }
+    
     private RoutingResult generateRoutingResult(final TableRule tableRule, final Map<String, Collection<String>> routedMap) {
         RoutingResult result = new RoutingResult();
         for (Entry<String, Collection<String>> entry : routedMap.entrySet()) {
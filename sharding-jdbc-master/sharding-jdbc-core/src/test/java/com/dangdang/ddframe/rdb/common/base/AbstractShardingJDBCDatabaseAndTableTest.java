@@ -35,6 +35,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 public abstract class AbstractShardingJDBCDatabaseAndTableTest extends AbstractSQLTest {
     
@@ -56,23 +57,34 @@ public abstract class AbstractShardingJDBCDatabaseAndTableTest extends AbstractS
         isShutdown = false;
         Map<DatabaseType, Map<String, DataSource>> dataSourceMap = createDataSourceMap();
         for (Map.Entry<DatabaseType, Map<String, DataSource>> each : dataSourceMap.entrySet()) {
-            DataSourceRule dataSourceRule = new DataSourceRule(each.getValue());
-            TableRule orderTableRule = TableRule.builder("t_order").actualTables(Arrays.asList(
-                    "t_order_0",
-                    "t_order_1")).dataSourceRule(dataSourceRule).build();
-            TableRule orderItemTableRule = TableRule.builder("t_order_item").actualTables(Arrays.asList(
-                    "t_order_item_0",
-                    "t_order_item_1")).dataSourceRule(dataSourceRule).generateKeyColumn("item_id", IncrementKeyGenerator.class).build();
-            TableRule configRule = TableRule.builder("t_config").dataSourceRule(dataSourceRule).build();
-            ShardingRule shardingRule = ShardingRule.builder().dataSourceRule(dataSourceRule).tableRules(Arrays.asList(orderTableRule, orderItemTableRule, configRule))
-                    .bindingTableRules(Collections.singletonList(new BindingTableRule(Arrays.asList(orderTableRule, orderItemTableRule))))
-                    .databaseShardingStrategy(new DatabaseShardingStrategy("user_id", new OrderShardingAlgorithm()))
-                    .tableShardingStrategy(new TableShardingStrategy("order_id", new OrderShardingAlgorithm())).build();
-            shardingDataSources.put(each.getKey(), new ShardingDataSource(shardingRule));
+            shardingDataSources.put(each.getKey(), new ShardingDataSource(createShardingRule(each.getValue())));
         }
         return shardingDataSources;
     }
     
+    protected final Map<DatabaseType, ShardingDataSource> createShardingDataSources(final Properties props) {
+        Map<DatabaseType, ShardingDataSource> result = new HashMap<>();
+        for (Map.Entry<DatabaseType, Map<String, DataSource>> each : createDataSourceMap().entrySet()) {
+            result.put(each.getKey(), new ShardingDataSource(createShardingRule(each.getValue()), props));
+        }
+        return result;
+    }
+    
+    private ShardingRule createShardingRule(final Map<String, DataSource> dataSourceMap) {
+        DataSourceRule dataSourceRule = new DataSourceRule(dataSourceMap);
+        TableRule orderTableRule = TableRule.builder("t_order").actualTables(Arrays.asList(
+                "t_order_0",
+                "t_order_1")).dataSourceRule(dataSourceRule).build();
+        TableRule orderItemTableRule = TableRule.builder("t_order_item").actualTables(Arrays.asList(
+                "t_order_item_0",
+                "t_order_item_1")).dataSourceRule(dataSourceRule).generateKeyColumn("item_id", IncrementKeyGenerator.class).build();
+        TableRule configRule = TableRule.builder("t_config").dataSourceRule(dataSourceRule).build();
+        return ShardingRule.builder().dataSourceRule(dataSourceRule).tableRules(Arrays.asList(orderTableRule, orderItemTableRule, configRule))
+                .bindingTableRules(Collections.singletonList(new BindingTableRule(Arrays.asList(orderTableRule, orderItemTableRule))))
+                .databaseShardingStrategy(new DatabaseShardingStrategy("user_id", new OrderShardingAlgorithm()))
+                .tableShardingStrategy(new TableShardingStrategy("order_id", new OrderShardingAlgorithm())).build();
+    }
+    
     @AfterClass
     public static void clear() {
         isShutdown = true;
@@ -1,5 +1,7 @@
 package com.dangdang.ddframe.rdb.common.jaxb.helper;
 
+import com.dangdang.ddframe.rdb.sharding.api.fixture.ShardingRuleMockBuilder;
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
 import com.dangdang.ddframe.rdb.sharding.constant.AggregationType;
 import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
 import com.dangdang.ddframe.rdb.sharding.constant.OrderType;
@@ -8,6 +10,7 @@ import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.OrderItem;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Column;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Condition;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Conditions;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.JoinCondition;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.limit.Limit;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.limit.LimitValue;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.selectitem.AggregationSelectItem;
@@ -102,6 +105,17 @@ public class ParserJAXBHelper {
             }
             result.add(condition);
         }
+        if (null == assertObj.getConditions().getJoinConditions()) {
+            return result;
+        }
+        ShardingRuleMockBuilder shardingRuleMockBuilder = new ShardingRuleMockBuilder();
+        for (com.dangdang.ddframe.rdb.sharding.parsing.parser.jaxb.JoinCondition each : assertObj.getConditions().getJoinConditions()) {
+            shardingRuleMockBuilder.addShardingColumns(each.getLeftColumnName()).addShardingColumns(each.getRightColumnName());
+        }
+        ShardingRule shardingRule = shardingRuleMockBuilder.build();
+        for (com.dangdang.ddframe.rdb.sharding.parsing.parser.jaxb.JoinCondition each : assertObj.getConditions().getJoinConditions()) {
+            result.addJoinCondition(new JoinCondition(new Column(each.getLeftColumnName(), each.getLeftTableName()), new Column(each.getRightColumnName(), each.getRightTableName())), shardingRule);
+        }
         return result;
     }
     
@@ -26,6 +26,11 @@ import com.dangdang.ddframe.rdb.sharding.api.rule.TableRuleTest;
 import com.dangdang.ddframe.rdb.sharding.api.strategy.common.ShardingStrategyTest;
 import com.dangdang.ddframe.rdb.sharding.api.strategy.database.DatabaseShardingStrategyTest;
 import com.dangdang.ddframe.rdb.sharding.api.strategy.database.NoneDatabaseShardingAlgorithmTest;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.hash.ConsistentHashShardingAlgorithmTest;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.hash.HashModShardingAlgorithmTest;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.hash.ModuloShardingAlgorithmTest;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.range.DateRangeShardingAlgorithmTest;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.range.NumericRangeShardingAlgorithmTest;
 import com.dangdang.ddframe.rdb.sharding.api.strategy.slave.RoundRobinSlaveLoadBalanceStrategyTest;
 import com.dangdang.ddframe.rdb.sharding.api.strategy.table.NoneTableShardingAlgorithmTest;
 import com.dangdang.ddframe.rdb.sharding.api.strategy.table.TableShardingStrategyTest;
@@ -51,6 +56,11 @@ import org.junit.runners.Suite;
     NoneDatabaseShardingAlgorithmTest.class, 
     TableShardingStrategyTest.class, 
     NoneTableShardingAlgorithmTest.class, 
+    NumericRangeShardingAlgorithmTest.class, 
+    DateRangeShardingAlgorithmTest.class, 
+    ModuloShardingAlgorithmTest.class, 
+    HashModShardingAlgorithmTest.class, 
+    ConsistentHashShardingAlgorithmTest.class, 
     HintManagerTest.class, 
     MasterSlaveDataSourceFactoryTest.class, 
     RoundRobinSlaveLoadBalanceStrategyTest.class
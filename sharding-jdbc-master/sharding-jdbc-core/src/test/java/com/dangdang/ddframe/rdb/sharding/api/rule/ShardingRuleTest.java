@@ -222,6 +222,21 @@ public final class ShardingRuleTest {
                 .tableRules(Collections.singletonList(createTableRuleWithAllStrategies())).build().isShardingColumn(new Column("column", "otherTable")));
     }
     
+    @Test
+    public void assertIsBroadcastTable() {
+        ShardingRule actual = ShardingRule.builder().dataSourceRule(createDataSourceRule())
+                .tableRules(Collections.singletonList(createTableRule())).broadcastTableRules(Collections.singletonList(new BroadcastTableRule("config"))).build();
+        assertTrue(actual.isBroadcastTable("CONFIG"));
+        assertFalse(actual.isBroadcastTable("logicTable"));
+        assertThat(actual.filterNonBroadcastTables(Arrays.asList("logicTable", "config")), is((Collection<String>) Collections.singletonList("logicTable")));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertBroadcastTableConfiguredAsShardingTable() {
+        ShardingRule.builder().dataSourceRule(createDataSourceRule())
+                .tableRules(Collections.singletonList(createTableRule())).broadcastTableRules(Collections.singletonList(new BroadcastTableRule("logicTable"))).build();
+    }
+    
     private ShardingRule createShardingRule() {
         return ShardingRule.builder().dataSourceRule(createDataSourceRule())
                 .tableRules(Collections.singletonList(createTableRule())).bindingTableRules(Collections.singletonList(createBindingTableRule())).build();
@@ -33,6 +33,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -171,11 +172,25 @@ public final class TableRuleTest {
         assertThat(actual.getActualTableNames("ds1"), is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("table_0", "table_1", "table_2"))));
     }
     
+    @Test(expected = UnsupportedOperationException.class)
+    public void assertGetActualTableNamesIsReadOnly() {
+        TableRule actual = TableRule.builder("logicTable").actualTables(Arrays.asList("ds0.table_0", "ds0.table_1", "ds1.table_0", "ds1.table_1")).build();
+        assertThat(actual.getActualTableNames("ds1"), sameInstance(actual.getActualTableNames("ds1")));
+        actual.getActualTableNames("ds1").add("table_2");
+    }
+    
+    @Test
+    public void assertGetActualTableNamesForNotFound() {
+        TableRule actual = TableRule.builder("logicTable").actualTables(Arrays.asList("ds0.table_0", "ds0.table_1", "ds1.table_0", "ds1.table_1")).build();
+        assertTrue(actual.getActualTableNames("ds2").isEmpty());
+    }
+    
     @Test
     public void assertFindActualTableIndex() {
         TableRule actual = TableRule.builder("logicTable")
                 .actualTables(Arrays.asList("ds0.table_0", "ds0.table_1", "ds0.table_2", "ds1.table_0", "ds1.table_1", "ds1.table_2")).build();
         assertThat(actual.findActualTableIndex("ds1", "table_1"), is(4));
+        assertThat(actual.findActualTableIndex("DS1", "TABLE_2"), is(5));
     }
     
     @Test
@@ -0,0 +1,65 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.hash;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ConsistentHashShardingAlgorithmTest {
+    
+    @Test
+    public void assertDoEqualShardingWithDistribution() {
+        ConsistentHashShardingAlgorithm shardingAlgorithm = new ConsistentHashShardingAlgorithm("ds_", 4);
+        Map<String, Integer> counts = new HashMap<>(4, 1);
+        for (int i = 0; i < 4000; i++) {
+            String target = doEqualSharding(shardingAlgorithm, i);
+            counts.put(target, counts.containsKey(target) ? counts.get(target) + 1 : 1);
+        }
+        assertThat(counts.size(), is(4));
+        for (int each : counts.values()) {
+            assertTrue(each > 700 && each < 1300);
+        }
+    }
+    
+    @Test
+    public void assertDoEqualShardingWithTargetAdded() {
+        ConsistentHashShardingAlgorithm before = new ConsistentHashShardingAlgorithm("ds_", 4);
+        ConsistentHashShardingAlgorithm after = new ConsistentHashShardingAlgorithm("ds_", 5);
+        int moved = 0;
+        for (int i = 0; i < 5000; i++) {
+            String afterTarget = doEqualSharding(after, i);
+            if (!doEqualSharding(before, i).equals(afterTarget)) {
+                assertThat(afterTarget, is("ds_4"));
+                moved++;
+            }
+        }
+        assertTrue(moved > 600 && moved < 1400);
+    }
+    
+    private String doEqualSharding(final ConsistentHashShardingAlgorithm shardingAlgorithm, final int value) {
+        return shardingAlgorithm.doEqualSharding(Collections.<String>emptyList(), new ShardingValue<Comparable<?>>("t_order", "order_id", value));
+    }
+}
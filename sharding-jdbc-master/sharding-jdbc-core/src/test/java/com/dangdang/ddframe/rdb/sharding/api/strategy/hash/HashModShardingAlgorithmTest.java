@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.hash;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class HashModShardingAlgorithmTest {
+    
+    private final HashModShardingAlgorithm shardingAlgorithm = new HashModShardingAlgorithm(Arrays.asList("t_user_a", "t_user_b", "t_user_c"));
+    
+    @Test
+    public void assertDoEqualShardingWithSameValue() {
+        String expected = shardingAlgorithm.doEqualSharding(Collections.<String>emptyList(), new ShardingValue<Comparable<?>>("t_user", "user_id", 100));
+        assertThat(shardingAlgorithm.doEqualSharding(Collections.<String>emptyList(), new ShardingValue<Comparable<?>>("t_user", "user_id", 100L)), is(expected));
+        assertThat(new HashModShardingAlgorithm(Arrays.asList("t_user_a", "t_user_b", "t_user_c"))
+                .doEqualSharding(Collections.<String>emptyList(), new ShardingValue<Comparable<?>>("t_user", "user_id", 100)), is(expected));
+    }
+    
+    @Test
+    public void assertDoEqualShardingWithDistribution() {
+        Map<String, Integer> counts = new HashMap<>(3, 1);
+        for (int i = 0; i < 3000; i++) {
+            String target = shardingAlgorithm.doEqualSharding(Collections.<String>emptyList(), new ShardingValue<Comparable<?>>("t_user", "user_name", "user_" + i));
+            counts.put(target, counts.containsKey(target) ? counts.get(target) + 1 : 1);
+        }
+        assertThat(counts.size(), is(3));
+        for (int each : counts.values()) {
+            assertTrue(each > 800 && each < 1200);
+        }
+    }
+}
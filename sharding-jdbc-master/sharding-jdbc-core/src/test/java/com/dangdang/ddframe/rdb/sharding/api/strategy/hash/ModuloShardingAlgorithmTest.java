@@ -0,0 +1,82 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.hash;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.database.DatabaseShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class ModuloShardingAlgorithmTest {
+    
+    private final ModuloShardingAlgorithm shardingAlgorithm = new ModuloShardingAlgorithm("ds_", 4);
+    
+    private final Collection<String> targets = Sets.newLinkedHashSet(Arrays.asList("ds_0", "ds_1", "ds_2", "ds_3"));
+    
+    @Test
+    public void assertDoEqualSharding() {
+        assertThat(shardingAlgorithm.doEqualSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", 5)), is("ds_1"));
+        assertThat(shardingAlgorithm.doEqualSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", 6L)), is("ds_2"));
+        assertThat(shardingAlgorithm.doEqualSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", "7")), is("ds_3"));
+        assertThat(shardingAlgorithm.doEqualSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", -1)), is("ds_3"));
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertDoEqualShardingForUnavailableTarget() {
+        shardingAlgorithm.doEqualSharding(Arrays.asList("ds_0", "ds_1"), new ShardingValue<Comparable<?>>("t_order", "user_id", 2));
+    }
+    
+    @Test
+    public void assertDoInSharding() {
+        assertThat(shardingAlgorithm.doInSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", Arrays.<Comparable<?>>asList(1, 5, 8))), 
+                is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("ds_1", "ds_0"))));
+    }
+    
+    @Test
+    public void assertDoBetweenSharding() {
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", Range.<Comparable<?>>closed(3, 4))), 
+                is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("ds_3", "ds_0"))));
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", Range.<Comparable<?>>closed(3, 100))), is(targets));
+    }
+    
+    @Test
+    public void assertDoBetweenShardingWithExtremeBounds() {
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", Range.<Comparable<?>>closed(Long.MIN_VALUE, Long.MAX_VALUE))), is(targets));
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", Range.<Comparable<?>>closed(-1L, Long.MAX_VALUE))), is(targets));
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", Range.<Comparable<?>>closed(Long.MAX_VALUE - 1, Long.MAX_VALUE))), 
+                is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("ds_2", "ds_3"))));
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "user_id", Range.<Comparable<?>>closed(Long.MIN_VALUE, Long.MIN_VALUE + 1))), 
+                is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("ds_0", "ds_1"))));
+    }
+    
+    @Test
+    public void assertDoShardingWithStrategy() {
+        DatabaseShardingStrategy strategy = new DatabaseShardingStrategy("user_id", shardingAlgorithm);
+        assertThat(strategy.doStaticSharding(targets, Collections.<ShardingValue<?>>singletonList(new ShardingValue<Comparable<?>>("t_order", "user_id", 10))), 
+                is((Collection<String>) Sets.newTreeSet(Collections.singletonList("ds_2"))));
+    }
+}
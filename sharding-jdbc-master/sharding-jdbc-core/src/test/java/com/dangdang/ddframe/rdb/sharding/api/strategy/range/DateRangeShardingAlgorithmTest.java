@@ -0,0 +1,60 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.range;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.sql.Timestamp;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class DateRangeShardingAlgorithmTest {
+    
+    @Test
+    public void assertDoEqualSharding() throws ParseException {
+        DateRangeShardingAlgorithm shardingAlgorithm = DateRangeShardingAlgorithm.monthly("t_order_", parse("2017-01-15"), 12);
+        assertThat(shardingAlgorithm.doEqualSharding(Collections.<String>emptyList(), new ShardingValue<Comparable<?>>("t_order", "create_time", "2017-01-01")), is("t_order_201701"));
+        assertThat(shardingAlgorithm.doEqualSharding(Collections.<String>emptyList(), new ShardingValue<Comparable<?>>("t_order", "create_time", "2017-02-28 23:59:59")), is("t_order_201702"));
+        assertThat(shardingAlgorithm.doEqualSharding(
+                Collections.<String>emptyList(), new ShardingValue<Comparable<?>>("t_order", "create_time", new Timestamp(parse("2017-12-31").getTime()))), is("t_order_201712"));
+    }
+    
+    @Test
+    public void assertDoBetweenSharding() throws ParseException {
+        DateRangeShardingAlgorithm shardingAlgorithm = DateRangeShardingAlgorithm.monthly("t_order_", parse("2017-01-01"), 12);
+        Collection<String> targets = Arrays.asList("t_order_201702", "t_order_201703", "t_order_201704", "t_order_201705");
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "create_time", Range.<Comparable<?>>closed("2017-01-20", "2017-03-02"))), 
+                is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("t_order_201702", "t_order_201703"))));
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "create_time", Range.<Comparable<?>>closed(parse("2017-04-03"), parse("2017-04-05")))), 
+                is((Collection<String>) Collections.singleton("t_order_201704")));
+    }
+    
+    private Date parse(final String date) throws ParseException {
+        return new SimpleDateFormat("yyyy-MM-dd").parse(date);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.api.strategy.range;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.table.TableShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class NumericRangeShardingAlgorithmTest {
+    
+    private final NumericRangeShardingAlgorithm shardingAlgorithm = NumericRangeShardingAlgorithm.fixedInterval("t_order_", 0L, 1000L, 8);
+    
+    private final Collection<String> targets = new LinkedHashSet<>(Arrays.asList("t_order_0", "t_order_1", "t_order_2", "t_order_3", "t_order_4", "t_order_5", "t_order_6", "t_order_7"));
+    
+    @Test
+    public void assertDoEqualSharding() {
+        assertThat(shardingAlgorithm.doEqualSharding(targets, new ShardingValue<Comparable<?>>("t_order", "order_id", 999)), is("t_order_0"));
+        assertThat(shardingAlgorithm.doEqualSharding(targets, new ShardingValue<Comparable<?>>("t_order", "order_id", 1000L)), is("t_order_1"));
+        assertThat(shardingAlgorithm.doEqualSharding(targets, new ShardingValue<Comparable<?>>("t_order", "order_id", "7999")), is("t_order_7"));
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertDoEqualShardingForOutOfRange() {
+        shardingAlgorithm.doEqualSharding(targets, new ShardingValue<Comparable<?>>("t_order", "order_id", 8000));
+    }
+    
+    @Test
+    public void assertDoInSharding() {
+        assertThat(shardingAlgorithm.doInSharding(targets, new ShardingValue<Comparable<?>>("t_order", "order_id", Arrays.<Comparable<?>>asList(1, 2500, 2600, 9000))), 
+                is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("t_order_0", "t_order_2"))));
+    }
+    
+    @Test
+    public void assertDoBetweenSharding() {
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "order_id", Range.<Comparable<?>>closed(1500, 3000))), 
+                is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("t_order_1", "t_order_2", "t_order_3"))));
+        assertThat(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "order_id", Range.<Comparable<?>>closed(1500, 1999))), 
+                is((Collection<String>) Collections.singleton("t_order_1")));
+        assertTrue(shardingAlgorithm.doBetweenSharding(targets, new ShardingValue<Comparable<?>>("t_order", "order_id", Range.<Comparable<?>>closed(8000, 9000))).isEmpty());
+    }
+    
+    @Test
+    public void assertDoBetweenShardingWithUnavailableTargets() {
+        assertThat(shardingAlgorithm.doBetweenSharding(Arrays.asList("t_order_0", "t_order_2"), new ShardingValue<Comparable<?>>("t_order", "order_id", Range.<Comparable<?>>closed(0, 3000))), 
+                is((Collection<String>) Sets.newLinkedHashSet(Arrays.asList("t_order_0", "t_order_2"))));
+    }
+    
+    @Test
+    public void assertDoShardingWithStrategy() {
+        TableShardingStrategy strategy = new TableShardingStrategy("order_id", shardingAlgorithm);
+        assertThat(strategy.doStaticSharding(targets, Collections.<ShardingValue<?>>singletonList(new ShardingValue<Comparable<?>>("t_order", "order_id", Range.<Comparable<?>>closed(2999, 3000)))), 
+                is((Collection<String>) Sets.newTreeSet(Arrays.asList("t_order_2", "t_order_3"))));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertCreateWithOverlappedRanges() {
+        new NumericRangeShardingAlgorithm(ImmutableMap.of("t_order_0", Range.closedOpen(0L, 1000L), "t_order_1", Range.closedOpen(999L, 2000L)));
+    }
+}
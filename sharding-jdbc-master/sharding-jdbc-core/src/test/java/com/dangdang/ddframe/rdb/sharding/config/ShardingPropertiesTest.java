@@ -17,6 +17,9 @@
 
 package com.dangdang.ddframe.rdb.sharding.config;
 
+import com.dangdang.ddframe.rdb.sharding.constant.ExecutorRejectionPolicy;
+import com.dangdang.ddframe.rdb.sharding.constant.FanOutPolicy;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -72,6 +75,21 @@ public final class ShardingPropertiesTest {
         assertThat(actualMetricsMillisecondsPeriod, is(1000L));
     }
     
+    @Test
+    public void assertGetEnumValue() {
+        Properties prop = new Properties();
+        prop.put(ShardingPropertiesConstant.ROUTING_FAN_OUT_POLICY.getKey(), " warn ");
+        assertThat(new ShardingProperties(prop).getEnumValue(ShardingPropertiesConstant.ROUTING_FAN_OUT_POLICY, FanOutPolicy.class), is(FanOutPolicy.WARN));
+        assertThat(shardingProperties.getEnumValue(ShardingPropertiesConstant.EXECUTOR_REJECTION_POLICY, ExecutorRejectionPolicy.class), is(ExecutorRejectionPolicy.CALLER_RUNS));
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertGetEnumValueFailure() {
+        Properties prop = new Properties();
+        prop.put(ShardingPropertiesConstant.ROUTING_FAN_OUT_POLICY.getKey(), "error");
+        new ShardingProperties(prop).getEnumValue(ShardingPropertiesConstant.ROUTING_FAN_OUT_POLICY, FanOutPolicy.class);
+    }
+    
     @Test(expected = IllegalArgumentException.class)
     public void assertValidateFailure() {
         Properties prop = new Properties();
@@ -17,6 +17,7 @@
 
 package com.dangdang.ddframe.rdb.sharding.executor;
 
+import com.dangdang.ddframe.rdb.sharding.executor.backend.ExecutorBackendFactoryTest;
 import com.dangdang.ddframe.rdb.sharding.executor.threadlocal.ExecutorExceptionHandlerTest;
 import com.dangdang.ddframe.rdb.sharding.executor.type.PreparedStatementExecutorTest;
 import com.dangdang.ddframe.rdb.sharding.executor.type.BatchPreparedStatementExecutorTest;
@@ -27,6 +28,10 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
         ExecutorExceptionHandlerTest.class, 
+        ExecutionPlannerTest.class, 
+        ExecutorEngineTest.class, 
+        DataSourceBulkheadTest.class, 
+        ExecutorBackendFactoryTest.class, 
         StatementExecutorTest.class, 
         PreparedStatementExecutorTest.class,
         BatchPreparedStatementExecutorTest.class
@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class DataSourceBulkheadTest {
+    
+    @Test
+    public void assertTryAcquireAndRelease() {
+        DataSourceBulkhead actual = new DataSourceBulkhead(Collections.singletonMap("ds_0", 1));
+        assertTrue(actual.tryAcquire("ds_0"));
+        assertThat(actual.getAvailablePermits(), is(Collections.singletonMap("ds_0", 0)));
+        assertFalse(actual.tryAcquire("ds_0"));
+        assertThat(actual.getSaturatedCounts(), is(Collections.singletonMap("ds_0", 1L)));
+        actual.release("ds_0");
+        assertTrue(actual.tryAcquire("ds_0"));
+    }
+    
+    @Test
+    public void assertTryAcquireWithoutLimit() {
+        DataSourceBulkhead actual = new DataSourceBulkhead(Collections.singletonMap("ds_0", 1));
+        assertTrue(actual.tryAcquire("ds_1"));
+        assertTrue(actual.tryAcquire("ds_1"));
+        actual.release("ds_1");
+        assertTrue(DataSourceBulkhead.NONE.tryAcquire("ds_0"));
+        assertTrue(DataSourceBulkhead.NONE.getSaturatedCounts().isEmpty());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertNewDataSourceBulkheadWithNonPositiveSize() {
+        new DataSourceBulkhead(Collections.singletonMap("ds_0", 0));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor;
+
+import com.dangdang.ddframe.rdb.sharding.constant.ConnectionMode;
+import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class ExecutionPlannerTest {
+    
+    private final List<SQLExecutionUnit> sqlExecutionUnits = Arrays.asList(
+            new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_0", null), new SQLExecutionUnit("ds_1", "SELECT * FROM t_order_0", null), new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_1", null));
+    
+    @Test
+    public void assertPlanWithMemoryStrictly() {
+        List<ExecutionGroup> actual = new ExecutionPlanner(2).plan(sqlExecutionUnits, true);
+        assertThat(actual.size(), is(2));
+        assertExecutionGroup(actual.get(0), "ds_0", ConnectionMode.MEMORY_STRICTLY, 2, 2);
+        assertExecutionGroup(actual.get(1), "ds_1", ConnectionMode.MEMORY_STRICTLY, 1, 1);
+        assertThat(actual.get(0).getSqlExecutionUnits().get(1).getSql(), is("SELECT * FROM t_order_1"));
+    }
+    
+    @Test
+    public void assertPlanWithConnectionStrictly() {
+        List<ExecutionGroup> actual = new ExecutionPlanner(1).plan(sqlExecutionUnits, true);
+        assertExecutionGroup(actual.get(0), "ds_0", ConnectionMode.CONNECTION_STRICTLY, 1, 2);
+        assertExecutionGroup(actual.get(1), "ds_1", ConnectionMode.MEMORY_STRICTLY, 1, 1);
+    }
+    
+    @Test
+    public void assertPlanWithoutMultipleConnections() {
+        List<ExecutionGroup> actual = new ExecutionPlanner(2).plan(sqlExecutionUnits, false);
+        assertExecutionGroup(actual.get(0), "ds_0", ConnectionMode.CONNECTION_STRICTLY, 1, 2);
+        assertExecutionGroup(actual.get(1), "ds_1", ConnectionMode.MEMORY_STRICTLY, 1, 1);
+    }
+    
+    @Test
+    public void assertPlanWithoutConnectionsLimit() {
+        List<ExecutionGroup> actual = new ExecutionPlanner(0).plan(sqlExecutionUnits, true);
+        assertExecutionGroup(actual.get(0), "ds_0", ConnectionMode.MEMORY_STRICTLY, 1, 2);
+        assertExecutionGroup(actual.get(1), "ds_1", ConnectionMode.MEMORY_STRICTLY, 1, 1);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertNewExecutionPlannerWithNegativeSize() {
+        new ExecutionPlanner(-1);
+    }
+    
+    private void assertExecutionGroup(final ExecutionGroup actual, final String dataSource, final ConnectionMode connectionMode, final int connectionsSize, final int unitsSize) {
+        assertThat(actual.getDataSource(), is(dataSource));
+        assertThat(actual.getConnectionMode(), is(connectionMode));
+        assertThat(actual.getConnectionsSize(), is(connectionsSize));
+        assertThat(actual.getSqlExecutionUnits().size(), is(unitsSize));
+    }
+}
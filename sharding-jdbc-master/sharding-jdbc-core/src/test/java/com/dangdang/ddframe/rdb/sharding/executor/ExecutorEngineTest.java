@@ -0,0 +1,249 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor;
+
+import com.dangdang.ddframe.rdb.sharding.constant.ExecutorRejectionPolicy;
+import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.dangdang.ddframe.rdb.sharding.executor.backend.CachedExecutorBackend;
+import com.dangdang.ddframe.rdb.sharding.executor.backend.VirtualThreadExecutorBackend;
+import com.dangdang.ddframe.rdb.sharding.executor.threadlocal.ExecutorExceptionHandler;
+import com.dangdang.ddframe.rdb.sharding.executor.type.statement.StatementUnit;
+import com.dangdang.ddframe.rdb.sharding.routing.SQLExecutionUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public final class ExecutorEngineTest {
+    
+    private ExecutorEngine executorEngine;
+    
+    private final CountDownLatch latch = new CountDownLatch(1);
+    
+    @Before
+    public void setUp() {
+        ExecutorExceptionHandler.setExceptionThrown(true);
+    }
+    
+    @After
+    public void tearDown() {
+        latch.countDown();
+        if (null != executorEngine) {
+            executorEngine.close();
+        }
+    }
+    
+    @Test
+    public void assertExecuteWithCallerRunsPolicy() throws SQLException {
+        executorEngine = new ExecutorEngine(1, 0, 1, ExecutorRejectionPolicy.CALLER_RUNS, 0L);
+        List<Integer> actual = executorEngine.executeStatement(SQLType.DQL, createStatementUnits(4, 0), new ExecuteCallback<Integer>() {
+            
+            @Override
+            public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                Thread.sleep(50L);
+                return 1;
+            }
+        });
+        assertThat(actual.size(), is(4));
+        assertTrue(executorEngine.getStatistics().getRejectedCount() > 0L);
+    }
+    
+    @Test
+    public void assertExecuteWithAbortPolicy() throws SQLException {
+        executorEngine = new ExecutorEngine(1, 0, 1, ExecutorRejectionPolicy.ABORT, 0L);
+        try {
+            executorEngine.executeStatement(SQLType.DQL, createStatementUnits(4, 0), new BlockingExecuteCallback());
+            fail("Expected rejection.");
+        } catch (final ShardingJdbcException ex) {
+            assertThat(ex.getCause(), instanceOf(RejectedExecutionException.class));
+        }
+        assertThat(executorEngine.getStatistics().getRejectedCount(), is(1L));
+    }
+    
+    @Test
+    public void assertExecuteWithSaturatedBulkhead() throws SQLException {
+        executorEngine = new ExecutorEngine(4, 0, 0, ExecutorRejectionPolicy.ABORT, 0L, new DataSourceBulkhead(Collections.singletonMap("ds_1", 1)));
+        List<StatementUnit> statementUnits = createStatementUnits(2, 0);
+        statementUnits.add(createStatementUnits(2, 0).get(1));
+        final String callerThreadName = Thread.currentThread().getName();
+        List<Integer> actual = executorEngine.executeStatement(SQLType.DQL, statementUnits, new ExecuteCallback<Integer>() {
+            
+            @Override
+            public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                if ("ds_1".equals(baseStatementUnit.getSqlExecutionUnit().getDataSource())) {
+                    if (callerThreadName.equals(Thread.currentThread().getName())) {
+                        latch.countDown();
+                    } else {
+                        latch.await(5L, TimeUnit.SECONDS);
+                    }
+                }
+                return 1;
+            }
+        });
+        assertThat(actual.size(), is(3));
+        assertThat(latch.getCount(), is(0L));
+        assertThat(executorEngine.getStatistics().getBulkheadSaturatedCounts(), is(Collections.singletonMap("ds_1", 1L)));
+    }
+    
+    @Test
+    public void assertExecuteWithTimeout() throws SQLException {
+        executorEngine = new ExecutorEngine(2, 0, 0, ExecutorRejectionPolicy.CALLER_RUNS, 100L);
+        List<StatementUnit> statementUnits = createStatementUnits(2, 0);
+        try {
+            executorEngine.executeStatement(SQLType.DQL, statementUnits, new BlockingExecuteCallback());
+            fail("Expected timeout.");
+        } catch (final ShardingJdbcException ex) {
+            assertThat(ex.getCause(), instanceOf(TimeoutException.class));
+        }
+        assertThat(executorEngine.getStatistics().getTimeoutCount(), is(1L));
+        verify(statementUnits.get(1).getStatement(), atLeastOnce()).cancel();
+    }
+    
+    @Test
+    public void assertExecuteWithTimeoutInFirstGroup() throws SQLException {
+        executorEngine = new ExecutorEngine(2, 0, 0, ExecutorRejectionPolicy.CALLER_RUNS, 100L);
+        List<StatementUnit> statementUnits = createStatementUnits(2, 0);
+        final Statement firstStatement = statementUnits.get(0).getStatement();
+        doAnswer(new Answer<Void>() {
+            
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                latch.countDown();
+                return null;
+            }
+        }).when(firstStatement).cancel();
+        try {
+            executorEngine.executeStatement(SQLType.DQL, statementUnits, new ExecuteCallback<Integer>() {
+                
+                @Override
+                public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                    if (firstStatement == baseStatementUnit.getStatement() && latch.await(5L, TimeUnit.SECONDS)) {
+                        throw new SQLException("Statement cancelled.");
+                    }
+                    return 1;
+                }
+            });
+            fail("Expected timeout.");
+        } catch (final ShardingJdbcException ex) {
+            assertThat(ex.getCause(), instanceOf(TimeoutException.class));
+        }
+        assertThat(executorEngine.getStatistics().getTimeoutCount(), is(1L));
+        verify(firstStatement, atLeastOnce()).cancel();
+    }
+    
+    @Test
+    public void assertExecuteWithQueryTimeout() throws SQLException {
+        executorEngine = new ExecutorEngine(2, 0, 0, ExecutorRejectionPolicy.CALLER_RUNS, 0L);
+        try {
+            executorEngine.executeStatement(SQLType.DQL, createStatementUnits(2, 1), new BlockingExecuteCallback());
+            fail("Expected timeout.");
+        } catch (final ShardingJdbcException ex) {
+            assertThat(ex.getCause(), instanceOf(TimeoutException.class));
+        }
+        assertThat(executorEngine.getStatistics().getTimeoutCount(), is(1L));
+    }
+    
+    @Test
+    public void assertExecuteWithCachedBackend() throws SQLException {
+        executorEngine = new ExecutorEngine(1, 0, 0, ExecutorRejectionPolicy.ABORT, 0L, DataSourceBulkhead.NONE, new CachedExecutorBackend());
+        final CountDownLatch startedLatch = new CountDownLatch(3);
+        List<Integer> actual = executorEngine.executeStatement(SQLType.DQL, createStatementUnits(4, 0), new ExecuteCallback<Integer>() {
+            
+            @Override
+            public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                if (!"ds_0".equals(baseStatementUnit.getSqlExecutionUnit().getDataSource())) {
+                    startedLatch.countDown();
+                    return startedLatch.await(5L, TimeUnit.SECONDS) ? 1 : 0;
+                }
+                return 1;
+            }
+        });
+        assertThat(actual, is(Arrays.asList(1, 1, 1, 1)));
+        assertThat(executorEngine.getStatistics().getRejectedCount(), is(0L));
+    }
+    
+    @Test
+    public void assertExecuteWithVirtualThreadBackend() throws SQLException {
+        executorEngine = new ExecutorEngine(1, 0, 0, ExecutorRejectionPolicy.CALLER_RUNS, 0L, DataSourceBulkhead.NONE, new VirtualThreadExecutorBackend());
+        List<Integer> actual = executorEngine.executeStatement(SQLType.DQL, createStatementUnits(4, 0), new ExecuteCallback<Integer>() {
+            
+            @Override
+            public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+                return 1;
+            }
+        });
+        assertThat(actual, is(Arrays.asList(1, 1, 1, 1)));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertCreateVirtualThreadBackendWithQueueSize() {
+        new ExecutorEngine(1, 0, 10, ExecutorRejectionPolicy.CALLER_RUNS, 0L, DataSourceBulkhead.NONE, new VirtualThreadExecutorBackend());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void assertCreateVirtualThreadBackendWithAbortPolicy() {
+        new ExecutorEngine(1, 0, 0, ExecutorRejectionPolicy.ABORT, 0L, DataSourceBulkhead.NONE, new VirtualThreadExecutorBackend());
+    }
+    
+    private List<StatementUnit> createStatementUnits(final int size, final int queryTimeout) throws SQLException {
+        List<StatementUnit> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Statement statement = mock(Statement.class);
+            when(statement.getConnection()).thenReturn(mock(Connection.class));
+            when(statement.getQueryTimeout()).thenReturn(queryTimeout);
+            result.add(new StatementUnit(new SQLExecutionUnit("ds_" + i, "SELECT 1", null), statement));
+        }
+        return result;
+    }
+    
+    private final class BlockingExecuteCallback implements ExecuteCallback<Integer> {
+        
+        @Override
+        public Integer execute(final BaseStatementUnit baseStatementUnit) throws Exception {
+            if (!"ds_0".equals(baseStatementUnit.getSqlExecutionUnit().getDataSource())) {
+                latch.await(5L, TimeUnit.SECONDS);
+            }
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.executor.backend;
+
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class ExecutorBackendFactoryTest {
+    
+    @Test
+    public void assertNewInstanceWithExecutorType() {
+        assertThat(ExecutorBackendFactory.newInstance("FIXED"), instanceOf(FixedExecutorBackend.class));
+        assertThat(ExecutorBackendFactory.newInstance(" cached "), instanceOf(CachedExecutorBackend.class));
+        assertThat(ExecutorBackendFactory.newInstance("virtual"), instanceOf(VirtualThreadExecutorBackend.class));
+    }
+    
+    @Test
+    public void assertNewInstanceWithClassName() {
+        assertThat(ExecutorBackendFactory.newInstance(CachedExecutorBackend.class.getName()), instanceOf(CachedExecutorBackend.class));
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertNewInstanceWithNotExistedClass() {
+        ExecutorBackendFactory.newInstance("com.example.NotExistedExecutorBackend");
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertNewInstanceWithNotExecutorBackendClass() {
+        ExecutorBackendFactory.newInstance(String.class.getName());
+    }
+    
+    @Test
+    public void assertCreateFixedExecutorService() {
+        ExecutorService actual = new FixedExecutorBackend().createExecutorService(2, 0, new ThreadPoolExecutor.AbortPolicy());
+        try {
+            assertThat(((ThreadPoolExecutor) actual).getMaximumPoolSize(), is(2));
+        } finally {
+            actual.shutdown();
+        }
+    }
+    
+    @Test
+    public void assertCreateCachedExecutorService() {
+        ExecutorService actual = new CachedExecutorBackend().createExecutorService(2, 0, new ThreadPoolExecutor.AbortPolicy());
+        try {
+            assertThat(((ThreadPoolExecutor) actual).getCorePoolSize(), is(2));
+            assertThat(((ThreadPoolExecutor) actual).getMaximumPoolSize(), is(Integer.MAX_VALUE));
+        } finally {
+            actual.shutdown();
+        }
+    }
+    
+    @Test
+    public void assertCreateVirtualThreadExecutorService() {
+        ExecutorService actual = new VirtualThreadExecutorBackend().createExecutorService(2, 0, new ThreadPoolExecutor.AbortPolicy());
+        try {
+            assertThat(actual instanceof ThreadPoolExecutor, is(!VirtualThreadExecutorBackend.isSupported()));
+        } finally {
+            actual.shutdown();
+        }
+    }
+}
@@ -147,7 +147,7 @@ public final class BatchPreparedStatementExecutorTest extends AbstractBaseExecut
         SQLBuilder sqlBuilder = new SQLBuilder();
         sqlBuilder.appendLiterals(sql);
         BatchPreparedStatementUnit batchPreparedStatementUnit = 
-                new BatchPreparedStatementUnit(new SQLExecutionUnit(dataSource, sqlBuilder.toSQL(Collections.<String, String>emptyMap())), preparedStatement);
+                new BatchPreparedStatementUnit(new SQLExecutionUnit(dataSource, sqlBuilder.toSQL(Collections.<String, String>emptyMap()), null), preparedStatement);
         for (int i = 0; i < addBatchTimes; i++) {
             batchPreparedStatementUnit.mapAddBatchCount(i);
         }
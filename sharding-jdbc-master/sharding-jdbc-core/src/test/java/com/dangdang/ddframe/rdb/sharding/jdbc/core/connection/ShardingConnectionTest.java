@@ -20,6 +20,7 @@ package com.dangdang.ddframe.rdb.sharding.jdbc.core.connection;
 import com.dangdang.ddframe.rdb.sharding.api.rule.DataSourceRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.TableRule;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
 import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
 import com.dangdang.ddframe.rdb.sharding.fixture.TestDataSource;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
@@ -35,6 +36,7 @@ import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
@@ -63,7 +65,7 @@ public final class ShardingConnectionTest {
         DataSourceRule dataSourceRule = new DataSourceRule(dataSourceMap);
         ShardingRule rule = new ShardingRule.ShardingRuleBuilder().dataSourceRule(dataSourceRule)
                 .tableRules(Collections.singleton(new  TableRule.TableRuleBuilder("test").dataSourceRule(dataSourceRule).build())).build();
-        ShardingContext shardingContext = new ShardingContext(rule, null, null, false);
+        ShardingContext shardingContext = new ShardingContext(rule, null, null, new ShardingProperties(new Properties()));
         connection = new ShardingConnection(shardingContext);
     }
     
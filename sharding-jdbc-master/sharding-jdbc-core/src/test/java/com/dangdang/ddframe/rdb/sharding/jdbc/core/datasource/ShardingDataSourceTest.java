@@ -20,10 +20,16 @@ package com.dangdang.ddframe.rdb.sharding.jdbc.core.datasource;
 import com.dangdang.ddframe.rdb.sharding.api.rule.DataSourceRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.TableRule;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
 import com.dangdang.ddframe.rdb.sharding.constant.SQLType;
+import com.dangdang.ddframe.rdb.sharding.parsing.ParsingWarmUpResult;
+import com.dangdang.ddframe.rdb.sharding.routing.SQLRouteResult;
+import com.dangdang.ddframe.rdb.sharding.routing.type.simple.SimpleRoutingEngine;
+import org.apache.commons.dbcp.BasicDataSource;
 import org.junit.Test;
 
 import javax.sql.DataSource;
+import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
@@ -31,10 +37,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public final class ShardingDataSourceTest {
@@ -47,6 +58,78 @@ public final class ShardingDataSourceTest {
         assertThat(createShardingDataSource(dataSource).getConnection().getConnection("ds", SQLType.DQL), is(connection));
     }
     
+    @Test
+    public void assertWarmUp() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mockConnection();
+        when(dataSource.getConnection()).thenReturn(connection);
+        ParsingWarmUpResult actual = createShardingDataSource(dataSource).warmUp(new StringReader("SELECT * FROM logicTable WHERE id = ?; DELETE FROM logicTable WHERE id = 1;\n-- invalid\nUPDATE;"));
+        assertThat(actual.getParsedCount(), is(2));
+        assertThat(actual.getFailedCount(), is(1));
+    }
+    
+    @Test
+    public void assertExplain() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mockConnection();
+        when(dataSource.getConnection()).thenReturn(connection);
+        SQLRouteResult actual = createShardingDataSource(dataSource).explain("SELECT * FROM logicTable WHERE id = ?", Collections.<Object>singletonList(1));
+        assertThat(actual.getExecutionUnits().size(), is(3));
+        assertThat(actual.getExecutionUnits().iterator().next().getSql(), is("SELECT * FROM table_0 WHERE id = ?"));
+        assertThat(actual.getRoutingEngineType(), is((Object) SimpleRoutingEngine.class));
+        verify(connection, never()).prepareStatement(anyString());
+    }
+    
+    @Test
+    public void assertExplainWithoutRoutingStatistics() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mockConnection();
+        when(dataSource.getConnection()).thenReturn(connection);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTING_STATISTICS_ENABLE.getKey(), Boolean.TRUE.toString());
+        ShardingDataSource shardingDataSource = createShardingDataSource(dataSource, props);
+        shardingDataSource.explain("SELECT * FROM logicTable");
+        assertTrue(shardingDataSource.getRoutingStatistics().getFanOutHistograms().isEmpty());
+    }
+    
+    @Test
+    public void assertExecutorBulkhead() throws SQLException {
+        BasicDataSource dataSource = mock(BasicDataSource.class);
+        Connection connection = mockConnection();
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(dataSource.getMaxActive()).thenReturn(2);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.EXECUTOR_SIZE.getKey(), "4");
+        props.setProperty(ShardingPropertiesConstant.EXECUTOR_BULKHEAD_ENABLE.getKey(), Boolean.TRUE.toString());
+        try (ShardingDataSource actual = createShardingDataSource(dataSource, props)) {
+            assertThat(actual.getExecutorStatistics().getBulkheadAvailablePermits(), is(Collections.singletonMap("ds", 2)));
+            assertThat(actual.getExecutorStatistics().getBulkheadSaturatedCounts(), is(Collections.singletonMap("ds", 0L)));
+        }
+    }
+    
+    @Test
+    public void assertExecutorBulkheadWithoutMaxConnections() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mockConnection();
+        when(dataSource.getConnection()).thenReturn(connection);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.EXECUTOR_SIZE.getKey(), "4");
+        props.setProperty(ShardingPropertiesConstant.EXECUTOR_BULKHEAD_ENABLE.getKey(), Boolean.TRUE.toString());
+        try (ShardingDataSource actual = createShardingDataSource(dataSource, props)) {
+            assertThat(actual.getExecutorStatistics().getBulkheadAvailablePermits(), is(Collections.singletonMap("ds", 4)));
+        }
+    }
+    
+    @Test
+    public void assertExplainExceedMaxTableUnits() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = mockConnection();
+        when(dataSource.getConnection()).thenReturn(connection);
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTING_MAX_TABLE_UNITS.getKey(), "2");
+        assertThat(createShardingDataSource(dataSource, props).explain("SELECT * FROM logicTable").getExecutionUnits().size(), is(3));
+    }
+    
     private Connection mockConnection() throws SQLException {
         Connection result = mock(Connection.class);
         DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
@@ -56,11 +139,15 @@ public final class ShardingDataSourceTest {
     }
     
     private ShardingDataSource createShardingDataSource(final DataSource dataSource) {
+        return createShardingDataSource(dataSource, new Properties());
+    }
+    
+    private ShardingDataSource createShardingDataSource(final DataSource dataSource, final Properties props) {
         Map<String, DataSource> dataSourceMap = new HashMap<>(1);
         dataSourceMap.put("ds", dataSource);
         DataSourceRule dataSourceRule = new DataSourceRule(dataSourceMap);
         TableRule tableRule = TableRule.builder("logicTable").actualTables(Arrays.asList("table_0", "table_1", "table_2")).dataSourceRule(dataSourceRule).build();
         return new ShardingDataSource(ShardingRule.builder()
-                .dataSourceRule(dataSourceRule).tableRules(Collections.singletonList(tableRule)).build());
+                .dataSourceRule(dataSourceRule).tableRules(Collections.singletonList(tableRule)).build(), props);
     }
 }
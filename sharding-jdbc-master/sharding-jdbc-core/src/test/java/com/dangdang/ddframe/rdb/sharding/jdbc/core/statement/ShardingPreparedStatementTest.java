@@ -19,6 +19,7 @@ package com.dangdang.ddframe.rdb.sharding.jdbc.core.statement;
 
 import com.dangdang.ddframe.rdb.common.base.AbstractShardingJDBCDatabaseAndTableTest;
 import com.dangdang.ddframe.rdb.integrate.sql.DatabaseTestSQL;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
 import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
 import com.dangdang.ddframe.rdb.sharding.executor.event.DMLExecutionEvent;
 import com.dangdang.ddframe.rdb.sharding.executor.event.EventExecutionType;
@@ -33,10 +34,12 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 import static com.dangdang.ddframe.rdb.common.util.SqlPlaceholderUtil.replacePreparedStatement;
 import static org.hamcrest.CoreMatchers.hasItem;
@@ -44,6 +47,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDatabaseAndTableTest {
     
@@ -54,6 +58,64 @@ public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDat
         shardingDataSources = getShardingDataSources();
     }
     
+    @Test
+    public void assertExecuteQueryWithUnionAllRewrite() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_UNION_ALL_ENABLE.getKey(), Boolean.TRUE.toString());
+        for (ShardingDataSource each : createShardingDataSources(props).values()) {
+            try (
+                    ShardingDataSource shardingDataSource = each;
+                    Connection connection = shardingDataSource.getConnection();
+                    PreparedStatement preparedStatement = connection.prepareStatement("SELECT order_id FROM t_order WHERE status = ? ORDER BY order_id DESC LIMIT ?, ?")) {
+                preparedStatement.setString(1, "init");
+                preparedStatement.setInt(2, 1);
+                preparedStatement.setInt(3, 2);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertThat(resultSet.getInt(1), is(1100));
+                    assertTrue(resultSet.next());
+                    assertThat(resultSet.getInt(1), is(1001));
+                    assertFalse(resultSet.next());
+                }
+                preparedStatement.setString(1, "init");
+                preparedStatement.setInt(2, 0);
+                preparedStatement.setInt(3, 10);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    int count = 0;
+                    while (resultSet.next()) {
+                        count++;
+                    }
+                    assertThat(count, is(4));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithConnectionStrictly() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY.getKey(), "1");
+        for (ShardingDataSource each : createShardingDataSources(props).values()) {
+            try (
+                    ShardingDataSource shardingDataSource = each;
+                    Connection connection = shardingDataSource.getConnection();
+                    PreparedStatement preparedStatement = connection.prepareStatement("SELECT order_id FROM t_order WHERE status = ? ORDER BY order_id DESC")) {
+                preparedStatement.setString(1, "init");
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertThat(resultSet.getInt("order_id"), is(1101));
+                    assertTrue(resultSet.next());
+                    assertThat(resultSet.getInt("order_id"), is(1100));
+                    assertTrue(resultSet.next());
+                    assertThat(resultSet.getInt("order_id"), is(1001));
+                    assertTrue(resultSet.next());
+                    assertThat(resultSet.getInt("order_id"), is(1000));
+                    assertFalse(resultSet.next());
+                }
+            }
+        }
+    }
+    
     @Test
     public void assertExecuteQueryWithParameter() throws SQLException {
         for (ShardingDataSource each : shardingDataSources.values()) {
@@ -76,6 +138,91 @@ public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDat
         }
     }
     
+    @Test
+    public void assertExecuteQueryForExplainSharding() throws SQLException {
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    PreparedStatement preparedStatement = connection.prepareStatement("explain sharding SELECT * FROM t_order WHERE user_id = ? AND order_id = ?")) {
+                preparedStatement.setInt(1, 11);
+                preparedStatement.setInt(2, 1001);
+                ResultSet resultSet = preparedStatement.executeQuery();
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getString(2), is("SELECT * FROM t_order_1 WHERE user_id = ? AND order_id = ?"));
+                assertFalse(resultSet.next());
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteForExplainSharding() throws SQLException {
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    PreparedStatement preparedStatement = connection.prepareStatement("EXPLAIN SHARDING DELETE FROM t_order WHERE status = ?")) {
+                preparedStatement.setString(1, "init");
+                assertTrue(preparedStatement.execute());
+                ResultSet resultSet = preparedStatement.getResultSet();
+                for (int i = 0; i < 4; i++) {
+                    assertTrue(resultSet.next());
+                    assertTrue(resultSet.getString("sql").startsWith("DELETE FROM t_order_"));
+                }
+                assertFalse(resultSet.next());
+                assertInitOrdersCount(connection, 4L);
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteUpdateForExplainSharding() throws SQLException {
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    PreparedStatement preparedStatement = connection.prepareStatement("EXPLAIN SHARDING DELETE FROM t_order WHERE status = ?")) {
+                preparedStatement.setString(1, "init");
+                try {
+                    preparedStatement.executeUpdate();
+                    fail("Expected SQLException.");
+                } catch (final SQLFeatureNotSupportedException ex) {
+                    assertInitOrdersCount(connection, 4L);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteBatchForExplainSharding() throws SQLException {
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    PreparedStatement preparedStatement = connection.prepareStatement("EXPLAIN SHARDING DELETE FROM t_order WHERE status = ?")) {
+                preparedStatement.setString(1, "init");
+                try {
+                    preparedStatement.addBatch();
+                    fail("Expected SQLException.");
+                } catch (final SQLFeatureNotSupportedException ex) {
+                    assertInitOrdersCount(connection, 4L);
+                }
+                try {
+                    preparedStatement.executeBatch();
+                    fail("Expected SQLException.");
+                } catch (final SQLFeatureNotSupportedException ex) {
+                    assertInitOrdersCount(connection, 4L);
+                }
+            }
+        }
+    }
+    
+    private void assertInitOrdersCount(final Connection connection, final long expected) throws SQLException {
+        try (
+                PreparedStatement preparedStatement = connection.prepareStatement("SELECT COUNT(*) AS orders_count FROM t_order WHERE status = ?")) {
+            preparedStatement.setString(1, "init");
+            ResultSet resultSet = preparedStatement.executeQuery();
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(expected));
+        }
+    }
+    
     @Test
     public void assertExecuteQueryWithoutParameter() throws SQLException {
         String sql = JDBCTestSQL.SELECT_COUNT_ALIAS_SQL;
@@ -408,6 +555,33 @@ public final class ShardingPreparedStatementTest extends AbstractShardingJDBCDat
         }
     }
     
+    @Test
+    public void assertExecuteUpdateWithMultipleValues() throws SQLException {
+        String sql = replacePreparedStatement(DatabaseTestSQL.INSERT_ORDER_ITEM_WITH_MULTIPLE_VALUES_SQL);
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    PreparedStatement preparedStatement = connection.prepareStatement(sql);
+                    Statement queryStatement = connection.createStatement()) {
+                int[][] rows = new int[][] {{3001, 30, 30}, {3002, 31, 31}, {3003, 31, 30}, {3004, 32, 30}};
+                int parameterIndex = 1;
+                for (int[] row : rows) {
+                    preparedStatement.setInt(parameterIndex++, row[0]);
+                    preparedStatement.setInt(parameterIndex++, row[1]);
+                    preparedStatement.setInt(parameterIndex++, row[2]);
+                    preparedStatement.setString(parameterIndex++, "BATCH");
+                }
+                assertThat(preparedStatement.executeUpdate(), is(4));
+                for (int[] row : rows) {
+                    try (ResultSet rs = queryStatement.executeQuery(String.format(DatabaseTestSQL.SELECT_WITH_AUTO_INCREMENT_COLUMN_SQL, row[2], row[1]))) {
+                        assertTrue(rs.next());
+                        assertThat(rs.getInt(1), is(row[0]));
+                    }
+                }
+            }
+        }
+    }
+    
     @Test
     public void assertUpdateBatch() throws SQLException {
         String sql = replacePreparedStatement(DatabaseTestSQL.UPDATE_WITHOUT_SHARDING_VALUE_SQL);
@@ -18,21 +18,29 @@
 package com.dangdang.ddframe.rdb.sharding.jdbc.core.statement;
 
 import com.dangdang.ddframe.rdb.common.base.AbstractShardingJDBCDatabaseAndTableTest;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
 import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.datasource.ShardingDataSource;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringReader;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 import static junit.framework.TestCase.assertFalse;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public final class ShardingStatementTest extends AbstractShardingJDBCDatabaseAndTableTest {
     
@@ -62,6 +70,164 @@ public final class ShardingStatementTest extends AbstractShardingJDBCDatabaseAnd
         }
     }
     
+    @Test
+    public void assertExecuteQueryWithUnionAllRewrite() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_UNION_ALL_ENABLE.getKey(), Boolean.TRUE.toString());
+        for (ShardingDataSource each : createShardingDataSources(props).values()) {
+            try (
+                    ShardingDataSource shardingDataSource = each;
+                    Connection connection = shardingDataSource.getConnection();
+                    Statement stmt = connection.createStatement();
+                    ResultSet resultSet = stmt.executeQuery("SELECT user_id, COUNT(*) AS orders_count FROM t_order WHERE status = 'init' GROUP BY user_id")) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(10));
+                assertThat(resultSet.getLong(2), is(2L));
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getInt(1), is(11));
+                assertThat(resultSet.getLong(2), is(2L));
+                assertFalse(resultSet.next());
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryWithUnionAllRewriteOrderByAlias() throws SQLException {
+        assertThat(executeQueryForItemIds("SELECT item_id AS id, order_id FROM t_order_item WHERE status = 'init' ORDER BY id DESC", true),
+                is(Arrays.asList(110101, 110100, 110001, 110000, 100101, 100100, 100001, 100000)));
+    }
+    
+    @Test
+    public void assertExecuteQueryWithUnionAllRewriteOrderByDerivedColumn() throws SQLException {
+        assertThat(executeQueryForItemIds("SELECT item_id FROM t_order_item WHERE status = 'init' ORDER BY order_id DESC, item_id", true),
+                is(Arrays.asList(110100, 110101, 110000, 110001, 100100, 100101, 100000, 100001)));
+    }
+    
+    @Test
+    public void assertExecuteQueryWithUnionAllRewriteOrderByExpression() throws SQLException {
+        String sql = "SELECT item_id FROM t_order_item WHERE status = 'init' ORDER BY item_id % 1000 DESC";
+        assertThat(executeQueryForItemIds(sql, true), is(executeQueryForItemIds(sql, false)));
+    }
+    
+    private List<Integer> executeQueryForItemIds(final String sql, final boolean unionAllRewriteEnabled) throws SQLException {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_UNION_ALL_ENABLE.getKey(), String.valueOf(unionAllRewriteEnabled));
+        List<Integer> result = null;
+        for (ShardingDataSource each : createShardingDataSources(props).values()) {
+            List<Integer> itemIds = new ArrayList<>();
+            try (
+                    ShardingDataSource shardingDataSource = each;
+                    Connection connection = shardingDataSource.getConnection();
+                    Statement stmt = connection.createStatement();
+                    ResultSet resultSet = stmt.executeQuery(sql)) {
+                while (resultSet.next()) {
+                    itemIds.add(resultSet.getInt(1));
+                }
+            }
+            if (null != result) {
+                assertThat(itemIds, is(result));
+            }
+            result = itemIds;
+        }
+        return result;
+    }
+    
+    @Test
+    public void assertExecuteQueryWithConnectionModes() throws SQLException {
+        for (String each : new String[] {"1", "16"}) {
+            Properties props = new Properties();
+            props.setProperty(ShardingPropertiesConstant.MAX_CONNECTIONS_SIZE_PER_QUERY.getKey(), each);
+            for (ShardingDataSource shardingDataSource : createShardingDataSources(props).values()) {
+                try (
+                        ShardingDataSource dataSource = shardingDataSource;
+                        Connection connection = dataSource.getConnection();
+                        Statement stmt = connection.createStatement();
+                        ResultSet resultSet = stmt.executeQuery("SELECT user_id, COUNT(*) AS orders_count FROM t_order WHERE status = 'init' GROUP BY user_id")) {
+                    assertTrue(resultSet.next());
+                    assertThat(resultSet.getInt("user_id"), is(10));
+                    assertThat(resultSet.getLong("orders_count"), is(2L));
+                    assertTrue(resultSet.next());
+                    assertThat(resultSet.getInt("user_id"), is(11));
+                    assertThat(resultSet.getLong("orders_count"), is(2L));
+                    assertFalse(resultSet.next());
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteQueryForExplainSharding() throws SQLException {
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    Statement stmt = connection.createStatement();
+                    ResultSet resultSet = stmt.executeQuery("EXPLAIN SHARDING SELECT * FROM t_order WHERE user_id = 10 AND order_id = 1000")) {
+                assertTrue(resultSet.next());
+                assertThat(resultSet.getString("sql"), is("SELECT * FROM t_order_0 WHERE user_id = 10 AND order_id = 1000"));
+                assertThat(resultSet.getString("routing_engine"), is("SimpleRoutingEngine"));
+                assertFalse(resultSet.next());
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteForExplainSharding() throws SQLException {
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    Statement stmt = connection.createStatement()) {
+                assertTrue(stmt.execute("EXPLAIN SHARDING " + sql2));
+                ResultSet resultSet = stmt.getResultSet();
+                for (int i = 0; i < 4; i++) {
+                    assertTrue(resultSet.next());
+                    assertTrue(resultSet.getString("sql").startsWith("DELETE FROM t_order_"));
+                }
+                assertFalse(resultSet.next());
+                assertThat(stmt.getUpdateCount(), is(-1));
+                assertOrdersCount(stmt, 4L);
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteUpdateForExplainSharding() throws SQLException {
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    Statement stmt = connection.createStatement()) {
+                try {
+                    stmt.executeUpdate("EXPLAIN SHARDING " + sql2);
+                    fail("Expected SQLException.");
+                } catch (final SQLFeatureNotSupportedException ex) {
+                    assertOrdersCount(stmt, 4L);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void assertExecuteScriptForExplainSharding() throws SQLException {
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    Statement stmt = connection.createStatement()) {
+                try {
+                    ((ShardingStatement) stmt).executeScript(new StringReader("EXPLAIN SHARDING " + sql2));
+                    fail("Expected SQLException.");
+                } catch (final SQLFeatureNotSupportedException ex) {
+                    assertOrdersCount(stmt, 4L);
+                }
+            }
+        }
+    }
+    
+    private void assertOrdersCount(final Statement stmt, final long expected) throws SQLException {
+        try (ResultSet resultSet = stmt.executeQuery(sql)) {
+            assertTrue(resultSet.next());
+            assertThat(resultSet.getLong(1), is(expected));
+        }
+    }
+    
     @Test
     public void assertExecuteUpdate() throws SQLException {
         for (ShardingDataSource each : shardingDataSources.values()) {
@@ -86,6 +252,26 @@ public final class ShardingStatementTest extends AbstractShardingJDBCDatabaseAnd
         }
     }
     
+    @Test
+    public void assertExecuteScript() throws SQLException {
+        String script = "INSERT INTO t_order (order_id, user_id, status) VALUES (3001, 30, 'script');\n"
+                + "-- insert;\nINSERT INTO t_order (order_id, user_id, status) VALUES (3002, 31, 'script;');\n"
+                + "INSERT INTO t_order (order_id, user_id, status) VALUES (3003, 30, 'script');\n"
+                + "UPDATE t_order SET status = 'script' WHERE status = 'script;';\n"
+                + "DELETE FROM t_order WHERE order_id = 3003 AND user_id = 30";
+        for (ShardingDataSource each : shardingDataSources.values()) {
+            try (
+                    Connection connection = each.getConnection();
+                    Statement stmt = connection.createStatement()) {
+                assertThat(((ShardingStatement) stmt).executeScript(new StringReader(script), 2), is(5));
+                try (ResultSet resultSet = stmt.executeQuery("SELECT COUNT(*) AS orders_count FROM t_order WHERE status = 'script'")) {
+                    assertTrue(resultSet.next());
+                    assertThat(resultSet.getLong(1), is(2L));
+                }
+            }
+        }
+    }
+    
     @Test
     public void assertExecuteQueryWithResultSetTypeAndResultSetConcurrency() throws SQLException {
         for (ShardingDataSource each : shardingDataSources.values()) {
@@ -18,7 +18,9 @@
 package com.dangdang.ddframe.rdb.sharding.parsing;
 
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.AllLexerTests;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.analyzer.DictionaryTest;
 import com.dangdang.ddframe.rdb.sharding.parsing.lexer.analyzer.TokenizerTest;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.FastPathSelectParserTest;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.dialect.AllSQLParserTests;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.AllStatementParserTests;
 import org.junit.runner.RunWith;
@@ -27,10 +29,15 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
         TokenizerTest.class,
+        DictionaryTest.class,
         AllLexerTests.class,
         AllStatementParserTests.class,
         AllSQLParserTests.class,
         SQLParsingEngineTest.class,
+        ParsedStatementCacheTest.class,
+        SQLShapeEngineTest.class,
+        SQLStatementSplitterTest.class,
+        FastPathSelectParserTest.class,
         UnsupportedParseTest.class
     })
 public class AllParsingTests {
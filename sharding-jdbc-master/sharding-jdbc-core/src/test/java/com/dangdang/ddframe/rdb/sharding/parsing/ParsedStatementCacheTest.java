@@ -0,0 +1,124 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing;
+
+import com.dangdang.ddframe.rdb.sharding.api.fixture.ShardingRuleMockBuilder;
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class ParsedStatementCacheTest {
+    
+    private final ShardingRule shardingRule = new ShardingRuleMockBuilder().addShardingColumns("user_id").build();
+    
+    @Test
+    public void assertParseWithCacheHit() {
+        ParsedStatementCache cache = new ParsedStatementCache(16L);
+        SelectStatement first = (SelectStatement) cache.parse(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = ? LIMIT ?, ?", shardingRule);
+        SelectStatement second = (SelectStatement) cache.parse(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = ? LIMIT ?, ?", shardingRule);
+        assertThat(first, not(sameInstance(second)));
+        assertThat(cache.getMissCount(), is(1L));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(second.getTables().getSingleTableName(), is("t_order"));
+        assertThat(second.getConditions().isEmpty(), is(false));
+    }
+    
+    @Test
+    public void assertParseWithDifferentDatabaseType() {
+        ParsedStatementCache cache = new ParsedStatementCache(16L);
+        cache.parse(DatabaseType.MySQL, "SELECT order_id FROM t_order", shardingRule);
+        cache.parse(DatabaseType.PostgreSQL, "SELECT order_id FROM t_order", shardingRule);
+        assertThat(cache.getMissCount(), is(2L));
+        assertThat(cache.size(), is(2L));
+    }
+    
+    @Test
+    public void assertParseWithEviction() {
+        ParsedStatementCache cache = new ParsedStatementCache(1L);
+        cache.parse(DatabaseType.MySQL, "SELECT order_id FROM t_order", shardingRule);
+        cache.parse(DatabaseType.MySQL, "SELECT item_id FROM t_order_item", shardingRule);
+        assertThat(cache.size(), is(1L));
+        assertThat(cache.getEvictionCount(), is(1L));
+    }
+    
+    @Test
+    public void assertModifyCopyNotAffectCache() {
+        ParsedStatementCache cache = new ParsedStatementCache(16L);
+        SelectStatement first = (SelectStatement) cache.parse(DatabaseType.MySQL, "SELECT user_id, COUNT(order_id) AS c FROM t_order GROUP BY user_id LIMIT ?, ?", shardingRule);
+        first.getLimit().processParameters(Arrays.<Object>asList(1, 10), true, false);
+        first.setIndexForItems(ImmutableMap.of("user_id", 1, "c", 2));
+        SelectStatement second = (SelectStatement) cache.parse(DatabaseType.MySQL, "SELECT user_id, COUNT(order_id) AS c FROM t_order GROUP BY user_id LIMIT ?, ?", shardingRule);
+        assertThat(second.getLimit().getOffsetValue(), is(-1));
+        assertThat(second.getGroupByItems().get(0).getIndex(), is(-1));
+        assertThat(second.getOrderByItems().get(0), sameInstance(second.getGroupByItems().get(0)));
+    }
+    
+    @Test
+    public void assertParseRoutingOnly() {
+        ParsedStatementCache cache = new ParsedStatementCache(16L);
+        assertTrue(ParsedStatementCache.isRoutingOnly(cache.parse(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = ?", shardingRule)));
+        assertFalse(ParsedStatementCache.isRoutingOnly(cache.parseCompletely(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = ?", shardingRule)));
+        assertFalse(ParsedStatementCache.isRoutingOnly(cache.parse(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = ?", shardingRule)));
+        assertThat(cache.size(), is(1L));
+    }
+    
+    @Test
+    public void assertParseCompletelyWithoutCache() {
+        ParsedStatementCache cache = new ParsedStatementCache(0L);
+        SelectStatement actual = (SelectStatement) cache.parseCompletely(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = ?", shardingRule);
+        assertFalse(actual.isRoutingOnly());
+        assertThat(actual.getItems().size(), is(1));
+    }
+    
+    @Test
+    public void assertWarmUp() {
+        ParsedStatementCache cache = new ParsedStatementCache(64L);
+        List<String> logicSQLs = new ArrayList<>(41);
+        for (int i = 0; i < 40; i++) {
+            logicSQLs.add("SELECT order_id FROM t_order WHERE user_id = " + i);
+        }
+        logicSQLs.add("int i = 0");
+        ParsingWarmUpResult actual = cache.warmUp(DatabaseType.MySQL, logicSQLs, shardingRule, 4);
+        assertThat(actual.getParsedCount(), is(40));
+        assertThat(actual.getFailedCount(), is(1));
+        assertThat(cache.size(), is(40L));
+        cache.parse(DatabaseType.MySQL, "SELECT order_id FROM t_order WHERE user_id = 39", shardingRule);
+        assertThat(cache.getHitCount(), is(1L));
+    }
+    
+    @Test
+    public void assertClear() {
+        ParsedStatementCache cache = new ParsedStatementCache(16L);
+        cache.parse(DatabaseType.MySQL, "SELECT order_id FROM t_order", shardingRule);
+        cache.clear();
+        assertThat(cache.size(), is(0L));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing;
+
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.google.common.base.Optional;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class SQLShapeEngineTest {
+    
+    @Test
+    public void assertNormalizeConditions() {
+        Optional<SQLShape> actual = new SQLShapeEngine(DatabaseType.MySQL, "SELECT * FROM t_order WHERE user_id = 10 AND status IN ('INIT', 'it''s') AND price BETWEEN 1.5 AND 20").normalize();
+        assertTrue(actual.isPresent());
+        assertThat(actual.get().getSql(), is("SELECT * FROM t_order WHERE user_id = ? AND status IN (?, ?) AND price BETWEEN ? AND ?"));
+        assertThat(actual.get().getValues(), is(Arrays.<Object>asList(10, "INIT", "it''s", 1.5D, 20)));
+        assertThat(actual.get().getLiterals(), is(Arrays.asList("10", "'INIT'", "'it''s'", "1.5", "20")));
+    }
+    
+    @Test
+    public void assertNormalizeSameShape() {
+        Optional<SQLShape> first = new SQLShapeEngine(DatabaseType.MySQL, "SELECT * FROM t_order WHERE order_id = 1").normalize();
+        Optional<SQLShape> second = new SQLShapeEngine(DatabaseType.MySQL, "SELECT * FROM t_order WHERE order_id = 1000").normalize();
+        assertThat(first.get().getSql(), is(second.get().getSql()));
+    }
+    
+    @Test
+    public void assertNormalizeInsertValues() {
+        Optional<SQLShape> actual = new SQLShapeEngine(DatabaseType.MySQL, "INSERT INTO t_order (order_id, status) VALUES (1, 'INIT')").normalize();
+        assertThat(actual.get().getSql(), is("INSERT INTO t_order (order_id, status) VALUES (?, ?)"));
+    }
+    
+    @Test
+    public void assertNormalizeUpdateSet() {
+        Optional<SQLShape> actual = new SQLShapeEngine(DatabaseType.MySQL, "UPDATE t_order SET status = 'PAID' WHERE order_id = 1").normalize();
+        assertThat(actual.get().getSql(), is("UPDATE t_order SET status = ? WHERE order_id = ?"));
+    }
+    
+    @Test
+    public void assertNormalizeKeepStructuralLiterals() {
+        Optional<SQLShape> actual = new SQLShapeEngine(DatabaseType.MySQL, 
+                "SELECT COUNT(1), 'x' AS c FROM t_order WHERE order_id = 1 AND user_id = -1 GROUP BY 1 HAVING COUNT(1) > 2 ORDER BY 1 LIMIT 10, 5").normalize();
+        assertThat(actual.get().getSql(), is("SELECT COUNT(1), 'x' AS c FROM t_order WHERE order_id = ? AND user_id = -1 GROUP BY 1 HAVING COUNT(1) > 2 ORDER BY 1 LIMIT 10, 5"));
+    }
+    
+    @Test
+    public void assertNormalizeKeepPrefixedAndDoubleQuotedChars() {
+        assertThat(new SQLShapeEngine(DatabaseType.SQLServer, "SELECT * FROM t_order WHERE status = N'INIT' AND order_id = 1").normalize().get().getSql(), 
+                is("SELECT * FROM t_order WHERE status = N'INIT' AND order_id = ?"));
+        assertThat(new SQLShapeEngine(DatabaseType.PostgreSQL, "SELECT * FROM t_order WHERE status = \"status\" AND order_id = 1").normalize().get().getSql(), 
+                is("SELECT * FROM t_order WHERE status = \"status\" AND order_id = ?"));
+    }
+    
+    @Test
+    public void assertNormalizeWithoutLiterals() {
+        assertFalse(new SQLShapeEngine(DatabaseType.MySQL, "SELECT * FROM t_order").normalize().isPresent());
+        assertFalse(new SQLShapeEngine(DatabaseType.MySQL, "CREATE TABLE t_order (order_id INT(11) DEFAULT 0)").normalize().isPresent());
+    }
+    
+    @Test
+    public void assertNormalizeWithPlaceholder() {
+        assertFalse(new SQLShapeEngine(DatabaseType.MySQL, "SELECT * FROM t_order WHERE order_id = ? AND user_id = 1").normalize().isPresent());
+    }
+    
+    @Test
+    public void assertRestore() {
+        SQLShape sqlShape = new SQLShapeEngine(DatabaseType.MySQL, "INSERT INTO t_order (user_id, status) VALUES (10, 'it''s')").normalize().get();
+        List<Object> parameters = sqlShape.getParameters();
+        parameters.add(100L);
+        assertThat(sqlShape.restore("INSERT INTO t_order_0 (user_id, status, order_id) VALUES (?, ?, ?)", parameters), 
+                is("INSERT INTO t_order_0 (user_id, status, order_id) VALUES (10, 'it''s', 100)"));
+    }
+    
+    @Test
+    public void assertRestoreWithModifiedParameter() {
+        SQLShape sqlShape = new SQLShapeEngine(DatabaseType.Oracle, "SELECT * FROM t_order WHERE ROWNUM <= 10").normalize().get();
+        List<Object> parameters = sqlShape.getParameters();
+        parameters.set(0, 20);
+        assertThat(sqlShape.restore("SELECT * FROM t_order_0 WHERE ROWNUM <= ?", parameters), is("SELECT * FROM t_order_0 WHERE ROWNUM <= 20"));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void assertRestoreWithMismatchedParameters() {
+        SQLShape sqlShape = new SQLShapeEngine(DatabaseType.MySQL, "SELECT * FROM t_order WHERE order_id = 1").normalize().get();
+        sqlShape.restore("SELECT * FROM t_order_0 WHERE order_id = ? AND user_id = ?", sqlShape.getParameters());
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing;
+
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.parsing.lexer.analyzer.UnterminatedCharException;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public final class SQLStatementSplitterTest {
+    
+    @Test
+    public void assertSplit() {
+        assertThat(split(DatabaseType.MySQL, "SELECT * FROM t_order;\nDELETE FROM t_order WHERE order_id = 1;;  UPDATE t_order SET status = 'x'", 8192),
+                is(Arrays.asList("SELECT * FROM t_order", "DELETE FROM t_order WHERE order_id = 1", "UPDATE t_order SET status = 'x'")));
+    }
+    
+    @Test
+    public void assertSplitWithSemicolonInCharsAndComments() {
+        String script = "INSERT INTO t_order VALUES (1, 'a;b');\n-- comment;\nSELECT * FROM t_order /* c;d */ WHERE status = \"x;\";\n# comment;\n";
+        assertThat(split(DatabaseType.MySQL, script, 8192),
+                is(Arrays.asList("INSERT INTO t_order VALUES (1, 'a;b')", "-- comment;\nSELECT * FROM t_order /* c;d */ WHERE status = \"x;\"")));
+    }
+    
+    @Test
+    public void assertSplitWithSmallBuffer() {
+        String script = "INSERT INTO t_order VALUES (1, 'a;b');\n/* long ; comment */ DELETE FROM t_order;UPDATE t_order SET status = '';";
+        for (int bufferSize = 1; bufferSize < 8; bufferSize++) {
+            assertThat(split(DatabaseType.MySQL, script, bufferSize),
+                    is(Arrays.asList("INSERT INTO t_order VALUES (1, 'a;b')", "/* long ; comment */ DELETE FROM t_order", "UPDATE t_order SET status = ''")));
+        }
+    }
+    
+    @Test
+    public void assertSplitWithoutStatement() {
+        assertFalse(new SQLStatementSplitter(DatabaseType.Oracle, new StringReader(" ;\n-- comment")).hasNext());
+    }
+    
+    @Test(expected = UnterminatedCharException.class)
+    public void assertSplitWithUnterminatedChars() {
+        split(DatabaseType.MySQL, "SELECT * FROM t_order; SELECT 'abc", 4);
+    }
+    
+    private List<String> split(final DatabaseType databaseType, final String script, final int bufferSize) {
+        return Lists.newArrayList(new SQLStatementSplitter(databaseType, new StringReader(script), bufferSize));
+    }
+}
@@ -46,6 +46,14 @@ public final class TokenizerTest {
         }
     }
     
+    @Test
+    public void assertMoveTo() {
+        String sql = "SELECT * FROM XXX_TABLE";
+        Tokenizer tokenizer = new Tokenizer(sql, dictionary, 0);
+        assertTrue(new ReflectionEquals(tokenizer.scanIdentifier()).matches(new Token(DefaultKeyword.SELECT, "SELECT", sql.indexOf(" "))));
+        assertTrue(new ReflectionEquals(tokenizer.moveTo(sql.indexOf("X")).scanIdentifier()).matches(new Token(Literals.IDENTIFIER, "XXX_TABLE", sql.length())));
+    }
+    
     @Test
     public void assertSkipCommentWithoutComment() {
         String sql = "SELECT * FROM XXX_TABLE";
@@ -0,0 +1,85 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing.parser;
+
+import com.dangdang.ddframe.rdb.sharding.api.fixture.ShardingRuleMockBuilder;
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.parsing.SQLParsingEngine;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
+import com.google.common.base.Optional;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class FastPathSelectParserTest {
+    
+    private final ShardingRule shardingRule = new ShardingRuleMockBuilder().addShardingColumns("user_id").addShardingColumns("order_id").build();
+    
+    @Test
+    public void assertParseSameAsFullParser() {
+        assertSameAsFullParser(DatabaseType.MySQL, "SELECT * FROM t_order WHERE user_id = ?");
+        assertSameAsFullParser(DatabaseType.MySQL, "SELECT o.order_id, o.status AS s FROM t_order o WHERE o.user_id = 10 AND o.order_id IN (1, 2)");
+        assertSameAsFullParser(DatabaseType.MySQL, "SELECT t_order.order_id FROM t_order WHERE t_order.user_id = ? AND order_id BETWEEN ? AND ?");
+        assertSameAsFullParser(DatabaseType.Oracle, "SELECT order_id FROM t_order WHERE user_id = ?");
+        assertSameAsFullParser(DatabaseType.SQLServer, "SELECT order_id FROM t_order WHERE user_id = ?");
+        assertSameAsFullParser(DatabaseType.PostgreSQL, "SELECT order_id FROM t_order WHERE user_id = ?");
+    }
+    
+    @Test
+    public void assertParseWithoutWhere() {
+        Optional<SelectStatement> actual = new SQLParsingEngine(DatabaseType.MySQL, "SELECT * FROM t_order", shardingRule).parseRoutingOnly();
+        assertTrue(actual.isPresent());
+        assertTrue(actual.get().getConditions().isEmpty());
+        assertThat(actual.get().getTables().getSingleTableName(), is("t_order"));
+    }
+    
+    @Test
+    public void assertParseUnsupportedSQL() {
+        assertUnsupported("SELECT COUNT(*) FROM t_order WHERE user_id = ?");
+        assertUnsupported("SELECT DISTINCT order_id FROM t_order WHERE user_id = ?");
+        assertUnsupported("SELECT order_id FROM t_order WHERE user_id = ? ORDER BY order_id");
+        assertUnsupported("SELECT order_id FROM t_order WHERE user_id = ? GROUP BY order_id");
+        assertUnsupported("SELECT order_id FROM t_order WHERE user_id = ? LIMIT 1");
+        assertUnsupported("SELECT o.order_id FROM t_order o JOIN t_order_item i ON o.order_id = i.order_id WHERE o.user_id = ?");
+        assertUnsupported("SELECT order_id FROM t_order, t_order_item WHERE user_id = ?");
+        assertUnsupported("SELECT order_id FROM (SELECT * FROM t_order) o WHERE user_id = ?");
+        assertUnsupported("SELECT (SELECT 1 FROM t_order_item) FROM t_order WHERE user_id = ?");
+        assertUnsupported("SELECT ? FROM t_order WHERE user_id = ?");
+        assertUnsupported("SELECT order_id FROM ds.t_order WHERE user_id = ?");
+        assertUnsupported("INSERT INTO t_order (order_id) VALUES (?)");
+    }
+    
+    private void assertSameAsFullParser(final DatabaseType databaseType, final String sql) {
+        Optional<SelectStatement> actual = new SQLParsingEngine(databaseType, sql, shardingRule).parseRoutingOnly();
+        assertTrue(actual.isPresent());
+        assertTrue(actual.get().isRoutingOnly());
+        SelectStatement expected = (SelectStatement) new SQLParsingEngine(databaseType, sql, shardingRule).parse();
+        assertFalse(expected.isRoutingOnly());
+        assertThat(actual.get().getTables().toString(), is(expected.getTables().toString()));
+        assertThat(actual.get().getConditions().toString(), is(expected.getConditions().toString()));
+        assertThat(actual.get().getSqlTokens().toString(), is(expected.getSqlTokens().toString()));
+    }
+    
+    private void assertUnsupported(final String sql) {
+        assertFalse(new SQLParsingEngine(DatabaseType.MySQL, sql, shardingRule).parseRoutingOnly().isPresent());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition;
+
+import com.dangdang.ddframe.rdb.sharding.api.fixture.ShardingRuleMockBuilder;
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.expression.SQLNumberExpression;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public final class ConditionsTest {
+    
+    private final ShardingRule shardingRule = new ShardingRuleMockBuilder().addShardingColumns("order_id").addShardingColumns("user_id").build();
+    
+    @Test
+    public void assertFindWithJoinCondition() {
+        Conditions conditions = new Conditions();
+        conditions.add(new Condition(new Column("order_id", "order"), new SQLNumberExpression(1)));
+        conditions.addJoinCondition(new JoinCondition(new Column("order_id", "order"), new Column("order_id", "order_item")), shardingRule);
+        conditions.addJoinCondition(new JoinCondition(new Column("order_id", "order_item"), new Column("order_id", "order_detail")), shardingRule);
+        Condition actual = conditions.find(new Column("order_id", "order_detail")).get();
+        assertThat(actual.getColumn(), is(new Column("order_id", "order_detail")));
+        assertThat(actual.getShardingValue(Collections.emptyList()).getLogicTableName(), is("order_detail"));
+        assertThat((Integer) actual.getShardingValue(Collections.emptyList()).getValue(), is(1));
+    }
+    
+    @Test
+    public void assertFindWithoutJoinCondition() {
+        Conditions conditions = new Conditions();
+        conditions.add(new Condition(new Column("order_id", "order"), new SQLNumberExpression(1)));
+        conditions.addJoinCondition(new JoinCondition(new Column("user_id", "order"), new Column("user_id", "order_item")), shardingRule);
+        assertFalse(conditions.find(new Column("order_id", "order_item")).isPresent());
+    }
+}
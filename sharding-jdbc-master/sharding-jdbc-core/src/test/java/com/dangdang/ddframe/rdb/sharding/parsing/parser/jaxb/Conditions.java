@@ -31,4 +31,7 @@ public final class Conditions {
     
     @XmlElement(name = "condition")
     private List<Condition> conditions;
+    
+    @XmlElement(name = "join-condition")
+    private List<JoinCondition> joinConditions;
 }
@@ -44,6 +44,7 @@ import java.util.Map;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -142,10 +143,33 @@ public final class InsertStatementParserTest extends AbstractStatementParserTest
         assertThat(condition.getShardingValue(Collections.emptyList()).getValue(), is((Comparable) 1));
     }
     
-    @Test(expected = UnsupportedOperationException.class)
+    @Test
     public void parseMultipleInsertForMySQL() {
         ShardingRule shardingRule = createShardingRule();
-        new SQLParsingEngine(DatabaseType.Oracle, "INSERT INTO TABLE_XXX (`field1`, `field2`) VALUES (1, 'value_char'), (2, 'value_char')", shardingRule).parse();
+        InsertStatement insertStatement = (InsertStatement) new SQLParsingEngine(
+                DatabaseType.MySQL, "INSERT INTO TABLE_XXX (`field1`, `field2`) VALUES (1, 'value_char'), (?, ?), (3, ?)", shardingRule).parse();
+        assertTrue(insertStatement.isMultipleValues());
+        assertTrue(insertStatement.getConditions().isEmpty());
+        assertThat(insertStatement.getInsertValues().size(), is(3));
+        assertThat(insertStatement.getInsertValues().get(0).getConditions().find(new Column("field1", "TABLE_XXX")).get().getShardingValue(Collections.emptyList()).getValue(), 
+                is((Comparable) 1));
+        assertThat(insertStatement.getInsertValues().get(1).getConditions().find(new Column("field1", "TABLE_XXX")).get().getShardingValue(Arrays.<Object>asList(2, "x", "y")).getValue(), 
+                is((Comparable) 2));
+        assertThat(insertStatement.getInsertValues().get(1).getParameterIndexes(), is(Arrays.asList(0, 1)));
+        assertThat(insertStatement.getInsertValues().get(2).getParameterIndexes(), is(Collections.singletonList(2)));
+        assertThat(insertStatement.getInsertValues().get(2).getBeginPosition(), is(77));
+        assertThat(insertStatement.getInsertValues().get(2).getEndPosition(), is(82));
+    }
+    
+    @Test
+    public void parseMultipleInsertWithGenerateKeyColumns() {
+        ShardingRule shardingRule = createShardingRuleWithGenerateKeyColumns();
+        InsertStatement insertStatement = (InsertStatement) new SQLParsingEngine(DatabaseType.MySQL, "INSERT INTO TABLE_XXX (field3) VALUES (?), (?)", shardingRule).parse();
+        insertStatement.appendGenerateKeyToken(shardingRule, 2);
+        assertThat(insertStatement.getGeneratedKey().getIndex(), is(2));
+        assertThat(insertStatement.getInsertValues().get(0).getGeneratedKey().getIndex(), is(2));
+        assertThat(insertStatement.getInsertValues().get(1).getGeneratedKey().getIndex(), is(3));
+        assertThat(insertStatement.getInsertValues().get(1).getParameterIndexes(), is(Arrays.asList(1, 3)));
     }
     
     @Test(expected = SQLParsingUnsupportedException.class)
@@ -23,7 +23,7 @@ import com.dangdang.ddframe.rdb.sharding.constant.ShardingOperator;
 import com.dangdang.ddframe.rdb.sharding.parsing.SQLParsingEngine;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Column;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Condition;
-import com.dangdang.ddframe.rdb.sharding.parsing.parser.exception.SQLParsingUnsupportedException;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.condition.Conditions;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.DMLStatement;
 import com.google.common.collect.Range;
 import org.junit.Test;
@@ -36,6 +36,7 @@ import java.util.List;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public final class UpdateStatementParserTest extends AbstractStatementParserTest {
     
@@ -104,10 +105,25 @@ public final class UpdateStatementParserTest extends AbstractStatementParserTest
         assertThat(shardingValue3.upperEndpoint(), is((Comparable) 80));
     }
     
-    @Test(expected = SQLParsingUnsupportedException.class)
+    @Test
     public void parseWithOr() {
         ShardingRule shardingRule = createShardingRule();
-        new SQLParsingEngine(DatabaseType.Oracle, "UPDATE TABLE_XXX SET field1=1 WHERE field1<1 AND (field1 >2 OR field2 =1)", shardingRule).parse();
+        DMLStatement updateStatement = (DMLStatement) new SQLParsingEngine(DatabaseType.Oracle, "UPDATE TABLE_XXX SET field1=1 WHERE field1<1 AND (field1 >2 OR field2 =1)", shardingRule).parse();
+        assertTrue(updateStatement.getConditions().isEmpty());
+    }
+    
+    @Test
+    public void parseWithNestedOr() {
+        ShardingRule shardingRule = createShardingRule();
+        DMLStatement updateStatement = (DMLStatement) new SQLParsingEngine(
+                DatabaseType.MySQL, "UPDATE TABLE_XXX SET field4=1 WHERE (field1=1 OR field1=2) AND field2=3 AND (field3=4 OR field3 IN (5, 6))", shardingRule).parse();
+        List<Conditions> actual = updateStatement.getConditions().getOrGroups();
+        assertThat(actual.size(), is(4));
+        assertThat(actual.get(0).find(new Column("field1", "TABLE_XXX")).get().getShardingValue(Collections.emptyList()).getValue(), is((Object) 1));
+        assertThat(actual.get(0).find(new Column("field2", "TABLE_XXX")).get().getShardingValue(Collections.emptyList()).getValue(), is((Object) 3));
+        assertThat(actual.get(0).find(new Column("field3", "TABLE_XXX")).get().getShardingValue(Collections.emptyList()).getValue(), is((Object) 4));
+        assertThat(actual.get(3).find(new Column("field1", "TABLE_XXX")).get().getShardingValue(Collections.emptyList()).getValue(), is((Object) 2));
+        assertThat(actual.get(3).find(new Column("field3", "TABLE_XXX")).get().getOperator(), is(ShardingOperator.IN));
     }
     
     @Test
@@ -24,6 +24,7 @@ import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.OrderItem;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.limit.Limit;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.limit.LimitValue;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.table.Table;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.insert.InsertStatement;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.ItemsToken;
 import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.OffsetToken;
@@ -42,6 +43,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 public final class SQLRewriteEngineTest {
@@ -262,4 +264,65 @@ public final class SQLRewriteEngineTest {
         CartesianTableReference cartesianTableReference = new CartesianTableReference(Collections.singletonList(new TableUnit("db0", "table_x", "table_x")));
         assertThat(sqlRewriteEngine.generateSQL(cartesianTableReference, sqlBuilder), is("SELECT table_x.id, x.name FROM table_x x WHERE table_x.id=? AND x.name=?"));
     }
+    
+    @Test
+    public void assertGenerateSQLWithRewriteLimit() {
+        selectStatement.setLimit(new Limit(true));
+        selectStatement.getLimit().setOffset(new LimitValue(2, -1));
+        selectStatement.getLimit().setRowCount(new LimitValue(2, -1));
+        selectStatement.getSqlTokens().add(new TableToken(17, "table_x"));
+        selectStatement.getSqlTokens().add(new OffsetToken(33, 2));
+        selectStatement.getSqlTokens().add(new RowCountToken(36, 2));
+        SQLRewriteEngine sqlRewriteEngine = new SQLRewriteEngine(shardingRule, "SELECT x.id FROM table_x x LIMIT 2, 2", selectStatement);
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db0", "table_x", "table_1"), true), is("SELECT x.id FROM table_1 x LIMIT 0, 4"));
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db1", "table_x", "table_2"), true), is("SELECT x.id FROM table_2 x LIMIT 0, 4"));
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db0", "table_x", "table_1"), false), is("SELECT x.id FROM table_1 x LIMIT 2, 2"));
+    }
+    
+    @Test
+    public void assertGenerateSQLForCartesianWithRewriteLimit() {
+        selectStatement.getSqlTokens().add(new TableToken(17, "table_x"));
+        selectStatement.getSqlTokens().add(new TableToken(28, "table_z"));
+        selectStatement.getTables().add(new Table("table_x", Optional.of("x")));
+        selectStatement.getTables().add(new Table("table_z", Optional.of("z")));
+        SQLRewriteEngine sqlRewriteEngine = new SQLRewriteEngine(shardingRule, "SELECT x.id FROM table_x x, table_z z WHERE x.id=z.id", selectStatement);
+        CartesianTableReference cartesianTableReference = new CartesianTableReference(Arrays.asList(new TableUnit("db0", "table_x", "table_x_1"), new TableUnit("db0", "table_z", "table_z_0")));
+        assertThat(sqlRewriteEngine.generateSQL(cartesianTableReference, true), is("SELECT x.id FROM table_x_1 x, table_z_0 z WHERE x.id=z.id"));
+    }
+    
+    @Test
+    public void assertRewriteTemplateSharedWithCopy() {
+        selectStatement.getSqlTokens().add(new TableToken(17, "table_x"));
+        new SQLRewriteEngine(shardingRule, "SELECT x.id FROM table_x x", selectStatement);
+        SQLRewriteTemplate template = selectStatement.getRewriteTemplate().get();
+        SelectStatement copied = selectStatement.copy();
+        SQLRewriteEngine sqlRewriteEngine = new SQLRewriteEngine(shardingRule, "SELECT x.id FROM table_x x", copied);
+        assertThat(copied.getRewriteTemplate().get(), sameInstance(template));
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db0", "table_x", "table_1"), true), is("SELECT x.id FROM table_1 x"));
+    }
+    
+    @Test
+    public void assertRewriteTemplateSharedWithRegeneratedItemsToken() {
+        InsertStatement insertStatement = new InsertStatement();
+        insertStatement.getSqlTokens().add(new TableToken(12, "table_x"));
+        InsertStatement first = insertStatement.copy();
+        first.getSqlTokens().add(createItemsToken("?"));
+        new SQLRewriteEngine(shardingRule, "INSERT INTO table_x (name) VALUES (?)", first);
+        SQLRewriteTemplate template = insertStatement.getRewriteTemplate().get();
+        InsertStatement second = insertStatement.copy();
+        second.getSqlTokens().add(createItemsToken("?"));
+        new SQLRewriteEngine(shardingRule, "INSERT INTO table_x (name) VALUES (?)", second);
+        assertThat(insertStatement.getRewriteTemplate().get(), sameInstance(template));
+        InsertStatement third = insertStatement.copy();
+        third.getSqlTokens().add(createItemsToken("1"));
+        SQLRewriteEngine sqlRewriteEngine = new SQLRewriteEngine(shardingRule, "INSERT INTO table_x (name) VALUES (?)", third);
+        assertThat(insertStatement.getRewriteTemplate().get(), sameInstance(template));
+        assertThat(sqlRewriteEngine.generateSQL(new TableUnit("db0", "table_x", "table_1"), true), is("INSERT INTO table_1 (name, 1) VALUES (?)"));
+    }
+    
+    private ItemsToken createItemsToken(final String item) {
+        ItemsToken result = new ItemsToken(25);
+        result.getItems().add(item);
+        return result;
+    }
 }
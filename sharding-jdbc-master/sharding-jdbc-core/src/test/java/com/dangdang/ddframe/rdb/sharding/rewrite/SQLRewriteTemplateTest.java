@@ -0,0 +1,162 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.rewrite;
+
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.InsertValue;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.context.table.Table;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dml.insert.InsertStatement;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.ItemsToken;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.OffsetToken;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.RowCountToken;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.token.TableToken;
+import com.google.common.base.Optional;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class SQLRewriteTemplateTest {
+    
+    private static final String SQL = "SELECT x.id FROM table_x x JOIN table_y y ON x.id=y.id WHERE x.id=? LIMIT 2, 2";
+    
+    private SelectStatement selectStatement;
+    
+    @Before
+    public void setUp() {
+        selectStatement = new SelectStatement();
+        selectStatement.getTables().add(new Table("table_x", Optional.of("x")));
+        selectStatement.getTables().add(new Table("table_y", Optional.of("y")));
+        selectStatement.getSqlTokens().add(new RowCountToken(77, 2));
+        selectStatement.getSqlTokens().add(new TableToken(17, "table_x"));
+        selectStatement.getSqlTokens().add(new OffsetToken(74, 2));
+        selectStatement.getSqlTokens().add(new TableToken(32, "table_y"));
+    }
+    
+    @Test
+    public void assertCompile() {
+        SQLRewriteTemplate actual = SQLRewriteTemplate.compile(SQL, selectStatement);
+        assertThat(actual.getLogicTableNames(), is(Arrays.asList("table_x", "table_y")));
+        assertThat(actual.getLimitTokens().size(), is(2));
+        assertTrue(actual.getLimitTokens().get(0) instanceof OffsetToken);
+        assertTrue(actual.getLimitTokens().get(1) instanceof RowCountToken);
+    }
+    
+    @Test
+    public void assertToSQL() {
+        SQLRewriteTemplate actual = SQLRewriteTemplate.compile(SQL, selectStatement);
+        assertThat(actual.toSQL(new String[] {"table_x_1", "table_y_1"}, new String[] {"0", "4"}), is("SELECT x.id FROM table_x_1 x JOIN table_y_1 y ON x.id=y.id WHERE x.id=? LIMIT 0, 4"));
+        assertThat(actual.toSQL(new String[] {"table_x_0", "table_y_0"}, new String[] {"2", "2"}), is("SELECT x.id FROM table_x_0 x JOIN table_y_0 y ON x.id=y.id WHERE x.id=? LIMIT 2, 2"));
+    }
+    
+    @Test
+    public void assertToSQLWithoutTokens() {
+        SQLRewriteTemplate actual = SQLRewriteTemplate.compile("SELECT 1", new SelectStatement());
+        assertThat(actual.toSQL(new String[0], new String[0]), is("SELECT 1"));
+    }
+    
+    @Test
+    public void assertToSQLWithItemsToken() {
+        SelectStatement selectStatement = new SelectStatement();
+        selectStatement.getSqlTokens().add(new TableToken(18, "table_x"));
+        ItemsToken itemsToken = new ItemsToken(12);
+        itemsToken.getItems().add("x.id as ORDER_BY_DERIVED_0");
+        selectStatement.getSqlTokens().add(itemsToken);
+        SQLRewriteTemplate actual = SQLRewriteTemplate.compile("SELECT x.age FROM table_x x ORDER BY x.id", selectStatement);
+        assertThat(actual.toSQL(new String[] {"table_1"}, new String[0]), is("SELECT x.age, x.id as ORDER_BY_DERIVED_0 FROM table_1 x ORDER BY x.id"));
+    }
+    
+    @Test
+    public void assertToSQLBuilder() {
+        Map<String, String> tableTokens = new HashMap<>(1, 1);
+        tableTokens.put("table_x", "table_1");
+        assertThat(SQLRewriteTemplate.compile(SQL, selectStatement).toSQLBuilder(new String[] {"0", "4"}).toSQL(tableTokens), 
+                is("SELECT x.id FROM table_1 x JOIN table_y y ON x.id=y.id WHERE x.id=? LIMIT 0, 4"));
+    }
+    
+    @Test
+    public void assertToSQLWithInsertValues() {
+        String sql = "INSERT INTO table_x (id, name) VALUES (1, 'a'), (2, 'b'), (3, 'c') ON DUPLICATE KEY UPDATE name = 'x'";
+        InsertStatement insertStatement = new InsertStatement();
+        insertStatement.getSqlTokens().add(new TableToken(12, "table_x"));
+        insertStatement.getInsertValues().add(new InsertValue(38, 45));
+        insertStatement.getInsertValues().add(new InsertValue(48, 55));
+        insertStatement.getInsertValues().add(new InsertValue(58, 65));
+        SQLRewriteTemplate actual = SQLRewriteTemplate.compile(sql, insertStatement);
+        assertThat(actual.getInsertValuesCount(), is(3));
+        assertThat(actual.toSQL(new String[] {"table_1"}, new String[0], new boolean[] {true, false, true}), 
+                is("INSERT INTO table_1 (id, name) VALUES (1, 'a'), (3, 'c') ON DUPLICATE KEY UPDATE name = 'x'"));
+        assertThat(actual.toSQL(new String[] {"table_0"}, new String[0], new boolean[] {false, true, false}), 
+                is("INSERT INTO table_0 (id, name) VALUES (2, 'b') ON DUPLICATE KEY UPDATE name = 'x'"));
+        assertThat(actual.toSQL(new String[] {"table_0"}, new String[0]), is("INSERT INTO table_0 (id, name) VALUES (1, 'a'), (2, 'b'), (3, 'c') ON DUPLICATE KEY UPDATE name = 'x'"));
+    }
+    
+    @Test
+    public void assertToSQLWithInsertValuesAndGeneratedKeys() {
+        String sql = "INSERT INTO table_x (name) VALUES (?), (?)";
+        InsertStatement insertStatement = new InsertStatement();
+        insertStatement.getSqlTokens().add(new TableToken(12, "table_x"));
+        ItemsToken columnsToken = new ItemsToken(25);
+        columnsToken.getItems().add("id");
+        insertStatement.getSqlTokens().add(columnsToken);
+        insertStatement.getInsertValues().add(new InsertValue(34, 36));
+        insertStatement.getInsertValues().add(new InsertValue(39, 41));
+        for (InsertValue each : insertStatement.getInsertValues()) {
+            ItemsToken valuesToken = new ItemsToken(each.getEndPosition());
+            valuesToken.getItems().add("?");
+            insertStatement.getSqlTokens().add(valuesToken);
+        }
+        SQLRewriteTemplate actual = SQLRewriteTemplate.compile(sql, insertStatement);
+        assertThat(actual.toSQL(new String[] {"table_1"}, new String[0], new boolean[] {false, true}), is("INSERT INTO table_1 (name, id) VALUES (?, ?)"));
+    }
+    
+    @Test
+    public void assertIsCompiledFrom() {
+        SQLRewriteTemplate actual = SQLRewriteTemplate.compile(SQL, selectStatement);
+        assertTrue(actual.isCompiledFrom(SQL, selectStatement.getSqlTokens()));
+        assertTrue(actual.isCompiledFrom(SQL, selectStatement.copy().getSqlTokens()));
+        assertFalse(actual.isCompiledFrom(SQL + " ", selectStatement.getSqlTokens()));
+        assertFalse(actual.isCompiledFrom(SQL, Collections.singletonList(selectStatement.getSqlTokens().get(0))));
+        selectStatement.getSqlTokens().set(1, new TableToken(17, "table_x"));
+        assertFalse(actual.isCompiledFrom(SQL, selectStatement.getSqlTokens()));
+    }
+    
+    @Test
+    public void assertIsCompiledFromWithRegeneratedItemsToken() {
+        ItemsToken itemsToken = new ItemsToken(12);
+        itemsToken.getItems().add("?");
+        selectStatement.getSqlTokens().add(itemsToken);
+        SQLRewriteTemplate actual = SQLRewriteTemplate.compile(SQL, selectStatement);
+        ItemsToken sameItemsToken = new ItemsToken(12);
+        sameItemsToken.getItems().add("?");
+        selectStatement.getSqlTokens().set(4, sameItemsToken);
+        assertTrue(actual.isCompiledFrom(SQL, selectStatement.getSqlTokens()));
+        ItemsToken otherItemsToken = new ItemsToken(12);
+        otherItemsToken.getItems().add("1");
+        selectStatement.getSqlTokens().set(4, otherItemsToken);
+        assertFalse(actual.isCompiledFrom(SQL, selectStatement.getSqlTokens()));
+    }
+}
@@ -23,6 +23,7 @@ import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
 import com.dangdang.ddframe.rdb.sharding.api.rule.TableRule;
 import com.dangdang.ddframe.rdb.sharding.api.strategy.database.DatabaseShardingStrategy;
 import com.dangdang.ddframe.rdb.sharding.api.strategy.table.TableShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
 import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
 import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
 import com.dangdang.ddframe.rdb.sharding.routing.fixture.OrderAttrShardingAlgorithm;
@@ -42,6 +43,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.hasItems;
@@ -74,7 +76,7 @@ public abstract class AbstractBaseRouteSqlTest {
     }
     
     protected void assertMultipleTargetsWithoutParameter(final String originSql, final int expectedSize, final Collection<String> targetDataSources, final Collection<String> targetSQLs) {
-        ShardingContext shardingContext = new ShardingContext(getShardingRule(), DatabaseType.MySQL, null, false);
+        ShardingContext shardingContext = new ShardingContext(getShardingRule(), DatabaseType.MySQL, null, new ShardingProperties(new Properties()));
         SQLRouteResult actual = new StatementRoutingEngine(shardingContext).route(originSql);
         assertThat(actual.getExecutionUnits().size(), is(expectedSize));
         Set<String> actualDataSources = new HashSet<>(Collections2.transform(actual.getExecutionUnits(), new Function<SQLExecutionUnit, String>() {
@@ -101,7 +103,7 @@ public abstract class AbstractBaseRouteSqlTest {
     
     protected void assertMultipleTargetsWithParameters(
             final String originSql, final List<Object> parameters, final int expectedSize, final Collection<String> targetDataSources, final Collection<String> targetSQLs) {
-        ShardingContext shardingContext = new ShardingContext(getShardingRule(), DatabaseType.MySQL, null, false);
+        ShardingContext shardingContext = new ShardingContext(getShardingRule(), DatabaseType.MySQL, null, new ShardingProperties(new Properties()));
         SQLRouteResult actual = new PreparedStatementRoutingEngine(originSql, shardingContext).route(parameters);
         assertThat(actual.getExecutionUnits().size(), is(expectedSize));
         Set<String> actualDataSources = new HashSet<>(Collections2.transform(actual.getExecutionUnits(), new Function<SQLExecutionUnit, String>() {
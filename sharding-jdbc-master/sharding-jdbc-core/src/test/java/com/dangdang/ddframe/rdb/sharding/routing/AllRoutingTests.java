@@ -26,7 +26,17 @@ import org.junit.runners.Suite;
         SelectBindingTableTest.class, 
         SelectMixedTablesTest.class, 
         DMLTest.class, 
-        DatabaseTest.class
+        DatabaseTest.class, 
+        SQLShapeRoutingTest.class, 
+        FastPathRoutingTest.class, 
+        InsertValuesRoutingTest.class, 
+        RoutingResultCacheTest.class, 
+        CartesianRoutingTest.class, 
+        BroadcastRoutingTest.class, 
+        ShardingExplainSQLTest.class, 
+        RoutingFanOutGuardTest.class, 
+        ExplainRoutingTest.class, 
+        UnionAllRoutingTest.class
     })
 public class AllRoutingTests {
 }
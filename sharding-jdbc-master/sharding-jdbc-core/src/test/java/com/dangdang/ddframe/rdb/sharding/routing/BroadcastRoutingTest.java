@@ -0,0 +1,108 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.api.rule.BroadcastTableRule;
+import com.dangdang.ddframe.rdb.sharding.api.rule.DataSourceRule;
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.api.rule.TableRule;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.database.DatabaseShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.table.TableShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
+import com.dangdang.ddframe.rdb.sharding.routing.fixture.OrderShardingAlgorithm;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class BroadcastRoutingTest {
+    
+    private ShardingRule shardingRule;
+    
+    @Before
+    public void setShardingRule() {
+        Map<String, DataSource> dataSourceMap = new HashMap<>(2, 1);
+        dataSourceMap.put("ds_0", null);
+        dataSourceMap.put("ds_1", null);
+        DataSourceRule dataSourceRule = new DataSourceRule(dataSourceMap);
+        TableRule orderTableRule = TableRule.builder("order").actualTables(Arrays.asList("order_0", "order_1")).dataSourceRule(dataSourceRule).build();
+        shardingRule = ShardingRule.builder().dataSourceRule(dataSourceRule).tableRules(Collections.singletonList(orderTableRule))
+                .broadcastTableRules(Collections.singletonList(new BroadcastTableRule("config")))
+                .databaseShardingStrategy(new DatabaseShardingStrategy("order_id", new OrderShardingAlgorithm()))
+                .tableShardingStrategy(new TableShardingStrategy("order_id", new OrderShardingAlgorithm())).build();
+    }
+    
+    @Test
+    public void assertSelectBroadcastTable() {
+        SQLRouteResult actual = route("select * from config where id = 1");
+        assertThat(actual.getExecutionUnits().size(), is(1));
+        SQLExecutionUnit executionUnit = actual.getExecutionUnits().iterator().next();
+        assertTrue(Arrays.asList("ds_0", "ds_1").contains(executionUnit.getDataSource()));
+        assertThat(executionUnit.getSql(), is("select * from config where id = 1"));
+    }
+    
+    @Test
+    public void assertUpdateBroadcastTable() {
+        Set<SQLExecutionUnit> expected = new HashSet<>(2, 1);
+        expected.add(new SQLExecutionUnit("ds_0", "update config set value = 1 where id = 1", null));
+        expected.add(new SQLExecutionUnit("ds_1", "update config set value = 1 where id = 1", null));
+        SQLRouteResult actual = route("update config set value = 1 where id = 1");
+        assertThat(new HashSet<>(actual.getExecutionUnits()), is(expected));
+        assertTrue(actual.isBroadcast());
+    }
+    
+    @Test
+    public void assertInsertMultipleValuesIntoBroadcastTable() {
+        Set<SQLExecutionUnit> expected = new HashSet<>(2, 1);
+        expected.add(new SQLExecutionUnit("ds_0", "insert into config (id, value) values (1, 1), (2, 2)", null));
+        expected.add(new SQLExecutionUnit("ds_1", "insert into config (id, value) values (1, 1), (2, 2)", null));
+        assertThat(new HashSet<>(route("insert into config (id, value) values (1, 1), (2, 2)").getExecutionUnits()), is(expected));
+    }
+    
+    @Test
+    public void assertSelectBroadcastTableJoinShardingTable() {
+        Set<SQLExecutionUnit> expected = Collections.singleton(new SQLExecutionUnit("ds_1", "select * from order_1 o join config c on o.status = c.status where o.order_id = 1", null));
+        SQLRouteResult actual = route("select * from order o join config c on o.status = c.status where o.order_id = 1");
+        assertThat(new HashSet<>(actual.getExecutionUnits()), is(expected));
+        assertFalse(actual.isBroadcast());
+    }
+    
+    @Test
+    public void assertSelectBroadcastTableJoinShardingTableWithoutShardingValue() {
+        assertThat(route("select * from order o join config c on o.status = c.status").getExecutionUnits().size(), is(4));
+    }
+    
+    private SQLRouteResult route(final String logicSQL) {
+        ShardingContext shardingContext = new ShardingContext(shardingRule, DatabaseType.MySQL, null, new ShardingProperties(new Properties()));
+        return new StatementRoutingEngine(shardingContext).route(logicSQL);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.api.rule.DataSourceRule;
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.api.rule.TableRule;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.database.DatabaseShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.table.TableShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
+import com.dangdang.ddframe.rdb.sharding.routing.fixture.OrderShardingAlgorithm;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class CartesianRoutingTest {
+    
+    private ShardingRule shardingRule;
+    
+    @Before
+    public void setShardingRule() {
+        Map<String, DataSource> dataSourceMap = new HashMap<>(2, 1);
+        dataSourceMap.put("ds_0", null);
+        dataSourceMap.put("ds_1", null);
+        DataSourceRule dataSourceRule = new DataSourceRule(dataSourceMap);
+        TableRule orderTableRule = TableRule.builder("order").actualTables(Arrays.asList("order_0", "order_1")).dataSourceRule(dataSourceRule).build();
+        TableRule orderItemTableRule = TableRule.builder("order_item").actualTables(Arrays.asList("order_item_0", "order_item_1")).dataSourceRule(dataSourceRule).build();
+        shardingRule = ShardingRule.builder().dataSourceRule(dataSourceRule).tableRules(Arrays.asList(orderTableRule, orderItemTableRule))
+                .databaseShardingStrategy(new DatabaseShardingStrategy("order_id", new OrderShardingAlgorithm()))
+                .tableShardingStrategy(new TableShardingStrategy("order_id", new OrderShardingAlgorithm())).build();
+    }
+    
+    @Test
+    public void assertRouteWithoutJoinCondition() {
+        assertThat(route("select * from order o, order_item i", 0).getExecutionUnits().size(), is(8));
+    }
+    
+    @Test
+    public void assertRouteWithJoinConditionOnShardingColumn() {
+        Set<SQLExecutionUnit> expected = new HashSet<>(4, 1);
+        expected.add(new SQLExecutionUnit("ds_0", "select * from order_0 o join order_item_0 i on o.order_id = i.order_id", null));
+        expected.add(new SQLExecutionUnit("ds_0", "select * from order_1 o join order_item_1 i on o.order_id = i.order_id", null));
+        expected.add(new SQLExecutionUnit("ds_1", "select * from order_0 o join order_item_0 i on o.order_id = i.order_id", null));
+        expected.add(new SQLExecutionUnit("ds_1", "select * from order_1 o join order_item_1 i on o.order_id = i.order_id", null));
+        assertThat(new HashSet<>(route("select * from order o join order_item i on o.order_id = i.order_id", 0).getExecutionUnits()), is(expected));
+    }
+    
+    @Test
+    public void assertRouteWithWhereJoinConditionOnShardingColumn() {
+        assertThat(route("select * from order o, order_item i where o.order_id = i.order_id and o.user_id = 1", 0).getExecutionUnits().size(), is(4));
+    }
+    
+    @Test
+    public void assertRouteWithJoinConditionOnOtherColumn() {
+        assertThat(route("select * from order o join order_item i on o.user_id = i.user_id", 0).getExecutionUnits().size(), is(8));
+    }
+    
+    @Test
+    public void assertRouteWithJoinConditionInPartOfOrGroups() {
+        assertThat(route("select * from order o, order_item i where o.order_id = i.order_id and o.order_id = 1 or i.order_id = 2", 0).getExecutionUnits().size(), is(4));
+    }
+    
+    @Test
+    public void assertRouteWithShardingValueInferredByJoinCondition() {
+        Set<SQLExecutionUnit> expected = Collections.singleton(new SQLExecutionUnit("ds_1", "select * from order_1 o join order_item_1 i on o.order_id = i.order_id where o.order_id = 1", null));
+        assertThat(new HashSet<>(route("select * from order o join order_item i on o.order_id = i.order_id where o.order_id = 1", 0).getExecutionUnits()), is(expected));
+    }
+    
+    @Test
+    public void assertRouteWithShardingValueInferredByWhereJoinConditionInOrGroups() {
+        Set<SQLExecutionUnit> expected = Collections.singleton(new SQLExecutionUnit("ds_0", "select * from order_0 o, order_item_0 i where o.order_id = i.order_id and (i.order_id = 2 or i.order_id = 4)", null));
+        assertThat(new HashSet<>(route("select * from order o, order_item i where o.order_id = i.order_id and (i.order_id = 2 or i.order_id = 4)", 0).getExecutionUnits()), is(expected));
+    }
+    
+    @Test
+    public void assertRouteWithinMaxCartesianSize() {
+        assertThat(route("select * from order o join order_item i on o.order_id = i.order_id", 4).getExecutionUnits().size(), is(4));
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertRouteExceedMaxCartesianSize() {
+        route("select * from order o, order_item i", 4);
+    }
+    
+    private SQLRouteResult route(final String logicSQL, final int maxCartesianSize) {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTING_CARTESIAN_MAX_SIZE.getKey(), String.valueOf(maxCartesianSize));
+        ShardingContext shardingContext = new ShardingContext(shardingRule, DatabaseType.MySQL, null, new ShardingProperties(props));
+        return new StatementRoutingEngine(shardingContext).route(logicSQL);
+    }
+}
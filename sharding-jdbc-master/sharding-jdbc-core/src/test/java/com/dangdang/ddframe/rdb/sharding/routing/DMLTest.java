@@ -33,6 +33,14 @@ public final class DMLTest extends AbstractDynamicRouteSqlTest {
                 Lists.newArrayList(new ShardingValuePair("order", 2)), "insert into `order` value (?,?)", Arrays.<Object>asList(2, "test"), "ds_0", "insert into order_0 value (?,?)");
     }
     
+    @Test
+    public void assertInsertMultipleValues() {
+        assertMultipleTargetsWithoutParameter("insert into `order` (order_id, name) values (1, 'a'), (2, 'b'), (3, 'c')", 2, Arrays.asList("ds_0", "ds_1"), 
+                Arrays.asList("insert into order_1 (order_id, name) values (1, 'a'), (3, 'c')", "insert into order_0 (order_id, name) values (2, 'b')"));
+        assertMultipleTargetsWithParameters("insert into `order` (order_id, name) values (?, ?), (?, ?), (?, ?)", Arrays.<Object>asList(1, "a", 2, "b", 3, "c"), 2, Arrays.asList("ds_0", "ds_1"), 
+                Arrays.asList("insert into order_1 (order_id, name) values (?, ?), (?, ?)", "insert into order_0 (order_id, name) values (?, ?)"));
+    }
+    
     @Test
     public void assertUpdate() {
         assertSingleTargetWithoutParameter("update `order` set name = 'test' where order_id = 1", "ds_1", "update order_1 set name = 'test' where order_id = 1");
@@ -0,0 +1,67 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.codahale.metrics.Histogram;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class ExplainRoutingTest extends AbstractBaseRouteSqlTest {
+    
+    private ShardingContext shardingContext;
+    
+    @Before
+    public void setShardingContext() {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTING_STATISTICS_ENABLE.getKey(), Boolean.TRUE.toString());
+        props.setProperty(ShardingPropertiesConstant.ROUTING_MAX_TABLE_UNITS.getKey(), "2");
+        shardingContext = new ShardingContext(getShardingRule(), DatabaseType.MySQL, null, new ShardingProperties(props));
+    }
+    
+    @Test
+    public void assertRouteWithRoutingStatistics() {
+        new StatementRoutingEngine(shardingContext).route("select * from order where order_id = 1");
+        new StatementRoutingEngine(shardingContext, true).route("select * from order where order_id = 1");
+        new PreparedStatementRoutingEngine("select * from order where order_id = ?", shardingContext, true).route(Collections.<Object>singletonList(1));
+        Histogram actual = shardingContext.getRoutingStatistics().getFanOutHistograms().get("order");
+        assertThat(actual.getCount(), is(1L));
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertRouteExceedMaxTableUnits() {
+        new StatementRoutingEngine(shardingContext).route("select * from order");
+    }
+    
+    @Test
+    public void assertExplainExceedMaxTableUnits() {
+        assertThat(new StatementRoutingEngine(shardingContext, true).route("select * from order").getExecutionUnits().size(), is(4));
+        assertThat(new PreparedStatementRoutingEngine("select * from order where status = ?", shardingContext, true).route(Collections.<Object>singletonList("init")).getExecutionUnits().size(), is(4));
+        assertThat(shardingContext.getRoutingStatistics().getFanOutHistograms().size(), is(0));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
+import com.dangdang.ddframe.rdb.sharding.parsing.parser.statement.dql.select.SelectStatement;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public final class FastPathRoutingTest extends AbstractBaseRouteSqlTest {
+    
+    private ShardingContext shardingContext;
+    
+    @Before
+    public void setShardingContext() {
+        shardingContext = new ShardingContext(getShardingRule(), DatabaseType.MySQL, null, new ShardingProperties(new Properties()));
+    }
+    
+    @Test
+    public void assertRouteSingleShard() {
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("select * from order_item where order_id = ?", shardingContext).route(Collections.<Object>singletonList(1));
+        assertTrue(((SelectStatement) actual.getSqlStatement()).isRoutingOnly());
+        assertThat(actual.getExecutionUnits().iterator().next(), is(new SQLExecutionUnit("ds_1", "select * from order_item_1 where order_id = ?", null)));
+    }
+    
+    @Test
+    public void assertRouteMultipleShardsWithCompleteParsing() {
+        PreparedStatementRoutingEngine routingEngine = new PreparedStatementRoutingEngine("select * from order_item where order_id in (?, ?)", shardingContext);
+        SQLRouteResult actual = routingEngine.route(Arrays.<Object>asList(1, 3));
+        assertTrue(((SelectStatement) actual.getSqlStatement()).isRoutingOnly());
+        actual = routingEngine.route(Arrays.<Object>asList(1, 2));
+        assertFalse(((SelectStatement) actual.getSqlStatement()).isRoutingOnly());
+        assertThat(actual.getExecutionUnits().size(), is(4));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.api.rule.DataSourceRule;
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.api.rule.TableRule;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.database.DatabaseShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.api.strategy.table.TableShardingStrategy;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
+import com.dangdang.ddframe.rdb.sharding.keygen.fixture.IncrementKeyGenerator;
+import com.dangdang.ddframe.rdb.sharding.routing.fixture.OrderShardingAlgorithm;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class InsertValuesRoutingTest {
+    
+    private ShardingContext shardingContext;
+    
+    @Before
+    public void setShardingContext() {
+        Map<String, DataSource> dataSourceMap = new HashMap<>(2, 1);
+        dataSourceMap.put("ds_0", null);
+        dataSourceMap.put("ds_1", null);
+        DataSourceRule dataSourceRule = new DataSourceRule(dataSourceMap);
+        TableRule orderTableRule = TableRule.builder("order").actualTables(Arrays.asList("order_0", "order_1")).dataSourceRule(dataSourceRule)
+                .generateKeyColumn("order_id", IncrementKeyGenerator.class).build();
+        ShardingRule shardingRule = ShardingRule.builder().dataSourceRule(dataSourceRule).tableRules(Collections.singletonList(orderTableRule))
+                .databaseShardingStrategy(new DatabaseShardingStrategy("order_id", new OrderShardingAlgorithm()))
+                .tableShardingStrategy(new TableShardingStrategy("order_id", new OrderShardingAlgorithm())).build();
+        shardingContext = new ShardingContext(shardingRule, DatabaseType.MySQL, null, new ShardingProperties(new Properties()));
+    }
+    
+    @Test
+    public void assertRouteWithParameters() {
+        List<Object> parameters = new ArrayList<Object>(Arrays.asList(1, "a", 2, "b", 3, "c"));
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("insert into `order` (order_id, name) values (?, ?), (?, ?), (?, ?)", shardingContext).route(parameters);
+        Set<SQLExecutionUnit> expected = new HashSet<>(2, 1);
+        expected.add(new SQLExecutionUnit("ds_1", "insert into order_1 (order_id, name) values (?, ?), (?, ?)", Arrays.asList(0, 1, 4, 5)));
+        expected.add(new SQLExecutionUnit("ds_0", "insert into order_0 (order_id, name) values (?, ?)", Arrays.asList(2, 3)));
+        assertThat(actual.getExecutionUnits(), is(expected));
+        assertThat(actual.getGeneratedKeys(), is(Arrays.<Number>asList(1, 2, 3)));
+    }
+    
+    @Test
+    public void assertRouteWithGeneratedKeyParameters() {
+        List<Object> parameters = new ArrayList<Object>(Arrays.asList("a", "b", "c"));
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("insert into `order` (name) values (?), (?), (?)", shardingContext).route(parameters);
+        Set<SQLExecutionUnit> expected = new HashSet<>(2, 1);
+        expected.add(new SQLExecutionUnit("ds_1", "insert into order_1 (name, order_id) values (?, ?), (?, ?)", Arrays.asList(0, 3, 2, 5)));
+        expected.add(new SQLExecutionUnit("ds_0", "insert into order_0 (name, order_id) values (?, ?)", Arrays.asList(1, 4)));
+        assertThat(actual.getExecutionUnits(), is(expected));
+        assertThat(parameters, is(Arrays.<Object>asList("a", "b", "c", 1, 2, 3)));
+        assertThat(actual.getGeneratedKeys(), is(Arrays.<Number>asList(1, 2, 3)));
+    }
+    
+    @Test
+    public void assertRouteWithParametersAfterValues() {
+        List<Object> parameters = new ArrayList<Object>(Arrays.asList(1, "a", 2, "b", 3, "c", "x"));
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("insert into `order` (order_id, name) values (?, ?), (?, ?), (?, ?) on duplicate key update name = ?", shardingContext).route(parameters);
+        Set<SQLExecutionUnit> expected = new HashSet<>(2, 1);
+        expected.add(new SQLExecutionUnit("ds_1", "insert into order_1 (order_id, name) values (?, ?), (?, ?) on duplicate key update name = ?", Arrays.asList(0, 1, 4, 5, 6)));
+        expected.add(new SQLExecutionUnit("ds_0", "insert into order_0 (order_id, name) values (?, ?) on duplicate key update name = ?", Arrays.asList(2, 3, 6)));
+        assertThat(actual.getExecutionUnits(), is(expected));
+        Map<String, List<Object>> actualParameters = getBoundParameters(actual, parameters);
+        assertThat(actualParameters.get("ds_1"), is(Arrays.<Object>asList(1, "a", 3, "c", "x")));
+        assertThat(actualParameters.get("ds_0"), is(Arrays.<Object>asList(2, "b", "x")));
+    }
+    
+    @Test
+    public void assertRouteWithGeneratedKeyParametersAfterValues() {
+        List<Object> parameters = new ArrayList<Object>(Arrays.asList("a", "b", "c", "x"));
+        SQLRouteResult actual = new PreparedStatementRoutingEngine("insert into `order` (name) values (?), (?), (?) on duplicate key update name = ?", shardingContext).route(parameters);
+        Set<SQLExecutionUnit> expected = new HashSet<>(2, 1);
+        expected.add(new SQLExecutionUnit("ds_1", "insert into order_1 (name, order_id) values (?, ?), (?, ?) on duplicate key update name = ?", Arrays.asList(0, 4, 2, 6, 3)));
+        expected.add(new SQLExecutionUnit("ds_0", "insert into order_0 (name, order_id) values (?, ?) on duplicate key update name = ?", Arrays.asList(1, 5, 3)));
+        assertThat(actual.getExecutionUnits(), is(expected));
+        Map<String, List<Object>> actualParameters = getBoundParameters(actual, parameters);
+        assertThat(actualParameters.get("ds_1"), is(Arrays.<Object>asList("a", 1, "c", 3, "x")));
+        assertThat(actualParameters.get("ds_0"), is(Arrays.<Object>asList("b", 2, "x")));
+    }
+    
+    @Test
+    public void assertRouteWithGeneratedKeyLiterals() {
+        SQLRouteResult actual = new StatementRoutingEngine(shardingContext).route("insert into `order` (name) values ('a'), ('b'), ('c')");
+        Set<SQLExecutionUnit> expected = new HashSet<>(2, 1);
+        expected.add(new SQLExecutionUnit("ds_1", "insert into order_1 (name, order_id) values ('a', 1), ('c', 3)", Collections.<Integer>emptyList()));
+        expected.add(new SQLExecutionUnit("ds_0", "insert into order_0 (name, order_id) values ('b', 2)", Collections.<Integer>emptyList()));
+        assertThat(actual.getExecutionUnits(), is(expected));
+        assertThat(actual.getGeneratedKeys(), is(Arrays.<Number>asList(1, 2, 3)));
+    }
+    
+    private Map<String, List<Object>> getBoundParameters(final SQLRouteResult routeResult, final List<Object> parameters) {
+        Map<String, List<Object>> result = new HashMap<>(routeResult.getExecutionUnits().size(), 1);
+        for (SQLExecutionUnit each : routeResult.getExecutionUnits()) {
+            List<Object> boundParameters = new ArrayList<>(each.getParameterIndexes().size());
+            for (int index : each.getParameterIndexes()) {
+                boundParameters.add(parameters.get(index));
+            }
+            result.put(each.getDataSource(), boundParameters);
+        }
+        return result;
+    }
+}
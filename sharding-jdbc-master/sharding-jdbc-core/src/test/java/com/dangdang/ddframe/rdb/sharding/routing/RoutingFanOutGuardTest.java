@@ -0,0 +1,62 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.constant.FanOutPolicy;
+import com.dangdang.ddframe.rdb.sharding.exception.ShardingJdbcException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class RoutingFanOutGuardTest {
+    
+    private final Collection<SQLExecutionUnit> executionUnits = Arrays.asList(
+            new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_0", null), new SQLExecutionUnit("ds_0", "SELECT * FROM t_order_1", null), new SQLExecutionUnit("ds_1", "SELECT * FROM t_order_0", null));
+    
+    @Test
+    public void assertIsEnabled() {
+        assertTrue(new RoutingFanOutGuard(2, 0, FanOutPolicy.REJECT).isEnabled());
+        assertTrue(new RoutingFanOutGuard(0, 2, FanOutPolicy.WARN).isEnabled());
+        assertFalse(new RoutingFanOutGuard(2, 2, FanOutPolicy.ALLOW).isEnabled());
+        assertFalse(new RoutingFanOutGuard(0, 0, FanOutPolicy.REJECT).isEnabled());
+    }
+    
+    @Test
+    public void assertCheckWithinLimits() {
+        new RoutingFanOutGuard(2, 3, FanOutPolicy.REJECT).check("SELECT * FROM t_order", executionUnits);
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertCheckExceedMaxDataSources() {
+        new RoutingFanOutGuard(1, 0, FanOutPolicy.REJECT).check("SELECT * FROM t_order", executionUnits);
+    }
+    
+    @Test(expected = ShardingJdbcException.class)
+    public void assertCheckExceedMaxTableUnits() {
+        new RoutingFanOutGuard(0, 2, FanOutPolicy.REJECT).check("SELECT * FROM t_order", executionUnits);
+    }
+    
+    @Test
+    public void assertCheckExceedWithWarnPolicy() {
+        new RoutingFanOutGuard(1, 1, FanOutPolicy.WARN).check("SELECT * FROM t_order", executionUnits);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.api.ShardingValue;
+import com.dangdang.ddframe.rdb.sharding.api.rule.ShardingRule;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
+import com.dangdang.ddframe.rdb.sharding.routing.type.TableUnit;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public final class RoutingResultCacheTest extends AbstractBaseRouteSqlTest {
+    
+    @Test
+    public void assertRouteWithCacheHit() {
+        ShardingContext shardingContext = createShardingContext(16L);
+        RoutingResultCache routingResultCache = shardingContext.getRoutingResultCache();
+        PreparedStatementRoutingEngine routingEngine = new PreparedStatementRoutingEngine("select * from order where order_id = ?", shardingContext);
+        assertThat(routingEngine.route(Collections.<Object>singletonList(1)).getExecutionUnits().iterator().next(), is(new SQLExecutionUnit("ds_1", "select * from order_1 where order_id = ?", null)));
+        assertThat(routingEngine.route(Collections.<Object>singletonList(1)).getExecutionUnits().iterator().next(), is(new SQLExecutionUnit("ds_1", "select * from order_1 where order_id = ?", null)));
+        assertThat(routingEngine.route(Collections.<Object>singletonList(2)).getExecutionUnits().iterator().next(), is(new SQLExecutionUnit("ds_0", "select * from order_0 where order_id = ?", null)));
+        assertThat(routingResultCache.getHitCount(), is(1L));
+        assertThat(routingResultCache.getMissCount(), is(2L));
+        assertThat(routingResultCache.size(), is(2L));
+    }
+    
+    @Test
+    public void assertRouteWithOrConditions() {
+        ShardingContext shardingContext = createShardingContext(16L);
+        RoutingResultCache routingResultCache = shardingContext.getRoutingResultCache();
+        PreparedStatementRoutingEngine routingEngine = new PreparedStatementRoutingEngine("select * from order where order_id = ? or order_id = ?", shardingContext);
+        assertThat(routingEngine.route(Arrays.<Object>asList(1, 2)).getExecutionUnits().size(), is(2));
+        assertThat(routingEngine.route(Arrays.<Object>asList(1, 3)).getExecutionUnits().size(), is(1));
+        assertThat(routingEngine.route(Arrays.<Object>asList(1, 2)).getExecutionUnits().size(), is(2));
+        assertThat(routingResultCache.getMissCount(), is(2L));
+        assertThat(routingResultCache.size(), is(2L));
+    }
+    
+    @Test
+    public void assertRouteWithEviction() {
+        ShardingContext shardingContext = createShardingContext(1L);
+        RoutingResultCache routingResultCache = shardingContext.getRoutingResultCache();
+        PreparedStatementRoutingEngine routingEngine = new PreparedStatementRoutingEngine("select * from order where order_id = ?", shardingContext);
+        routingEngine.route(Collections.<Object>singletonList(1));
+        routingEngine.route(Collections.<Object>singletonList(2));
+        assertThat(routingResultCache.size(), is(1L));
+        assertThat(routingResultCache.getEvictionCount(), is(1L));
+    }
+    
+    @Test
+    public void assertRouteWithShardingRuleChanged() {
+        RoutingResultCache routingResultCache = new RoutingResultCache(16L);
+        List<List<ShardingValue<?>>> shardingValues = Collections.singletonList(Collections.<ShardingValue<?>>singletonList(new ShardingValue<>("order", "order_id", 1)));
+        routingResultCache.put(getShardingRule(), "order", shardingValues, Collections.singletonList(new TableUnit("ds_1", "order", "order_1")));
+        ShardingRule changedShardingRule = ShardingRule.builder().dataSourceRule(getShardingRule().getDataSourceRule()).tableRules(getShardingRule().getTableRules())
+                .databaseShardingStrategy(getShardingRule().getDatabaseShardingStrategy()).tableShardingStrategy(getShardingRule().getTableShardingStrategy()).build();
+        assertFalse(routingResultCache.get(changedShardingRule, "order", shardingValues).isPresent());
+        assertThat(routingResultCache.getHitCount(), is(0L));
+        assertThat(routingResultCache.size(), is(0L));
+    }
+    
+    @Test
+    public void assertRouteWithoutCache() {
+        ShardingContext shardingContext = createShardingContext(0L);
+        RoutingResultCache routingResultCache = shardingContext.getRoutingResultCache();
+        PreparedStatementRoutingEngine routingEngine = new PreparedStatementRoutingEngine("select * from order where order_id = ?", shardingContext);
+        routingEngine.route(Collections.<Object>singletonList(1));
+        routingEngine.route(Collections.<Object>singletonList(1));
+        assertThat(routingResultCache.getHitCount(), is(0L));
+        assertThat(routingResultCache.size(), is(0L));
+    }
+    
+    private ShardingContext createShardingContext(final long routingCacheSize) {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.ROUTING_CACHE_SIZE.getKey(), String.valueOf(routingCacheSize));
+        return new ShardingContext(getShardingRule(), DatabaseType.MySQL, null, new ShardingProperties(props));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
+import com.dangdang.ddframe.rdb.sharding.parsing.ParsedStatementCache;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public final class SQLShapeRoutingTest extends AbstractBaseRouteSqlTest {
+    
+    private ParsedStatementCache parsedStatementCache;
+    
+    private ShardingContext shardingContext;
+    
+    @Before
+    public void setShardingContext() {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.PARSING_SHAPE_ENABLE.getKey(), Boolean.TRUE.toString());
+        shardingContext = new ShardingContext(getShardingRule(), DatabaseType.MySQL, null, new ShardingProperties(props));
+        parsedStatementCache = shardingContext.getParsedStatementCache();
+    }
+    
+    @Test
+    public void assertRouteWithSameShape() {
+        SQLRouteResult first = new StatementRoutingEngine(shardingContext).route("select * from order where order_id = 1");
+        SQLRouteResult second = new StatementRoutingEngine(shardingContext).route("select * from order where order_id = 2");
+        assertThat(first.getExecutionUnits().iterator().next(), is(new SQLExecutionUnit("ds_1", "select * from order_1 where order_id = 1", null)));
+        assertThat(second.getExecutionUnits().iterator().next(), is(new SQLExecutionUnit("ds_0", "select * from order_0 where order_id = 2", null)));
+        assertThat(parsedStatementCache.getMissCount(), is(1L));
+        assertThat(parsedStatementCache.getHitCount(), is(1L));
+    }
+    
+    @Test
+    public void assertRouteWithLimit() {
+        SQLRouteResult actual = new StatementRoutingEngine(shardingContext).route("select * from order where order_id in (1, 2) and status = 'INIT' limit 2, 3");
+        Set<SQLExecutionUnit> expected = new HashSet<>(4, 1);
+        expected.add(new SQLExecutionUnit("ds_0", "select * from order_0 where order_id in (1, 2) and status = 'INIT' limit 0, 5", null));
+        expected.add(new SQLExecutionUnit("ds_0", "select * from order_1 where order_id in (1, 2) and status = 'INIT' limit 0, 5", null));
+        expected.add(new SQLExecutionUnit("ds_1", "select * from order_0 where order_id in (1, 2) and status = 'INIT' limit 0, 5", null));
+        expected.add(new SQLExecutionUnit("ds_1", "select * from order_1 where order_id in (1, 2) and status = 'INIT' limit 0, 5", null));
+        assertThat(actual.getExecutionUnits(), is(expected));
+    }
+    
+    @Test
+    public void assertRouteInsert() {
+        SQLRouteResult actual = new StatementRoutingEngine(shardingContext).route("insert into order (order_id, status) values (3, 'INIT')");
+        assertThat(actual.getExecutionUnits().iterator().next(), is(new SQLExecutionUnit("ds_1", "insert into order_1 (order_id, status) values (3, 'INIT')", null)));
+    }
+    
+    @Test
+    public void assertRouteMultipleValuesInsert() {
+        SQLRouteResult actual = new StatementRoutingEngine(shardingContext).route("insert into order (order_id, status) values (1, 'INIT'), (2, 'INIT'), (3, 'PAID')");
+        Set<SQLExecutionUnit> expected = new HashSet<>(2, 1);
+        expected.add(new SQLExecutionUnit("ds_1", "insert into order_1 (order_id, status) values (1, 'INIT'), (3, 'PAID')", null));
+        expected.add(new SQLExecutionUnit("ds_0", "insert into order_0 (order_id, status) values (2, 'INIT')", null));
+        assertThat(actual.getExecutionUnits(), is(expected));
+    }
+}
@@ -39,6 +39,14 @@ public final class SelectBindingTableTest extends AbstractDynamicRouteSqlTest {
                 "select * from order_1 o, order_item_1 i where o.order_id = i.order_id and o.order_id = ?");
     }
     
+    @Test
+    public void assertSelectWithShardingValueOnOtherBindingTable() {
+        assertSingleTargetWithoutParameter("select * from order o join order_item i on o.order_id = i.order_id where i.order_id = 1", "ds_1",
+                "select * from order_1 o join order_item_1 i on o.order_id = i.order_id where i.order_id = 1");
+        assertSingleTargetWithoutParameter("select * from order o, order_item i where i.order_id = 1", "ds_1",
+                "select * from order_1 o, order_item_1 i where i.order_id = 1");
+    }
+    
     @Test
     public void assertSelectWithBindingJoinDynamic() {
         assertSingleTargetWithoutParameter(Lists.newArrayList(new ShardingValuePair("order", 1)), "select * from order o inner join order_item i on o.order_id = i.order_id", "ds_1",
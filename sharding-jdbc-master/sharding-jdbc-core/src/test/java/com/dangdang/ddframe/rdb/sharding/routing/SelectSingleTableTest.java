@@ -18,7 +18,6 @@
 package com.dangdang.ddframe.rdb.sharding.routing;
 
 import com.dangdang.ddframe.rdb.sharding.constant.ShardingOperator;
-import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -70,12 +69,10 @@ public final class SelectSingleTableTest extends AbstractDynamicRouteSqlTest {
     }
     
     @Test
-    @Ignore
-    // TODO or
     public void assertSelectWithInAndIntersection() {
         assertMultipleTargetsWithParameters("select * from order where order_id in (?,?) or order_id in (?,?)", Arrays.<Object>asList(1, 2, 100, 2), 4,
                 Arrays.asList("ds_0", "ds_1"), 
-                Arrays.asList("select * from order_1 where order_id in (?,?) or order_id in (?,?)", "select * from order_1 where order_id in (?, ?) or order_id in (?, ?)"));
+                Arrays.asList("select * from order_0 where order_id in (?,?) or order_id in (?,?)", "select * from order_1 where order_id in (?,?) or order_id in (?,?)"));
     }
     
     @Test
@@ -87,8 +84,6 @@ public final class SelectSingleTableTest extends AbstractDynamicRouteSqlTest {
     }
     
     @Test
-    @Ignore
-    // TODO or
     public void assertSelectWithBetweenAndIntersection() {
         assertMultipleTargetsWithParameters("select * from order where order_id between ? and ? or order_id between ? and ? ", Arrays.<Object>asList(1, 50, 29, 100), 4,
                 Arrays.asList("ds_0", "ds_1"), 
@@ -149,17 +144,16 @@ public final class SelectSingleTableTest extends AbstractDynamicRouteSqlTest {
     }
     
     @Test
-    @Ignore
     public void assertSelectOrLimit() {
         assertMultipleTargetsWithParameters("select * from order where order_id = ? or order_id = ? or order_id = ? limit 5", Arrays.<Object>asList(1, 2, 100), 2,
                 Arrays.asList("ds_0", "ds_1"), 
                 Arrays.asList("select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit 5", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit 5"));
         assertMultipleTargetsWithParameters("select * from order where order_id = ? or order_id = ? or order_id = ? limit 2,5", Arrays.<Object>asList(1, 2, 100), 2,
                 Arrays.asList("ds_0", "ds_1"), Arrays.asList(
-                        "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit 0, 7", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit 0, 7"));
+                        "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit 0,7", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit 0,7"));
         assertMultipleTargetsWithParameters("select * from order where order_id = ? or order_id = ? or order_id = ? limit 5 offset 2", Arrays.<Object>asList(1, 2, 100), 2,
                 Arrays.asList("ds_0", "ds_1"), Arrays.asList(
-                        "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit 0, 7", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit 0, 7"));
+                        "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit 7 offset 0", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit 7 offset 0"));
     
         List<Object> parameters = Arrays.<Object>asList(1, 2, 100, 5);
         assertMultipleTargetsWithParameters("select * from order where order_id = ? or order_id = ? or order_id = ? limit ?", parameters, 2, Arrays.asList("ds_0", "ds_1"), 
@@ -168,22 +162,22 @@ public final class SelectSingleTableTest extends AbstractDynamicRouteSqlTest {
     
         parameters = Arrays.<Object>asList(1, 2, 100, 2, 5);
         assertMultipleTargetsWithParameters("select * from order where order_id = ? or order_id = ? or order_id = ? limit ?,?", parameters, 2, Arrays.asList("ds_0", "ds_1"), Arrays.asList(
-                "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit ?, ?", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit ?, ?"));
+                "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit ?,?", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit ?,?"));
         assertThat(parameters, is(Arrays.<Object>asList(1, 2, 100, 0, 7)));
     
         parameters = Arrays.<Object>asList(1, 2, 100, 5, 2);
         assertMultipleTargetsWithParameters("select * from order where order_id = ? or order_id = ? or order_id = ? limit ? offset ?", parameters, 2, Arrays.asList("ds_0", "ds_1"), Arrays.asList(
-                "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit ?, ?", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit ?, ?"));
-        assertThat(parameters, is(Arrays.<Object>asList(1, 2, 100, 0, 7)));
+                "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit ? offset ?", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit ? offset ?"));
+        assertThat(parameters, is(Arrays.<Object>asList(1, 2, 100, 7, 0)));
     
         parameters = Arrays.<Object>asList(1, 2, 100, 5);
         assertMultipleTargetsWithParameters("select * from order where order_id = ? or order_id = ? or order_id = ? limit 2,?", parameters, 2, Arrays.asList("ds_0", "ds_1"), Arrays.asList(
-                "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit 0, ?", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit 0, ?"));
+                "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit 0,?", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit 0,?"));
         assertThat(parameters, is(Arrays.<Object>asList(1, 2, 100, 7)));
     
         parameters = Arrays.<Object>asList(1, 2, 100, 2);
         assertMultipleTargetsWithParameters("select * from order where order_id = ? or order_id = ? or order_id = ? limit ?,5", parameters, 2, Arrays.asList("ds_0", "ds_1"), Arrays.asList(
-                "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit ?, 7", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit ?, 7"));
+                "select * from order_0 where order_id = ? or order_id = ? or order_id = ? limit ?,7", "select * from order_1 where order_id = ? or order_id = ? or order_id = ? limit ?,7"));
         assertThat(parameters, is(Arrays.<Object>asList(1, 2, 100, 0)));
     }
 }
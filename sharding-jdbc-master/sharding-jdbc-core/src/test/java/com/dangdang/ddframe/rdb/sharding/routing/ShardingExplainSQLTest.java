@@ -0,0 +1,39 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public final class ShardingExplainSQLTest {
+    
+    @Test
+    public void assertGetLogicSQL() {
+        assertThat(ShardingExplainSQL.getLogicSQL(" explain  Sharding\nSELECT * FROM t_order ").get(), is("SELECT * FROM t_order"));
+    }
+    
+    @Test
+    public void assertGetLogicSQLForOtherSQL() {
+        assertFalse(ShardingExplainSQL.getLogicSQL("SELECT * FROM t_order").isPresent());
+        assertFalse(ShardingExplainSQL.getLogicSQL("EXPLAIN SELECT * FROM t_order").isPresent());
+        assertFalse(ShardingExplainSQL.getLogicSQL("").isPresent());
+    }
+}
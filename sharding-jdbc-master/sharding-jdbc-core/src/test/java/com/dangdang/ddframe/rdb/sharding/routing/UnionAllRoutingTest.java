@@ -0,0 +1,120 @@
+/*
+ * Copyright 1999-2015 dangdang.com.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * </p>
+ */
+
+package com.dangdang.ddframe.rdb.sharding.routing;
+
+import com.dangdang.ddframe.rdb.sharding.config.ShardingProperties;
+import com.dangdang.ddframe.rdb.sharding.config.ShardingPropertiesConstant;
+import com.dangdang.ddframe.rdb.sharding.constant.DatabaseType;
+import com.dangdang.ddframe.rdb.sharding.jdbc.core.ShardingContext;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public final class UnionAllRoutingTest extends AbstractBaseRouteSqlTest {
+    
+    @Test
+    public void assertSelectWithUnionAll() {
+        Set<SQLExecutionUnit> expected = new HashSet<>(2, 1);
+        expected.add(new SQLExecutionUnit("ds_0", "(select * from order_0 where status = 'init') UNION ALL (select * from order_1 where status = 'init')", null));
+        expected.add(new SQLExecutionUnit("ds_1", "(select * from order_0 where status = 'init') UNION ALL (select * from order_1 where status = 'init')", null));
+        assertThat(new HashSet<>(route(DatabaseType.MySQL, "select * from order where status = 'init'").getExecutionUnits()), is(expected));
+    }
+    
+    @Test
+    public void assertSelectWithOrderByAndLimit() {
+        SQLExecutionUnit actual = route(DatabaseType.MySQL, "select o.order_id from order o order by o.order_id desc limit 2, 3").getExecutionUnits().iterator().next();
+        assertThat(actual.getSql(), is("(select o.order_id from order_0 o order by o.order_id desc limit 0, 5) UNION ALL (select o.order_id from order_1 o order by o.order_id desc limit 0, 5) ORDER BY 1 DESC"));
+    }
+    
+    @Test
+    public void assertSelectWithGroupBy() {
+        SQLExecutionUnit actual = route(DatabaseType.MySQL, "select user_id, count(*) as c from order group by user_id").getExecutionUnits().iterator().next();
+        assertThat(actual.getSql(), is("(select user_id, count(*) as c from order_0 group by user_id ORDER BY user_id ASC ) UNION ALL (select user_id, count(*) as c from order_1 group by user_id ORDER BY user_id ASC ) ORDER BY 1 ASC"));
+    }
+    
+    @Test
+    public void assertSelectWithAliasOrderBy() {
+        SQLExecutionUnit actual = route(DatabaseType.MySQL, "select order_id, count(*) as c from order group by order_id order by c desc").getExecutionUnits().iterator().next();
+        assertThat(actual.getSql(), is("(select order_id, count(*) as c from order_0 group by order_id order by c desc) UNION ALL (select order_id, count(*) as c from order_1 group by order_id order by c desc) ORDER BY 2 DESC"));
+    }
+    
+    @Test
+    public void assertSelectWithDerivedOrderBy() {
+        SQLExecutionUnit actual = route(DatabaseType.MySQL, "select order_id from order order by user_id").getExecutionUnits().iterator().next();
+        assertThat(actual.getSql(), is("(select order_id , user_id AS ORDER_BY_DERIVED_0 from order_0 order by user_id) UNION ALL (select order_id , user_id AS ORDER_BY_DERIVED_0 from order_1 order by user_id) ORDER BY 2 ASC"));
+    }
+    
+    @Test
+    public void assertSelectWithExpressionOrderByWithoutUnionAll() {
+        assertThat(route(DatabaseType.MySQL, "select order_id, count(*) from order group by order_id order by count(*) desc").getExecutionUnits().size(), is(4));
+    }
+    
+    @Test
+    public void assertSelectStarWithOrderByWithoutUnionAll() {
+        assertThat(route(DatabaseType.MySQL, "select * from order order by order_id").getExecutionUnits().size(), is(4));
+    }
+    
+    @Test
+    public void assertSelectWithParameters() {
+        ShardingContext shardingContext = createShardingContext(DatabaseType.MySQL);
+        List<Object> parameters = new ArrayList<>(Collections.<Object>singletonList("init"));
+        for (SQLExecutionUnit each : new PreparedStatementRoutingEngine("select * from order where status = ?", shardingContext).route(parameters).getExecutionUnits()) {
+            assertThat(each.getSql(), is("(select * from order_0 where status = ?) UNION ALL (select * from order_1 where status = ?)"));
+            assertThat(each.getParameterIndexes(), is(Arrays.asList(0, 0)));
+        }
+    }
+    
+    @Test
+    public void assertSelectWithSingleTableUnitPerDataSource() {
+        SQLRouteResult actual = route(DatabaseType.MySQL, "select * from order where order_id in (1, 2)");
+        assertThat(actual.getExecutionUnits().size(), is(2));
+        for (SQLExecutionUnit each : actual.getExecutionUnits()) {
+            assertThat(each.getParameterIndexes(), nullValue());
+        }
+    }
+    
+    @Test
+    public void assertUpdateWithoutUnionAll() {
+        assertThat(route(DatabaseType.MySQL, "update order set status = 'init'").getExecutionUnits().size(), is(4));
+    }
+    
+    @Test
+    public void assertSelectWithUnsupportedDatabaseType() {
+        assertThat(route(DatabaseType.Oracle, "select * from order where status = 'init'").getExecutionUnits().size(), is(4));
+    }
+    
+    private SQLRouteResult route(final DatabaseType databaseType, final String logicSQL) {
+        return new StatementRoutingEngine(createShardingContext(databaseType)).route(logicSQL);
+    }
+    
+    private ShardingContext createShardingContext(final DatabaseType databaseType) {
+        Properties props = new Properties();
+        props.setProperty(ShardingPropertiesConstant.REWRITE_UNION_ALL_ENABLE.getKey(), Boolean.TRUE.toString());
+        return new ShardingContext(getShardingRule(), databaseType, null, new ShardingProperties(props));
+    }
+}